@@ -0,0 +1,234 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A minimal keep-alive HTTP/1.1 client over a loopback socket. Requests are written as pre-encoded bytes and
+ * responses are parsed in place, so that the client adds as little work and garbage as possible to the
+ * measurements of the server.
+ */
+final class HttpConnection implements Closeable {
+
+    private static final byte[] CONTENT_LENGTH = "content-length:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRANSFER_ENCODING = "transfer-encoding:".getBytes(StandardCharsets.US_ASCII);
+
+    private final Socket socket;
+    private final OutputStream out;
+    private final InputStream in;
+    private final byte[] buffer = new byte[16384];
+    private byte[] line = new byte[256];
+    private int position;
+    private int limit;
+
+    /**
+     * @param host The host
+     * @param port The port
+     * @throws IOException If the connection cannot be opened
+     */
+    HttpConnection(String host, int port) throws IOException {
+        this.socket = new Socket(host, port);
+        this.socket.setTcpNoDelay(true);
+        this.out = socket.getOutputStream();
+        this.in = socket.getInputStream();
+    }
+
+    /**
+     * Encodes a request.
+     *
+     * @param method The method
+     * @param path The path
+     * @param body The JSON body or null
+     * @return The request bytes
+     */
+    static byte[] request(String method, String path, String body) {
+        StringBuilder request = new StringBuilder()
+                .append(method).append(' ').append(path).append(" HTTP/1.1\r\n")
+                .append("Host: localhost\r\n")
+                .append("Accept: application/json\r\n");
+        if (body != null) {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            request.append("Content-Type: application/json\r\n")
+                    .append("Content-Length: ").append(bytes.length).append("\r\n\r\n")
+                    .append(body);
+        } else {
+            request.append("\r\n");
+        }
+        return request.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Sends a request and reads the complete response.
+     *
+     * @param request The encoded request
+     * @return The response status
+     * @throws IOException If an I/O error occurs
+     */
+    int exchange(byte[] request) throws IOException {
+        out.write(request);
+        out.flush();
+        return readResponse();
+    }
+
+    /**
+     * Sends several requests at once without waiting for the responses, as a pipelining client does, and then reads
+     * the complete responses.
+     *
+     * @param requests The encoded requests
+     * @param count The number of requests
+     * @return The sum of the response statuses
+     * @throws IOException If an I/O error occurs
+     */
+    int pipeline(byte[] requests, int count) throws IOException {
+        out.write(requests);
+        out.flush();
+        int statuses = 0;
+        for (int i = 0; i < count; i++) {
+            statuses += readResponse();
+        }
+        return statuses;
+    }
+
+    /**
+     * Repeats an encoded request.
+     *
+     * @param request The encoded request
+     * @param count The number of times
+     * @return The repeated request bytes
+     */
+    static byte[] repeat(byte[] request, int count) {
+        byte[] requests = new byte[request.length * count];
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(request, 0, requests, i * request.length, request.length);
+        }
+        return requests;
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    private int readResponse() throws IOException {
+        readLine();
+        // HTTP/1.1 200 OK
+        int status = (line[9] - '0') * 100 + (line[10] - '0') * 10 + (line[11] - '0');
+        long contentLength = 0;
+        boolean chunked = false;
+        int length = readLine();
+        while (length > 0) {
+            if (startsWithIgnoreCase(CONTENT_LENGTH, length)) {
+                contentLength = parseLong(CONTENT_LENGTH.length, length, 10);
+            } else if (startsWithIgnoreCase(TRANSFER_ENCODING, length)) {
+                chunked = true;
+            }
+            length = readLine();
+        }
+        if (chunked) {
+            long size = parseLong(0, readLine(), 16);
+            while (size > 0) {
+                skip(size);
+                readLine();
+                size = parseLong(0, readLine(), 16);
+            }
+            // trailers
+            while (readLine() > 0) {
+                // ignore
+            }
+        } else {
+            skip(contentLength);
+        }
+        return status;
+    }
+
+    private int readLine() throws IOException {
+        int length = 0;
+        while (true) {
+            int b = read();
+            if (b == '\n') {
+                if (length > 0 && line[length - 1] == '\r') {
+                    length--;
+                }
+                return length;
+            }
+            if (length == line.length) {
+                line = Arrays.copyOf(line, length * 2);
+            }
+            line[length++] = (byte) b;
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            fill();
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private void skip(long count) throws IOException {
+        while (count > 0) {
+            if (position == limit) {
+                fill();
+            }
+            int n = (int) Math.min(count, limit - position);
+            position += n;
+            count -= n;
+        }
+    }
+
+    private void fill() throws IOException {
+        int n = in.read(buffer);
+        if (n == -1) {
+            throw new EOFException("Connection closed by the server");
+        }
+        position = 0;
+        limit = n;
+    }
+
+    private boolean startsWithIgnoreCase(byte[] prefix, int length) {
+        if (length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (Character.toLowerCase(line[i]) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long parseLong(int from, int to, int radix) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = Character.digit(line[i], radix);
+            if (digit != -1) {
+                value = value * radix + digit;
+            } else if (line[i] == ';') {
+                // chunk extension
+                break;
+            }
+        }
+        return value;
+    }
+}
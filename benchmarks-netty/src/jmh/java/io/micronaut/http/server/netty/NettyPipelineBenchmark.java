@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.server.EmbeddedServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * Measures complete requests through {@link NettyHttpServer}, the {@link RoutingInBoundHandler}, the codecs and the
+ * response encoding over a loopback keep-alive connection. Run with {@code -prof gc} (as {@link #main(String[])}
+ * does) to also report the allocation rate per request.
+ */
+@State(Scope.Benchmark)
+public class NettyPipelineBenchmark {
+
+    static final String SPEC_NAME = "NettyPipelineBenchmark";
+
+    private static final byte[] GET_JSON = HttpConnection.request("GET", "/pipeline/json", null);
+    private static final byte[] POST_JSON = HttpConnection.request("POST", "/pipeline/json", "{\"title\":\"The Stand\",\"pages\":1152}");
+    private static final byte[] GET_STREAM = HttpConnection.request("GET", "/pipeline/stream", null);
+    private static final byte[] GET_FILTERED = HttpConnection.request("GET", "/pipeline/filtered/json", null);
+    private static final byte[] GET_ERROR = HttpConnection.request("GET", "/pipeline/error", null);
+    private static final byte[] GET_NOT_FOUND = HttpConnection.request("GET", "/pipeline/missing", null);
+
+    EmbeddedServer server;
+
+    @Setup
+    public void setup() throws IOException {
+        server = ApplicationContext.run(EmbeddedServer.class, Collections.singletonMap("spec.name", SPEC_NAME));
+        // fail fast rather than measuring the wrong thing
+        try (HttpConnection connection = new HttpConnection(server.getHost(), server.getPort())) {
+            expect(connection, GET_JSON, 200);
+            expect(connection, POST_JSON, 200);
+            expect(connection, GET_STREAM, 200);
+            expect(connection, GET_FILTERED, 200);
+            expect(connection, GET_ERROR, 400);
+            expect(connection, GET_NOT_FOUND, 404);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Benchmark
+    public int getJson(Connection connection) throws IOException {
+        return connection.exchange(GET_JSON);
+    }
+
+    @Benchmark
+    public int postJson(Connection connection) throws IOException {
+        return connection.exchange(POST_JSON);
+    }
+
+    @Benchmark
+    public int streamJson(Connection connection) throws IOException {
+        return connection.exchange(GET_STREAM);
+    }
+
+    @Benchmark
+    public int getJsonFiltered(Connection connection) throws IOException {
+        return connection.exchange(GET_FILTERED);
+    }
+
+    @Benchmark
+    public int errorRoute(Connection connection) throws IOException {
+        return connection.exchange(GET_ERROR);
+    }
+
+    @Benchmark
+    public int notFound(Connection connection) throws IOException {
+        return connection.exchange(GET_NOT_FOUND);
+    }
+
+    private static void expect(HttpConnection connection, byte[] request, int status) throws IOException {
+        int actual = connection.exchange(request);
+        if (actual != status) {
+            throw new IllegalStateException("Expected status " + status + " but was " + actual + " for request: " + new String(request));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + NettyPipelineBenchmark.class.getSimpleName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    /**
+     * A keep-alive connection per benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Connection {
+
+        HttpConnection connection;
+
+        @Setup
+        public void open(NettyPipelineBenchmark benchmark) throws IOException {
+            connection = new HttpConnection(benchmark.server.getHost(), benchmark.server.getPort());
+        }
+
+        @TearDown
+        public void close() throws IOException {
+            connection.close();
+        }
+
+        int exchange(byte[] request) throws IOException {
+            return connection.exchange(request);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.server.EmbeddedServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Measures pipelined HTTP/1.1 requests through {@link NettyHttpServer} with and without flush consolidation and
+ * batched writes of streamed responses. Each operation writes {@link #DEPTH} requests at once and reads all of the
+ * responses, so the server handles several responses per read of the connection.
+ */
+@State(Scope.Benchmark)
+public class NettyPipeliningBenchmark {
+
+    static final int DEPTH = 16;
+
+    private static final byte[] GET_JSON = HttpConnection.repeat(
+            HttpConnection.request("GET", "/pipeline/json", null), DEPTH);
+    private static final byte[] GET_STREAM = HttpConnection.repeat(
+            HttpConnection.request("GET", "/pipeline/stream", null), DEPTH);
+
+    @Param({"true", "false"})
+    boolean flushConsolidation;
+
+    @Param({"1", "16"})
+    int streamedResponseBatchSize;
+
+    EmbeddedServer server;
+
+    @Setup
+    public void setup() throws IOException {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spec.name", NettyPipelineBenchmark.SPEC_NAME);
+        properties.put("micronaut.server.netty.flush-consolidation.enabled", flushConsolidation);
+        properties.put("micronaut.server.netty.streamed-response-batch-size", streamedResponseBatchSize);
+        server = ApplicationContext.run(EmbeddedServer.class, properties);
+        // fail fast rather than measuring the wrong thing
+        try (HttpConnection connection = new HttpConnection(server.getHost(), server.getPort())) {
+            expect(connection, GET_JSON);
+            expect(connection, GET_STREAM);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Benchmark
+    public int pipelinedJson(Connection connection) throws IOException {
+        return connection.connection.pipeline(GET_JSON, DEPTH);
+    }
+
+    @Benchmark
+    public int pipelinedStream(Connection connection) throws IOException {
+        return connection.connection.pipeline(GET_STREAM, DEPTH);
+    }
+
+    private static void expect(HttpConnection connection, byte[] requests) throws IOException {
+        int statuses = connection.pipeline(requests, DEPTH);
+        if (statuses != 200 * DEPTH) {
+            throw new IllegalStateException("Expected only 200 responses but the statuses sum up to " + statuses);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + NettyPipeliningBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    /**
+     * A keep-alive connection per benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class Connection {
+
+        HttpConnection connection;
+
+        @Setup
+        public void open(NettyPipeliningBenchmark benchmark) throws IOException {
+            connection = new HttpConnection(benchmark.server.getHost(), benchmark.server.getPort());
+        }
+
+        @TearDown
+        public void close() throws IOException {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Error;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Post;
+import io.reactivex.Flowable;
+
+/**
+ * The routes exercised by {@link NettyPipelineBenchmark}.
+ */
+@Requires(property = "spec.name", value = NettyPipelineBenchmark.SPEC_NAME)
+@Controller("/pipeline")
+public class PipelineController {
+
+    /**
+     * @return A book encoded as JSON
+     */
+    @Get("/json")
+    Book json() {
+        return new Book("The Stand", 1152);
+    }
+
+    /**
+     * @param book The book bound from the JSON body
+     * @return The same book
+     */
+    @Post("/json")
+    Book save(@Body Book book) {
+        return book;
+    }
+
+    /**
+     * @return A stream of books
+     */
+    @Get(value = "/stream", produces = MediaType.APPLICATION_JSON_STREAM)
+    Flowable<Book> stream() {
+        return Flowable.range(1, 10).map(i -> new Book("Volume " + i, i * 100));
+    }
+
+    /**
+     * @return A book, passing through {@link PipelineFilter}
+     */
+    @Get("/filtered/json")
+    Book filtered() {
+        return new Book("The Shining", 447);
+    }
+
+    /**
+     * @return Never returns
+     */
+    @Get("/error")
+    Book error() {
+        throw new IllegalStateException("Bad things happened");
+    }
+
+    /**
+     * @param e The exception
+     * @return The error response
+     */
+    @Error(IllegalStateException.class)
+    HttpResponse<String> onError(IllegalStateException e) {
+        return HttpResponse.<String>status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+}
@@ -16,14 +16,25 @@
 package io.micronaut.http.server;
 
 import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.BeanDefinitionIndex;
 import io.micronaut.http.server.binding.TestController;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 
 @State(Scope.Benchmark)
 public class StartupBenchmark {
 
+    @Param({"true", "false"})
+    public boolean beanIndex;
+
+    @Setup
+    public void setup() {
+        System.setProperty(BeanDefinitionIndex.PROPERTY_ENABLED, String.valueOf(beanIndex));
+    }
+
     @Benchmark
     public void startup() {
         try (ApplicationContext context = ApplicationContext.run()) {
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Records outcomes into a sliding window from several threads, which is what every invocation of a method annotated
+ * with a sliding window {@link io.micronaut.retry.annotation.CircuitBreaker} does.
+ */
+@State(Scope.Benchmark)
+public class SlidingWindowBenchmark {
+
+    @Param({"count-based", "time-based"})
+    String type;
+
+    @Param({"100"})
+    int size;
+
+    SlidingWindow window;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        if (type.equals("time-based")) {
+            window = new TimeBasedSlidingWindow(size);
+        } else {
+            window = new CountBasedSlidingWindow(size);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void record() {
+        window.record(randomOutcome());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long recordAndEvaluate() {
+        window.record(randomOutcome());
+        return window.totals();
+    }
+
+    private static long randomOutcome() {
+        int random = ThreadLocalRandom.current().nextInt(10);
+        return SlidingWindow.CALL | (random == 0 ? SlidingWindow.FAILURE : 0L) | (random == 1 ? SlidingWindow.SLOW : 0L);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + SlidingWindowBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
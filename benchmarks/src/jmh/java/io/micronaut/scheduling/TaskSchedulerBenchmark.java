@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Schedules and cancels timeouts while a large number of timeouts is pending, which is the typical use of retry
+ * backoffs and session timers.
+ */
+@State(Scope.Benchmark)
+public class TaskSchedulerBenchmark {
+
+    private static final Runnable NOOP = () -> { };
+
+    @Param({"scheduled-executor", "hashed-wheel"})
+    String scheduler;
+
+    @Param({"100000"})
+    int pendingTimeouts;
+
+    ExecutorService executorService;
+    TaskScheduler taskScheduler;
+    ScheduledFuture<?>[] pending;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        executorService = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors());
+        if (scheduler.equals("hashed-wheel")) {
+            taskScheduler = new HashedWheelTaskScheduler(executorService, Executors.defaultThreadFactory(), Duration.ofMillis(10), 512);
+        } else {
+            taskScheduler = new ScheduledExecutorTaskScheduler(executorService);
+        }
+        pending = new ScheduledFuture[pendingTimeouts];
+        for (int i = 0; i < pending.length; i++) {
+            pending[i] = taskScheduler.schedule(randomTimeout(), NOOP);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        for (ScheduledFuture<?> future : pending) {
+            future.cancel(false);
+        }
+        if (taskScheduler instanceof HashedWheelTaskScheduler) {
+            ((HashedWheelTaskScheduler) taskScheduler).close();
+        }
+        executorService.shutdownNow();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean scheduleAndCancel() {
+        return taskScheduler.schedule(randomTimeout(), NOOP).cancel(false);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean replacePendingTimeout() {
+        int index = ThreadLocalRandom.current().nextInt(pending.length);
+        ScheduledFuture<?> future = taskScheduler.schedule(randomTimeout(), NOOP);
+        ScheduledFuture<?> previous = pending[index];
+        pending[index] = future;
+        return previous.cancel(false);
+    }
+
+    private static Duration randomTimeout() {
+        return Duration.ofSeconds(60 + ThreadLocalRandom.current().nextInt(60));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + TaskSchedulerBenchmark.class.getSimpleName() + ".*")
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
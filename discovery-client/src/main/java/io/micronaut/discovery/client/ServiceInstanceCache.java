@@ -0,0 +1,319 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client;
+
+import io.micronaut.context.annotation.Primary;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.core.naming.NameUtils;
+import io.micronaut.core.util.ArrayUtils;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.discovery.CompositeDiscoveryClient;
+import io.micronaut.discovery.DefaultCompositeDiscoveryClient;
+import io.micronaut.discovery.DiscoveryClient;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.event.ServiceInstancesChangedEvent;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.TaskScheduler;
+import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * A {@link CompositeDiscoveryClient} that caches the instances of each service and keeps them up to date in the
+ * background, so that looking up the instances of a service does not require a call to the discovery server.
+ *
+ * <p>The instances of a service are fetched on the first lookup. They are then refreshed with blocking queries for
+ * clients that implement {@link WatchableDiscoveryClient}, such as Consul, and polled for the other clients. When a
+ * refresh fails the cached instances keep being used. A {@link ServiceInstancesChangedEvent} is published when the
+ * instances of a service change.</p>
+ *
+ * @since 2.0
+ */
+@Primary
+@Singleton
+@Replaces(DefaultCompositeDiscoveryClient.class)
+@Requires(property = ServiceInstanceCacheConfiguration.ENABLED, value = StringUtils.TRUE)
+public class ServiceInstanceCache extends CompositeDiscoveryClient {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ServiceInstanceCache.class);
+    private static final Duration UNCHANGED_WATCH_DELAY = Duration.ofSeconds(1);
+
+    private final ServiceInstanceCacheConfiguration configuration;
+    private final TaskScheduler taskScheduler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, CachedService> services = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    /**
+     * @param discoveryClients The discovery clients used for service discovery
+     * @param configuration    The cache configuration
+     * @param taskScheduler    The scheduler used to refresh the instances
+     * @param eventPublisher   The publisher of {@link ServiceInstancesChangedEvent}
+     */
+    @Inject
+    public ServiceInstanceCache(
+            List<DiscoveryClient> discoveryClients,
+            ServiceInstanceCacheConfiguration configuration,
+            @Named(TaskExecutors.SCHEDULED) TaskScheduler taskScheduler,
+            ApplicationEventPublisher eventPublisher) {
+        super(discoveryClients.toArray(new DiscoveryClient[0]));
+        this.configuration = configuration;
+        this.taskScheduler = taskScheduler;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public Flowable<List<ServiceInstance>> getInstances(String serviceId) {
+        serviceId = NameUtils.hyphenate(serviceId);
+        if (closed || ArrayUtils.isEmpty(getDiscoveryClients())) {
+            return super.getInstances(serviceId);
+        }
+        return services.computeIfAbsent(serviceId, CachedService::new).getInstances();
+    }
+
+    /**
+     * @return The IDs of the services whose instances are cached
+     */
+    public Set<String> getCachedServiceIds() {
+        return Collections.unmodifiableSet(services.keySet());
+    }
+
+    /**
+     * Stops refreshing the instances and closes the discovery clients.
+     *
+     * @throws IOException If a discovery client cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        for (CachedService service : services.values()) {
+            service.stop();
+        }
+        services.clear();
+        super.close();
+    }
+
+    private static Set<String> fingerprint(List<ServiceInstance> instances) {
+        Set<String> fingerprint = new HashSet<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            fingerprint.add(instance.getId() + '|' + instance.getInstanceId().orElse("") + '|'
+                    + instance.getURI() + '|' + instance.getHealthStatus().getName());
+        }
+        return fingerprint;
+    }
+
+    /**
+     * The cached instances of a service.
+     */
+    private final class CachedService {
+        private final String serviceId;
+        private final ClientEntry[] entries;
+        private volatile List<ServiceInstance> instances;
+        private volatile long lastReadAt = System.nanoTime();
+        private volatile boolean stopped;
+        private Flowable<List<ServiceInstance>> initialLoad;
+        private Set<String> fingerprint;
+
+        CachedService(String serviceId) {
+            this.serviceId = serviceId;
+            DiscoveryClient[] clients = getDiscoveryClients();
+            this.entries = new ClientEntry[clients.length];
+            for (int i = 0; i < clients.length; i++) {
+                entries[i] = new ClientEntry(this, clients[i]);
+            }
+        }
+
+        Flowable<List<ServiceInstance>> getInstances() {
+            lastReadAt = System.nanoTime();
+            List<ServiceInstance> current = instances;
+            if (current != null) {
+                return Flowable.just(current);
+            }
+            return initialLoad();
+        }
+
+        private synchronized Flowable<List<ServiceInstance>> initialLoad() {
+            if (initialLoad == null) {
+                initialLoad = Flowable.fromArray(entries)
+                        .flatMap(entry -> entry.fetch().take(1).doOnNext(entry::update))
+                        .ignoreElements()
+                        .andThen(Flowable.fromCallable(this::loaded))
+                        .doOnError(throwable -> resetInitialLoad())
+                        .cache();
+            }
+            return initialLoad;
+        }
+
+        private synchronized void resetInitialLoad() {
+            initialLoad = null;
+        }
+
+        private List<ServiceInstance> loaded() {
+            List<ServiceInstance> merged = merge();
+            synchronized (this) {
+                fingerprint = fingerprint(merged);
+                instances = merged;
+            }
+            for (ClientEntry entry : entries) {
+                entry.schedule(entry.watchable ? Duration.ZERO : configuration.getRefreshInterval());
+            }
+            return merged;
+        }
+
+        void updated() {
+            List<ServiceInstance> merged = merge();
+            Set<String> newFingerprint = fingerprint(merged);
+            boolean changed;
+            synchronized (this) {
+                changed = !newFingerprint.equals(fingerprint);
+                fingerprint = newFingerprint;
+                instances = merged;
+            }
+            if (changed) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Instances of service [{}] changed: {}", serviceId, merged);
+                }
+                eventPublisher.publishEvent(new ServiceInstancesChangedEvent(serviceId, merged));
+            }
+        }
+
+        boolean isActive() {
+            if (closed || stopped) {
+                return false;
+            }
+            if (System.nanoTime() - lastReadAt > configuration.getIdleTimeout().toNanos()) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Evicting the instances of idle service [{}]", serviceId);
+                }
+                services.remove(serviceId, this);
+                stop();
+                return false;
+            }
+            return true;
+        }
+
+        void stop() {
+            stopped = true;
+            for (ClientEntry entry : entries) {
+                entry.cancel();
+            }
+        }
+
+        private List<ServiceInstance> merge() {
+            List<ServiceInstance> merged = new ArrayList<>();
+            for (ClientEntry entry : entries) {
+                merged.addAll(entry.instances);
+            }
+            return Collections.unmodifiableList(merged);
+        }
+    }
+
+    /**
+     * The instances of a service returned by one discovery client.
+     */
+    private final class ClientEntry {
+        private final CachedService service;
+        private final DiscoveryClient client;
+        private final boolean watchable;
+        private volatile List<ServiceInstance> instances = Collections.emptyList();
+        private volatile String version;
+        private volatile ScheduledFuture<?> scheduled;
+
+        ClientEntry(CachedService service, DiscoveryClient client) {
+            this.service = service;
+            this.client = client;
+            this.watchable = client instanceof WatchableDiscoveryClient;
+        }
+
+        Flowable<ServiceInstanceSnapshot> fetch() {
+            if (watchable) {
+                return Flowable.fromPublisher(((WatchableDiscoveryClient) client)
+                        .watchInstances(service.serviceId, version, configuration.getWatchWait()));
+            }
+            return Flowable.fromPublisher(client.getInstances(service.serviceId))
+                    .map(instances -> new ServiceInstanceSnapshot(instances, null));
+        }
+
+        void update(ServiceInstanceSnapshot snapshot) {
+            instances = snapshot.getInstances();
+            version = snapshot.getVersion().orElse(null);
+        }
+
+        void schedule(Duration delay) {
+            if (!service.isActive()) {
+                return;
+            }
+            try {
+                scheduled = taskScheduler.schedule(delay, this::refresh);
+            } catch (RejectedExecutionException e) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Stopped refreshing the instances of service [{}]: {}", service.serviceId, e.getMessage());
+                }
+            }
+        }
+
+        void cancel() {
+            ScheduledFuture<?> future = scheduled;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        private void refresh() {
+            if (!service.isActive()) {
+                return;
+            }
+            String previousVersion = version;
+            fetch().firstElement().subscribe(snapshot -> {
+                update(snapshot);
+                service.updated();
+                schedule(nextDelay(previousVersion));
+            }, throwable -> {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Error refreshing the instances of service [" + service.serviceId + "] from "
+                            + client.getDescription() + ", using the cached instances: " + throwable.getMessage(), throwable);
+                }
+                schedule(configuration.getRetryDelay());
+            }, () -> schedule(configuration.getRefreshInterval()));
+        }
+
+        private Duration nextDelay(String previousVersion) {
+            if (!watchable || version == null) {
+                return configuration.getRefreshInterval();
+            }
+            // a watch that timed out without a change is resumed after a short delay, in case the server ignores the wait
+            return Objects.equals(previousVersion, version) ? UNCHANGED_WATCH_DELAY : Duration.ZERO;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.util.Toggleable;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the {@link ServiceInstanceCache}.
+ *
+ * @since 2.0
+ */
+@ConfigurationProperties(ServiceInstanceCacheConfiguration.PREFIX)
+public class ServiceInstanceCacheConfiguration implements Toggleable {
+
+    /**
+     * The prefix to use for the configuration.
+     */
+    public static final String PREFIX = "micronaut.discovery.instance-cache";
+
+    /**
+     * The configuration property used to enable the cache.
+     */
+    public static final String ENABLED = PREFIX + ".enabled";
+
+    /**
+     * The default enable value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ENABLED = false;
+
+    /**
+     * The default refresh interval in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_REFRESHINTERVAL_SECONDS = 30;
+
+    /**
+     * The default watch wait time in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_WATCHWAIT_SECONDS = 300;
+
+    /**
+     * The default retry delay in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_RETRYDELAY_SECONDS = 5;
+
+    /**
+     * The default idle timeout in minutes.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_IDLETIMEOUT_MINUTES = 10;
+
+    private boolean enabled = DEFAULT_ENABLED;
+    private Duration refreshInterval = Duration.ofSeconds(DEFAULT_REFRESHINTERVAL_SECONDS);
+    private Duration watchWait = Duration.ofSeconds(DEFAULT_WATCHWAIT_SECONDS);
+    private Duration retryDelay = Duration.ofSeconds(DEFAULT_RETRYDELAY_SECONDS);
+    private Duration idleTimeout = Duration.ofMinutes(DEFAULT_IDLETIMEOUT_MINUTES);
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the discovered instances are cached and refreshed in the background. Default value ({@value #DEFAULT_ENABLED}).
+     *
+     * @param enabled True if the cache is enabled
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The interval at which the instances are fetched from discovery clients that cannot wait for changes
+     */
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * Sets the interval at which the instances are fetched from discovery clients that cannot wait for changes, such as
+     * Eureka. Default value ({@value #DEFAULT_REFRESHINTERVAL_SECONDS} seconds).
+     *
+     * @param refreshInterval The refresh interval
+     */
+    public void setRefreshInterval(Duration refreshInterval) {
+        if (refreshInterval != null) {
+            this.refreshInterval = refreshInterval;
+        }
+    }
+
+    /**
+     * @return The maximum time the discovery server waits for a change before answering a watch
+     */
+    public Duration getWatchWait() {
+        return watchWait;
+    }
+
+    /**
+     * Sets the maximum time the discovery server waits for a change before answering a watch, such as a Consul blocking
+     * query. It is limited by the read timeout of the discovery client. Default value ({@value #DEFAULT_WATCHWAIT_SECONDS} seconds).
+     *
+     * @param watchWait The watch wait time
+     */
+    public void setWatchWait(Duration watchWait) {
+        if (watchWait != null) {
+            this.watchWait = watchWait;
+        }
+    }
+
+    /**
+     * @return The delay before the instances are fetched again after an error
+     */
+    public Duration getRetryDelay() {
+        return retryDelay;
+    }
+
+    /**
+     * Sets the delay before the instances are fetched again after an error. The cached instances are still used in the
+     * meantime. Default value ({@value #DEFAULT_RETRYDELAY_SECONDS} seconds).
+     *
+     * @param retryDelay The retry delay
+     */
+    public void setRetryDelay(Duration retryDelay) {
+        if (retryDelay != null) {
+            this.retryDelay = retryDelay;
+        }
+    }
+
+    /**
+     * @return The time after which the instances of a service that is no longer used are no longer refreshed
+     */
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Sets the time after which the instances of a service that is no longer used are evicted and no longer refreshed.
+     * Default value ({@value #DEFAULT_IDLETIMEOUT_MINUTES} minutes).
+     *
+     * @param idleTimeout The idle timeout
+     */
+    public void setIdleTimeout(Duration idleTimeout) {
+        if (idleTimeout != null) {
+            this.idleTimeout = idleTimeout;
+        }
+    }
+}
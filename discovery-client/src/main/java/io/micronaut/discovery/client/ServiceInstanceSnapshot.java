@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.micronaut.discovery.ServiceInstance;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The instances of a service at a given version of the discovery server state.
+ *
+ * @since 2.0
+ */
+public final class ServiceInstanceSnapshot {
+
+    private final List<ServiceInstance> instances;
+    private final String version;
+
+    /**
+     * @param instances The instances
+     * @param version   The version, if the discovery server supports waiting for changes
+     */
+    public ServiceInstanceSnapshot(@NonNull List<ServiceInstance> instances, @Nullable String version) {
+        this.instances = instances;
+        this.version = version;
+    }
+
+    /**
+     * @return The instances
+     */
+    public @NonNull List<ServiceInstance> getInstances() {
+        return instances;
+    }
+
+    /**
+     * @return The version to pass to {@link WatchableDiscoveryClient#watchInstances} to wait for the next change
+     */
+    public Optional<String> getVersion() {
+        return Optional.ofNullable(version);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.discovery.client;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.micronaut.discovery.DiscoveryClient;
+import org.reactivestreams.Publisher;
+
+import java.time.Duration;
+
+/**
+ * A {@link DiscoveryClient} that can wait on the discovery server for the instances of a service to change, such as
+ * with Consul blocking queries.
+ *
+ * @since 2.0
+ */
+public interface WatchableDiscoveryClient extends DiscoveryClient {
+
+    /**
+     * Emits the instances of the service once they differ from the given version, or when the wait time elapses. If
+     * no version is given the instances are emitted right away.
+     *
+     * @param serviceId The service ID
+     * @param version   The version of the instances that are already known
+     * @param wait      The maximum time to wait for a change
+     * @return A {@link Publisher} that emits the instances and their version
+     */
+    Publisher<ServiceInstanceSnapshot> watchInstances(String serviceId, @Nullable String version, Duration wait);
+}
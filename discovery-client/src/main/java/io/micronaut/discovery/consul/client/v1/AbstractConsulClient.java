@@ -20,15 +20,23 @@ import io.micronaut.context.annotation.Requires;
 import io.micronaut.core.annotation.TypeHint;
 import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.core.naming.NameUtils;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.client.ServiceInstanceSnapshot;
+import io.micronaut.discovery.client.WatchableDiscoveryClient;
 import io.micronaut.discovery.consul.ConsulConfiguration;
 import io.micronaut.discovery.consul.ConsulServiceInstance;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.annotation.Get;
 import io.micronaut.http.client.annotation.Client;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -45,7 +53,7 @@ import java.util.Optional;
 @Requires(beans = ConsulConfiguration.class)
 @TypeHint({TTLCheck.class, HTTPCheck.class})
 @BootstrapContextCompatible
-public abstract class AbstractConsulClient implements ConsulClient {
+public abstract class AbstractConsulClient implements ConsulClient, WatchableDiscoveryClient {
 
     static final String CONSUL_REGISTRATION_RETRY_COUNT = "${" + ConsulConfiguration.ConsulRegistrationConfiguration.PREFIX + ".retry-count:3}";
     static final String CONSUL_REGISTRATION_RETRY_DELAY = "${" + ConsulConfiguration.ConsulRegistrationConfiguration.PREFIX + ".retry-delay:3s}";
@@ -53,6 +61,7 @@ public abstract class AbstractConsulClient implements ConsulClient {
     static final String EXPR_CONSUL_CONFIG_RETRY_DELAY = "${" + ConsulConfiguration.ConsulConfigDiscoveryConfiguration.PREFIX + ".retry-delay:1s}";
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractConsulClient.class);
+    private static final String HEADER_CONSUL_INDEX = "X-Consul-Index";
 
     private ConsulConfiguration consulConfiguration = new ConsulConfiguration();
 
@@ -98,13 +107,97 @@ public abstract class AbstractConsulClient implements ConsulClient {
             Optional<String> scheme = Optional.ofNullable(discovery.getSchemes().get(serviceId));
 
             Publisher<List<HealthEntry>> healthyServicesPublisher = getHealthyServices(serviceId, passing, tag, datacenter);
-            return Publishers.map(healthyServicesPublisher, healthEntries -> {
-                List<ServiceInstance> serviceInstances = new ArrayList<>();
-                for (HealthEntry healthEntry : healthEntries) {
-                    serviceInstances.add(new ConsulServiceInstance(healthEntry, scheme.orElse("http")));
+            return Publishers.map(healthyServicesPublisher, healthEntries -> toServiceInstances(healthEntries, scheme.orElse("http")));
+        }
+    }
+
+    /**
+     * Watches the healthy instances of a service with a Consul blocking query. The version of the instances is the
+     * value of the {@code X-Consul-Index} header. The wait time is limited by the read timeout of the client.
+     *
+     * @param serviceId The service ID
+     * @param version   The Consul index of the instances that are already known
+     * @param wait      The maximum time to wait for a change
+     * @return A {@link Publisher} that emits the instances and their Consul index
+     */
+    @Override
+    public Publisher<ServiceInstanceSnapshot> watchInstances(String serviceId, @Nullable String version, Duration wait) {
+        if (!consulConfiguration.getDiscovery().isEnabled()) {
+            return Publishers.just(new ServiceInstanceSnapshot(Collections.emptyList(), null));
+        }
+        String hyphenatedId = NameUtils.hyphenate(serviceId);
+        if (SERVICE_ID.equals(hyphenatedId)) {
+            return Publishers.map(getInstances(hyphenatedId), instances -> new ServiceInstanceSnapshot(instances, null));
+        }
+        ConsulConfiguration.ConsulDiscoveryConfiguration discovery = consulConfiguration.getDiscovery();
+        boolean passing = discovery.isPassing();
+        String datacenter = discovery.getDatacenters().get(hyphenatedId);
+        String tag = discovery.getTags().get(hyphenatedId);
+        Optional<String> scheme = Optional.ofNullable(discovery.getSchemes().get(hyphenatedId));
+
+        Long index = null;
+        if (version != null) {
+            try {
+                index = Long.valueOf(version);
+            } catch (NumberFormatException e) {
+                // not a Consul index, fetch the current state
+            }
+        }
+        Duration maxWait = consulConfiguration.getReadTimeout()
+                .map(readTimeout -> readTimeout.multipliedBy(3).dividedBy(4))
+                .orElse(wait);
+        long waitSeconds = Math.max(1, Math.min(wait.getSeconds(), maxWait.getSeconds()));
+
+        Publisher<HttpResponse<List<HealthEntry>>> responsePublisher = watchHealthyServicesInternal(
+                hyphenatedId, passing, tag, datacenter, index, index != null ? waitSeconds + "s" : null
+        );
+        return Publishers.map(responsePublisher, response -> {
+            List<HealthEntry> healthEntries = response.getBody().orElse(Collections.emptyList());
+            String newIndex = response.getHeaders().get(HEADER_CONSUL_INDEX);
+            if (newIndex != null && version != null) {
+                try {
+                    // the index can go backwards when Consul is restarted, start over in that case
+                    if (Long.parseLong(newIndex) < Long.parseLong(version)) {
+                        if (LOG.isDebugEnabled()) {
+                            LOG.debug("Consul index for service [{}] went backwards from {} to {}", hyphenatedId, version, newIndex);
+                        }
+                        newIndex = "0";
+                    }
+                } catch (NumberFormatException e) {
+                    newIndex = null;
                 }
-                return serviceInstances;
-            });
+            }
+            return new ServiceInstanceSnapshot(toServiceInstances(healthEntries, scheme.orElse("http")), newIndex);
+        });
+    }
+
+    /**
+     * Gets the healthy services with a blocking query that returns once the Consul index is greater than the given
+     * index or the wait time elapsed.
+     *
+     * @param service The service
+     * @param passing The passing parameter
+     * @param tag     The tag
+     * @param dc      The dc
+     * @param index   The Consul index to wait on
+     * @param wait    The maximum time to wait, for example {@code 30s}
+     * @return The response with the {@link HealthEntry} instances
+     */
+    @SuppressWarnings("WeakerAccess")
+    @Get(uri = "/health/service/{service}{?passing,tag,dc,index,wait}", single = true)
+    public abstract Publisher<HttpResponse<List<HealthEntry>>> watchHealthyServicesInternal(
+            @NotNull String service,
+            @Nullable Boolean passing,
+            @Nullable String tag,
+            @Nullable String dc,
+            @Nullable Long index,
+            @Nullable String wait);
+
+    private static @NonNull List<ServiceInstance> toServiceInstances(List<HealthEntry> healthEntries, String scheme) {
+        List<ServiceInstance> serviceInstances = new ArrayList<>();
+        for (HealthEntry healthEntry : healthEntries) {
+            serviceInstances.add(new ConsulServiceInstance(healthEntry, scheme));
         }
+        return serviceInstances;
     }
 }
@@ -0,0 +1,129 @@
+package io.micronaut.discovery.client
+
+import edu.umd.cs.findbugs.annotations.Nullable
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.event.ApplicationEventListener
+import io.micronaut.discovery.DiscoveryClient
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.discovery.event.ServiceInstancesChangedEvent
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.QueryValue
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import javax.inject.Singleton
+import java.util.concurrent.CopyOnWriteArrayList
+
+class ServiceInstanceCacheSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer consulServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': 'ServiceInstanceCacheSpec'
+    ])
+
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run([
+            'spec.name': 'ServiceInstanceCacheSpec',
+            'consul.client.host': consulServer.host,
+            'consul.client.port': consulServer.port,
+            'micronaut.discovery.instance-cache.enabled': true,
+            'micronaut.discovery.instance-cache.retry-delay': '100ms'
+    ])
+
+    void "test the instances are cached and updated with blocking queries"() {
+        given:
+        MockHealthController consul = consulServer.applicationContext.getBean(MockHealthController)
+        InstancesChangedListener listener = context.getBean(InstancesChangedListener)
+        DiscoveryClient discoveryClient = context.getBean(DiscoveryClient)
+        PollingConditions conditions = new PollingConditions(timeout: 10)
+
+        expect:
+        discoveryClient instanceof ServiceInstanceCache
+
+        when:"the instances are looked up"
+        List<ServiceInstance> instances = Flowable.fromPublisher(discoveryClient.getInstances('foo')).blockingFirst()
+
+        then:"they are fetched from consul and cached"
+        instances.size() == 1
+        instances[0].port == 8081
+        ((ServiceInstanceCache) discoveryClient).cachedServiceIds.contains('foo')
+
+        and:"the instances are watched with the consul index"
+        conditions.eventually {
+            consul.requestedIndexes.contains(1L)
+        }
+
+        when:"an instance is added"
+        consul.update([8081, 8082])
+
+        then:"the cache is updated and an event is published"
+        conditions.eventually {
+            Flowable.fromPublisher(discoveryClient.getInstances('foo')).blockingFirst()*.port == [8081, 8082]
+            listener.events.size() == 1
+            listener.events[0].serviceId == 'foo'
+            listener.events[0].instances.size() == 2
+        }
+
+        when:"consul fails"
+        consul.failing = true
+        int requests = consul.requestedIndexes.size()
+
+        then:"the cached instances are still used"
+        conditions.eventually {
+            consul.requestedIndexes.size() > requests + 1
+        }
+        Flowable.fromPublisher(discoveryClient.getInstances('foo')).blockingFirst().size() == 2
+        listener.events.size() == 1
+
+        cleanup:
+        consul.failing = false
+    }
+
+    @Requires(property = 'spec.name', value = 'ServiceInstanceCacheSpec')
+    @Controller('/v1/health')
+    static class MockHealthController {
+        volatile List<Integer> ports = [8081]
+        volatile long index = 1
+        volatile boolean failing
+        List<Long> requestedIndexes = new CopyOnWriteArrayList<>()
+
+        @Get('/service/{service}{?index}')
+        HttpResponse<List<Map>> service(String service, @Nullable @QueryValue Long index) {
+            if (index != null) {
+                requestedIndexes << index
+            }
+            if (failing) {
+                return HttpResponse.serverError()
+            }
+            List<Map> entries = ports.collect { Integer port ->
+                [
+                        Node: [Node: 'node1', Address: '127.0.0.1'],
+                        Service: [ID: "$service-$port".toString(), Service: service, Address: '127.0.0.1', Port: port],
+                        Checks: []
+                ]
+            }
+            HttpResponse.ok(entries).header('X-Consul-Index', String.valueOf(this.index))
+        }
+
+        void update(List<Integer> ports) {
+            this.ports = ports
+            this.index++
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'ServiceInstanceCacheSpec')
+    @Singleton
+    static class InstancesChangedListener implements ApplicationEventListener<ServiceInstancesChangedEvent> {
+        List<ServiceInstancesChangedEvent> events = new CopyOnWriteArrayList<>()
+
+        @Override
+        void onApplicationEvent(ServiceInstancesChangedEvent event) {
+            events << event
+        }
+    }
+}
@@ -653,6 +653,36 @@ public abstract class HttpClientConfiguration {
         @SuppressWarnings("WeakerAccess")
         public static final int DEFAULT_MAXCONNECTIONS = -1;
 
+        /**
+         * The default adaptive value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_ADAPTIVE = false;
+
+        /**
+         * The default min connections value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MINCONNECTIONS = 0;
+
+        /**
+         * The default max idle time in seconds.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final long DEFAULT_MAXIDLETIME_SECONDS = 60;
+
+        /**
+         * The default eviction interval in seconds.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final long DEFAULT_EVICTIONINTERVAL_SECONDS = 1;
+
+        /**
+         * The default HTTP/2 multiplexing value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_MULTIPLEXING = false;
+
         private int maxConnections = DEFAULT_MAXCONNECTIONS;
 
         private int maxPendingAcquires = Integer.MAX_VALUE;
@@ -661,6 +691,16 @@ public abstract class HttpClientConfiguration {
 
         private boolean enabled = DEFAULT_ENABLED;
 
+        private boolean adaptive = DEFAULT_ADAPTIVE;
+
+        private int minConnections = DEFAULT_MINCONNECTIONS;
+
+        private Duration maxIdleTime = Duration.ofSeconds(DEFAULT_MAXIDLETIME_SECONDS);
+
+        private Duration evictionInterval = Duration.ofSeconds(DEFAULT_EVICTIONINTERVAL_SECONDS);
+
+        private boolean multiplexing = DEFAULT_MULTIPLEXING;
+
         /**
          * Whether connection pooling is enabled.
          *
@@ -734,6 +774,112 @@ public abstract class HttpClientConfiguration {
         public void setAcquireTimeout(@Nullable Duration acquireTimeout) {
             this.acquireTimeout = acquireTimeout;
         }
+
+        /**
+         * Whether the number of connections should adapt to the observed load. When enabled the pool grows (up to
+         * the max connections) while acquisitions have to wait and shrinks as connections are held for less time,
+         * and idle or broken connections are closed in the background. Default value ({@value io.micronaut.http.client.HttpClientConfiguration.ConnectionPoolConfiguration#DEFAULT_ADAPTIVE}).
+         *
+         * @return True if the pool is adaptive
+         * @since 2.0
+         */
+        public boolean isAdaptive() {
+            return adaptive;
+        }
+
+        /**
+         * Sets whether the number of connections should adapt to the observed load.
+         *
+         * @param adaptive True if the pool is adaptive
+         * @since 2.0
+         */
+        public void setAdaptive(boolean adaptive) {
+            this.adaptive = adaptive;
+        }
+
+        /**
+         * The number of connections an adaptive pool opens up front and never shrinks below. A client with a fixed URL opens them when it is created, other clients on their first request to a host. Default value ({@value io.micronaut.http.client.HttpClientConfiguration.ConnectionPoolConfiguration#DEFAULT_MINCONNECTIONS}).
+         *
+         * @return The min connections
+         * @since 2.0
+         */
+        public int getMinConnections() {
+            return minConnections;
+        }
+
+        /**
+         * Sets the number of connections an adaptive pool opens up front and never shrinks below.
+         *
+         * @param minConnections The min connections
+         * @since 2.0
+         */
+        public void setMinConnections(int minConnections) {
+            this.minConnections = minConnections;
+        }
+
+        /**
+         * The time after which an idle connection of an adaptive pool is closed. Default value ({@value io.micronaut.http.client.HttpClientConfiguration.ConnectionPoolConfiguration#DEFAULT_MAXIDLETIME_SECONDS} seconds).
+         *
+         * @return The max idle time
+         * @since 2.0
+         */
+        public Optional<Duration> getMaxIdleTime() {
+            return Optional.ofNullable(maxIdleTime);
+        }
+
+        /**
+         * Sets the time after which an idle connection of an adaptive pool is closed.
+         *
+         * @param maxIdleTime The max idle time
+         * @since 2.0
+         */
+        public void setMaxIdleTime(@Nullable Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        /**
+         * How often an adaptive pool re-evaluates its size and evicts idle connections. Default value ({@value io.micronaut.http.client.HttpClientConfiguration.ConnectionPoolConfiguration#DEFAULT_EVICTIONINTERVAL_SECONDS} second).
+         *
+         * @return The eviction interval
+         * @since 2.0
+         */
+        public Duration getEvictionInterval() {
+            return evictionInterval;
+        }
+
+        /**
+         * Sets how often an adaptive pool re-evaluates its size and evicts idle connections.
+         *
+         * @param evictionInterval The eviction interval
+         * @since 2.0
+         */
+        public void setEvictionInterval(Duration evictionInterval) {
+            if (evictionInterval != null) {
+                this.evictionInterval = evictionInterval;
+            }
+        }
+
+        /**
+         * Whether concurrent HTTP/2 requests to the same host should be sent as streams of a shared connection
+         * rather than each acquiring a connection of their own. A new connection is only opened once the existing
+         * ones have reached the max concurrent streams advertised by the server, up to the max connections. Default value ({@value io.micronaut.http.client.HttpClientConfiguration.ConnectionPoolConfiguration#DEFAULT_MULTIPLEXING}).
+         *
+         * @return True if HTTP/2 connections are multiplexed
+         * @since 2.0
+         */
+        public boolean isMultiplexing() {
+            return multiplexing;
+        }
+
+        /**
+         * Sets whether concurrent HTTP/2 requests to the same host should be sent as streams of a shared connection.
+         *
+         * @param multiplexing True if HTTP/2 connections are multiplexed
+         * @since 2.0
+         */
+        public void setMultiplexing(boolean multiplexing) {
+            this.multiplexing = multiplexing;
+        }
     }
 
 
@@ -19,6 +19,8 @@ import io.micronaut.context.annotation.ConfigurationProperties;
 import io.micronaut.context.annotation.EachProperty;
 import io.micronaut.context.annotation.Parameter;
 import io.micronaut.core.util.CollectionUtils;
+import io.micronaut.http.client.interceptor.ConcurrencyLimitType;
+import io.micronaut.http.client.loadbalance.LoadBalancerType;
 import io.micronaut.http.context.ClientContextPathProvider;
 import io.micronaut.http.ssl.SslConfiguration;
 import io.micronaut.runtime.ApplicationConfiguration;
@@ -66,6 +68,42 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration impl
     @SuppressWarnings("WeakerAccess")
     public static final long DEFAULT_HEALTHCHECKINTERVAL_SECONDS = 30;
 
+    /**
+     * The default hedging value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_HEDGING = false;
+
+    /**
+     * The default hedging percentile.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final double DEFAULT_HEDGINGPERCENTILE = 95;
+
+    /**
+     * The default minimum hedging delay in milliseconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_HEDGINGMINDELAY_MILLISECONDS = 5;
+
+    /**
+     * The default percentage of the requests that may be hedged.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final double DEFAULT_HEDGINGBUDGET = 10;
+
+    /**
+     * The default initial concurrency limit.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_CONCURRENCYLIMITINITIAL = 20;
+
+    /**
+     * The default maximum concurrency limit.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_CONCURRENCYLIMITMAX = 200;
+
     private final String serviceId;
     private final ServiceConnectionPoolConfiguration connectionPoolConfiguration;
     private List<URI> urls = Collections.emptyList();
@@ -73,6 +111,14 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration impl
     private boolean healthCheck = DEFAULT_HEALTHCHECK;
     private Duration healthCheckInterval = Duration.ofSeconds(DEFAULT_HEALTHCHECKINTERVAL_SECONDS);
     private String path;
+    private LoadBalancerType loadBalancer = LoadBalancerType.ROUND_ROBIN;
+    private boolean hedging = DEFAULT_HEDGING;
+    private double hedgingPercentile = DEFAULT_HEDGINGPERCENTILE;
+    private Duration hedgingMinDelay = Duration.ofMillis(DEFAULT_HEDGINGMINDELAY_MILLISECONDS);
+    private double hedgingBudget = DEFAULT_HEDGINGBUDGET;
+    private ConcurrencyLimitType concurrencyLimit = ConcurrencyLimitType.NONE;
+    private int concurrencyLimitInitial = DEFAULT_CONCURRENCYLIMITINITIAL;
+    private int concurrencyLimitMax = DEFAULT_CONCURRENCYLIMITMAX;
 
     /**
      * Creates a new client configuration for the given service ID.
@@ -243,6 +289,153 @@ public class ServiceHttpClientConfiguration extends HttpClientConfiguration impl
         }
     }
 
+    /**
+     * The strategy to select an instance of the service.
+     *
+     * @return The load balancer type
+     */
+    public LoadBalancerType getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    /**
+     * Sets the strategy to select an instance of the service. {@code latency-aware} prefers the instances with the
+     * lowest latency and number of outstanding requests. Default value (round-robin).
+     *
+     * @param loadBalancer The load balancer type
+     */
+    public void setLoadBalancer(LoadBalancerType loadBalancer) {
+        if (loadBalancer != null) {
+            this.loadBalancer = loadBalancer;
+        }
+    }
+
+    /**
+     * Whether declarative clients send a backup request when a request is slow.
+     *
+     * @return True if requests are hedged
+     */
+    public boolean isHedging() {
+        return hedging;
+    }
+
+    /**
+     * Sets whether declarative clients send a backup request when a request takes longer than the
+     * {@link #getHedgingPercentile() hedging percentile} of the recent requests. Only requests with an idempotent
+     * HTTP method and a reactive or {@link java.util.concurrent.CompletionStage} return type are hedged. Default
+     * value ({@value #DEFAULT_HEDGING}).
+     *
+     * @param hedging True if requests are hedged
+     */
+    public void setHedging(boolean hedging) {
+        this.hedging = hedging;
+    }
+
+    /**
+     * @return The percentile of the latency after which a backup request is sent
+     */
+    public double getHedgingPercentile() {
+        return hedgingPercentile;
+    }
+
+    /**
+     * Sets the percentile of the latency of the recent requests after which a backup request is sent. Default value
+     * ({@value #DEFAULT_HEDGINGPERCENTILE}).
+     *
+     * @param hedgingPercentile The hedging percentile
+     */
+    public void setHedgingPercentile(double hedgingPercentile) {
+        this.hedgingPercentile = hedgingPercentile;
+    }
+
+    /**
+     * @return The minimum delay before a backup request is sent
+     */
+    public Duration getHedgingMinDelay() {
+        return hedgingMinDelay;
+    }
+
+    /**
+     * Sets the minimum delay before a backup request is sent. Default value
+     * ({@value #DEFAULT_HEDGINGMINDELAY_MILLISECONDS} milliseconds).
+     *
+     * @param hedgingMinDelay The minimum hedging delay
+     */
+    public void setHedgingMinDelay(Duration hedgingMinDelay) {
+        if (hedgingMinDelay != null) {
+            this.hedgingMinDelay = hedgingMinDelay;
+        }
+    }
+
+    /**
+     * @return The percentage of the requests that may be hedged
+     */
+    public double getHedgingBudget() {
+        return hedgingBudget;
+    }
+
+    /**
+     * Sets the percentage of the requests that may be hedged, which keeps hedging from multiplying the load on a
+     * service that slows down. Default value ({@value #DEFAULT_HEDGINGBUDGET}).
+     *
+     * @param hedgingBudget The hedging budget, between 0 and 100
+     */
+    public void setHedgingBudget(double hedgingBudget) {
+        this.hedgingBudget = hedgingBudget;
+    }
+
+    /**
+     * @return The algorithm that limits the number of concurrent requests
+     */
+    public ConcurrencyLimitType getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    /**
+     * Sets the algorithm that adapts the number of concurrent requests declarative clients send to the service.
+     * Requests over the limit fail with a {@link io.micronaut.http.client.exceptions.ConcurrencyLimitExceededException}.
+     * Default value (none).
+     *
+     * @param concurrencyLimit The concurrency limit type
+     */
+    public void setConcurrencyLimit(ConcurrencyLimitType concurrencyLimit) {
+        if (concurrencyLimit != null) {
+            this.concurrencyLimit = concurrencyLimit;
+        }
+    }
+
+    /**
+     * @return The initial concurrency limit
+     */
+    public int getConcurrencyLimitInitial() {
+        return concurrencyLimitInitial;
+    }
+
+    /**
+     * Sets the initial number of concurrent requests. Default value ({@value #DEFAULT_CONCURRENCYLIMITINITIAL}).
+     *
+     * @param concurrencyLimitInitial The initial concurrency limit
+     */
+    public void setConcurrencyLimitInitial(int concurrencyLimitInitial) {
+        this.concurrencyLimitInitial = concurrencyLimitInitial;
+    }
+
+    /**
+     * @return The maximum concurrency limit
+     */
+    public int getConcurrencyLimitMax() {
+        return concurrencyLimitMax;
+    }
+
+    /**
+     * Sets the maximum number of concurrent requests. Default value ({@value #DEFAULT_CONCURRENCYLIMITMAX}).
+     *
+     * @param concurrencyLimitMax The maximum concurrency limit
+     */
+    public void setConcurrencyLimitMax(int concurrencyLimitMax) {
+        this.concurrencyLimitMax = concurrencyLimitMax;
+    }
+
     @Override
     public ConnectionPoolConfiguration getConnectionPoolConfiguration() {
         return connectionPoolConfiguration;
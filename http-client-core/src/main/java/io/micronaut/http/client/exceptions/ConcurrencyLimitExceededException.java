@@ -0,0 +1,32 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.exceptions;
+
+/**
+ * An exception thrown when a request is rejected because the number of concurrent requests sent to the service
+ * reached its adaptive limit.
+ *
+ * @since 2.0
+ */
+public final class ConcurrencyLimitExceededException extends HttpClientException {
+
+    /**
+     * @param message The message
+     */
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.interceptor;
+
+/**
+ * The algorithms that adapt the number of concurrent requests a declarative client sends to a service.
+ *
+ * @since 2.0
+ */
+public enum ConcurrencyLimitType {
+
+    /**
+     * The number of concurrent requests is not limited.
+     */
+    NONE,
+
+    /**
+     * Additive increase, multiplicative decrease. The limit grows by one for each successful request and shrinks
+     * when a request times out or the service is overloaded.
+     */
+    AIMD,
+
+    /**
+     * Delay based. The limit shrinks when the latency grows above the lowest latency observed, which is a sign that
+     * requests are queued, and grows while it stays close to it.
+     */
+    VEGAS
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.interceptor;
+
+import static io.micronaut.core.util.ArgumentUtils.check;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the number of concurrent requests sent to a service to a limit that adapts to the latency and the failures
+ * of the requests, so that requests are rejected before they queue up in the connection pool.
+ *
+ * <p>A request must call {@link #tryAcquire()} before it is sent and, if a permit was acquired, exactly one of
+ * {@link #onSuccess(long)}, {@link #onDropped()} or {@link #onIgnore()} once it completed.</p>
+ *
+ * @since 2.0
+ */
+public final class ConcurrencyLimiter {
+
+    private static final int MIN_LIMIT = 1;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int VEGAS_PROBE_INTERVAL = 1000;
+
+    private final ConcurrencyLimitType type;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private double estimatedLimit;
+    private long noLoadRtt = Long.MAX_VALUE;
+    private int samples;
+
+    /**
+     * @param type         The algorithm that adapts the limit
+     * @param initialLimit The initial limit
+     * @param maxLimit     The maximum limit
+     */
+    public ConcurrencyLimiter(ConcurrencyLimitType type, int initialLimit, int maxLimit) {
+        check("type", type).notNull();
+        if (type == ConcurrencyLimitType.NONE) {
+            throw new IllegalArgumentException("Concurrency limit type must not be NONE");
+        }
+        if (initialLimit < MIN_LIMIT || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limits. Initial: " + initialLimit + ", max: " + maxLimit);
+        }
+        this.type = type;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * @return The current limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return The number of requests in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Acquires a permit to send a request.
+     *
+     * @return True if the request can be sent, false if the limit is reached
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases the permit of a request that completed.
+     *
+     * @param rttNanos The round trip time of the request in nanoseconds
+     */
+    public void onSuccess(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        update(rttNanos, current, false);
+    }
+
+    /**
+     * Releases the permit of a request that timed out or was rejected because the service is overloaded.
+     */
+    public void onDropped() {
+        int current = inFlight.getAndDecrement();
+        update(0, current, true);
+    }
+
+    /**
+     * Releases the permit of a request whose outcome says nothing about the load of the service, such as a
+     * cancelled request.
+     */
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void update(long rttNanos, int inFlight, boolean dropped) {
+        double newLimit;
+        if (type == ConcurrencyLimitType.AIMD) {
+            newLimit = aimd(inFlight, dropped);
+        } else {
+            newLimit = vegas(rttNanos, inFlight, dropped);
+        }
+        estimatedLimit = Math.min(maxLimit, Math.max(MIN_LIMIT, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    private double aimd(int inFlight, boolean dropped) {
+        if (dropped) {
+            return estimatedLimit * BACKOFF_RATIO;
+        }
+        // only grow the limit when it is actually used
+        if (inFlight * 2 >= estimatedLimit) {
+            return estimatedLimit + 1;
+        }
+        return estimatedLimit;
+    }
+
+    private double vegas(long rttNanos, int inFlight, boolean dropped) {
+        double step = Math.max(1, Math.log10(estimatedLimit));
+        if (dropped) {
+            return estimatedLimit - step;
+        }
+        if (rttNanos <= 0) {
+            return estimatedLimit;
+        }
+        if (++samples >= VEGAS_PROBE_INTERVAL) {
+            // the latency without load changes over time, measure it again
+            samples = 0;
+            noLoadRtt = rttNanos;
+        } else if (rttNanos < noLoadRtt) {
+            noLoadRtt = rttNanos;
+        }
+        if (inFlight * 2 < estimatedLimit) {
+            return estimatedLimit;
+        }
+        double queued = estimatedLimit * (1 - (double) noLoadRtt / rttNanos);
+        if (queued <= 3 * step) {
+            return estimatedLimit + step;
+        } else if (queued >= 6 * step) {
+            return estimatedLimit - step;
+        }
+        return estimatedLimit;
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.micronaut.http.client.interceptor;
 
+import edu.umd.cs.findbugs.annotations.Nullable;
 import io.micronaut.aop.MethodInterceptor;
 import io.micronaut.aop.MethodInvocationContext;
 import io.micronaut.context.BeanContext;
@@ -42,6 +43,7 @@ import io.micronaut.http.*;
 import io.micronaut.http.annotation.*;
 import io.micronaut.http.client.*;
 import io.micronaut.http.client.annotation.Client;
+import io.micronaut.http.client.exceptions.ConcurrencyLimitExceededException;
 import io.micronaut.http.client.exceptions.HttpClientException;
 import io.micronaut.http.client.exceptions.HttpClientResponseException;
 import io.micronaut.http.client.interceptor.configuration.ClientVersioningConfiguration;
@@ -68,6 +70,7 @@ import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -94,6 +97,7 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
     private static final int ATTRIBUTES_INITIAL_CAPACITY = 1;
     private final BeanContext beanContext;
     private final Map<String, ClientVersioningConfiguration> versioningConfigurations = new ConcurrentHashMap<>(5);
+    private final Map<String, Optional<RequestPolicy>> requestPolicies = new ConcurrentHashMap<>(5);
     private final List<ReactiveClientResultTransformer> transformers;
     private final JsonMediaTypeCodec jsonMediaTypeCodec;
     private final RxHttpClientRegistry clientFactory;
@@ -459,22 +463,33 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
 
                 } else {
 
-                    if (Void.class.isAssignableFrom(argumentType) || Completable.class.isAssignableFrom(javaReturnType)) {
-                        publisher = httpClient.exchange(
-                                request, null, errorType
+                    boolean isVoid = Void.class.isAssignableFrom(argumentType) || Completable.class.isAssignableFrom(javaReturnType);
+                    if (!isVoid) {
+                        request.accept(acceptTypes);
+                    }
+                    RequestPolicy requestPolicy = getRequestPolicy(annotationMetadata);
+                    // filters mutate the request they send, so each attempt of a hedged request gets its own copy
+                    Supplier<MutableHttpRequest<Object>> attemptRequest;
+                    if (requestPolicy != null && requestPolicy.hedger != null && isIdempotent(httpMethod)) {
+                        attemptRequest = () -> copyRequest(request);
+                    } else {
+                        attemptRequest = () -> request;
+                    }
+                    Supplier<Publisher<?>> requestSupplier;
+                    if (isVoid) {
+                        requestSupplier = () -> httpClient.exchange(
+                                attemptRequest.get(), null, errorType
+                        );
+                    } else if (HttpResponse.class.isAssignableFrom(argumentType)) {
+                        requestSupplier = () -> httpClient.exchange(
+                                attemptRequest.get(), publisherArgument, errorType
                         );
                     } else {
-                        request.accept(acceptTypes);
-                        if (HttpResponse.class.isAssignableFrom(argumentType)) {
-                            publisher = httpClient.exchange(
-                                    request, publisherArgument, errorType
-                            );
-                        } else {
-                            publisher = httpClient.retrieve(
-                                    request, publisherArgument, errorType
-                            );
-                        }
+                        requestSupplier = () -> httpClient.retrieve(
+                                attemptRequest.get(), publisherArgument, errorType
+                        );
                     }
+                    publisher = applyRequestPolicy(requestPolicy, httpMethod, requestSupplier);
                 }
 
                 if (isFuture) {
@@ -532,19 +547,21 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
                     request.accept(acceptTypes);
                 }
 
+                Supplier<Object> blockingCall;
                 if (HttpResponse.class.isAssignableFrom(javaReturnType)) {
-                    return handleBlockingCall(javaReturnType, () ->
+                    blockingCall = () ->
                             blockingHttpClient.exchange(request,
                                     returnType.asArgument().getFirstTypeVariable().orElse(Argument.OBJECT_ARGUMENT),
                                     errorType
-                            ));
+                            );
                 } else if (void.class == javaReturnType) {
-                    return handleBlockingCall(javaReturnType, () ->
-                            blockingHttpClient.exchange(request, null, errorType));
+                    blockingCall = () ->
+                            blockingHttpClient.exchange(request, null, errorType);
                 } else {
-                    return handleBlockingCall(javaReturnType, () ->
-                            blockingHttpClient.retrieve(request, returnType.asArgument(), errorType));
+                    blockingCall = () ->
+                            blockingHttpClient.retrieve(request, returnType.asArgument(), errorType);
                 }
+                return handleBlockingCall(javaReturnType, applyRequestPolicy(getRequestPolicy(annotationMetadata), blockingCall));
             }
         }
         // try other introduction advice
@@ -573,6 +590,166 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
         }
     }
 
+    private @Nullable RequestPolicy getRequestPolicy(AnnotationMetadata annotationMetadata) {
+        String clientId = getClientId(annotationMetadata);
+        if (clientId == null) {
+            return null;
+        }
+        return requestPolicies.computeIfAbsent(clientId, id ->
+                beanContext.findBean(ServiceHttpClientConfiguration.class, Qualifiers.byName(id))
+                        .filter(configuration -> configuration.isHedging() || configuration.getConcurrencyLimit() != ConcurrencyLimitType.NONE)
+                        .map(RequestPolicy::new)
+        ).orElse(null);
+    }
+
+    /**
+     * Applies the concurrency limit and, for idempotent methods, request hedging to a reactive request.
+     *
+     * @param policy     The request policy of the client
+     * @param httpMethod The HTTP method
+     * @param request    Supplies the request, once per attempt
+     * @return The response publisher
+     */
+    @SuppressWarnings("unchecked")
+    private Publisher<?> applyRequestPolicy(@Nullable RequestPolicy policy, HttpMethod httpMethod, Supplier<Publisher<?>> request) {
+        if (policy == null) {
+            return request.get();
+        }
+        ConcurrencyLimiter limiter = policy.limiter;
+        Supplier<Publisher<Object>> primary = () -> {
+            if (limiter == null) {
+                return (Publisher<Object>) request.get();
+            }
+            return Flowable.defer(() -> {
+                if (!limiter.tryAcquire()) {
+                    return Flowable.<Object>error(policy.limitExceeded());
+                }
+                return trackRequest(limiter, request);
+            });
+        };
+        if (policy.hedger != null && isIdempotent(httpMethod)) {
+            return policy.hedger.hedge(primary, () -> {
+                if (limiter != null && !limiter.tryAcquire()) {
+                    // no backup request when the service is already at its limit
+                    return null;
+                }
+                return trackRequest(limiter, request);
+            });
+        }
+        return primary.get();
+    }
+
+    /**
+     * Copies a request that has not been sent yet, including its body, headers, cookies and attributes.
+     *
+     * @param request The request
+     * @return A copy of the request
+     */
+    private static MutableHttpRequest<Object> copyRequest(MutableHttpRequest<Object> request) {
+        MutableHttpRequest<Object> copy = HttpRequest.create(request.getMethod(), request.getUri().toString(), request.getMethodName());
+        request.getBody().ifPresent(copy::body);
+        request.getHeaders().forEachValue(copy::header);
+        request.getAttributes().forEach(copy::setAttribute);
+        return copy;
+    }
+
+    /**
+     * Applies the concurrency limit to a blocking request.
+     *
+     * @param policy The request policy of the client
+     * @param call   The blocking call
+     * @return The blocking call with the policy applied
+     */
+    private Supplier<Object> applyRequestPolicy(@Nullable RequestPolicy policy, Supplier<Object> call) {
+        if (policy == null || policy.limiter == null) {
+            return call;
+        }
+        ConcurrencyLimiter limiter = policy.limiter;
+        return () -> {
+            if (!limiter.tryAcquire()) {
+                throw policy.limitExceeded();
+            }
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = call.get();
+            } catch (RuntimeException | java.lang.Error e) {
+                releaseOnError(limiter, e, start);
+                throw e;
+            }
+            limiter.onSuccess(System.nanoTime() - start);
+            return result;
+        };
+    }
+
+    /**
+     * Sends a request whose concurrency limit permit was acquired and releases the permit once it completes.
+     *
+     * @param limiter The concurrency limiter
+     * @param request Supplies the request
+     * @return The response publisher
+     */
+    @SuppressWarnings("unchecked")
+    private Flowable<Object> trackRequest(@Nullable ConcurrencyLimiter limiter, Supplier<Publisher<?>> request) {
+        if (limiter == null) {
+            return Flowable.fromPublisher((Publisher<Object>) request.get());
+        }
+        long start = System.nanoTime();
+        Flowable<Object> flowable;
+        try {
+            flowable = Flowable.fromPublisher((Publisher<Object>) request.get());
+        } catch (RuntimeException e) {
+            limiter.onIgnore();
+            throw e;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return flowable
+                .doOnComplete(() -> {
+                    if (released.compareAndSet(false, true)) {
+                        limiter.onSuccess(System.nanoTime() - start);
+                    }
+                })
+                .doOnError(throwable -> {
+                    if (released.compareAndSet(false, true)) {
+                        releaseOnError(limiter, throwable, start);
+                    }
+                })
+                .doOnCancel(() -> {
+                    if (released.compareAndSet(false, true)) {
+                        limiter.onIgnore();
+                    }
+                });
+    }
+
+    private void releaseOnError(ConcurrencyLimiter limiter, Throwable throwable, long start) {
+        if (throwable instanceof HttpClientResponseException) {
+            HttpStatus status = ((HttpClientResponseException) throwable).getStatus();
+            if (status == HttpStatus.TOO_MANY_REQUESTS || status == HttpStatus.SERVICE_UNAVAILABLE) {
+                limiter.onDropped();
+            } else {
+                // the service answered, the round trip time is still relevant
+                limiter.onSuccess(System.nanoTime() - start);
+            }
+        } else {
+            // timeouts and connection failures
+            limiter.onDropped();
+        }
+    }
+
+    private boolean isIdempotent(HttpMethod httpMethod) {
+        switch (httpMethod) {
+            case GET:
+            case HEAD:
+            case OPTIONS:
+            case PUT:
+            case DELETE:
+            case TRACE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
     private ClientVersioningConfiguration getVersioningConfiguration(AnnotationMetadata annotationMetadata) {
         return versioningConfigurations.computeIfAbsent(getClientId(annotationMetadata), clientId ->
                 beanContext.findBean(ClientVersioningConfiguration.class, Qualifiers.byName(clientId))
@@ -627,4 +804,32 @@ public class HttpClientIntroductionAdvice implements MethodInterceptor<Object, O
         }
         return uri;
     }
+
+    /**
+     * The concurrency limiter and request hedger of a client.
+     */
+    private static final class RequestPolicy {
+        private final String clientId;
+        private final ConcurrencyLimiter limiter;
+        private final RequestHedger hedger;
+
+        RequestPolicy(ServiceHttpClientConfiguration configuration) {
+            this.clientId = configuration.getServiceId();
+            ConcurrencyLimitType limitType = configuration.getConcurrencyLimit();
+            this.limiter = limitType != ConcurrencyLimitType.NONE ? new ConcurrencyLimiter(
+                    limitType,
+                    configuration.getConcurrencyLimitInitial(),
+                    configuration.getConcurrencyLimitMax()
+            ) : null;
+            this.hedger = configuration.isHedging() ? new RequestHedger(
+                    configuration.getHedgingPercentile(),
+                    configuration.getHedgingMinDelay(),
+                    configuration.getHedgingBudget()
+            ) : null;
+        }
+
+        ConcurrencyLimitExceededException limitExceeded() {
+            return new ConcurrencyLimitExceededException("Concurrency limit of " + limiter.getLimit() + " requests reached for client: " + clientId);
+        }
+    }
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.interceptor;
+
+import io.reactivex.Flowable;
+import org.reactivestreams.Publisher;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Sends a backup request when a request takes longer than a percentile of the latency of the recent requests, and
+ * uses the response that arrives first. The other request is cancelled.
+ *
+ * <p>The latency of a call is measured from the start of its primary request, whichever request answers, and a
+ * primary request that is cancelled before it answered is recorded with the time it was outstanding, so that hedging
+ * does not lower the percentile it is based on. To keep a slowdown from doubling the load, backup requests are
+ * limited to a budget: every call earns a share of a backup request and a backup request is only sent while a whole
+ * one has been earned.</p>
+ *
+ * <p>No backup request is sent until enough latencies have been recorded.</p>
+ *
+ * @since 2.0
+ */
+public final class RequestHedger {
+
+    /**
+     * The default percentage of the calls that may send a backup request.
+     */
+    public static final double DEFAULT_BUDGET = 10;
+
+    private static final int SAMPLE_SIZE = 512;
+    private static final int MIN_SAMPLES = 20;
+    private static final int RECALCULATE_INTERVAL = 32;
+    // the budget is kept in thousandths of a backup request
+    private static final long TOKEN = 1000;
+    private static final long MAX_TOKENS = 10 * TOKEN;
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long tokensPerCall;
+    private final AtomicLongArray samples = new AtomicLongArray(SAMPLE_SIZE);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong tokens = new AtomicLong(MAX_TOKENS);
+    private volatile long delayNanos = -1;
+
+    /**
+     * @param percentile The percentile of the latency after which a backup request is sent, between 0 and 100
+     * @param minDelay   The minimum delay before a backup request is sent
+     */
+    public RequestHedger(double percentile, Duration minDelay) {
+        this(percentile, minDelay, DEFAULT_BUDGET);
+    }
+
+    /**
+     * @param percentile The percentile of the latency after which a backup request is sent, between 0 and 100
+     * @param minDelay   The minimum delay before a backup request is sent
+     * @param budget     The percentage of the calls that may send a backup request, between 0 and 100
+     */
+    public RequestHedger(double percentile, Duration minDelay, double budget) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be greater than 0 and at most 100: " + percentile);
+        }
+        if (budget < 0 || budget > 100) {
+            throw new IllegalArgumentException("Budget must be between 0 and 100: " + budget);
+        }
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay != null ? Math.max(0, minDelay.toNanos()) : 0;
+        this.tokensPerCall = Math.round(budget / 100 * TOKEN);
+    }
+
+    /**
+     * @return The delay after which a backup request is sent, if enough latencies have been recorded
+     */
+    public Optional<Duration> getDelay() {
+        long delay = delayNanos;
+        return delay < 0 ? Optional.empty() : Optional.of(Duration.ofNanos(delay));
+    }
+
+    /**
+     * Records the latency of a request.
+     *
+     * @param latencyNanos The latency in nanoseconds
+     */
+    public void record(long latencyNanos) {
+        long n = count.incrementAndGet();
+        samples.set((int) ((n - 1) % SAMPLE_SIZE), latencyNanos);
+        if (n == MIN_SAMPLES || (n > MIN_SAMPLES && n % RECALCULATE_INTERVAL == 0)) {
+            int size = (int) Math.min(n, SAMPLE_SIZE);
+            long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = samples.get(i);
+            }
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * size) - 1;
+            delayNanos = Math.max(minDelayNanos, sorted[Math.max(0, index)]);
+        }
+    }
+
+    /**
+     * Sends the primary request and, if it has not answered after the hedging delay and the budget allows it, the
+     * backup request. The first request to answer wins and the other one is cancelled. Once the backup request is
+     * sent, the error of a request is only propagated if the other request failed as well.
+     *
+     * @param primary The primary request
+     * @param backup  Supplies the backup request, or null if no backup request should be sent
+     * @param <T>     The response type
+     * @return The response of the request that answered first
+     */
+    public <T> Flowable<T> hedge(Supplier<Publisher<T>> primary, Supplier<Publisher<T>> backup) {
+        return Flowable.defer(() -> {
+            earn();
+            long start = System.nanoTime();
+            AtomicBoolean recorded = new AtomicBoolean();
+            Runnable recordLatency = () -> {
+                if (recorded.compareAndSet(false, true)) {
+                    record(System.nanoTime() - start);
+                }
+            };
+            // a primary request that is cancelled, because the backup won or the caller gave up, took at least this long
+            Flowable<T> primaryRequest = Flowable.fromPublisher(primary.get()).doOnCancel(recordLatency::run);
+            long delay = delayNanos;
+            if (delay < 0) {
+                return primaryRequest.doOnNext(response -> recordLatency.run());
+            }
+            AtomicBoolean backupSent = new AtomicBoolean();
+            AtomicInteger failures = new AtomicInteger();
+            Flowable<T> first = primaryRequest.onErrorResumeNext(throwable -> {
+                if (backupSent.get() && failures.incrementAndGet() == 1) {
+                    // the backup request decides the outcome
+                    return Flowable.<T>never();
+                }
+                return Flowable.<T>error(throwable);
+            });
+            Flowable<T> second = Flowable.timer(delay, TimeUnit.NANOSECONDS).flatMap(tick -> {
+                if (!spend()) {
+                    return Flowable.<T>never();
+                }
+                Publisher<T> request = backup.get();
+                if (request == null) {
+                    return Flowable.<T>never();
+                }
+                backupSent.set(true);
+                return Flowable.fromPublisher(request).onErrorResumeNext(throwable -> {
+                    if (failures.incrementAndGet() == 1) {
+                        // the primary request decides the outcome
+                        return Flowable.<T>never();
+                    }
+                    return Flowable.<T>error(throwable);
+                });
+            });
+            return first.ambWith(second).doOnNext(response -> recordLatency.run());
+        });
+    }
+
+    private void earn() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current >= MAX_TOKENS) {
+                return;
+            }
+        } while (!tokens.compareAndSet(current, Math.min(MAX_TOKENS, current + tokensPerCall)));
+    }
+
+    private boolean spend() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.exceptions.NoAvailableServiceException;
+import io.micronaut.health.HealthStatus;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * <p>A load balancer that picks two random available instances and selects the one with the lower cost, which is the
+ * latency of the instance multiplied by its number of outstanding requests (power of two choices). Picking the better
+ * of two random instances, rather than the best one, prevents all the clients from sending their requests to the same
+ * instance.</p>
+ *
+ * <p>The latency is a moving average that follows increases right away and decays over time, so that an instance
+ * that was slow or failing is tried again once it has recovered. Requests that fail without a response or with a
+ * server error ({@code 5xx}) count as taking at least the failure penalty, so that an instance that fails fast does
+ * not attract the traffic.</p>
+ *
+ * @since 2.0
+ */
+public abstract class AbstractLatencyAwareLoadBalancer implements RequestTrackingLoadBalancer {
+
+    /**
+     * The default time over which the latency of an instance decays.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final Duration DEFAULT_DECAY_TIME = Duration.ofSeconds(10);
+
+    /**
+     * The default latency recorded for a request that failed without a response or with a server error.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final Duration DEFAULT_FAILURE_PENALTY = Duration.ofSeconds(1);
+
+    private final Map<URI, InstanceStatistics> statistics = new ConcurrentHashMap<>();
+    private final long decayNanos;
+    private final long failurePenaltyNanos;
+
+    /**
+     * Default constructor.
+     */
+    protected AbstractLatencyAwareLoadBalancer() {
+        this(DEFAULT_DECAY_TIME, DEFAULT_FAILURE_PENALTY);
+    }
+
+    /**
+     * @param decayTime      The time over which the latency of an instance decays
+     * @param failurePenalty The latency recorded for a request that failed without a response or with a server error
+     */
+    protected AbstractLatencyAwareLoadBalancer(Duration decayTime, Duration failurePenalty) {
+        this.decayNanos = Math.max(1, decayTime.toNanos());
+        this.failurePenaltyNanos = failurePenalty.toNanos();
+    }
+
+    /**
+     * @return The service ID
+     */
+    public abstract String getServiceID();
+
+    @Override
+    public void requestStarted(ServiceInstance instance) {
+        statistics.computeIfAbsent(instance.getURI(), uri -> new InstanceStatistics()).inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void requestCompleted(ServiceInstance instance, long durationNanos, @Nullable Throwable error) {
+        InstanceStatistics instanceStatistics = statistics.get(instance.getURI());
+        if (instanceStatistics != null) {
+            instanceStatistics.inFlight.decrementAndGet();
+            long latency = durationNanos;
+            if (isFailure(error)) {
+                latency = Math.max(latency, failurePenaltyNanos);
+            }
+            instanceStatistics.record(latency, System.nanoTime());
+        }
+    }
+
+    /**
+     * @param instance The instance
+     * @return The number of requests sent to the instance that have not completed
+     */
+    public int getInFlightRequests(ServiceInstance instance) {
+        InstanceStatistics instanceStatistics = statistics.get(instance.getURI());
+        return instanceStatistics != null ? instanceStatistics.inFlight.get() : 0;
+    }
+
+    /**
+     * @param instance The instance
+     * @return The current moving average of the latency of the instance
+     */
+    public Duration getLatency(ServiceInstance instance) {
+        InstanceStatistics instanceStatistics = statistics.get(instance.getURI());
+        return Duration.ofNanos(instanceStatistics != null ? (long) instanceStatistics.latency(System.nanoTime()) : 0);
+    }
+
+    /**
+     * @param serviceInstances A list of service instances
+     * @return The selected available instance or a {@link NoAvailableServiceException} if none
+     */
+    protected ServiceInstance getLeastLoaded(List<ServiceInstance> serviceInstances) {
+        if (statistics.size() > serviceInstances.size()) {
+            removeStatistics(serviceInstances);
+        }
+        List<ServiceInstance> availableServices = serviceInstances.stream()
+            .filter(si -> si.getHealthStatus().equals(HealthStatus.UP))
+            .collect(Collectors.toList());
+        int len = availableServices.size();
+        if (len == 0) {
+            throw new NoAvailableServiceException(getServiceID());
+        }
+        if (len == 1) {
+            return availableServices.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(len);
+        int second = random.nextInt(len - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = availableServices.get(first);
+        ServiceInstance b = availableServices.get(second);
+        long now = System.nanoTime();
+        return cost(a, now) <= cost(b, now) ? a : b;
+    }
+
+    private static boolean isFailure(@Nullable Throwable error) {
+        if (error == null) {
+            return false;
+        }
+        if (error instanceof HttpClientResponseException) {
+            // client errors are the fault of the request, not of the instance
+            return ((HttpClientResponseException) error).getStatus().getCode() >= 500;
+        }
+        return true;
+    }
+
+    private double cost(ServiceInstance instance, long now) {
+        InstanceStatistics instanceStatistics = statistics.get(instance.getURI());
+        if (instanceStatistics == null) {
+            return 0;
+        }
+        int inFlight = instanceStatistics.inFlight.get();
+        double latency = instanceStatistics.latency(now);
+        if (latency == 0) {
+            // no response yet, avoid sending every request to the instance until it answers
+            return inFlight == 0 ? 0 : (double) failurePenaltyNanos * inFlight;
+        }
+        return latency * (inFlight + 1);
+    }
+
+    private void removeStatistics(List<ServiceInstance> serviceInstances) {
+        Set<URI> uris = new HashSet<>(serviceInstances.size());
+        for (ServiceInstance instance : serviceInstances) {
+            uris.add(instance.getURI());
+        }
+        statistics.keySet().retainAll(uris);
+    }
+
+    /**
+     * The load of an instance.
+     */
+    private final class InstanceStatistics {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private double latency;
+        private long lastUpdate;
+
+        synchronized void record(long latencyNanos, long now) {
+            if (latencyNanos > latency) {
+                latency = latencyNanos;
+            } else {
+                double weight = Math.exp(-(now - lastUpdate) / (double) decayNanos);
+                latency = latency * weight + latencyNanos * (1 - weight);
+            }
+            lastUpdate = now;
+        }
+
+        synchronized double latency(long now) {
+            return latency * Math.exp(-Math.max(0, now - lastUpdate) / (double) decayNanos);
+        }
+    }
+}
@@ -49,6 +49,21 @@ public class DiscoveryClientLoadBalancerFactory {
         return new DiscoveryClientRoundRobinLoadBalancer(serviceID, discoveryClient);
     }
 
+    /**
+     * Creates a {@link LoadBalancer} of the given type for the given service ID.
+     *
+     * @param serviceID The service ID
+     * @param type      The type of load balancer
+     * @return The {@link LoadBalancer}
+     * @since 2.0
+     */
+    public LoadBalancer create(String serviceID, LoadBalancerType type) {
+        if (type == LoadBalancerType.LATENCY_AWARE) {
+            return new DiscoveryClientLatencyAwareLoadBalancer(serviceID, discoveryClient);
+        }
+        return create(serviceID);
+    }
+
     /**
      * @return The {@link DiscoveryClient} being used
      */
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.http.client.LoadBalancer;
+
+/**
+ * A {@link LoadBalancer} that is notified of the requests the HTTP client sends to the instances it selects, so that
+ * it can take their load and latency into account.
+ *
+ * @since 2.0
+ */
+public interface RequestTrackingLoadBalancer extends LoadBalancer {
+
+    /**
+     * Called when a request is sent to a selected instance.
+     *
+     * @param instance The instance
+     */
+    void requestStarted(ServiceInstance instance);
+
+    /**
+     * Called when the response of a request has been received, the request has failed or it has been cancelled.
+     *
+     * @param instance      The instance
+     * @param durationNanos The time elapsed since the request was started, in nanoseconds
+     * @param error         The error, if the request failed
+     */
+    void requestCompleted(ServiceInstance instance, long durationNanos, @Nullable Throwable error);
+}
@@ -41,4 +41,19 @@ public class ServiceInstanceListLoadBalancerFactory {
     public LoadBalancer create(ServiceInstanceList serviceInstanceList) {
         return new ServiceInstanceListRoundRobinLoadBalancer(serviceInstanceList);
     }
+
+    /**
+     * Creates a {@link LoadBalancer} of the given type from the given {@link ServiceInstanceList}.
+     *
+     * @param serviceInstanceList The {@link ServiceInstanceList}
+     * @param type                The type of load balancer
+     * @return The {@link LoadBalancer}
+     * @since 2.0
+     */
+    public LoadBalancer create(ServiceInstanceList serviceInstanceList, LoadBalancerType type) {
+        if (type == LoadBalancerType.LATENCY_AWARE) {
+            return new ServiceInstanceListLatencyAwareLoadBalancer(serviceInstanceList);
+        }
+        return create(serviceInstanceList);
+    }
 }
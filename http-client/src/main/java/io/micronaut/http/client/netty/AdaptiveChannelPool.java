@@ -0,0 +1,416 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.http.client.HttpClientConfiguration;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.pool.ChannelHealthChecker;
+import io.netty.channel.pool.ChannelPoolHandler;
+import io.netty.channel.pool.SimpleChannelPool;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * <p>A {@link SimpleChannelPool} whose connection limit adapts to the observed load.</p>
+ *
+ * <p>Like {@link io.netty.channel.pool.FixedChannelPool} acquisitions beyond the limit are queued, but the limit moves
+ * between the configured min and max connections. Every eviction interval the pool estimates the concurrency it needs
+ * from the time channels were held (Little's law) plus the queued acquisitions and moves the limit towards it, and a
+ * queued acquisition that has waited longer than channels are usually held for raises the limit straight away. The
+ * same task closes channels that are broken, have been idle for too long or exceed the limit.</p>
+ *
+ * <p>All state is updated on a single event executor.</p>
+ *
+ * @since 2.0
+ */
+@Internal
+final class AdaptiveChannelPool extends SimpleChannelPool implements ConnectionPoolStatistics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveChannelPool.class);
+    private static final AttributeKey<Long> ACQUIRED_AT = AttributeKey.valueOf("micronaut.http.client.pool.acquired");
+    private static final AttributeKey<Long> IDLE_SINCE = AttributeKey.valueOf("micronaut.http.client.pool.idle");
+    private static final double HEADROOM = 1.25;
+
+    private final String host;
+    private final EventExecutor executor;
+    private final Set<Channel> channels;
+    private final int minConnections;
+    private final int maxConnections;
+    private final int maxPendingAcquires;
+    private final long acquireTimeoutNanos;
+    private final long maxIdleNanos;
+    private final Deque<PendingAcquire> pendingAcquires = new ArrayDeque<>();
+    private final ScheduledFuture<?> maintenanceTask;
+
+    // written on the executor only, volatile so that the statistics can be read from any thread
+    private volatile int limit;
+    private volatile int acquired;
+    private volatile int pending;
+    private volatile long acquireCount;
+    private volatile long meanAcquireWaitNanos;
+    private volatile boolean closed;
+
+    private long lastEvaluation = System.nanoTime();
+    private long intervalAcquires;
+    private long intervalWaitNanos;
+    private long intervalReleases;
+    private long intervalHoldNanos;
+    private long meanHoldNanos;
+
+    /**
+     * @param host          The host and port connections are made to
+     * @param bootstrap     The bootstrap
+     * @param handler       The channel pool handler
+     * @param executor      The executor that owns the state of the pool
+     * @param configuration The connection pool configuration
+     */
+    AdaptiveChannelPool(String host,
+                        Bootstrap bootstrap,
+                        ChannelPoolHandler handler,
+                        EventExecutor executor,
+                        HttpClientConfiguration.ConnectionPoolConfiguration configuration) {
+        this(host, bootstrap, new TrackingHandler(handler), executor, configuration);
+    }
+
+    private AdaptiveChannelPool(String host,
+                                Bootstrap bootstrap,
+                                TrackingHandler handler,
+                                EventExecutor executor,
+                                HttpClientConfiguration.ConnectionPoolConfiguration configuration) {
+        super(bootstrap, handler, ChannelHealthChecker.ACTIVE, true, true);
+        this.host = host;
+        this.executor = executor;
+        this.channels = handler.channels;
+        int max = configuration.getMaxConnections();
+        this.maxConnections = max > 0 ? max : Integer.MAX_VALUE;
+        this.minConnections = Math.min(Math.max(configuration.getMinConnections(), 0), maxConnections);
+        this.maxPendingAcquires = configuration.getMaxPendingAcquires();
+        this.acquireTimeoutNanos = configuration.getAcquireTimeout().map(Duration::toNanos).orElse(-1L);
+        this.maxIdleNanos = configuration.getMaxIdleTime().map(Duration::toNanos).orElse(-1L);
+        this.limit = Math.max(minConnections, 1);
+        long interval = configuration.getEvictionInterval().toNanos();
+        this.maintenanceTask = executor.scheduleWithFixedDelay(this::maintain, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Opens the min connections up front.
+     */
+    void prewarm() {
+        for (int i = 0; i < minConnections; i++) {
+            acquire(executor.newPromise()).addListener((FutureListener<Channel>) future -> {
+                if (future.isSuccess()) {
+                    release(future.getNow());
+                } else if (LOG.isDebugEnabled()) {
+                    LOG.debug("Failed to pre-warm connection to " + host + ": " + future.cause().getMessage(), future.cause());
+                }
+            });
+        }
+    }
+
+    @Override
+    public String getHost() {
+        return host;
+    }
+
+    @Override
+    public int getActiveConnections() {
+        return acquired;
+    }
+
+    @Override
+    public int getIdleConnections() {
+        return Math.max(channels.size() - acquired, 0);
+    }
+
+    @Override
+    public int getPendingAcquires() {
+        return pending;
+    }
+
+    @Override
+    public int getConnectionLimit() {
+        return limit;
+    }
+
+    @Override
+    public long getAcquireCount() {
+        return acquireCount;
+    }
+
+    @Override
+    public Duration getMeanAcquireWait() {
+        return Duration.ofNanos(meanAcquireWaitNanos);
+    }
+
+    @Override
+    public Future<Channel> acquire(Promise<Channel> promise) {
+        if (executor.inEventLoop()) {
+            acquire0(promise);
+        } else {
+            executor.execute(() -> acquire0(promise));
+        }
+        return promise;
+    }
+
+    @Override
+    public Future<Void> release(Channel channel, Promise<Void> promise) {
+        Long acquiredAt = channel.attr(ACQUIRED_AT).getAndSet(null);
+        channel.attr(IDLE_SINCE).set(System.nanoTime());
+        super.release(channel, executor.<Void>newPromise().addListener((FutureListener<Void>) future -> {
+            // an IllegalArgumentException means the channel was not acquired from this pool
+            if (acquiredAt != null && (future.isSuccess() || !(future.cause() instanceof IllegalArgumentException))) {
+                acquired--;
+                intervalReleases++;
+                intervalHoldNanos += System.nanoTime() - acquiredAt;
+                runPendingAcquires();
+            }
+            if (future.isSuccess()) {
+                promise.trySuccess(null);
+            } else {
+                promise.tryFailure(future.cause());
+            }
+        }));
+        return promise;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (executor.inEventLoop()) {
+                close0();
+            } else {
+                executor.submit(this::close0).syncUninterruptibly();
+            }
+        } catch (RejectedExecutionException e) {
+            // the executor is already shut down so nothing can be pending
+            closed = true;
+        }
+        super.close();
+    }
+
+    private void close0() {
+        closed = true;
+        maintenanceTask.cancel(false);
+        PendingAcquire pendingAcquire;
+        while ((pendingAcquire = pendingAcquires.poll()) != null) {
+            pendingAcquire.cancelTimeout();
+            pendingAcquire.promise.tryFailure(new IllegalStateException("Connection pool closed"));
+        }
+        pending = 0;
+    }
+
+    private void acquire0(Promise<Channel> promise) {
+        if (closed) {
+            promise.setFailure(new IllegalStateException("Connection pool closed"));
+            return;
+        }
+        long start = System.nanoTime();
+        if (acquired < limit) {
+            doAcquire(promise, start);
+        } else if (pendingAcquires.size() >= maxPendingAcquires) {
+            promise.setFailure(new IllegalStateException("Too many outstanding acquire operations"));
+        } else {
+            PendingAcquire pendingAcquire = new PendingAcquire(promise, start);
+            if (acquireTimeoutNanos > 0) {
+                pendingAcquire.timeout = executor.schedule(() -> {
+                    if (pendingAcquires.remove(pendingAcquire)) {
+                        pending = pendingAcquires.size();
+                        promise.tryFailure(new TimeoutException("Acquire operation took longer than the configured maximum time"));
+                    }
+                }, acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+            }
+            pendingAcquires.add(pendingAcquire);
+            pending = pendingAcquires.size();
+            growIfStarved(start);
+        }
+    }
+
+    private void doAcquire(Promise<Channel> promise, long start) {
+        acquired++;
+        super.acquire(executor.<Channel>newPromise().addListener((FutureListener<Channel>) future -> {
+            if (future.isSuccess()) {
+                Channel channel = future.getNow();
+                long now = System.nanoTime();
+                acquireCount++;
+                intervalAcquires++;
+                intervalWaitNanos += now - start;
+                channel.attr(ACQUIRED_AT).set(now);
+                if (closed || !promise.trySuccess(channel)) {
+                    // the pool was closed or the acquisition cancelled in the meantime
+                    release(channel);
+                }
+            } else {
+                acquired--;
+                promise.tryFailure(future.cause());
+                runPendingAcquires();
+            }
+        }));
+    }
+
+    private void runPendingAcquires() {
+        while (acquired < limit) {
+            PendingAcquire pendingAcquire = pendingAcquires.poll();
+            if (pendingAcquire == null) {
+                break;
+            }
+            pendingAcquire.cancelTimeout();
+            if (!pendingAcquire.promise.isDone()) {
+                doAcquire(pendingAcquire.promise, pendingAcquire.start);
+            }
+        }
+        pending = pendingAcquires.size();
+    }
+
+    /**
+     * Raises the limit when the oldest queued acquisition has waited longer than channels are usually held for, in
+     * which case opening a new connection serves it sooner than waiting for a release. Until a channel has been
+     * released there is no hold time to compare with, so the limit is then left to the maintenance task.
+     *
+     * @param now The current time
+     */
+    private void growIfStarved(long now) {
+        PendingAcquire oldest = pendingAcquires.peek();
+        if (oldest == null || limit >= maxConnections) {
+            return;
+        }
+        long holdNanos = meanHoldNanos > 0 ? meanHoldNanos : intervalReleases > 0 ? intervalHoldNanos / intervalReleases : -1;
+        if (holdNanos >= 0 && now - oldest.start >= holdNanos) {
+            limit++;
+            runPendingAcquires();
+        }
+    }
+
+    private void maintain() {
+        if (closed) {
+            return;
+        }
+        long now = System.nanoTime();
+        long elapsed = Math.max(now - lastEvaluation, 1);
+        lastEvaluation = now;
+
+        meanAcquireWaitNanos = intervalAcquires > 0 ? intervalWaitNanos / intervalAcquires : 0;
+        if (intervalReleases > 0) {
+            meanHoldNanos = intervalHoldNanos / intervalReleases;
+        }
+        // the summed hold time over the elapsed time is the mean number of channels in use
+        double concurrency = Math.max((double) intervalHoldNanos / elapsed, acquired);
+        int target = (int) Math.ceil(concurrency * HEADROOM) + pendingAcquires.size();
+        target = Math.min(Math.max(target, Math.max(minConnections, 1)), maxConnections);
+        if (target >= limit) {
+            limit = target;
+        } else {
+            // shrink gradually so that a short lull does not close connections that are needed again right after
+            limit = Math.max(target, limit - Math.max(limit / 4, 1));
+        }
+        intervalAcquires = 0;
+        intervalWaitNanos = 0;
+        intervalReleases = 0;
+        intervalHoldNanos = 0;
+
+        evictIdleChannels(now);
+        runPendingAcquires();
+        growIfStarved(now);
+    }
+
+    private void evictIdleChannels(long now) {
+        int open = channels.size();
+        List<Channel> retained = new ArrayList<>();
+        Channel channel;
+        while ((channel = pollChannel()) != null) {
+            Long idleSince = channel.attr(IDLE_SINCE).get();
+            boolean expired = maxIdleNanos > 0 && idleSince != null && now - idleSince > maxIdleNanos;
+            boolean surplus = acquired + retained.size() >= limit;
+            if (!channel.isActive() || ((expired || surplus) && open > minConnections)) {
+                open--;
+                channel.close();
+            } else {
+                retained.add(channel);
+            }
+        }
+        // channels are polled most recently used first, so offer them back in reverse to keep the order
+        for (int i = retained.size() - 1; i >= 0; i--) {
+            offerChannel(retained.get(i));
+        }
+    }
+
+    /**
+     * An acquisition waiting for the limit to allow it.
+     */
+    private static final class PendingAcquire {
+        final Promise<Channel> promise;
+        final long start;
+        ScheduledFuture<?> timeout;
+
+        PendingAcquire(Promise<Channel> promise, long start) {
+            this.promise = promise;
+            this.start = start;
+        }
+
+        void cancelTimeout() {
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Keeps track of the open channels of the pool.
+     */
+    private static final class TrackingHandler implements ChannelPoolHandler {
+        final Set<Channel> channels = ConcurrentHashMap.newKeySet();
+        private final ChannelPoolHandler delegate;
+
+        TrackingHandler(ChannelPoolHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void channelReleased(Channel ch) throws Exception {
+            delegate.channelReleased(ch);
+        }
+
+        @Override
+        public void channelAcquired(Channel ch) throws Exception {
+            delegate.channelAcquired(ch);
+        }
+
+        @Override
+        public void channelCreated(Channel ch) throws Exception {
+            channels.add(ch);
+            ch.closeFuture().addListener(future -> channels.remove(ch));
+            delegate.channelCreated(ch);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exposes the {@link ConnectionPoolStatistics} of the adaptive connection pools of the clients managed by the
+ * application context.
+ *
+ * @since 2.0
+ */
+@Singleton
+public class ConnectionPoolMetrics {
+
+    private final RxNettyHttpClientRegistry clientRegistry;
+
+    /**
+     * @param clientRegistry The client registry
+     */
+    public ConnectionPoolMetrics(RxNettyHttpClientRegistry clientRegistry) {
+        this.clientRegistry = clientRegistry;
+    }
+
+    /**
+     * @return The statistics of each host the clients have a connection pool for
+     */
+    public List<ConnectionPoolStatistics> getStatistics() {
+        List<ConnectionPoolStatistics> statistics = new ArrayList<>();
+        for (DefaultHttpClient client : clientRegistry.getClients()) {
+            statistics.addAll(client.getConnectionPoolStatistics());
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import java.time.Duration;
+
+/**
+ * Statistics of the connection pool a client keeps for a single host.
+ *
+ * @since 2.0
+ */
+public interface ConnectionPoolStatistics {
+
+    /**
+     * @return The host and port the connections are made to
+     */
+    String getHost();
+
+    /**
+     * @return The number of connections currently acquired
+     */
+    int getActiveConnections();
+
+    /**
+     * @return The number of open connections that are not acquired
+     */
+    int getIdleConnections();
+
+    /**
+     * @return The number of acquisitions waiting for a connection
+     */
+    int getPendingAcquires();
+
+    /**
+     * @return The number of connections the pool currently allows
+     */
+    int getConnectionLimit();
+
+    /**
+     * @return The total number of connections acquired from the pool
+     */
+    long getAcquireCount();
+
+    /**
+     * @return The mean time acquisitions waited for a connection during the last evaluation interval
+     */
+    Duration getMeanAcquireWait();
+}
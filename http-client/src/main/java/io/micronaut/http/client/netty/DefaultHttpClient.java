@@ -36,6 +36,7 @@ import io.micronaut.core.type.Argument;
 import io.micronaut.core.util.ArgumentUtils;
 import io.micronaut.core.util.ArrayUtils;
 import io.micronaut.core.util.StringUtils;
+import io.micronaut.discovery.ServiceInstance;
 import io.micronaut.http.*;
 import io.micronaut.http.HttpResponse;
 import io.micronaut.http.bind.DefaultRequestBinderRegistry;
@@ -45,6 +46,8 @@ import io.micronaut.http.client.exceptions.*;
 import io.micronaut.http.client.filter.ClientFilterResolutionContext;
 import io.micronaut.http.client.filter.DefaultHttpClientFilterResolver;
 import io.micronaut.http.client.filters.ClientServerContextFilter;
+import io.micronaut.http.client.loadbalance.FixedLoadBalancer;
+import io.micronaut.http.client.loadbalance.RequestTrackingLoadBalancer;
 import io.micronaut.http.client.multipart.MultipartBody;
 import io.micronaut.http.client.multipart.MultipartDataFactory;
 import io.micronaut.http.client.sse.RxSseClient;
@@ -119,6 +122,7 @@ import io.netty.util.CharsetUtil;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.DefaultThreadFactory;
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
 import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
 import io.reactivex.FlowableEmitter;
@@ -296,7 +300,66 @@ public class DefaultHttpClient implements
         // HTTP/2 defaults to keep alive connections so should we should always use a pool
         if (connectionPoolConfiguration.isEnabled() || this.httpVersion == io.micronaut.http.HttpVersion.HTTP_2_0) {
             int maxConnections = connectionPoolConfiguration.getMaxConnections();
-            if (maxConnections > -1) {
+            if (this.httpVersion == io.micronaut.http.HttpVersion.HTTP_2_0 && connectionPoolConfiguration.isMultiplexing()) {
+                poolMap = new AbstractChannelPoolMap<RequestKey, ChannelPool>() {
+                    @Override
+                    protected ChannelPool newPool(RequestKey key) {
+                        Bootstrap newBootstrap = bootstrap.clone(group);
+                        newBootstrap.remoteAddress(key.getRemoteAddress());
+
+                        HttpClientInitializer initializer = new HttpClientInitializer(
+                                key.isSecure() ? sslContext : null,
+                                key.getHost(),
+                                key.getPort(),
+                                false,
+                                false,
+                                null
+                        ) {
+                            @Override
+                            protected void addFinalHandler(ChannelPipeline pipeline) {
+                                // no-op, don't add the stream handler which is not supported
+                                // in the connection pooled scenario
+                            }
+                        };
+                        newBootstrap.handler(new ChannelInitializer<SocketChannel>() {
+                            @Override
+                            protected void initChannel(SocketChannel ch) {
+                                initializer.initHttp2MultiplexConnection(ch);
+                            }
+                        });
+                        return new Http2MultiplexChannelPool(
+                                newBootstrap,
+                                new ChannelInitializer<Http2StreamChannel>() {
+                                    @Override
+                                    protected void initChannel(Http2StreamChannel ch) {
+                                        initializer.addHttp2StreamHandlers(ch.pipeline());
+                                    }
+                                },
+                                group.next(),
+                                connectionPoolConfiguration
+                        );
+                    }
+                };
+            } else if (connectionPoolConfiguration.isAdaptive()) {
+                poolMap = new AbstractChannelPoolMap<RequestKey, ChannelPool>() {
+                    @Override
+                    protected ChannelPool newPool(RequestKey key) {
+                        Bootstrap newBootstrap = bootstrap.clone(group);
+                        newBootstrap.remoteAddress(key.getRemoteAddress());
+
+                        AbstractChannelPoolHandler channelPoolHandler = newPoolHandler(key);
+                        AdaptiveChannelPool channelPool = new AdaptiveChannelPool(
+                                key.getHost() + ':' + key.getPort(),
+                                newBootstrap,
+                                channelPoolHandler,
+                                group.next(),
+                                connectionPoolConfiguration
+                        );
+                        channelPool.prewarm();
+                        return channelPool;
+                    }
+                };
+            } else if (maxConnections > -1) {
                 poolMap = new AbstractChannelPoolMap<RequestKey, ChannelPool>() {
                     @Override
                     protected ChannelPool newPool(RequestKey key) {
@@ -361,6 +424,9 @@ public class DefaultHttpClient implements
         }
         this.webSocketRegistry = webSocketBeanRegistry != null ? webSocketBeanRegistry : WebSocketBeanRegistry.EMPTY;
         this.requestBinderRegistry = requestBinderRegistry;
+        if (poolMap != null && connectionPoolConfiguration.isAdaptive() && connectionPoolConfiguration.getMinConnections() > 0) {
+            prewarmConnectionPool();
+        }
     }
 
     /**
@@ -405,6 +471,24 @@ public class DefaultHttpClient implements
         return configuration;
     }
 
+    /**
+     * @return The statistics of the connection pool for each host when the pool is adaptive
+     * @since 2.0
+     */
+    public List<ConnectionPoolStatistics> getConnectionPoolStatistics() {
+        if (!(poolMap instanceof Iterable)) {
+            return Collections.emptyList();
+        }
+        List<ConnectionPoolStatistics> statistics = new ArrayList<>();
+        for (Map.Entry<RequestKey, ChannelPool> entry : (Iterable<Map.Entry<RequestKey, ChannelPool>>) poolMap) {
+            ChannelPool channelPool = entry.getValue();
+            if (channelPool instanceof ConnectionPoolStatistics) {
+                statistics.add((ConnectionPoolStatistics) channelPool);
+            }
+        }
+        return statistics;
+    }
+
     /**
      * @return The client-specific logger name
      */
@@ -706,6 +790,17 @@ public class DefaultHttpClient implements
     @Override
     public <I, O, E> Flowable<io.micronaut.http.HttpResponse<O>> exchange(io.micronaut.http.HttpRequest<I> request, Argument<O> bodyType, Argument<E> errorType) {
         final io.micronaut.http.HttpRequest<Object> parentRequest = ServerRequestContext.currentRequest().orElse(null);
+        if (loadBalancer instanceof RequestTrackingLoadBalancer && request.getUri().getScheme() == null) {
+            RequestTrackingLoadBalancer trackingLoadBalancer = (RequestTrackingLoadBalancer) loadBalancer;
+            return Flowable.fromPublisher(trackingLoadBalancer.select(getLoadBalancerDiscriminator()))
+                    .switchMap(server -> {
+                        URI requestURI = resolveServerURI(request, server, true);
+                        Flowable<io.micronaut.http.HttpResponse<O>> exchange = Flowable.fromPublisher(
+                                buildExchangePublisher(parentRequest, request, bodyType, errorType).apply(requestURI)
+                        );
+                        return trackExchange(trackingLoadBalancer, server, exchange);
+                    });
+        }
         Publisher<URI> uriPublisher = resolveRequestURI(request);
         return Flowable.fromPublisher(uriPublisher)
                 .switchMap(buildExchangePublisher(parentRequest, request, bodyType, errorType));
@@ -1202,19 +1297,58 @@ public class DefaultHttpClient implements
                 return Publishers.just(new NoHostException("Request URI specifies no host to connect to"));
             }
 
-            return Publishers.map(loadBalancer.select(getLoadBalancerDiscriminator()), server -> {
-                        Optional<String> authInfo = server.getMetadata().get(io.micronaut.http.HttpHeaders.AUTHORIZATION_INFO, String.class);
-                        if (request instanceof MutableHttpRequest) {
-                            if (authInfo.isPresent()) {
-                                ((MutableHttpRequest) request).getHeaders().auth(authInfo.get());
-                            }
-                        }
-                        return server.resolve(includeContextPath ? prependContextPath(requestURI) : requestURI);
-                    }
+            return Publishers.map(loadBalancer.select(getLoadBalancerDiscriminator()), server ->
+                    resolveServerURI(request, server, includeContextPath)
             );
         }
     }
 
+    /**
+     * Resolves the URI of a request against the selected server.
+     *
+     * @param request            The request
+     * @param server             The selected server
+     * @param includeContextPath Whether to prepend the client context path
+     * @return The resolved URI
+     */
+    private URI resolveServerURI(io.micronaut.http.HttpRequest<?> request, ServiceInstance server, boolean includeContextPath) {
+        URI requestURI = request.getUri();
+        Optional<String> authInfo = server.getMetadata().get(io.micronaut.http.HttpHeaders.AUTHORIZATION_INFO, String.class);
+        if (request instanceof MutableHttpRequest) {
+            if (authInfo.isPresent()) {
+                ((MutableHttpRequest) request).getHeaders().auth(authInfo.get());
+            }
+        }
+        return server.resolve(includeContextPath ? prependContextPath(requestURI) : requestURI);
+    }
+
+    /**
+     * Notifies the load balancer when an exchange with the given server starts and completes.
+     *
+     * @param loadBalancer The load balancer
+     * @param server       The selected server
+     * @param exchange     The exchange
+     * @param <O>          The response type
+     * @return The tracked exchange
+     */
+    private <O> Flowable<O> trackExchange(RequestTrackingLoadBalancer loadBalancer, ServiceInstance server, Flowable<O> exchange) {
+        return Flowable.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean completed = new AtomicBoolean();
+            Consumer<Throwable> complete = error -> {
+                if (completed.compareAndSet(false, true)) {
+                    loadBalancer.requestCompleted(server, System.nanoTime() - start, error);
+                }
+            };
+            loadBalancer.requestStarted(server);
+            return exchange
+                    .doOnNext(response -> complete.accept(null))
+                    .doOnError(complete::accept)
+                    .doOnComplete(() -> complete.accept(null))
+                    .doOnCancel(() -> complete.accept(null));
+        });
+    }
+
     /**
      * @param requestURI The request URI
      * @return A URI that is prepended with the contextPath, if set
@@ -2152,7 +2286,14 @@ public class DefaultHttpClient implements
             public void handlerAdded(ChannelHandlerContext ctx) {
                 if (readTimeoutMillis != null) {
 
-                    if (httpVersion == io.micronaut.http.HttpVersion.HTTP_2_0) {
+                    if (ctx.channel() instanceof Http2StreamChannel) {
+                        // the request is a stream of a multiplexed connection
+                        pipeline.addBefore(
+                                ChannelPipelineCustomizer.HANDLER_HTTP2_STREAM_CODEC,
+                                ChannelPipelineCustomizer.HANDLER_READ_TIMEOUT,
+                                new ReadTimeoutHandler(readTimeoutMillis, TimeUnit.MILLISECONDS)
+                        );
+                    } else if (httpVersion == io.micronaut.http.HttpVersion.HTTP_2_0) {
                         Http2SettingsHandler settingsHandler = (Http2SettingsHandler) ctx.pipeline().get(HANDLER_HTTP2_SETTINGS);
                         if (settingsHandler != null) {
                             settingsHandler.promise.addListener(future -> {
@@ -2434,6 +2575,22 @@ public class DefaultHttpClient implements
         };
     }
 
+    /**
+     * Creates the adaptive pool of a client with a fixed URL, which opens its min connections, so that they are ready
+     * for the first request. The pools of hosts selected by other load balancers open them on their first request.
+     */
+    private void prewarmConnectionPool() {
+        if (loadBalancer instanceof FixedLoadBalancer) {
+            try {
+                poolMap.get(new RequestKey(((FixedLoadBalancer) loadBalancer).getUrl().toURI()));
+            } catch (URISyntaxException | HttpClientException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Not pre-warming the connection pool of the client: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
     private AbstractChannelPoolHandler newPoolHandler(RequestKey key) {
         return new AbstractChannelPoolHandler() {
             @Override
@@ -2688,9 +2845,102 @@ public class DefaultHttpClient implements
             }
         }
 
+        /**
+         * Configures a connection whose requests are sent as streams by a {@link Http2MultiplexChannelPool}. The
+         * {@link Http2MultiplexChannelPool#CONNECTION_READY} future of the channel completes once the first settings of
+         * the server have been received. The pipeline listeners are notified of the connection pipeline here and of the
+         * pipeline of each stream once it is opened.
+         *
+         * @param ch The channel
+         */
+        void initHttp2MultiplexConnection(SocketChannel ch) {
+            ChannelPipeline p = ch.pipeline();
+
+            Proxy proxy = configuration.resolveProxy(sslContext != null, host, port);
+            if (!Proxy.NO_PROXY.equals(proxy)) {
+                configureProxy(p, proxy);
+            }
+
+            if (connectionTimeAliveMillis != null) {
+                p.addLast(ChannelPipelineCustomizer.HANDLER_CONNECT_TTL, new ConnectTTLHandler(connectionTimeAliveMillis));
+            }
+
+            Promise<Void> ready = ch.eventLoop().newPromise();
+            ch.attr(Http2MultiplexChannelPool.CONNECTION_READY).set(ready);
+            ch.closeFuture().addListener(future ->
+                    ready.tryFailure(new HttpClientException("Connection closed before HTTP/2 was negotiated"))
+            );
+
+            Http2FrameCodecBuilder builder = Http2FrameCodecBuilder.forClient()
+                    .initialSettings(Http2Settings.defaultSettings().pushEnabled(false))
+                    .validateHeaders(true);
+            configuration.getLogLevel().ifPresent(logLevel -> {
+                try {
+                    final io.netty.handler.logging.LogLevel nettyLevel = io.netty.handler.logging.LogLevel.valueOf(
+                            logLevel.name()
+                    );
+                    builder.frameLogger(new Http2FrameLogger(nettyLevel, DefaultHttpClient.class));
+                } catch (IllegalArgumentException e) {
+                    throw new HttpClientException("Unsupported log level: " + logLevel);
+                }
+            });
+            Http2FrameCodec frameCodec = builder.build();
+            // server push is disabled and the response to a cleartext upgrade request is not needed
+            Http2MultiplexHandler multiplexHandler = new Http2MultiplexHandler(
+                    new Http2DiscardStreamHandler(),
+                    new Http2DiscardStreamHandler()
+            );
+
+            if (sslContext != null) {
+                p.addLast(ChannelPipelineCustomizer.HANDLER_SSL, sslContext.newHandler(ch.alloc(), host, port));
+                p.addLast(
+                        ChannelPipelineCustomizer.HANDLER_HTTP2_PROTOCOL_NEGOTIATOR,
+                        new ApplicationProtocolNegotiationHandler(ApplicationProtocolNames.HTTP_2) {
+                    @Override
+                    protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+                        if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                            ChannelPipeline pipeline = ctx.pipeline();
+                            pipeline.addLast(ChannelPipelineCustomizer.HANDLER_HTTP2_CONNECTION, frameCodec);
+                            pipeline.addLast(ChannelPipelineCustomizer.HANDLER_HTTP2_MULTIPLEX, multiplexHandler);
+                            pipeline.addLast(ChannelPipelineCustomizer.HANDLER_HTTP2_SETTINGS, new Http2ConnectionReadyHandler(ready, false));
+                        } else {
+                            ready.tryFailure(new HttpClientException("Server does not support HTTP/2, negotiated protocol: " + protocol));
+                            ctx.close();
+                        }
+                    }
+                });
+            } else {
+                HttpClientCodec sourceCodec = new HttpClientCodec();
+                Http2ClientUpgradeCodec upgradeCodec = new Http2ClientUpgradeCodec(
+                        ChannelPipelineCustomizer.HANDLER_HTTP2_CONNECTION,
+                        frameCodec,
+                        multiplexHandler
+                );
+                p.addLast(ChannelPipelineCustomizer.HANDLER_HTTP_CLIENT_CODEC, sourceCodec);
+                p.addLast(new HttpClientUpgradeHandler(sourceCodec, upgradeCodec, 65536));
+                p.addLast(ChannelPipelineCustomizer.HANDLER_HTTP2_SETTINGS, new Http2ConnectionReadyHandler(ready, true));
+            }
+            for (ChannelPipelineListener pipelineListener : pipelineListeners) {
+                pipelineListener.onConnect(p);
+            }
+        }
+
+        /**
+         * Adds the handlers of a stream channel opened by a {@link Http2MultiplexChannelPool}.
+         *
+         * @param p The pipeline of the stream channel
+         */
+        void addHttp2StreamHandlers(ChannelPipeline p) {
+            p.addLast(ChannelPipelineCustomizer.HANDLER_HTTP2_STREAM_CODEC, new Http2StreamFrameToHttpObjectCodec(false));
+            addHttpMessageHandlers(p);
+        }
+
         private void addHttp1Handlers(ChannelPipeline p) {
             p.addLast(ChannelPipelineCustomizer.HANDLER_HTTP_CLIENT_CODEC, new HttpClientCodec());
+            addHttpMessageHandlers(p);
+        }
 
+        private void addHttpMessageHandlers(ChannelPipeline p) {
             p.addLast(ChannelPipelineCustomizer.HANDLER_HTTP_DECODER, new HttpContentDecompressor());
 
             int maxContentLength = configuration.getMaxContentLength();
@@ -2803,6 +3053,67 @@ public class DefaultHttpClient implements
         }
     }
 
+    /**
+     * Completes the ready future of a multiplexed HTTP/2 connection once the first settings of the server have been
+     * received, sending the cleartext upgrade request first if necessary.
+     */
+    private static final class Http2ConnectionReadyHandler extends ChannelInboundHandlerAdapter {
+        private final Promise<Void> ready;
+        private final boolean upgrade;
+
+        /**
+         * @param ready   The future to complete
+         * @param upgrade Whether the connection has to be upgraded from HTTP/1.1
+         */
+        Http2ConnectionReadyHandler(Promise<Void> ready, boolean upgrade) {
+            this.ready = ready;
+            this.upgrade = upgrade;
+        }
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) {
+            if (upgrade) {
+                ctx.writeAndFlush(newUpgradeRequest(ctx));
+            }
+            ctx.fireChannelActive();
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof Http2SettingsFrame) {
+                ready.trySuccess(null);
+            } else {
+                ctx.fireChannelRead(msg);
+            }
+        }
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) {
+            if (evt == HttpClientUpgradeHandler.UpgradeEvent.UPGRADE_REJECTED) {
+                ready.tryFailure(new HttpClientException("HTTP/2 clear text upgrade was rejected by the server"));
+                ctx.close();
+            }
+            ctx.fireUserEventTriggered(evt);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            ready.tryFailure(cause);
+            ctx.close();
+        }
+    }
+
+    /**
+     * Discards the inbound streams of a multiplexed HTTP/2 connection that no request was sent for.
+     */
+    @ChannelHandler.Sharable
+    private static final class Http2DiscardStreamHandler extends ChannelInboundHandlerAdapter {
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
     /**
      * A handler that triggers the cleartext upgrade to HTTP/2 by sending an initial HTTP request.
      */
@@ -2834,17 +3145,7 @@ public class DefaultHttpClient implements
             final ChannelPipeline pipeline = ctx.pipeline();
 
             pipeline.addLast(ChannelPipelineCustomizer.HANDLER_HTTP2_SETTINGS, initializer.settingsHandler);
-            DefaultFullHttpRequest upgradeRequest =
-                    new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/", Unpooled.EMPTY_BUFFER);
-
-            // Set HOST header as the remote peer may require it.
-            InetSocketAddress remote = (InetSocketAddress) ctx.channel().remoteAddress();
-            String hostString = remote.getHostString();
-            if (hostString == null) {
-                hostString = remote.getAddress().getHostAddress();
-            }
-            upgradeRequest.headers().set(HttpHeaderNames.HOST, hostString + ':' + remote.getPort());
-            ctx.writeAndFlush(upgradeRequest);
+            ctx.writeAndFlush(newUpgradeRequest(ctx));
 
             ctx.fireChannelActive();
             pipeline.remove(this);
@@ -2852,6 +3153,24 @@ public class DefaultHttpClient implements
         }
     }
 
+    /**
+     * @param ctx The context of the connection to upgrade
+     * @return The request that triggers the cleartext upgrade to HTTP/2
+     */
+    private static DefaultFullHttpRequest newUpgradeRequest(ChannelHandlerContext ctx) {
+        DefaultFullHttpRequest upgradeRequest =
+                new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/", Unpooled.EMPTY_BUFFER);
+
+        // Set HOST header as the remote peer may require it.
+        InetSocketAddress remote = (InetSocketAddress) ctx.channel().remoteAddress();
+        String hostString = remote.getHostString();
+        if (hostString == null) {
+            hostString = remote.getAddress().getHostAddress();
+        }
+        upgradeRequest.headers().set(HttpHeaderNames.HOST, hostString + ':' + remote.getPort());
+        return upgradeRequest;
+    }
+
     /**
      * Key used for connection pooling and determining host/port.
      */
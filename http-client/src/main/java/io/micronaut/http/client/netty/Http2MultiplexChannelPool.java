@@ -0,0 +1,336 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.http.client.HttpClientConfiguration;
+import io.micronaut.http.client.exceptions.HttpClientException;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.Promise;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * <p>A {@link ChannelPool} that hands out HTTP/2 stream channels instead of connections.</p>
+ *
+ * <p>Every acquisition opens a new {@link Http2StreamChannel} on the connection with the fewest open streams, and
+ * releasing the stream channel closes it. A further connection is only opened once every connection has reached the
+ * max concurrent streams advertised by the server, up to the max connections of the pool. Acquisitions that cannot be
+ * served are queued until a stream is closed or a connection is established.</p>
+ *
+ * <p>The connections are expected to be initialized with a {@link Http2FrameCodec} and a
+ * {@link io.netty.handler.codec.http2.Http2MultiplexHandler} and to complete the {@link #CONNECTION_READY} future of
+ * the channel once the HTTP/2 settings of the server have been received. All state is updated on a single event
+ * executor.</p>
+ *
+ * <p>A connection whose {@link ConnectTTLHandler} marks it for release no longer receives new streams and is closed
+ * once its open streams are closed.</p>
+ *
+ * @since 2.0
+ */
+@Internal
+final class Http2MultiplexChannelPool implements ChannelPool {
+
+    /**
+     * The attribute holding the future that completes once a connection can open streams.
+     */
+    static final AttributeKey<Future<Void>> CONNECTION_READY = AttributeKey.valueOf("micronaut.http2.connection.ready");
+
+    private final Bootstrap bootstrap;
+    private final ChannelHandler streamHandler;
+    private final EventExecutor executor;
+    private final int maxConnections;
+    private final int maxPendingAcquires;
+    private final long acquireTimeoutNanos;
+    private final List<Connection> connections = new ArrayList<>();
+    private final Deque<Promise<Channel>> pendingAcquires = new ArrayDeque<>();
+    private int connecting;
+    private volatile boolean closed;
+
+    /**
+     * @param bootstrap     The bootstrap used to open connections
+     * @param streamHandler The handler added to the pipeline of each stream channel
+     * @param executor      The executor that owns the state of the pool
+     * @param configuration The connection pool configuration
+     */
+    Http2MultiplexChannelPool(Bootstrap bootstrap,
+                              ChannelHandler streamHandler,
+                              EventExecutor executor,
+                              HttpClientConfiguration.ConnectionPoolConfiguration configuration) {
+        this.bootstrap = bootstrap;
+        this.streamHandler = streamHandler;
+        this.executor = executor;
+        int max = configuration.getMaxConnections();
+        this.maxConnections = max > 0 ? max : Integer.MAX_VALUE;
+        this.maxPendingAcquires = configuration.getMaxPendingAcquires();
+        this.acquireTimeoutNanos = configuration.getAcquireTimeout().map(Duration::toNanos).orElse(-1L);
+    }
+
+    @Override
+    public Future<Channel> acquire() {
+        return acquire(executor.newPromise());
+    }
+
+    @Override
+    public Future<Channel> acquire(Promise<Channel> promise) {
+        if (executor.inEventLoop()) {
+            acquire0(promise);
+        } else {
+            executor.execute(() -> acquire0(promise));
+        }
+        return promise;
+    }
+
+    @Override
+    public Future<Void> release(Channel channel) {
+        return release(channel, executor.newPromise());
+    }
+
+    @Override
+    public Future<Void> release(Channel channel, Promise<Void> promise) {
+        if (!(channel instanceof Http2StreamChannel)) {
+            promise.tryFailure(new IllegalArgumentException("Channel " + channel + " was not acquired from this pool"));
+            return promise;
+        }
+        // a stream carries a single request so it is never reused, closing it frees the slot on the connection
+        channel.close().addListener((ChannelFutureListener) future -> {
+            if (future.isSuccess()) {
+                promise.trySuccess(null);
+            } else {
+                promise.tryFailure(future.cause());
+            }
+        });
+        return promise;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (executor.inEventLoop()) {
+                close0();
+            } else {
+                executor.submit(this::close0).syncUninterruptibly();
+            }
+        } catch (RejectedExecutionException e) {
+            // the executor is already shut down so nothing can be pending
+            closed = true;
+        }
+    }
+
+    private void close0() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        failPendingAcquires(new IllegalStateException("Connection pool closed"));
+        for (Connection connection : new ArrayList<>(connections)) {
+            connection.channel.close();
+        }
+        connections.clear();
+    }
+
+    private void acquire0(Promise<Channel> promise) {
+        if (closed) {
+            promise.tryFailure(new IllegalStateException("Connection pool closed"));
+            return;
+        }
+        Connection connection = leastLoadedConnection();
+        if (connection != null && pendingAcquires.isEmpty()) {
+            openStream(connection, promise);
+            return;
+        }
+        if (pendingAcquires.size() >= maxPendingAcquires) {
+            promise.tryFailure(new IllegalStateException("Too many outstanding acquire operations"));
+            return;
+        }
+        pendingAcquires.add(promise);
+        if (acquireTimeoutNanos > 0) {
+            executor.schedule(() -> {
+                if (pendingAcquires.remove(promise)) {
+                    promise.tryFailure(new TimeoutException("Acquire operation took longer than configured maximum time"));
+                }
+            }, acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        }
+        runPendingAcquires();
+    }
+
+    private void runPendingAcquires() {
+        while (!pendingAcquires.isEmpty()) {
+            Promise<Channel> promise = pendingAcquires.peek();
+            if (promise.isDone()) {
+                // cancelled while waiting
+                pendingAcquires.poll();
+                continue;
+            }
+            Connection connection = leastLoadedConnection();
+            if (connection == null) {
+                // connections are opened one at a time so that a burst of requests is spread over as few as possible
+                if (connecting == 0 && connections.size() < maxConnections && !closed) {
+                    connect();
+                }
+                return;
+            }
+            pendingAcquires.poll();
+            openStream(connection, promise);
+        }
+    }
+
+    private Connection leastLoadedConnection() {
+        Connection leastLoaded = null;
+        for (Connection connection : connections) {
+            if (connection.isExpired()) {
+                closeIfIdle(connection);
+                continue;
+            }
+            if (connection.channel.isActive() && connection.streams < connection.maxStreams() &&
+                    (leastLoaded == null || connection.streams < leastLoaded.streams)) {
+                leastLoaded = connection;
+            }
+        }
+        return leastLoaded;
+    }
+
+    private void connect() {
+        connecting++;
+        bootstrap.connect().addListener((ChannelFutureListener) connectFuture -> {
+            if (!connectFuture.isSuccess()) {
+                executor.execute(() -> connectionFailed(connectFuture.cause()));
+                return;
+            }
+            Channel channel = connectFuture.channel();
+            Future<Void> ready = channel.attr(CONNECTION_READY).get();
+            if (ready == null) {
+                channel.close();
+                executor.execute(() -> connectionFailed(new HttpClientException("Connection was not initialized for HTTP/2")));
+                return;
+            }
+            ready.addListener(readyFuture -> executor.execute(() -> {
+                if (readyFuture.isSuccess() && channel.isActive()) {
+                    connectionReady(channel);
+                } else {
+                    channel.close();
+                    Throwable cause = readyFuture.cause();
+                    connectionFailed(cause != null ? cause : new HttpClientException("Connection closed before HTTP/2 was negotiated"));
+                }
+            }));
+        });
+    }
+
+    private void connectionReady(Channel channel) {
+        connecting--;
+        if (closed) {
+            channel.close();
+            return;
+        }
+        Connection connection = new Connection(channel);
+        connections.add(connection);
+        channel.closeFuture().addListener(future -> executor.execute(() -> {
+            connections.remove(connection);
+            runPendingAcquires();
+        }));
+        runPendingAcquires();
+    }
+
+    private void connectionFailed(Throwable cause) {
+        connecting--;
+        if (connections.isEmpty()) {
+            failPendingAcquires(cause);
+        } else {
+            runPendingAcquires();
+        }
+    }
+
+    private void closeIfIdle(Connection connection) {
+        if (connection.streams == 0 && connection.channel.isOpen()) {
+            // removed from the connections by the close listener
+            connection.channel.close();
+        }
+    }
+
+    private void failPendingAcquires(Throwable cause) {
+        Promise<Channel> promise;
+        while ((promise = pendingAcquires.poll()) != null) {
+            promise.tryFailure(cause);
+        }
+    }
+
+    private void openStream(Connection connection, Promise<Channel> promise) {
+        connection.streams++;
+        new Http2StreamChannelBootstrap(connection.channel)
+                .handler(streamHandler)
+                .open()
+                .addListener((FutureListener<Http2StreamChannel>) future -> {
+                    if (future.isSuccess()) {
+                        Http2StreamChannel stream = future.getNow();
+                        stream.closeFuture().addListener(closeFuture -> executor.execute(() -> {
+                            connection.streams--;
+                            if (connection.isExpired()) {
+                                closeIfIdle(connection);
+                            }
+                            runPendingAcquires();
+                        }));
+                        if (!promise.trySuccess(stream)) {
+                            stream.close();
+                        }
+                    } else {
+                        executor.execute(() -> {
+                            connection.streams--;
+                            promise.tryFailure(future.cause());
+                            runPendingAcquires();
+                        });
+                    }
+                });
+    }
+
+    /**
+     * A connection and the number of streams open on it.
+     */
+    private static final class Connection {
+        final Channel channel;
+        int streams;
+
+        Connection(Channel channel) {
+            this.channel = channel;
+        }
+
+        boolean isExpired() {
+            return Boolean.TRUE.equals(channel.attr(ConnectTTLHandler.RELEASE_CHANNEL).get());
+        }
+
+        int maxStreams() {
+            Http2FrameCodec codec = channel.pipeline().get(Http2FrameCodec.class);
+            return codec != null ? codec.connection().local().maxActiveStreams() : 1;
+        }
+    }
+}
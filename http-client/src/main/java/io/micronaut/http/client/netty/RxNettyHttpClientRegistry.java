@@ -166,6 +166,13 @@ public class RxNettyHttpClientRegistry implements AutoCloseable, RxHttpClientReg
         }
     }
 
+    /**
+     * @return The clients created by this registry
+     */
+    Collection<DefaultHttpClient> getClients() {
+        return Collections.unmodifiableCollection(clients.values());
+    }
+
     /**
      * Creates a new {@link HttpClient} for the given injection point.
      *
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpVersion
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.netty.ConnectionPoolMetrics
+import io.micronaut.http.client.netty.ConnectionPoolStatistics
+import io.micronaut.http.client.netty.DefaultHttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+class AdaptiveConnectionPoolSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'AdaptiveConnectionPoolSpec'])
+
+    void "test connections are pre-warmed and requests complete"() {
+        given:
+        ApplicationContext clientContext = ApplicationContext.run(
+                'micronaut.http.client.pool.enabled': true,
+                'micronaut.http.client.pool.adaptive': true,
+                'micronaut.http.client.pool.min-connections': 2
+        )
+        DefaultHttpClient httpClient = clientContext.createBean(DefaultHttpClient, embeddedServer.getURL())
+
+        when:
+        String result = httpClient.toBlocking().retrieve('/adaptive-pool')
+
+        then:
+        result == 'success'
+        new PollingConditions(timeout: 5).eventually {
+            ConnectionPoolStatistics statistics = httpClient.connectionPoolStatistics.first()
+            assert statistics.host == "localhost:$embeddedServer.port"
+            assert statistics.activeConnections == 0
+            assert statistics.idleConnections >= 2
+            assert statistics.acquireCount >= 1
+        }
+
+        cleanup:
+        httpClient.close()
+        clientContext.close()
+    }
+
+    void "test connections to a fixed URL are pre-warmed when the client is created"() {
+        given:
+        ApplicationContext clientContext = ApplicationContext.run(
+                'micronaut.http.client.pool.enabled': true,
+                'micronaut.http.client.pool.adaptive': true,
+                'micronaut.http.client.pool.min-connections': 2
+        )
+
+        when:
+        DefaultHttpClient httpClient = clientContext.createBean(DefaultHttpClient, embeddedServer.getURL())
+
+        then:"the connections are opened before the first request"
+        new PollingConditions(timeout: 5).eventually {
+            ConnectionPoolStatistics statistics = httpClient.connectionPoolStatistics.first()
+            assert statistics.idleConnections == 2
+            assert statistics.acquireCount == 2
+        }
+
+        cleanup:
+        httpClient.close()
+        clientContext.close()
+    }
+
+    void "test the number of connections is bounded by the max connections"() {
+        given:
+        ApplicationContext clientContext = ApplicationContext.run(
+                'micronaut.http.client.pool.enabled': true,
+                'micronaut.http.client.pool.adaptive': true,
+                'micronaut.http.client.pool.max-connections': 3,
+                'micronaut.http.client.pool.eviction-interval': '100ms'
+        )
+        DefaultHttpClient httpClient = clientContext.createBean(DefaultHttpClient, embeddedServer.getURL())
+
+        when:
+        List<String> results = Flowable.range(0, 20)
+                .flatMap({ httpClient.retrieve(HttpRequest.GET('/adaptive-pool/slow'), String) })
+                .toList()
+                .blockingGet()
+
+        then:
+        results.size() == 20
+        results.every { it == 'success' }
+        with(httpClient.connectionPoolStatistics.first()) {
+            connectionLimit <= 3
+            activeConnections + idleConnections <= 3
+            acquireCount == 20
+        }
+
+        cleanup:
+        httpClient.close()
+        clientContext.close()
+    }
+
+    void "test idle connections are evicted"() {
+        given:
+        ApplicationContext clientContext = ApplicationContext.run(
+                'micronaut.http.client.pool.enabled': true,
+                'micronaut.http.client.pool.adaptive': true,
+                'micronaut.http.client.pool.max-idle-time': '200ms',
+                'micronaut.http.client.pool.eviction-interval': '100ms'
+        )
+        DefaultHttpClient httpClient = clientContext.createBean(DefaultHttpClient, embeddedServer.getURL())
+
+        when:
+        Flowable.range(0, 5)
+                .flatMap({ httpClient.retrieve(HttpRequest.GET('/adaptive-pool/slow'), String) })
+                .blockingSubscribe()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            ConnectionPoolStatistics statistics = httpClient.connectionPoolStatistics.first()
+            assert statistics.activeConnections == 0
+            assert statistics.idleConnections == 0
+        }
+
+        cleanup:
+        httpClient.close()
+        clientContext.close()
+    }
+
+    void "test statistics are exposed through a bean"() {
+        given:
+        ApplicationContext clientContext = ApplicationContext.run(
+                'micronaut.http.client.pool.enabled': true,
+                'micronaut.http.client.pool.adaptive': true
+        )
+        RxHttpClient httpClient = clientContext.getBean(RxHttpClientRegistry)
+                .getClient(HttpVersion.HTTP_1_1, embeddedServer.getURL().toString(), null)
+
+        when:
+        httpClient.toBlocking().retrieve('/adaptive-pool')
+        List<ConnectionPoolStatistics> statistics = clientContext.getBean(ConnectionPoolMetrics).statistics
+
+        then:
+        statistics.size() == 1
+        statistics[0].host == "localhost:$embeddedServer.port"
+        statistics[0].acquireCount == 1
+
+        cleanup:
+        clientContext.close()
+    }
+
+    @Requires(property = 'spec.name', value = 'AdaptiveConnectionPoolSpec')
+    @Controller('/adaptive-pool')
+    static class PoolController {
+
+        @Get(produces = MediaType.TEXT_PLAIN)
+        String get() {
+            'success'
+        }
+
+        @Get(value = '/slow', produces = MediaType.TEXT_PLAIN)
+        String slow() {
+            sleep 50
+            'success'
+        }
+    }
+}
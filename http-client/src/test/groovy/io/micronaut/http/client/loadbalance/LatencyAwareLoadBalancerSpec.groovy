@@ -0,0 +1,158 @@
+package io.micronaut.http.client.loadbalance
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.discovery.ServiceInstanceList
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.LoadBalancer
+import io.micronaut.http.client.LoadBalancerResolver
+import io.micronaut.http.client.annotation.Client
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import spock.lang.Specification
+
+import java.time.Duration
+
+class LatencyAwareLoadBalancerSpec extends Specification {
+
+    void "test the instance with the lower latency and fewer outstanding requests is selected"() {
+        given:
+        ServiceInstance fast = ServiceInstance.of("test", new URI("http://fast:8080"))
+        ServiceInstance slow = ServiceInstance.of("test", new URI("http://slow:8080"))
+        ServiceInstanceListLatencyAwareLoadBalancer balancer = new ServiceInstanceListLatencyAwareLoadBalancer(instanceList(fast, slow))
+
+        when:
+        balancer.requestStarted(fast)
+        balancer.requestCompleted(fast, Duration.ofMillis(5).toNanos(), null)
+        balancer.requestStarted(slow)
+        balancer.requestCompleted(slow, Duration.ofMillis(500).toNanos(), null)
+
+        then:
+        (1..10).every { Flowable.fromPublisher(balancer.select(null)).blockingFirst().is(fast) }
+        balancer.getLatency(slow) > balancer.getLatency(fast)
+        balancer.getInFlightRequests(fast) == 0
+
+        when:"the fast instance has many outstanding requests"
+        200.times { balancer.requestStarted(fast) }
+
+        then:
+        Flowable.fromPublisher(balancer.select(null)).blockingFirst().is(slow)
+        balancer.getInFlightRequests(fast) == 200
+    }
+
+    void "test failures without a response are penalized"() {
+        given:
+        ServiceInstance failing = ServiceInstance.of("test", new URI("http://failing:8080"))
+        ServiceInstance healthy = ServiceInstance.of("test", new URI("http://healthy:8080"))
+        ServiceInstanceListLatencyAwareLoadBalancer balancer = new ServiceInstanceListLatencyAwareLoadBalancer(instanceList(failing, healthy))
+
+        when:
+        balancer.requestStarted(failing)
+        balancer.requestCompleted(failing, Duration.ofMillis(1).toNanos(), new ConnectException("Connection refused"))
+        balancer.requestStarted(healthy)
+        balancer.requestCompleted(healthy, Duration.ofMillis(20).toNanos(), null)
+
+        then:
+        balancer.getLatency(failing) >= Duration.ofMillis(900)
+        Flowable.fromPublisher(balancer.select(null)).blockingFirst().is(healthy)
+    }
+
+    void "test an instance that fails fast with server errors loses the traffic"() {
+        given:
+        ServiceInstance failing = ServiceInstance.of("test", new URI("http://failing:8080"))
+        ServiceInstance healthy = ServiceInstance.of("test", new URI("http://healthy:8080"))
+        ServiceInstanceListLatencyAwareLoadBalancer balancer = new ServiceInstanceListLatencyAwareLoadBalancer(instanceList(failing, healthy))
+
+        when:
+        balancer.requestStarted(failing)
+        balancer.requestCompleted(failing, Duration.ofMillis(1).toNanos(), new HttpClientResponseException("Service Unavailable", HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE)))
+        balancer.requestStarted(healthy)
+        balancer.requestCompleted(healthy, Duration.ofMillis(20).toNanos(), null)
+
+        then:
+        balancer.getLatency(failing) >= Duration.ofMillis(900)
+        (1..10).every { Flowable.fromPublisher(balancer.select(null)).blockingFirst().is(healthy) }
+
+        when:"an instance answers with a client error"
+        ServiceInstance rejecting = ServiceInstance.of("test", new URI("http://rejecting:8080"))
+        balancer.requestStarted(rejecting)
+        balancer.requestCompleted(rejecting, Duration.ofMillis(1).toNanos(), new HttpClientResponseException("Not Found", HttpResponse.status(HttpStatus.NOT_FOUND)))
+
+        then:"the instance is not penalized"
+        balancer.getLatency(rejecting) < Duration.ofMillis(900)
+    }
+
+    void "test select a latency aware load balancer for a service"() {
+        given:
+        EmbeddedServer slowServer = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': LatencyAwareLoadBalancerSpec.simpleName,
+                'latency.delay': 200
+        ])
+        EmbeddedServer fastServer = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': LatencyAwareLoadBalancerSpec.simpleName,
+                'latency.delay': 0
+        ])
+        ApplicationContext context = ApplicationContext.run([
+                'micronaut.http.services.latency.urls': [slowServer.URL.toString(), fastServer.URL.toString()],
+                'micronaut.http.services.latency.load-balancer': 'latency-aware'
+        ])
+        LatencyClient client = context.getBean(LatencyClient)
+
+        expect:
+        context.getBean(LoadBalancerResolver).resolve("latency").get() instanceof ServiceInstanceListLatencyAwareLoadBalancer
+
+        when:
+        List<String> servers = (1..20).collect { client.server() }
+
+        then:
+        servers.count { it == fastServer.port.toString() } >= 15
+
+        cleanup:
+        context.close()
+        slowServer.close()
+        fastServer.close()
+    }
+
+    private static ServiceInstanceList instanceList(ServiceInstance... instances) {
+        return new ServiceInstanceList() {
+            @Override
+            String getID() {
+                return "test"
+            }
+
+            @Override
+            List<ServiceInstance> getInstances() {
+                return Arrays.asList(instances)
+            }
+        }
+    }
+
+    @Client("latency")
+    static interface LatencyClient {
+        @Get("/latency")
+        String server()
+    }
+
+    @Requires(property = 'spec.name', value = 'LatencyAwareLoadBalancerSpec')
+    @Controller("/latency")
+    static class LatencyController {
+        private final EmbeddedServer embeddedServer
+        private final long delay
+
+        LatencyController(EmbeddedServer embeddedServer, @io.micronaut.context.annotation.Value('${latency.delay}') long delay) {
+            this.embeddedServer = embeddedServer
+            this.delay = delay
+        }
+
+        @Get
+        String server() {
+            Thread.sleep(delay)
+            return embeddedServer.port.toString()
+        }
+    }
+}
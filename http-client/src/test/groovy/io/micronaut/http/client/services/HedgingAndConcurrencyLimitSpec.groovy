@@ -0,0 +1,173 @@
+package io.micronaut.http.client.services
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.annotation.Client
+import io.micronaut.http.client.exceptions.ConcurrencyLimitExceededException
+import io.micronaut.http.client.interceptor.RequestHedger
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import io.reactivex.Single
+import io.reactivex.observers.TestObserver
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Supplier
+
+class HedgingAndConcurrencyLimitSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer server = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': 'HedgingAndConcurrencyLimitSpec'
+    ])
+
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run([
+            'spec.name': 'HedgingAndConcurrencyLimitSpec',
+            'micronaut.http.services.hedged.url': server.URI,
+            'micronaut.http.services.hedged.hedging': true,
+            'micronaut.http.services.hedged.hedging-min-delay': '50ms',
+            'micronaut.http.services.limited.url': server.URI,
+            'micronaut.http.services.limited.concurrency-limit': 'aimd',
+            'micronaut.http.services.limited.concurrency-limit-initial': 2,
+            'micronaut.http.services.limited.concurrency-limit-max': 2
+    ])
+
+    void "test a backup request is sent when a request is slow"() {
+        given:
+        HedgedClient client = context.getBean(HedgedClient)
+        SlowController controller = server.applicationContext.getBean(SlowController)
+
+        when:"enough requests are sent to learn the latency"
+        30.times { client.value().blockingGet() }
+        int requests = controller.requests.get()
+        controller.slowNext.set(true)
+        long start = System.nanoTime()
+        String value = client.value().blockingGet()
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+
+        then:"the backup request answers before the slow one"
+        value == 'ok'
+        elapsed < 2000
+        controller.requests.get() == requests + 2
+    }
+
+    void "test a backup request that fails does not cancel the primary request"() {
+        given:
+        RequestHedger hedger = new RequestHedger(50, Duration.ZERO)
+        20.times { hedger.record(TimeUnit.MILLISECONDS.toNanos(10)) }
+
+        when:
+        String value = hedger.hedge(
+                { Flowable.just('primary').delay(200, TimeUnit.MILLISECONDS) } as Supplier,
+                { Flowable.error(new IllegalStateException('backup')) } as Supplier
+        ).blockingFirst()
+
+        then:
+        value == 'primary'
+
+        when:"both requests fail"
+        hedger.hedge(
+                { Flowable.timer(200, TimeUnit.MILLISECONDS).flatMap { Flowable.error(new IllegalStateException('primary')) } } as Supplier,
+                { Flowable.error(new IllegalStateException('backup')) } as Supplier
+        ).blockingFirst()
+
+        then:"the error of the last request is propagated"
+        IllegalStateException e = thrown()
+        e.message == 'primary'
+    }
+
+    void "test the latency is measured from the start of the primary request"() {
+        given:
+        RequestHedger hedger = new RequestHedger(90, Duration.ZERO, 100)
+        20.times { hedger.record(TimeUnit.MILLISECONDS.toNanos(100)) }
+
+        when:"the backup requests answer at once and the primary requests are cancelled"
+        12.times {
+            hedger.hedge(
+                    { Flowable.never() } as Supplier,
+                    { Flowable.just('backup') } as Supplier
+            ).blockingFirst()
+        }
+
+        then:"the calls still took as long as the hedging delay"
+        hedger.delay.get() >= Duration.ofMillis(100)
+    }
+
+    void "test the backup requests are limited by the budget"() {
+        given:
+        RequestHedger hedger = new RequestHedger(50, Duration.ZERO, 0)
+        20.times { hedger.record(TimeUnit.MILLISECONDS.toNanos(10)) }
+        AtomicInteger backups = new AtomicInteger()
+
+        when:
+        15.times {
+            hedger.hedge(
+                    { Flowable.just('primary').delay(50, TimeUnit.MILLISECONDS) } as Supplier,
+                    { backups.incrementAndGet(); Flowable.just('backup') } as Supplier
+            ).blockingFirst()
+        }
+
+        then:"only the initial burst is hedged"
+        backups.get() == 10
+    }
+
+    void "test requests over the concurrency limit are rejected"() {
+        given:
+        LimitedClient client = context.getBean(LimitedClient)
+
+        when:
+        List<TestObserver<String>> observers = (1..3).collect { client.slow().test() }
+        observers*.await(10, TimeUnit.SECONDS)
+
+        then:
+        observers.count { it.values() == ['slow'] } == 2
+        observers.count { it.errors().size() == 1 && it.errors()[0] instanceof ConcurrencyLimitExceededException } == 1
+
+        when:"the requests completed"
+        String value = client.slow().blockingGet()
+
+        then:"new requests are accepted"
+        value == 'slow'
+    }
+
+    @Requires(property = 'spec.name', value = 'HedgingAndConcurrencyLimitSpec')
+    @Client('hedged')
+    static interface HedgedClient {
+        @Get(value = '/hedging/value', consumes = 'text/plain')
+        Single<String> value()
+    }
+
+    @Requires(property = 'spec.name', value = 'HedgingAndConcurrencyLimitSpec')
+    @Client('limited')
+    static interface LimitedClient {
+        @Get(value = '/hedging/slow', consumes = 'text/plain')
+        Single<String> slow()
+    }
+
+    @Requires(property = 'spec.name', value = 'HedgingAndConcurrencyLimitSpec')
+    @Controller('/hedging')
+    static class SlowController {
+        AtomicInteger requests = new AtomicInteger()
+        AtomicBoolean slowNext = new AtomicBoolean()
+
+        @Get(value = '/value', produces = 'text/plain')
+        Single<String> value() {
+            requests.incrementAndGet()
+            if (slowNext.compareAndSet(true, false)) {
+                return Single.just('ok').delay(5, TimeUnit.SECONDS)
+            }
+            Single.just('ok')
+        }
+
+        @Get(value = '/slow', produces = 'text/plain')
+        Single<String> slow() {
+            Single.just('slow').delay(500, TimeUnit.MILLISECONDS)
+        }
+    }
+}
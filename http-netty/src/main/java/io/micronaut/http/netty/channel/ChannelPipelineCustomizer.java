@@ -51,9 +51,12 @@ public interface ChannelPipelineCustomizer {
     String HANDLER_HTTP2_SETTINGS = "http2-settings";
     String HANDLER_HTTP2_UPGRADE_REQUEST = "http2-upgrade-request";
     String HANDLER_HTTP2_PROTOCOL_NEGOTIATOR = "http2-protocol-negotiator";
+    String HANDLER_HTTP2_MULTIPLEX = "http2-multiplex";
+    String HANDLER_HTTP2_STREAM_CODEC = "http2-stream-codec";
     String HANDLER_WEBSOCKET_UPGRADE = "websocket-upgrade-handler";
     String HANDLER_MICRONAUT_INBOUND = "micronaut-inbound-handler";
     String HANDLER_ACCESS_LOGGER = "http-access-logger";
+    String HANDLER_FLUSH_CONSOLIDATION = "flush-consolidation";
 
     /**
      * @return Is this customizer the client.
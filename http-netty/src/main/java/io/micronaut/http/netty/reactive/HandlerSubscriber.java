@@ -33,6 +33,7 @@ import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Subscriber that publishes received messages to the handler pipeline.
@@ -46,7 +47,11 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class HandlerSubscriber<T> extends ChannelDuplexHandler implements Subscriber<T> {
 
     private final EventExecutor executor;
+    private final int writeBatchSize;
     private final AtomicBoolean hasSubscription = new AtomicBoolean();
+    private final AtomicInteger requested = new AtomicInteger();
+    private final AtomicInteger unflushed = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
 
     private volatile Subscription subscription;
     private volatile ChannelHandlerContext ctx;
@@ -63,7 +68,22 @@ public class HandlerSubscriber<T> extends ChannelDuplexHandler implements Subscr
      * @param executor The executor to execute asynchronous events from the publisher on.
      */
     public HandlerSubscriber(EventExecutor executor) {
+        this(executor, 1);
+    }
+
+    /**
+     * Create a new handler subscriber that requests and writes up to the given number of messages before flushing.
+     * Messages are flushed once the batch is complete or once the event loop has processed the pending writes,
+     * whichever comes first, so a slow publisher is not delayed. Messages published from another thread are written
+     * from the event loop, so that the flush is always queued behind the write.
+     *
+     * @param executor       The executor to execute asynchronous events from the publisher on.
+     * @param writeBatchSize The maximum number of messages written before a flush
+     * @since 2.0
+     */
+    public HandlerSubscriber(EventExecutor executor, int writeBatchSize) {
         this.executor = executor;
+        this.writeBatchSize = Math.max(1, writeBatchSize);
     }
 
     /**
@@ -172,11 +192,31 @@ public class HandlerSubscriber<T> extends ChannelDuplexHandler implements Subscr
 
     @Override
     public void onNext(T t) {
-        // Publish straight to the context.
-        lastWriteFuture = ctx.writeAndFlush(t);
-        lastWriteFuture.addListener((ChannelFutureListener) future -> {
-            maybeRequestMore();
-        });
+        if (writeBatchSize == 1) {
+            // Publish straight to the context.
+            lastWriteFuture = ctx.writeAndFlush(t);
+            lastWriteFuture.addListener((ChannelFutureListener) future -> {
+                maybeRequestMore();
+            });
+            return;
+        }
+        if (!executor.inEventLoop()) {
+            // a flush that is already queued could otherwise run before this write and leave it unflushed
+            executor.execute(() -> onNext(t));
+            return;
+        }
+        ChannelFuture writeFuture = ctx.write(t);
+        lastWriteFuture = writeFuture;
+        if (requested.decrementAndGet() == 0) {
+            // the batch is complete, request the next one once it has been written
+            writeFuture.addListener((ChannelFutureListener) future -> maybeRequestMore());
+            flush();
+        } else if (unflushed.incrementAndGet() >= writeBatchSize) {
+            flush();
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            // coalesce the writes that are queued until the event loop runs the flush
+            executor.execute(this::flush);
+        }
     }
 
     @Override
@@ -189,6 +229,14 @@ public class HandlerSubscriber<T> extends ChannelDuplexHandler implements Subscr
 
     @Override
     public void onComplete() {
+        if (writeBatchSize > 1 && !executor.inEventLoop()) {
+            // runs after the writes queued by onNext
+            executor.execute(this::onComplete);
+            return;
+        }
+        if (writeBatchSize > 1 && lastWriteFuture != null) {
+            flush();
+        }
         if (lastWriteFuture == null) {
             complete();
         } else {
@@ -211,9 +259,19 @@ public class HandlerSubscriber<T> extends ChannelDuplexHandler implements Subscr
         });
     }
 
+    private void flush() {
+        flushScheduled.set(false);
+        unflushed.set(0);
+        ctx.flush();
+    }
+
     private void maybeRequestMore() {
         if (ctx.channel().isWritable() && !(state == COMPLETE || state == CANCELLED)) {
-            subscription.request(1);
+            if (writeBatchSize == 1) {
+                subscription.request(1);
+            } else if (requested.compareAndSet(0, writeBatchSize)) {
+                subscription.request(writeBatchSize);
+            }
         }
     }
 
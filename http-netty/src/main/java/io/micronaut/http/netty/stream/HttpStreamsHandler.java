@@ -46,6 +46,7 @@ abstract class HttpStreamsHandler<In extends HttpMessage, Out extends HttpMessag
     private final Queue<Outgoing> outgoing = new LinkedList<>();
     private final Class<In> inClass;
     private final Class<Out> outClass;
+    private final int writeBatchSize;
 
     /**
      * The incoming message that is currently being streamed out to a subscriber.
@@ -78,8 +79,18 @@ abstract class HttpStreamsHandler<In extends HttpMessage, Out extends HttpMessag
      * @param outClass The out class
      */
     HttpStreamsHandler(Class<In> inClass, Class<Out> outClass) {
+        this(inClass, outClass, 1);
+    }
+
+    /**
+     * @param inClass        The in class
+     * @param outClass       The out class
+     * @param writeBatchSize The maximum number of body chunks of a streamed message written before a flush
+     */
+    HttpStreamsHandler(Class<In> inClass, Class<Out> outClass, int writeBatchSize) {
         this.inClass = inClass;
         this.outClass = outClass;
+        this.writeBatchSize = writeBatchSize;
     }
 
     /**
@@ -316,7 +327,7 @@ abstract class HttpStreamsHandler<In extends HttpMessage, Out extends HttpMessag
         } else if (out.message instanceof StreamedHttpMessage) {
 
             StreamedHttpMessage streamed = (StreamedHttpMessage) out.message;
-            HandlerSubscriber<HttpContent> subscriber = new HandlerSubscriber<HttpContent>(ctx.executor()) {
+            HandlerSubscriber<HttpContent> subscriber = new HandlerSubscriber<HttpContent>(ctx.executor(), writeBatchSize) {
                 @Override
                 protected void error(Throwable error) {
                     try {
@@ -83,7 +83,18 @@ public class HttpStreamsServerHandler extends HttpStreamsHandler<HttpRequest, Ht
      * @param dependentHandlers The handlers that depend on this handler.
      */
     public HttpStreamsServerHandler(List<ChannelHandler> dependentHandlers) {
-        super(HttpRequest.class, HttpResponse.class);
+        this(dependentHandlers, 1);
+    }
+
+    /**
+     * Create a new handler that writes up to the given number of body chunks of a streamed response before flushing.
+     *
+     * @param dependentHandlers The handlers that depend on this handler.
+     * @param writeBatchSize    The maximum number of body chunks written before a flush
+     * @since 2.0
+     */
+    public HttpStreamsServerHandler(List<ChannelHandler> dependentHandlers, int writeBatchSize) {
+        super(HttpRequest.class, HttpResponse.class, writeBatchSize);
         this.dependentHandlers = dependentHandlers;
     }
 
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.scheduling.instrument.InstrumentedExecutorService;
+import io.micronaut.scheduling.instrument.InvocationInstrumenter;
+import io.micronaut.scheduling.instrument.InvocationInstrumenterFactory;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Provides a small pool of worker threads for each event loop of the server. The blocking operations of the requests
+ * of a connection run on the workers of its event loop, so that the requests of different event loops don't compete
+ * for the queue of a single shared pool and a connection is always served by the same few threads.
+ *
+ * <p>The workers are {@link io.netty.util.concurrent.FastThreadLocalThread} instances so that the buffers a worker
+ * allocates are served from its own cache of the pooled allocator.</p>
+ *
+ * <p>The queue of each event loop is bounded. Once it is full, further tasks run on the overflow executor, so that a
+ * few slow requests don't hold up the other connections of their event loop.</p>
+ *
+ * @since 2.0
+ */
+@Internal
+final class EventLoopAffinityExecutors {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final Map<EventExecutor, ExecutorService> executors = new ConcurrentHashMap<>();
+    private final AtomicInteger poolCount = new AtomicInteger();
+    private final int threadsPerEventLoop;
+    private final int queueSize;
+    private final Supplier<ExecutorService> overflowExecutor;
+    private final Collection<InvocationInstrumenterFactory> instrumenterFactories;
+
+    /**
+     * @param threadsPerEventLoop   The number of worker threads of each event loop
+     * @param queueSize             The number of tasks queued for the workers of each event loop, 0 to only hand tasks
+     *                              to idle workers
+     * @param overflowExecutor      The executor that runs the tasks once the queue of an event loop is full
+     * @param instrumenterFactories The factories of the instrumenters applied to the tasks, as they are to the executor beans
+     */
+    EventLoopAffinityExecutors(int threadsPerEventLoop,
+                               int queueSize,
+                               Supplier<ExecutorService> overflowExecutor,
+                               Collection<InvocationInstrumenterFactory> instrumenterFactories) {
+        this.threadsPerEventLoop = Math.max(1, threadsPerEventLoop);
+        this.queueSize = Math.max(0, queueSize);
+        this.overflowExecutor = overflowExecutor;
+        this.instrumenterFactories = instrumenterFactories;
+    }
+
+    /**
+     * @param eventLoop The event loop of the connection
+     * @return The executor of the workers of the event loop
+     */
+    ExecutorService forEventLoop(EventExecutor eventLoop) {
+        ExecutorService executor = executors.get(eventLoop);
+        if (executor == null) {
+            executor = executors.computeIfAbsent(eventLoop, loop -> newWorkerPool());
+        }
+        return executor;
+    }
+
+    /**
+     * Shuts down the workers of all event loops.
+     */
+    void shutdown() {
+        for (ExecutorService executor : executors.values()) {
+            executor.shutdown();
+        }
+        executors.clear();
+    }
+
+    private ExecutorService newWorkerPool() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threadsPerEventLoop,
+                threadsPerEventLoop,
+                KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                queueSize > 0 ? new LinkedBlockingQueue<>(queueSize) : new SynchronousQueue<>(),
+                new DefaultThreadFactory("event-loop-affinity-" + poolCount.incrementAndGet(), true),
+                (task, pool) -> {
+                    if (pool.isShutdown()) {
+                        throw new RejectedExecutionException("The workers of the event loop have been shut down");
+                    }
+                    overflowExecutor.get().execute(task);
+                }
+        );
+        // idle event loops don't keep their workers
+        executor.allowCoreThreadTimeOut(true);
+        if (instrumenterFactories.isEmpty()) {
+            return executor;
+        }
+        return new InstrumentedExecutorService() {
+            @Override
+            public ExecutorService getTarget() {
+                return executor;
+            }
+
+            @Override
+            public <T> Callable<T> instrument(Callable<T> task) {
+                return InvocationInstrumenter.instrument(task, newInstrumenters());
+            }
+
+            @Override
+            public Runnable instrument(Runnable command) {
+                return InvocationInstrumenter.instrument(command, newInstrumenters());
+            }
+        };
+    }
+
+    private List<InvocationInstrumenter> newInstrumenters() {
+        List<InvocationInstrumenter> instrumenters = new ArrayList<>(instrumenterFactories.size());
+        for (InvocationInstrumenterFactory instrumenterFactory : instrumenterFactories) {
+            InvocationInstrumenter instrumenter = instrumenterFactory.newInvocationInstrumenter();
+            if (instrumenter != null) {
+                instrumenters.add(instrumenter);
+            }
+        }
+        return instrumenters;
+    }
+}
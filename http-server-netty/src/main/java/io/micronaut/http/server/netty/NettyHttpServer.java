@@ -40,6 +40,8 @@ import io.micronaut.http.netty.websocket.WebSocketSessionRepository;
 import io.micronaut.http.server.HttpServerConfiguration;
 import io.micronaut.http.server.binding.RequestArgumentSatisfier;
 import io.micronaut.http.server.exceptions.ServerStartupException;
+import io.micronaut.http.server.metrics.HttpServerMetrics;
+import io.micronaut.http.server.metrics.RequestPhaseListener;
 import io.micronaut.http.server.netty.configuration.NettyHttpServerConfiguration;
 import io.micronaut.http.server.netty.decoders.HttpRequestDecoder;
 import io.micronaut.http.server.netty.encoders.HttpResponseEncoder;
@@ -47,6 +49,7 @@ import io.micronaut.http.server.netty.handler.accesslog.HttpAccessLogHandler;
 import io.micronaut.http.server.netty.ssl.HttpRequestCertificateHandler;
 import io.micronaut.http.server.netty.ssl.ServerSslBuilder;
 import io.micronaut.http.server.netty.types.NettyCustomizableResponseTypeHandlerRegistry;
+import io.micronaut.http.server.netty.types.files.StaticResourceCache;
 import io.micronaut.http.server.netty.websocket.NettyServerWebSocketUpgradeHandler;
 import io.micronaut.http.ssl.ServerSslConfiguration;
 import io.micronaut.inject.qualifiers.Qualifiers;
@@ -57,6 +60,7 @@ import io.micronaut.runtime.server.event.ServerShutdownEvent;
 import io.micronaut.runtime.server.event.ServerStartupEvent;
 import io.micronaut.scheduling.TaskExecutors;
 import io.micronaut.scheduling.executor.ExecutorSelector;
+import io.micronaut.scheduling.instrument.InvocationInstrumenterFactory;
 import io.micronaut.web.router.Router;
 import io.micronaut.web.router.resource.StaticResourceResolver;
 import io.micronaut.websocket.context.WebSocketBeanRegistry;
@@ -69,6 +73,7 @@ import io.netty.handler.codec.http.*;
 import io.netty.handler.codec.http.multipart.DiskFileUpload;
 import io.netty.handler.codec.http2.*;
 import io.netty.handler.flow.FlowControlHandler;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
@@ -78,8 +83,10 @@ import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.util.AsciiString;
 import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GlobalEventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -99,6 +106,7 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 /**
  * Implements the bootstrap and configuration logic for the Netty implementation of {@link EmbeddedServer}.
@@ -136,6 +144,7 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
     private final HttpVersion httpVersion;
     private final HttpRequestCertificateHandler requestCertificateHandler;
     private final RoutingInBoundHandler routingHandler;
+    private final EventLoopAffinityExecutors affinityExecutors;
     private volatile int serverPort;
     private final ApplicationContext applicationContext;
     private final SslContext sslContext;
@@ -224,6 +233,14 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
         this.eventLoopGroupFactory = eventLoopGroupFactory;
         this.eventLoopGroupRegistry = eventLoopGroupRegistry;
         this.requestCertificateHandler = new HttpRequestCertificateHandler();
+        Supplier<ExecutorService> ioExecutorSupplier = SupplierUtil.memoized(ioExecutor::get);
+        NettyHttpServerConfiguration.EventLoopAffinity eventLoopAffinity = serverConfiguration.getEventLoopAffinity();
+        this.affinityExecutors = eventLoopAffinity != null && eventLoopAffinity.isEnabled() ? new EventLoopAffinityExecutors(
+                eventLoopAffinity.getThreadsPerEventLoop(),
+                eventLoopAffinity.getQueueSize(),
+                ioExecutorSupplier,
+                applicationContext.getBeansOfType(InvocationInstrumenterFactory.class)
+        ) : null;
         this.routingHandler = new RoutingInBoundHandler(
                 applicationContext,
                 router,
@@ -233,8 +250,11 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
                 serverConfiguration,
                 requestArgumentSatisfier,
                 executorSelector,
-                SupplierUtil.memoized(ioExecutor::get),
-                httpContentProcessorResolver
+                ioExecutorSupplier,
+                httpContentProcessorResolver,
+                affinityExecutors,
+                applicationContext.getBeansOfType(RequestPhaseListener.class),
+                createStaticResourceCache(serverConfiguration, httpCompressionStrategy)
         );
         this.channelOptionFactory = channelOptionFactory;
     }
@@ -338,6 +358,7 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
                     }
                 }
             }
+            registerEventLoopMetrics();
             fireStartupEvents();
             running.set(true);
         }
@@ -490,6 +511,34 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
         }
     }
 
+    @Nullable
+    private static StaticResourceCache createStaticResourceCache(
+            NettyHttpServerConfiguration serverConfiguration,
+            HttpCompressionStrategy httpCompressionStrategy) {
+        NettyHttpServerConfiguration.StaticResourceCache cacheConfiguration = serverConfiguration.getStaticResourceCache();
+        if (cacheConfiguration != null && cacheConfiguration.isEnabled()) {
+            return new StaticResourceCache(
+                    cacheConfiguration.getMaxSize(),
+                    cacheConfiguration.getMaxEntrySize(),
+                    httpCompressionStrategy
+            );
+        }
+        return null;
+    }
+
+    private void registerEventLoopMetrics() {
+        beanLocator.findBean(HttpServerMetrics.class).ifPresent(metrics -> {
+            int index = 0;
+            for (EventExecutor executor : workerGroup) {
+                if (executor instanceof SingleThreadEventExecutor) {
+                    SingleThreadEventExecutor eventLoop = (SingleThreadEventExecutor) executor;
+                    metrics.registerEventLoop("worker-" + index, eventLoop::pendingTasks);
+                }
+                index++;
+            }
+        });
+    }
+
     private void fireStartupEvents() {
         Optional<String> applicationName = serverConfiguration.getApplicationConfiguration().getName();
         applicationContext.publishEvent(new ServerStartupEvent(this));
@@ -519,6 +568,10 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
                         .addListener(this::logShutdownErrorIfNecessary);
             }
             webSocketSessions.close();
+            beanLocator.findBean(HttpServerMetrics.class).ifPresent(HttpServerMetrics::clearEventLoops);
+            if (affinityExecutors != null) {
+                affinityExecutors.shutdown();
+            }
             applicationContext.publishEvent(new ServerShutdownEvent(this));
             if (serviceInstance != null) {
                 applicationContext.publishEvent(new ServiceStoppedEvent(serviceInstance));
@@ -682,6 +735,13 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
         private Map<String, ChannelHandler> getHandlerForProtocol(@Nullable String protocol) {
             final Duration idleTime = serverConfiguration.getIdleTimeout();
             Map<String, ChannelHandler> handlers = new LinkedHashMap<>(15);
+            NettyHttpServerConfiguration.FlushConsolidation flushConsolidation = serverConfiguration.getFlushConsolidation();
+            if (flushConsolidation != null && flushConsolidation.isEnabled()) {
+                handlers.put(ChannelPipelineCustomizer.HANDLER_FLUSH_CONSOLIDATION, new FlushConsolidationHandler(
+                        flushConsolidation.getExplicitFlushAfterFlushes(),
+                        flushConsolidation.isConsolidateWhenNoReadInProgress()
+                ));
+            }
             if (!idleTime.isNegative()) {
                 handlers.put(HANDLER_IDLE_STATE, new IdleStateHandler(
                         (int) serverConfiguration.getReadIdleTimeout().getSeconds(),
@@ -718,7 +778,10 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
                 handlers.put(HANDLER_HTTP_COMPRESSOR, new SmartHttpContentCompressor(httpCompressionStrategy));
                 handlers.put(HANDLER_HTTP_DECOMPRESSOR, new HttpContentDecompressor());
             }
-            handlers.put(HANDLER_HTTP_STREAM, new HttpStreamsServerHandler());
+            handlers.put(HANDLER_HTTP_STREAM, new HttpStreamsServerHandler(
+                    Collections.emptyList(),
+                    serverConfiguration.getStreamedResponseBatchSize()
+            ));
             handlers.put(HANDLER_HTTP_CHUNK, new ChunkedWriteHandler());
             handlers.put(HttpRequestDecoder.ID, requestDecoder);
             if (useSsl) {
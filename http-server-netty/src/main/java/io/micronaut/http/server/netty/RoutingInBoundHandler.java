@@ -47,6 +47,7 @@ import io.micronaut.core.async.subscriber.CompletionAwareSubscriber;
 import io.micronaut.core.convert.ConversionService;
 import io.micronaut.core.io.Writable;
 import io.micronaut.core.io.buffer.ByteBuffer;
+import io.micronaut.core.io.buffer.ByteBufferFactory;
 import io.micronaut.core.io.buffer.ReferenceCounted;
 import io.micronaut.core.reflect.ClassUtils;
 import io.micronaut.core.type.Argument;
@@ -84,14 +85,19 @@ import io.micronaut.http.server.netty.multipart.NettyPartData;
 import io.micronaut.http.server.netty.multipart.NettyStreamingFileUpload;
 import io.micronaut.http.server.netty.types.NettyCustomizableResponseTypeHandler;
 import io.micronaut.http.server.netty.types.NettyCustomizableResponseTypeHandlerRegistry;
+import io.micronaut.http.server.netty.types.files.NettyCachedFileCustomizableResponseType;
 import io.micronaut.http.server.netty.types.files.NettyStreamedFileCustomizableResponseType;
 import io.micronaut.http.server.netty.types.files.NettySystemFileCustomizableResponseType;
+import io.micronaut.http.server.netty.types.files.StaticResourceCache;
 import io.micronaut.http.server.types.files.FileCustomizableResponseType;
 import io.micronaut.inject.BeanType;
 import io.micronaut.inject.MethodExecutionHandle;
 import io.micronaut.inject.MethodReference;
 import io.micronaut.inject.qualifiers.Qualifiers;
 import io.micronaut.runtime.http.codec.TextPlainCodec;
+import io.micronaut.http.server.metrics.RequestPhase;
+import io.micronaut.http.server.metrics.RequestPhaseListener;
+import io.micronaut.scheduling.annotation.ExecuteOn;
 import io.micronaut.scheduling.executor.ExecutorSelector;
 import io.micronaut.web.router.*;
 import io.micronaut.web.router.exceptions.DuplicateRouteException;
@@ -150,6 +156,9 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
     private static final Argument ARGUMENT_PART_DATA = Argument.of(PartData.class);
     private static final Object NOT_FOUND = new Object();
     private static final Single<Object> NOT_FOUND_SINGLE = Single.just(NOT_FOUND);
+    private static final int DEFAULT_SIZE_HINT = 256;
+    private static final int MAX_SIZE_HINT = 1024 * 1024;
+    private static final int MAX_SIZE_HINTS = 1024;
 
     private final Router router;
     private final ExecutorSelector executorSelector;
@@ -162,6 +171,13 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
     private final NettyCustomizableResponseTypeHandlerRegistry customizableResponseTypeHandlerRegistry;
     private final Supplier<ExecutorService> ioExecutorSupplier;
     private final String serverHeader;
+    // the executable method of the route (or the body type) -> the size of the last encoded body
+    private final Map<Object, Integer> encodedSizeHints = new ConcurrentHashMap<>();
+    // the codec type -> whether it encodes into a buffer the same way as with its other encode methods
+    private final Map<Class<?>, Boolean> directEncodingCodecs = new ConcurrentHashMap<>();
+    private final EventLoopAffinityExecutors affinityExecutors;
+    private final RequestPhaseListener[] phaseListeners;
+    private final StaticResourceCache staticResourceCache;
     private ExecutorService ioExecutor;
 
     /**
@@ -175,6 +191,9 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
      * @param executorSelector                        The executor selector
      * @param ioExecutor                              The IO executor
      * @param httpContentProcessorResolver            The http content processor resolver
+     * @param affinityExecutors                       The executors of the event loops if blocking routes run on the workers of the event loop
+     * @param phaseListeners                          The listeners notified of the duration of the phases of a request
+     * @param staticResourceCache                     The cache of static resources or null if it is disabled
      */
     RoutingInBoundHandler(
             BeanContext beanContext,
@@ -186,7 +205,10 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
             RequestArgumentSatisfier requestArgumentSatisfier,
             ExecutorSelector executorSelector,
             Supplier<ExecutorService> ioExecutor,
-            HttpContentProcessorResolver httpContentProcessorResolver) {
+            HttpContentProcessorResolver httpContentProcessorResolver,
+            @Nullable EventLoopAffinityExecutors affinityExecutors,
+            Collection<RequestPhaseListener> phaseListeners,
+            @Nullable StaticResourceCache staticResourceCache) {
         this.mediaTypeCodecRegistry = mediaTypeCodecRegistry;
         this.customizableResponseTypeHandlerRegistry = customizableResponseTypeHandlerRegistry;
         this.beanContext = beanContext;
@@ -198,6 +220,9 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         this.serverConfiguration = serverConfiguration;
         this.serverHeader = serverConfiguration.getServerHeader().orElse(null);
         this.httpContentProcessorResolver = httpContentProcessorResolver;
+        this.affinityExecutors = affinityExecutors;
+        this.phaseListeners = phaseListeners.toArray(new RequestPhaseListener[0]);
+        this.staticResourceCache = staticResourceCache;
     }
 
     @Override
@@ -422,7 +447,9 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         }
         UriRouteMatch<Object, Object> routeMatch = null;
 
+        long routingStart = startPhase();
         List<UriRouteMatch<Object, Object>> uriRoutes = router.findAllClosest(request);
+        completePhase(RequestPhase.ROUTING, routingStart);
 
         if (uriRoutes.size() > 1) {
             throw new DuplicateRouteException(requestPath, uriRoutes);
@@ -605,6 +632,12 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         if (optionalUrl.isPresent()) {
             try {
                 URL url = optionalUrl.get();
+                if (staticResourceCache != null) {
+                    Optional<NettyCachedFileCustomizableResponseType> cached = staticResourceCache.get(url, getIoExecutor());
+                    if (cached.isPresent()) {
+                        return cached;
+                    }
+                }
                 if (url.getProtocol().equals("file")) {
                     File file = Paths.get(url.toURI()).toFile();
                     if (file.exists() && !file.isDirectory() && file.canRead()) {
@@ -667,7 +700,9 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         request.setMatchedRoute(route);
 
         // try to fulfill the argument requirements of the route
+        long bindingStart = startPhase();
         route = requestArgumentSatisfier.fulfillArgumentRequirements(route, request, false);
+        completePhase(RequestPhase.BINDING, bindingStart);
 
         // If it is not executable and the body is not required send back 400 - BAD REQUEST
 
@@ -961,12 +996,30 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         return executor;
     }
 
+    private long startPhase() {
+        return phaseListeners.length > 0 ? System.nanoTime() : 0L;
+    }
+
+    private void completePhase(RequestPhase phase, long start) {
+        if (phaseListeners.length > 0) {
+            long duration = System.nanoTime() - start;
+            for (RequestPhaseListener listener : phaseListeners) {
+                listener.onPhaseCompleted(phase, duration);
+            }
+        }
+    }
+
     private RouteMatch<?> prepareRouteForExecution(RouteMatch<?> route, NettyHttpRequest<?> request, boolean skipOncePerRequest) {
         ChannelHandlerContext context = request.getChannelHandlerContext();
         // Select the most appropriate Executor
         ExecutorService executor;
         if (route instanceof MethodReference) {
-            executor = executorSelector.select((MethodReference) route, serverConfiguration.getThreadSelection()).orElse(null);
+            MethodReference methodReference = (MethodReference) route;
+            executor = executorSelector.select(methodReference, serverConfiguration.getThreadSelection()).orElse(null);
+            if (executor != null && affinityExecutors != null && !methodReference.hasStereotype(ExecuteOn.class)) {
+                // keep the blocking work of the connection on the workers of its event loop
+                executor = affinityExecutors.forEventLoop(context.channel().eventLoop());
+            }
         } else {
             executor = null;
         }
@@ -1293,15 +1346,19 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
 
             // ensure the route requirements are completely satisfied
             if (!finalRoute.isExecutable()) {
+                long bindingStart = startPhase();
                 routeMatch = requestArgumentSatisfier
                         .fulfillArgumentRequirements(finalRoute, requestReference.get(), true);
+                completePhase(RequestPhase.BINDING, bindingStart);
             } else {
                 routeMatch = finalRoute;
             }
 
             boolean isSuspended = routeMatch.isSuspended();
 
+            long executionStart = startPhase();
             Object body = routeMatch.execute();
+            completePhase(RequestPhase.EXECUTION, executionStart);
             if (body instanceof Optional) {
                 body = ((Optional<?>) body).orElse(null);
             }
@@ -1438,11 +1495,14 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         boolean isNotHead = nettyRequest.getMethod() != HttpMethod.HEAD;
         if (isNotHead && body instanceof Writable) {
             Writable writable = (Writable) body;
-            getIoExecutor().execute(() -> {
+            ExecutorService executor = affinityExecutors != null ? affinityExecutors.forEventLoop(context.channel().eventLoop()) : getIoExecutor();
+            executor.execute(() -> {
                 ByteBuf byteBuf = context.alloc().ioBuffer(128);
                 ByteBufOutputStream outputStream = new ByteBufOutputStream(byteBuf);
                 try {
+                    long encodingStart = startPhase();
                     writable.writeTo(outputStream, nettyRequest.getCharacterEncoding());
+                    completePhase(RequestPhase.ENCODING, encodingStart);
                     response.body(byteBuf);
                     if (!response.getHeaders().contains(HttpHeaders.CONTENT_TYPE)) {
                         response.header(HttpHeaders.CONTENT_TYPE, defaultResponseMediaType);
@@ -1460,7 +1520,7 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
 
             try {
                 if (isNotHead) {
-
+                    long encodingStart = startPhase();
                     encodeResponseBody(
                             context,
                             nettyRequest,
@@ -1468,7 +1528,7 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
                             body,
                             defaultResponseMediaType
                     );
-
+                    completePhase(RequestPhase.ENCODING, encodingStart);
                 }
                 writeFinalNettyResponse(
                         response,
@@ -1744,11 +1804,65 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Encoding emitted response object [{}] using codec: {}", body, codec);
             }
-            byteBuf = codec.encode(body, new NettyByteBufferFactory(context.alloc())).asNativeBuffer();
+            if (!supportsDirectEncoding(codec)) {
+                return codec.encode(body, new NettyByteBufferFactory(context.alloc())).asNativeBuffer();
+            }
+            // encode straight into a pooled buffer sized from previous responses of the same route
+            Object sizeHintKey = resolveSizeHintKey(body, request);
+            Integer sizeHint = encodedSizeHints.get(sizeHintKey);
+            byteBuf = context.alloc().ioBuffer(sizeHint != null ? sizeHint : DEFAULT_SIZE_HINT);
+            try {
+                codec.encode(body, NettyByteBufferFactory.DEFAULT.wrap(byteBuf));
+            } catch (RuntimeException | Error e) {
+                byteBuf.release();
+                throw e;
+            }
+            updateSizeHint(sizeHintKey, sizeHint, byteBuf.readableBytes());
         }
         return byteBuf;
     }
 
+    /**
+     * Whether a codec overrides {@link MediaTypeCodec#encode(Object, ByteBuffer)} in the
+     * same class as, or a subclass of, the classes that implement its other encode methods. Otherwise the codec may
+     * customize encoding in a way the default implementation of that method bypasses.
+     *
+     * @param codec The codec
+     * @return True if the codec can encode into an allocated buffer
+     */
+    private boolean supportsDirectEncoding(MediaTypeCodec codec) {
+        return directEncodingCodecs.computeIfAbsent(codec.getClass(), type -> {
+            try {
+                Class<?> direct = type.getMethod("encode", Object.class, ByteBuffer.class).getDeclaringClass();
+                Class<?> allocating = type.getMethod("encode", Object.class, ByteBufferFactory.class).getDeclaringClass();
+                Class<?> bytes = type.getMethod("encode", Object.class).getDeclaringClass();
+                return direct != MediaTypeCodec.class && allocating.isAssignableFrom(direct) && bytes.isAssignableFrom(direct);
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        });
+    }
+
+    private void updateSizeHint(Object sizeHintKey, @Nullable Integer sizeHint, int encodedSize) {
+        int size = Math.min(encodedSize, MAX_SIZE_HINT);
+        if (sizeHint == null) {
+            if (encodedSizeHints.size() < MAX_SIZE_HINTS) {
+                encodedSizeHints.put(sizeHintKey, size);
+            }
+        } else if (Math.abs(size - sizeHint) > sizeHint / 4) {
+            // only written when the size changes by more than a quarter
+            encodedSizeHints.put(sizeHintKey, size);
+        }
+    }
+
+    private Object resolveSizeHintKey(Object body, HttpRequest<?> request) {
+        RouteMatch<?> routeMatch = request.getAttribute(HttpAttributes.ROUTE_MATCH, RouteMatch.class).orElse(null);
+        if (routeMatch instanceof MethodBasedRouteMatch) {
+            return ((MethodBasedRouteMatch<?, ?>) routeMatch).getExecutableMethod();
+        }
+        return body.getClass();
+    }
+
     private MutableHttpResponse<Object> forStatus(AnnotationMetadata annotationMetadata) {
         return forStatus(annotationMetadata, HttpStatus.OK);
     }
@@ -1796,13 +1910,23 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
 
         if (executor != null) {
             // Handle the scheduler to subscribe on
+            Flowable<MutableHttpResponse<?>> flowable;
             if (finalPublisher instanceof Flowable) {
-                return ((Flowable<MutableHttpResponse<?>>) finalPublisher)
-                        .subscribeOn(Schedulers.from(executor));
+                flowable = (Flowable<MutableHttpResponse<?>>) finalPublisher;
             } else {
-                return Flowable.fromPublisher(finalPublisher)
-                        .subscribeOn(Schedulers.from(executor));
+                flowable = Flowable.fromPublisher(finalPublisher);
+            }
+            if (phaseListeners.length > 0) {
+                // the time from the submission to the executor until the subscription on the executor thread
+                Flowable<MutableHttpResponse<?>> upstream = flowable;
+                return Flowable.defer(() -> {
+                    long queueStart = System.nanoTime();
+                    return upstream
+                            .doOnSubscribe(subscription -> completePhase(RequestPhase.QUEUE, queueStart))
+                            .subscribeOn(Schedulers.from(executor));
+                });
             }
+            return flowable.subscribeOn(Schedulers.from(executor));
         } else {
             if (finalPublisher instanceof Flowable) {
                 return (Flowable<? extends MutableHttpResponse<?>>) finalPublisher;
@@ -97,6 +97,12 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
      */
     @SuppressWarnings("WeakerAccess")
     public static final int DEFAULT_COMPRESSIONLEVEL = 6;
+
+    /**
+     * The default number of body chunks of a streamed response that are written before a flush.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_STREAMEDRESPONSEBATCHSIZE = 1;
     private final List<ChannelPipelineListener> pipelineCustomizers;
 
     private Map<ChannelOption, Object> childOptions = Collections.emptyMap();
@@ -115,6 +121,10 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
     private boolean useNativeTransport = DEFAULT_USE_NATIVE_TRANSPORT;
     private String fallbackProtocol = ApplicationProtocolNames.HTTP_1_1;
     private AccessLogger accessLogger;
+    private EventLoopAffinity eventLoopAffinity;
+    private FlushConsolidation flushConsolidation;
+    private StaticResourceCache staticResourceCache;
+    private int streamedResponseBatchSize = DEFAULT_STREAMEDRESPONSEBATCHSIZE;
 
     /**
      * Default empty constructor.
@@ -158,6 +168,72 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         this.accessLogger = accessLogger;
     }
 
+    /**
+     * Returns the event loop affinity configuration.
+     * @return The event loop affinity configuration.
+     */
+    public EventLoopAffinity getEventLoopAffinity() {
+        return eventLoopAffinity;
+    }
+
+    /**
+     * Sets the event loop affinity configuration.
+     * @param eventLoopAffinity The configuration.
+     */
+    public void setEventLoopAffinity(EventLoopAffinity eventLoopAffinity) {
+        this.eventLoopAffinity = eventLoopAffinity;
+    }
+
+    /**
+     * Returns the flush consolidation configuration.
+     * @return The flush consolidation configuration.
+     */
+    public FlushConsolidation getFlushConsolidation() {
+        return flushConsolidation;
+    }
+
+    /**
+     * Sets the flush consolidation configuration.
+     * @param flushConsolidation The configuration.
+     */
+    public void setFlushConsolidation(FlushConsolidation flushConsolidation) {
+        this.flushConsolidation = flushConsolidation;
+    }
+
+    /**
+     * Returns the static resource cache configuration.
+     * @return The static resource cache configuration.
+     */
+    public StaticResourceCache getStaticResourceCache() {
+        return staticResourceCache;
+    }
+
+    /**
+     * Sets the static resource cache configuration.
+     * @param staticResourceCache The configuration.
+     */
+    public void setStaticResourceCache(StaticResourceCache staticResourceCache) {
+        this.staticResourceCache = staticResourceCache;
+    }
+
+    /**
+     * Returns the maximum number of body chunks of a streamed response that are written before a flush.
+     * @return The batch size.
+     */
+    public int getStreamedResponseBatchSize() {
+        return streamedResponseBatchSize;
+    }
+
+    /**
+     * Sets the maximum number of body chunks of a streamed response that are requested from the publisher and
+     * written before the connection is flushed. Chunks are flushed earlier if the publisher does not emit the whole
+     * batch right away. Default value ({@value #DEFAULT_STREAMEDRESPONSEBATCHSIZE}).
+     * @param streamedResponseBatchSize The batch size.
+     */
+    public void setStreamedResponseBatchSize(int streamedResponseBatchSize) {
+        this.streamedResponseBatchSize = streamedResponseBatchSize;
+    }
+
     /**
      * @return The pipeline customizers
      */
@@ -478,6 +554,228 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
 
     }
 
+    /**
+     * Configuration of the workers that run blocking routes for the requests of a single event loop. Running the
+     * blocking operations of a connection on a small pool that belongs to its event loop, instead of a pool that is
+     * shared by all event loops, reduces the contention on the queue of the pool and keeps the threads that handle
+     * a connection together.
+     */
+    @ConfigurationProperties("event-loop-affinity")
+    public static class EventLoopAffinity {
+
+        /**
+         * The default number of worker threads per event loop.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_THREADS_PER_EVENT_LOOP = 4;
+
+        /**
+         * The default number of tasks queued for the workers of an event loop.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_QUEUE_SIZE = 64;
+
+        private boolean enabled;
+        private int threadsPerEventLoop = DEFAULT_THREADS_PER_EVENT_LOOP;
+        private int queueSize = DEFAULT_QUEUE_SIZE;
+
+        /**
+         * Returns whether blocking routes run on the workers of the event loop of the connection.
+         * @return Whether event loop affinity is enabled.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Enables or disables running blocking routes on the workers of the event loop of the connection instead of
+         * on the executor that is selected for the route. Routes annotated with
+         * {@link io.micronaut.scheduling.annotation.ExecuteOn} keep running on the named executor. Default value false.
+         * @param enabled The flag.
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Returns the number of worker threads of each event loop.
+         * @return The number of threads.
+         */
+        public int getThreadsPerEventLoop() {
+            return threadsPerEventLoop;
+        }
+
+        /**
+         * Sets the number of worker threads of each event loop. Default value ({@value #DEFAULT_THREADS_PER_EVENT_LOOP}).
+         * @param threadsPerEventLoop The number of threads.
+         */
+        public void setThreadsPerEventLoop(int threadsPerEventLoop) {
+            this.threadsPerEventLoop = threadsPerEventLoop;
+        }
+
+        /**
+         * Returns the number of tasks queued for the workers of each event loop.
+         * @return The queue size.
+         */
+        public int getQueueSize() {
+            return queueSize;
+        }
+
+        /**
+         * Sets the number of tasks queued for the workers of each event loop. Once the queue is full, further tasks
+         * run on the I/O executor instead of waiting behind the tasks of slow requests. A value of 0 only hands tasks
+         * to idle workers. Default value ({@value #DEFAULT_QUEUE_SIZE}).
+         * @param queueSize The queue size.
+         */
+        public void setQueueSize(int queueSize) {
+            this.queueSize = queueSize;
+        }
+    }
+
+    /**
+     * Configuration of the consolidation of flushes. Responses that are written while the requests of a connection
+     * are read, for example for pipelined HTTP/1.1 requests or HTTP/2 streams, are flushed together once the read
+     * completes instead of one after another.
+     */
+    @ConfigurationProperties("flush-consolidation")
+    public static class FlushConsolidation {
+
+        /**
+         * The default number of flushes after which a flush is forwarded even if a read is in progress.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES = 256;
+
+        private boolean enabled;
+        private int explicitFlushAfterFlushes = DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES;
+        private boolean consolidateWhenNoReadInProgress;
+
+        /**
+         * Returns whether flushes are consolidated.
+         * @return Whether flush consolidation is enabled.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Enables or disables the consolidation of flushes. Default value false.
+         * @param enabled The flag.
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Returns the number of flushes after which a flush is forwarded even if a read is in progress.
+         * @return The number of flushes.
+         */
+        public int getExplicitFlushAfterFlushes() {
+            return explicitFlushAfterFlushes;
+        }
+
+        /**
+         * Sets the number of flushes after which a flush is forwarded even if a read is in progress.
+         * Default value ({@value #DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES}).
+         * @param explicitFlushAfterFlushes The number of flushes.
+         */
+        public void setExplicitFlushAfterFlushes(int explicitFlushAfterFlushes) {
+            this.explicitFlushAfterFlushes = explicitFlushAfterFlushes;
+        }
+
+        /**
+         * Returns whether flushes are also consolidated when no read is in progress.
+         * @return Whether flushes are consolidated when no read is in progress.
+         */
+        public boolean isConsolidateWhenNoReadInProgress() {
+            return consolidateWhenNoReadInProgress;
+        }
+
+        /**
+         * Sets whether flushes are also consolidated when no read is in progress, for example for responses that are
+         * written by another thread. The flush is then delayed until the event loop has processed the pending tasks.
+         * Default value false.
+         * @param consolidateWhenNoReadInProgress The flag.
+         */
+        public void setConsolidateWhenNoReadInProgress(boolean consolidateWhenNoReadInProgress) {
+            this.consolidateWhenNoReadInProgress = consolidateWhenNoReadInProgress;
+        }
+    }
+
+    /**
+     * Configuration of the cache of static resources. Cached resources are kept in memory together with their
+     * compressed variants and a strong ETag, so that they are neither read nor compressed again for every request.
+     */
+    @ConfigurationProperties("static-resource-cache")
+    public static class StaticResourceCache {
+
+        /**
+         * The default maximum size of all cached resources in bytes.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final long DEFAULT_MAX_SIZE = 32 * 1024 * 1024;
+
+        /**
+         * The default maximum size of a single cached resource in bytes.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final long DEFAULT_MAX_ENTRY_SIZE = 1024 * 1024;
+
+        private boolean enabled;
+        private long maxSize = DEFAULT_MAX_SIZE;
+        private long maxEntrySize = DEFAULT_MAX_ENTRY_SIZE;
+
+        /**
+         * Returns whether static resources are cached.
+         * @return Whether the cache is enabled.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Enables or disables the cache of static resources. Default value false.
+         * @param enabled The flag.
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Returns the maximum size of all cached resources, including their compressed variants.
+         * @return The maximum size in bytes.
+         */
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        /**
+         * Sets the maximum size of all cached resources, including their compressed variants. The least recently
+         * used resources are evicted once the size is exceeded. Default value ({@value #DEFAULT_MAX_SIZE}).
+         * @param maxSize The maximum size in bytes.
+         */
+        public void setMaxSize(@ReadableBytes long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * Returns the maximum size of a single cached resource.
+         * @return The maximum size in bytes.
+         */
+        public long getMaxEntrySize() {
+            return maxEntrySize;
+        }
+
+        /**
+         * Sets the maximum size of a single cached resource. Larger resources are read for every request.
+         * Default value ({@value #DEFAULT_MAX_ENTRY_SIZE}).
+         * @param maxEntrySize The maximum size in bytes.
+         */
+        public void setMaxEntrySize(@ReadableBytes long maxEntrySize) {
+            this.maxEntrySize = maxEntrySize;
+        }
+    }
+
     /**
      * Configuration for Netty worker.
      */
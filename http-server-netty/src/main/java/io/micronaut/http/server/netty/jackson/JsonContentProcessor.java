@@ -17,8 +17,8 @@ package io.micronaut.http.server.netty.jackson;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.DeserializationConfig;
-import com.fasterxml.jackson.databind.JsonNode;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.async.processor.SingleThreadedBufferingProcessor;
 import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.core.async.subscriber.CompletionAwareSubscriber;
 import io.micronaut.core.async.subscriber.TypedSubscriber;
@@ -28,6 +28,7 @@ import io.micronaut.http.server.HttpServerConfiguration;
 import io.micronaut.http.server.netty.AbstractHttpContentProcessor;
 import io.micronaut.http.server.netty.NettyHttpRequest;
 import io.micronaut.jackson.parser.JacksonProcessor;
+import io.micronaut.jackson.parser.JacksonTokenBufferProcessor;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufHolder;
 import io.netty.buffer.ByteBufUtil;
@@ -40,17 +41,20 @@ import java.util.Optional;
 
 /**
  * This class will handle subscribing to a JSON stream and binding once the events are complete in a non-blocking
- * manner.
+ * manner. Each complete value is emitted either as a {@link com.fasterxml.jackson.databind.JsonNode} or, when token
+ * buffer binding is enabled, as a {@link com.fasterxml.jackson.databind.util.TokenBuffer} that is bound straight to
+ * the target type.
  *
  * @author Graeme Rocher
  * @since 1.0
  */
 @Internal
-public class JsonContentProcessor extends AbstractHttpContentProcessor<JsonNode> {
+public class JsonContentProcessor extends AbstractHttpContentProcessor<Object> {
 
     private final JsonFactory jsonFactory;
     private final DeserializationConfig deserializationConfig;
-    private JacksonProcessor jacksonProcessor;
+    private final boolean tokenBufferBinding;
+    private SingleThreadedBufferingProcessor<byte[], ?> jacksonProcessor;
 
     /**
      * @param nettyHttpRequest The Netty Http request
@@ -63,13 +67,31 @@ public class JsonContentProcessor extends AbstractHttpContentProcessor<JsonNode>
             HttpServerConfiguration configuration,
             @Nullable JsonFactory jsonFactory,
             DeserializationConfig deserializationConfig) {
+        this(nettyHttpRequest, configuration, jsonFactory, deserializationConfig, false);
+    }
+
+    /**
+     * @param nettyHttpRequest      The Netty Http request
+     * @param configuration         The Http server configuration
+     * @param jsonFactory           The json factory
+     * @param deserializationConfig The jackson deserialization configuration
+     * @param tokenBufferBinding    Whether to emit token buffers instead of JSON nodes
+     * @since 2.0
+     */
+    public JsonContentProcessor(
+            NettyHttpRequest<?> nettyHttpRequest,
+            HttpServerConfiguration configuration,
+            @Nullable JsonFactory jsonFactory,
+            DeserializationConfig deserializationConfig,
+            boolean tokenBufferBinding) {
         super(nettyHttpRequest, configuration);
         this.jsonFactory = jsonFactory != null ? jsonFactory : new JsonFactory();
         this.deserializationConfig = deserializationConfig;
+        this.tokenBufferBinding = tokenBufferBinding;
     }
 
     @Override
-    protected void doOnSubscribe(Subscription subscription, Subscriber<? super JsonNode> subscriber) {
+    protected void doOnSubscribe(Subscription subscription, Subscriber<? super Object> subscriber) {
         if (parentSubscription == null) {
             return;
         }
@@ -94,8 +116,12 @@ public class JsonContentProcessor extends AbstractHttpContentProcessor<JsonNode>
             }
         }
 
-        this.jacksonProcessor = new JacksonProcessor(jsonFactory, streamArray, deserializationConfig);
-        this.jacksonProcessor.subscribe(new CompletionAwareSubscriber<JsonNode>() {
+        if (tokenBufferBinding) {
+            this.jacksonProcessor = new JacksonTokenBufferProcessor(jsonFactory, streamArray, deserializationConfig);
+        } else {
+            this.jacksonProcessor = new JacksonProcessor(jsonFactory, streamArray, deserializationConfig);
+        }
+        this.jacksonProcessor.subscribe(new CompletionAwareSubscriber<Object>() {
 
             @Override
             protected void doOnSubscribe(Subscription jsonSubscription) {
@@ -126,7 +152,7 @@ public class JsonContentProcessor extends AbstractHttpContentProcessor<JsonNode>
             }
 
             @Override
-            protected void doOnNext(JsonNode message) {
+            protected void doOnNext(Object message) {
                 subscriber.onNext(message);
             }
 
@@ -27,8 +27,10 @@ import io.micronaut.http.server.HttpServerConfiguration;
 import io.micronaut.http.server.netty.HttpContentProcessor;
 import io.micronaut.http.server.netty.HttpContentSubscriberFactory;
 import io.micronaut.http.server.netty.NettyHttpRequest;
+import io.micronaut.jackson.JacksonConfiguration;
 
 import edu.umd.cs.findbugs.annotations.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 
 /**
@@ -45,6 +47,7 @@ public class JsonHttpContentSubscriberFactory implements HttpContentSubscriberFa
     private final HttpServerConfiguration httpServerConfiguration;
     private final @Nullable JsonFactory jsonFactory;
     private final DeserializationConfig deserializationConfig;
+    private final boolean tokenBufferBinding;
 
     /**
      * @param objectMapper The jackson object mapper.
@@ -55,14 +58,31 @@ public class JsonHttpContentSubscriberFactory implements HttpContentSubscriberFa
             ObjectMapper objectMapper,
             HttpServerConfiguration httpServerConfiguration,
             @Nullable JsonFactory jsonFactory) {
+        this(objectMapper, httpServerConfiguration, jsonFactory, null);
+    }
+
+    /**
+     * @param objectMapper The jackson object mapper.
+     * @param httpServerConfiguration The Http server configuration
+     * @param jsonFactory             The json factory
+     * @param jacksonConfiguration    The jackson configuration
+     * @since 2.0
+     */
+    @Inject
+    public JsonHttpContentSubscriberFactory(
+            ObjectMapper objectMapper,
+            HttpServerConfiguration httpServerConfiguration,
+            @Nullable JsonFactory jsonFactory,
+            @Nullable JacksonConfiguration jacksonConfiguration) {
         ArgumentUtils.requireNonNull("objectMapper", objectMapper);
         this.httpServerConfiguration = httpServerConfiguration;
         this.jsonFactory = jsonFactory;
         this.deserializationConfig = objectMapper.getDeserializationConfig();
+        this.tokenBufferBinding = jacksonConfiguration != null && jacksonConfiguration.isTokenBufferBinding();
     }
 
     @Override
     public HttpContentProcessor build(NettyHttpRequest request) {
-        return new JsonContentProcessor(request, httpServerConfiguration, jsonFactory, deserializationConfig);
+        return new JsonContentProcessor(request, httpServerConfiguration, jsonFactory, deserializationConfig, tokenBufferBinding);
     }
 }
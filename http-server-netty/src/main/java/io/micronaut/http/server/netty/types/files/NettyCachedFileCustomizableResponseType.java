@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.types.files;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.netty.AbstractNettyHttpRequest;
+import io.micronaut.http.netty.NettyMutableHttpResponse;
+import io.micronaut.http.server.netty.NettyHttpRequest;
+import io.micronaut.http.server.netty.types.NettyFileCustomizableResponseType;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+
+/**
+ * Writes a static resource from the {@link StaticResourceCache}. The variant of the resource is negotiated with the
+ * {@code Accept-Encoding} header of the request and validated with its {@code If-None-Match} header.
+ *
+ * @since 2.0
+ */
+@Internal
+public final class NettyCachedFileCustomizableResponseType implements NettyFileCustomizableResponseType {
+
+    private static final String ENCODING_BROTLI = "br";
+
+    private final StaticResourceCache.CachedResource resource;
+
+    /**
+     * @param resource The cached resource
+     */
+    NettyCachedFileCustomizableResponseType(StaticResourceCache.CachedResource resource) {
+        this.resource = resource;
+    }
+
+    @Override
+    public long getLastModified() {
+        return resource.lastModified;
+    }
+
+    @Override
+    public long getLength() {
+        return resource.identity.length;
+    }
+
+    @Override
+    public MediaType getMediaType() {
+        return resource.mediaType;
+    }
+
+    @Override
+    public void process(MutableHttpResponse<?> response) {
+        if (resource.gzip != null || resource.brotli != null) {
+            response.header(io.micronaut.http.HttpHeaders.VARY, io.micronaut.http.HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    @Override
+    public void write(HttpRequest<?> request, MutableHttpResponse<?> response, ChannelHandlerContext context) {
+        if (response instanceof NettyMutableHttpResponse) {
+            FullHttpResponse nettyResponse = ((NettyMutableHttpResponse) response).getNativeResponse();
+            HttpHeaders headers = nettyResponse.headers();
+
+            String acceptEncoding = request.getHeaders().get(HttpHeaderNames.ACCEPT_ENCODING);
+            byte[] content = resource.identity;
+            String encoding = null;
+            if (resource.brotli != null && accepts(acceptEncoding, ENCODING_BROTLI)) {
+                content = resource.brotli;
+                encoding = ENCODING_BROTLI;
+            } else if (resource.gzip != null && accepts(acceptEncoding, HttpHeaderValues.GZIP.toString())) {
+                content = resource.gzip;
+                encoding = HttpHeaderValues.GZIP.toString();
+            }
+            String etag = '"' + (encoding == null ? resource.etag : resource.etag + '-' + encoding) + '"';
+            headers.set(HttpHeaderNames.ETAG, etag);
+
+            FullHttpResponse finalResponse;
+            if (matches(request.getHeaders().get(HttpHeaderNames.IF_NONE_MATCH), etag)) {
+                headers.remove(HttpHeaderNames.CONTENT_TYPE);
+                headers.remove(HttpHeaderNames.CONTENT_LENGTH);
+                finalResponse = new DefaultFullHttpResponse(nettyResponse.protocolVersion(), HttpResponseStatus.NOT_MODIFIED,
+                        Unpooled.EMPTY_BUFFER, headers, nettyResponse.trailingHeaders());
+            } else {
+                headers.set(HttpHeaderNames.CONTENT_LENGTH, content.length);
+                if (encoding != null) {
+                    // prevents the content from being compressed again
+                    headers.set(HttpHeaderNames.CONTENT_ENCODING, encoding);
+                }
+                finalResponse = new DefaultFullHttpResponse(nettyResponse.protocolVersion(), nettyResponse.status(),
+                        Unpooled.wrappedBuffer(content), headers, nettyResponse.trailingHeaders());
+            }
+
+            final io.micronaut.http.HttpVersion httpVersion = request.getHttpVersion();
+            final boolean isHttp2 = httpVersion == io.micronaut.http.HttpVersion.HTTP_2_0;
+            if (isHttp2) {
+                if (request instanceof NettyHttpRequest) {
+                    final io.netty.handler.codec.http.HttpHeaders nativeHeaders = ((NettyHttpRequest<?>) request).getNativeRequest().headers();
+                    final String streamId = nativeHeaders.get(AbstractNettyHttpRequest.STREAM_ID);
+                    if (streamId != null) {
+                        finalResponse.headers().set(AbstractNettyHttpRequest.STREAM_ID, streamId);
+                    }
+                }
+            }
+            context.writeAndFlush(finalResponse);
+        } else {
+            throw new IllegalArgumentException("Unsupported response type. Not a Netty response: " + response);
+        }
+    }
+
+    /**
+     * @param acceptEncoding The value of the Accept-Encoding header
+     * @param encoding       The encoding
+     * @return Whether the encoding is accepted with a non-zero quality, by name or else by the {@code *} wildcard
+     */
+    static boolean accepts(String acceptEncoding, String encoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double wildcard = null;
+        for (String token : acceptEncoding.split(",")) {
+            int parameters = token.indexOf(';');
+            String name = (parameters > -1 ? token.substring(0, parameters) : token).trim();
+            double quality = parameters > -1 ? quality(token.substring(parameters + 1)) : 1;
+            if (name.equalsIgnoreCase(encoding)) {
+                return quality > 0;
+            } else if (name.equals("*") && wildcard == null) {
+                wildcard = quality;
+            }
+        }
+        return wildcard != null && wildcard > 0;
+    }
+
+    /**
+     * @param ifNoneMatch The value of the If-None-Match header
+     * @param etag        The entity tag of the response
+     * @return Whether the entity tag matches using the weak comparison
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String token : ifNoneMatch.split(",")) {
+            String tag = token.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double quality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            String trimmed = parameter.trim();
+            if (trimmed.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(trimmed.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.types.files;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.util.clhm.ConcurrentLinkedHashMap;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.server.netty.HttpCompressionStrategy;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the content of static resources in memory, together with a gzip variant for compressible content and the
+ * gzip or brotli variants that are stored next to the resource with a {@code .gz} or {@code .br} extension. The
+ * resources are evicted in least recently used order once the configured size is exceeded. Resources on the file
+ * system are reloaded when they are modified.
+ *
+ * @since 2.0
+ */
+@Internal
+public final class StaticResourceCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StaticResourceCache.class);
+    private static final int BUFFER_SIZE = 8192;
+    private static final int ETAG_BYTES = 16;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final String GZIP_EXTENSION = ".gz";
+    private static final String BROTLI_EXTENSION = ".br";
+
+    private final int maxEntrySize;
+    private final HttpCompressionStrategy compressionStrategy;
+    private final Map<String, CachedResource> resources;
+    private final Set<String> loading = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param maxSize             The maximum size of all cached resources in bytes
+     * @param maxEntrySize        The maximum size of a single resource in bytes
+     * @param compressionStrategy The strategy that decides whether a resource is compressed
+     */
+    public StaticResourceCache(long maxSize, long maxEntrySize, HttpCompressionStrategy compressionStrategy) {
+        this.maxEntrySize = (int) Math.min(maxEntrySize, (Integer.MAX_VALUE - BUFFER_SIZE) / 3);
+        this.compressionStrategy = compressionStrategy;
+        this.resources = new ConcurrentLinkedHashMap.Builder<String, CachedResource>()
+                .maximumWeightedCapacity(Math.max(1, maxSize))
+                .weigher(CachedResource::getWeight)
+                .build();
+    }
+
+    /**
+     * Resolves the cached content of a resource. Since reading and compressing a resource blocks, a resource that is
+     * not cached yet or has been modified is loaded on the given executor and served from the cache once it is loaded.
+     *
+     * @param url    The URL of the resource
+     * @param loader The executor that loads the resource
+     * @return The cached resource, empty if the resource is not loaded yet, too large to be cached or cannot be read
+     */
+    public Optional<NettyCachedFileCustomizableResponseType> get(@NonNull URL url, @NonNull Executor loader) {
+        String key = url.toExternalForm();
+        File file = toFile(url);
+        CachedResource resource = resources.get(key);
+        if (resource == null || (file != null && file.lastModified() != resource.lastModified)) {
+            if (loading.add(key)) {
+                try {
+                    loader.execute(() -> {
+                        try {
+                            CachedResource loaded = load(url, file);
+                            if (loaded == null) {
+                                resources.remove(key);
+                            } else {
+                                resources.put(key, loaded);
+                            }
+                        } finally {
+                            loading.remove(key);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    loading.remove(key);
+                }
+            }
+            return Optional.empty();
+        }
+        if (resource.identity == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new NettyCachedFileCustomizableResponseType(resource));
+    }
+
+    /**
+     * @return The number of cached resources, including those that are too large to be cached
+     */
+    int size() {
+        return resources.size();
+    }
+
+    @Nullable
+    private CachedResource load(URL url, @Nullable File file) {
+        String path = url.getPath();
+        MediaType mediaType = MediaType.forFilename(path.substring(path.lastIndexOf('/') + 1));
+        try {
+            URLConnection connection = url.openConnection();
+            long lastModified = file != null ? file.lastModified() : connection.getLastModified();
+            byte[] identity;
+            try (InputStream in = connection.getInputStream()) {
+                identity = connection.getContentLengthLong() > maxEntrySize ? null : read(in);
+            }
+            if (identity == null) {
+                // remembered so that it is not read again, the file types serve it from the source
+                return new CachedResource(mediaType, lastModified, null, null, null, null);
+            }
+            byte[] gzip = smallerOf(identity, readVariant(url, GZIP_EXTENSION));
+            if (gzip == null && shouldCompress(mediaType, identity.length)) {
+                gzip = smallerOf(identity, gzip(identity));
+            }
+            byte[] brotli = smallerOf(identity, readVariant(url, BROTLI_EXTENSION));
+            return new CachedResource(mediaType, lastModified, identity, gzip, brotli, etag(identity));
+        } catch (IOException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Static resource [" + url + "] not cached since it could not be read: " + e.getMessage(), e);
+            }
+            return null;
+        }
+    }
+
+    @Nullable
+    private byte[] readVariant(URL url, String extension) {
+        try {
+            URLConnection connection = new URL(url.toExternalForm() + extension).openConnection();
+            try (InputStream in = connection.getInputStream()) {
+                return read(in);
+            }
+        } catch (IOException e) {
+            // no precompressed variant
+            return null;
+        }
+    }
+
+    /**
+     * Reads a resource unless it exceeds the maximum entry size.
+     */
+    @Nullable
+    private byte[] read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER_SIZE);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            if (out.size() > maxEntrySize) {
+                return null;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private boolean shouldCompress(MediaType mediaType, int length) {
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, mediaType.toString());
+        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, length);
+        return compressionStrategy.shouldCompress(response);
+    }
+
+    private byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2);
+        try (GZIPOutputStream gzip = new LevelGZIPOutputStream(out, compressionStrategy.getCompressionLevel())) {
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    @Nullable
+    private static byte[] smallerOf(byte[] identity, @Nullable byte[] variant) {
+        return variant != null && variant.length < identity.length ? variant : null;
+    }
+
+    private static String etag(byte[] content) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the JVM", e);
+        }
+        char[] hex = new char[ETAG_BYTES * 2];
+        for (int i = 0; i < ETAG_BYTES; i++) {
+            hex[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX[digest[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    @Nullable
+    private static File toFile(URL url) {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return Paths.get(url.toURI()).toFile();
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A {@link GZIPOutputStream} with a configurable compression level.
+     */
+    private static final class LevelGZIPOutputStream extends GZIPOutputStream {
+        LevelGZIPOutputStream(ByteArrayOutputStream out, int level) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(level);
+        }
+    }
+
+    /**
+     * The cached content of a resource.
+     */
+    static final class CachedResource {
+        final MediaType mediaType;
+        final long lastModified;
+        final byte[] identity;
+        final byte[] gzip;
+        final byte[] brotli;
+        final String etag;
+
+        CachedResource(MediaType mediaType, long lastModified, byte[] identity, byte[] gzip, byte[] brotli, String etag) {
+            this.mediaType = mediaType;
+            this.lastModified = lastModified;
+            this.identity = identity;
+            this.gzip = gzip;
+            this.brotli = brotli;
+            this.etag = etag;
+        }
+
+        int getWeight() {
+            return Math.max(1, length(identity) + length(gzip) + length(brotli));
+        }
+
+        private static int length(byte[] content) {
+            return content != null ? content.length : 0;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.binding
+
+import io.micronaut.jackson.JacksonConfiguration
+
+/**
+ * Runs the JSON body binding tests with bodies bound from buffered tokens instead of a JSON tree.
+ */
+class TokenBufferJsonBodyBindingSpec extends JsonBodyBindingSpec {
+
+    @Override
+    Map<String, Object> getConfiguration() {
+        super.getConfiguration() << [(JacksonConfiguration.PROPERTY_TOKEN_BUFFER_BINDING): true]
+    }
+}
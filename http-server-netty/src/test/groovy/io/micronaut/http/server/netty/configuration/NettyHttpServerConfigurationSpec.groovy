@@ -390,6 +390,30 @@ class NettyHttpServerConfigurationSpec extends Specification {
         cleanup:
         beanContext.close()
     }
+
+    void "test netty server flush consolidation configuration"() {
+        given:
+        ApplicationContext beanContext = new DefaultApplicationContext("test")
+        beanContext.environment.addPropertySource(PropertySource.of("test",
+              ['micronaut.server.netty.flush-consolidation.enabled': true,
+               'micronaut.server.netty.flush-consolidation.explicit-flush-after-flushes': 32,
+               'micronaut.server.netty.flush-consolidation.consolidate-when-no-read-in-progress': true,
+               'micronaut.server.netty.streamed-response-batch-size': 8]
+        ))
+        beanContext.start()
+
+        when:
+        NettyHttpServerConfiguration config = beanContext.getBean(NettyHttpServerConfiguration)
+
+        then:
+        config.flushConsolidation.enabled
+        config.flushConsolidation.explicitFlushAfterFlushes == 32
+        config.flushConsolidation.consolidateWhenNoReadInProgress
+        config.streamedResponseBatchSize == 8
+
+        cleanup:
+        beanContext.close()
+    }
 }
 
 class MemoryAppender extends AppenderBase<ILoggingEvent> {
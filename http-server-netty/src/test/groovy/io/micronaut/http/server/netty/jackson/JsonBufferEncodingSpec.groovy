@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.jackson
+
+import io.micronaut.buffer.netty.NettyByteBufferFactory
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.io.buffer.ByteBuffer
+import io.micronaut.core.io.buffer.ByteBufferFactory
+import io.micronaut.core.type.Argument
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.codec.CodecException
+import io.micronaut.http.codec.MediaTypeCodec
+import io.micronaut.jackson.codec.JsonMediaTypeCodec
+import io.micronaut.runtime.server.EmbeddedServer
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.ByteBufAllocator
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.inject.Singleton
+import java.nio.charset.StandardCharsets
+
+class JsonBufferEncodingSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'JsonBufferEncodingSpec'])
+    @Shared @AutoCleanup RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+
+    void "test encode JSON directly into a buffer"() {
+        given:
+        JsonMediaTypeCodec codec = embeddedServer.applicationContext.getBean(JsonMediaTypeCodec)
+        ByteBuf byteBuf = ByteBufAllocator.DEFAULT.ioBuffer(8)
+
+        when:
+        codec.encode([name: 'The Stand'], NettyByteBufferFactory.DEFAULT.wrap(byteBuf))
+
+        then:
+        byteBuf.toString(StandardCharsets.UTF_8) == '{"name":"The Stand"}'
+
+        when:
+        ByteBuffer<ByteBuf> buffer = codec.encode([name: 'It'], new NettyByteBufferFactory(ByteBufAllocator.DEFAULT))
+
+        then:
+        buffer.toString(StandardCharsets.UTF_8) == '{"name":"It"}'
+
+        cleanup:
+        byteBuf.release()
+        buffer?.asNativeBuffer()?.release()
+    }
+
+    void "test the buffer is released when encoding fails with any exception"() {
+        given:
+        JsonMediaTypeCodec codec = embeddedServer.applicationContext.getBean(JsonMediaTypeCodec)
+        // the buffer cannot grow, so writing the body fails with an IndexOutOfBoundsException rather than a CodecException
+        ByteBuf byteBuf = ByteBufAllocator.DEFAULT.buffer(4, 4)
+        NettyByteBufferFactory allocator = new NettyByteBufferFactory(ByteBufAllocator.DEFAULT) {
+            @Override
+            ByteBuffer<ByteBuf> buffer() {
+                wrap(byteBuf)
+            }
+        }
+
+        when:
+        codec.encode([name: 'The Stand'], allocator)
+
+        then:
+        thrown(IndexOutOfBoundsException)
+        byteBuf.refCnt() == 0
+    }
+
+    void "test responses of varying size are encoded completely"() {
+        expect:
+        client.retrieve(HttpRequest.GET("/json-buffer/items/$count"), List).blockingFirst().size() == count
+
+        where:
+        count << [1, 5000, 10, 20000, 3]
+    }
+
+    void "test codecs that only implement the allocating encode method are still used"() {
+        expect:
+        client.retrieve(HttpRequest.GET('/json-buffer/custom').accept(CustomCodec.CUSTOM), String).blockingFirst() == 'custom:value'
+    }
+
+    @Requires(property = 'spec.name', value = 'JsonBufferEncodingSpec')
+    @Controller('/json-buffer')
+    static class ItemController {
+
+        @Get(value = '/custom', produces = 'application/x-custom')
+        String custom() {
+            'value'
+        }
+
+        @Get('/items/{count}')
+        List<Map<String, Object>> items(int count) {
+            (1..count).collect { [id: it, name: "item $it".toString()] }
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'JsonBufferEncodingSpec')
+    @Singleton
+    static class CustomCodec implements MediaTypeCodec {
+        static final MediaType CUSTOM = new MediaType('application/x-custom')
+
+        @Override
+        Collection<MediaType> getMediaTypes() {
+            [CUSTOM]
+        }
+
+        @Override
+        def <T> T decode(Argument<T> type, InputStream inputStream) throws CodecException {
+            throw new UnsupportedOperationException()
+        }
+
+        @Override
+        def <T> void encode(T object, OutputStream outputStream) throws CodecException {
+            outputStream.write(encode(object))
+        }
+
+        @Override
+        def <T> byte[] encode(T object) throws CodecException {
+            object.toString().getBytes(StandardCharsets.UTF_8)
+        }
+
+        @Override
+        def <T, B> ByteBuffer<B> encode(T object, ByteBufferFactory<?, B> allocator) throws CodecException {
+            // differs from the other encode methods, so that the test can tell which one was used
+            allocator.copiedBuffer("custom:$object".getBytes(StandardCharsets.UTF_8))
+        }
+    }
+}
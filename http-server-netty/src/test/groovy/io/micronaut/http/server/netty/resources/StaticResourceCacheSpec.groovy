@@ -0,0 +1,148 @@
+package io.micronaut.http.server.netty.resources
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.nio.file.Files
+import java.util.zip.GZIPInputStream
+
+class StaticResourceCacheSpec extends Specification {
+
+    @Shared File directory = Files.createTempDirectory("staticResourceCacheSpec").toFile()
+    @Shared String text = "<html><body>${'Cached content. ' * 200}</body></html>"
+
+    @Shared @AutoCleanup EmbeddedServer embeddedServer
+
+    void setupSpec() {
+        new File(directory, "page.html").text = text
+        new File(directory, "precompressed.html").text = text
+        new File(directory, "precompressed.html.br").bytes = [1, 2, 3] as byte[]
+        new File(directory, "large.html").text = 'x' * 4096
+        embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'micronaut.router.static-resources.default.paths': ['file:' + directory.absolutePath],
+                'micronaut.server.netty.static-resource-cache.enabled': true,
+                'micronaut.server.netty.static-resource-cache.max-entry-size': 2048
+        ])
+    }
+
+    void cleanupSpec() {
+        directory.deleteDir()
+    }
+
+    void "test a compressible resource is served from the gzip variant"() {
+        given:
+        awaitCached("/page.html")
+
+        when:
+        HttpURLConnection connection = open("/page.html", ['Accept-Encoding': 'gzip, deflate'])
+
+        then:
+        connection.responseCode == 200
+        connection.getHeaderField("Content-Encoding") == "gzip"
+        connection.getHeaderField("Vary") == "Accept-Encoding"
+        connection.getHeaderField("ETag") ==~ /"[0-9a-f]{32}-gzip"/
+        connection.getHeaderField("Content-Type") == "text/html"
+        new GZIPInputStream(connection.inputStream).text == text
+    }
+
+    void "test the identity variant is served if compression is not accepted"() {
+        given:
+        awaitCached("/page.html")
+
+        when:
+        HttpURLConnection connection = open("/page.html", ['Accept-Encoding': 'gzip;q=0'])
+
+        then:
+        connection.responseCode == 200
+        connection.getHeaderField("Content-Encoding") == null
+        connection.getHeaderField("ETag") ==~ /"[0-9a-f]{32}"/
+        connection.getHeaderFieldInt("Content-Length", -1) == text.length()
+        connection.inputStream.text == text
+    }
+
+    void "test a matching entity tag results in not modified"() {
+        given:
+        awaitCached("/page.html")
+        String etag = open("/page.html", ['Accept-Encoding': 'gzip']).getHeaderField("ETag")
+
+        when:
+        HttpURLConnection connection = open("/page.html", ['Accept-Encoding': 'gzip', 'If-None-Match': etag])
+
+        then:
+        connection.responseCode == 304
+        connection.getHeaderField("ETag") == etag
+    }
+
+    void "test gzip is served if the wildcard is refused"() {
+        given:
+        awaitCached("/page.html")
+
+        when:
+        HttpURLConnection connection = open("/page.html", ['Accept-Encoding': '*;q=0, gzip'])
+
+        then:
+        connection.responseCode == 200
+        connection.getHeaderField("Content-Encoding") == "gzip"
+        new GZIPInputStream(connection.inputStream).text == text
+    }
+
+    void "test a precompressed brotli variant is preferred"() {
+        given:
+        awaitCached("/precompressed.html")
+
+        when:
+        HttpURLConnection connection = open("/precompressed.html", ['Accept-Encoding': 'gzip, br'])
+
+        then:
+        connection.responseCode == 200
+        connection.getHeaderField("Content-Encoding") == "br"
+        connection.inputStream.bytes == [1, 2, 3] as byte[]
+    }
+
+    void "test a modified resource is reloaded"() {
+        given:
+        File file = new File(directory, "modified.html")
+        file.text = "first"
+        file.lastModified = 1000000
+
+        expect:
+        awaitCached("/modified.html")
+        open("/modified.html", [:]).inputStream.text == "first"
+
+        when:
+        file.text = "second"
+        file.lastModified = 2000000
+
+        then:"the source is served until the resource is reloaded"
+        open("/modified.html", [:]).inputStream.text == "second"
+        awaitCached("/modified.html")
+        open("/modified.html", [:]).inputStream.text == "second"
+    }
+
+    void "test a resource larger than the maximum entry size is served without the cache"() {
+        when:
+        HttpURLConnection connection = open("/large.html", ['Accept-Encoding': 'identity'])
+
+        then:
+        connection.responseCode == 200
+        connection.getHeaderField("ETag") == null
+        connection.inputStream.text == 'x' * 4096
+    }
+
+    private void awaitCached(String path) {
+        // the first request loads the resource in the background and is served from the source
+        new PollingConditions(timeout: 5).eventually {
+            assert open(path, [:]).getHeaderField("ETag") != null
+        }
+    }
+
+    private HttpURLConnection open(String path, Map<String, String> headers) {
+        HttpURLConnection connection = (HttpURLConnection) new URL(embeddedServer.URL, path).openConnection()
+        headers.each { name, value -> connection.setRequestProperty(name, value) }
+        connection
+    }
+}
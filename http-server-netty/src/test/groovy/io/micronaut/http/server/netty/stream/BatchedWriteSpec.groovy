@@ -0,0 +1,142 @@
+package io.micronaut.http.server.netty.stream
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.RxStreamingHttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.TimeUnit
+
+class BatchedWriteSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': 'BatchedWriteSpec',
+            'micronaut.server.netty.flush-consolidation.enabled': true,
+            'micronaut.server.netty.streamed-response-batch-size': 4
+    ])
+
+    void "test a streamed response is written completely in batches"() {
+        given:
+        RxStreamingHttpClient client = embeddedServer.applicationContext.createBean(RxStreamingHttpClient, embeddedServer.getURL())
+
+        when:
+        List<Map> items = client.jsonStream(HttpRequest.GET("/batched/stream?count=$count"), Map).toList().blockingGet()
+
+        then:
+        items.size() == count
+        items*.index == (1..count).toList()
+
+        cleanup:
+        client.close()
+
+        where:
+        count << [1, 4, 10, 100]
+    }
+
+    void "test a slow stream is flushed before the batch is complete"() {
+        given:
+        RxStreamingHttpClient client = embeddedServer.applicationContext.createBean(RxStreamingHttpClient, embeddedServer.getURL())
+
+        when:
+        Map first = client.jsonStream(HttpRequest.GET("/batched/slow"), Map).blockingFirst()
+
+        then:
+        first.index == 1
+
+        cleanup:
+        client.close()
+    }
+
+    void "test every item of a slow stream published from another thread is flushed"() {
+        given:
+        RxStreamingHttpClient client = embeddedServer.applicationContext.createBean(RxStreamingHttpClient, embeddedServer.getURL())
+
+        when:
+        List<Map> items = client.jsonStream(HttpRequest.GET("/batched/delayed"), Map)
+                .take(3)
+                .timeout(5, TimeUnit.SECONDS)
+                .toList()
+                .blockingGet()
+
+        then:
+        items*.index == [1, 2, 3]
+
+        cleanup:
+        client.close()
+    }
+
+    void "test pipelined requests receive all responses in order"() {
+        given:
+        Socket socket = new Socket(embeddedServer.host, embeddedServer.port)
+        socket.soTimeout = 10000
+        String request = "GET /batched/echo/%d HTTP/1.1\r\nHost: localhost\r\n\r\n"
+
+        when:
+        StringBuilder requests = new StringBuilder()
+        10.times { requests.append(String.format(request, it)) }
+        socket.outputStream.write(requests.toString().getBytes(StandardCharsets.US_ASCII))
+        socket.outputStream.flush()
+        BufferedReader reader = new BufferedReader(new InputStreamReader(socket.inputStream, StandardCharsets.US_ASCII))
+        List<String> bodies = []
+        10.times {
+            int contentLength = 0
+            String line = reader.readLine()
+            assert line.startsWith("HTTP/1.1 200")
+            while ((line = reader.readLine())) {
+                if (line.toLowerCase().startsWith("content-length:")) {
+                    contentLength = line.substring("content-length:".length()).trim().toInteger()
+                }
+            }
+            char[] body = new char[contentLength]
+            int read = 0
+            while (read < contentLength) {
+                read += reader.read(body, read, contentLength - read)
+            }
+            bodies << new String(body)
+        }
+
+        then:
+        bodies == (0..9).collect { "echo $it".toString() }
+
+        cleanup:
+        socket.close()
+    }
+
+    @Requires(property = "spec.name", value = "BatchedWriteSpec")
+    @Controller("/batched")
+    static class BatchedController {
+
+        @Get(value = "/stream", produces = MediaType.APPLICATION_JSON_STREAM)
+        Flowable<Map> stream(int count) {
+            Flowable.range(1, count).map({ Integer i -> [index: i] as Map })
+        }
+
+        @Get(value = "/slow", produces = MediaType.APPLICATION_JSON_STREAM)
+        Flowable<Map> slow() {
+            // the second item is never emitted, so the first must be flushed on its own
+            Flowable.<Map>just([index: 1]).concatWith(Flowable.never())
+        }
+
+        @Get(value = "/delayed", produces = MediaType.APPLICATION_JSON_STREAM)
+        Flowable<Map> delayed() {
+            // emitted off the event loop, and never completed so that only the flushes deliver the items
+            Flowable.intervalRange(1, 3, 50, 50, TimeUnit.MILLISECONDS)
+                    .map({ Long i -> [index: i] as Map })
+                    .concatWith(Flowable.never())
+        }
+
+        @Get(value = "/echo/{value}", produces = MediaType.TEXT_PLAIN)
+        String echo(String value) {
+            "echo $value"
+        }
+    }
+}
@@ -10,6 +10,7 @@ import io.micronaut.runtime.server.EmbeddedServer
 import io.micronaut.scheduling.TaskExecutors
 import io.micronaut.scheduling.annotation.ExecuteOn
 import io.micronaut.scheduling.executor.ThreadSelection
+import io.reactivex.Flowable
 import io.reactivex.Single
 import spock.lang.Specification
 import spock.lang.Unroll
@@ -40,6 +41,51 @@ class ThreadSelectionSpec extends Specification {
 
     }
 
+    void "test blocking routes run on the workers of the event loop with event loop affinity"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'micronaut.server.thread-selection': ThreadSelection.AUTO,
+                'micronaut.server.netty.event-loop-affinity.enabled': true
+        ])
+        ThreadSelectionClient client = embeddedServer.applicationContext.getBean(ThreadSelectionClient)
+
+        expect:
+        client.blocking().contains('event-loop-affinity-')
+        client.reactiveBlocking().contains('event-loop-affinity-')
+        client.nonblocking().contains('nioEventLoopGroup')
+        client.reactive().contains('nioEventLoopGroup')
+        client.scheduleBlocking().contains('pool-')
+
+        cleanup:
+        embeddedServer.close()
+    }
+
+    void "test blocking routes overflow to the IO executor once the workers of the event loop are saturated"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'micronaut.server.thread-selection': ThreadSelection.AUTO,
+                'micronaut.server.netty.worker.threads': 1,
+                'micronaut.server.netty.event-loop-affinity.enabled': true,
+                'micronaut.server.netty.event-loop-affinity.threads-per-event-loop': 1,
+                'micronaut.server.netty.event-loop-affinity.queue-size': 0
+        ])
+        ThreadSelectionClient client = embeddedServer.applicationContext.getBean(ThreadSelectionClient)
+
+        when:"more slow requests arrive than the single worker of the event loop takes"
+        List<String> threads = Flowable.range(0, 3)
+                .flatMapSingle({ client.slow() })
+                .toList()
+                .blockingGet()
+
+        then:
+        threads.size() == 3
+        threads.count { it.contains('event-loop-affinity-') } == 1
+        threads.count { it.contains('pool-') } == 2
+
+        cleanup:
+        embeddedServer.close()
+    }
+
     @Client("/thread-selection")
     static interface ThreadSelectionClient {
         @Get("/blocking")
@@ -60,6 +106,9 @@ class ThreadSelectionSpec extends Specification {
         @Get("/schedulereactive")
         Single<String> scheduleReactive()
 
+        @Get("/slow")
+        Single<String> slow()
+
     }
 
     @Controller("/thread-selection")
@@ -97,5 +146,11 @@ class ThreadSelectionSpec extends Specification {
         Single<String> scheduleReactive() {
             Single.fromCallable({ -> "thread: ${Thread.currentThread().name}" })
         }
+
+        @Get("/slow")
+        String slow() {
+            sleep 500
+            return "thread: ${Thread.currentThread().name}"
+        }
     }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.metrics;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.http.server.HttpServerConfiguration;
+
+import javax.inject.Singleton;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+
+/**
+ * Records the latency of the {@link RequestPhase phases} of the requests handled by the HTTP server and the number of
+ * tasks that are pending on the event loops of the server. Enabled with {@value #ENABLED}.
+ *
+ * @since 2.0
+ */
+@Singleton
+@Requires(property = HttpServerMetrics.ENABLED, value = StringUtils.TRUE)
+public class HttpServerMetrics implements RequestPhaseListener {
+
+    /**
+     * The property to enable the metrics.
+     */
+    public static final String ENABLED = HttpServerConfiguration.PREFIX + ".metrics.enabled";
+
+    private final Map<RequestPhase, LatencyHistogram> phases = new EnumMap<>(RequestPhase.class);
+    private final Map<String, IntSupplier> eventLoops = new ConcurrentHashMap<>();
+
+    /**
+     * Default constructor.
+     */
+    public HttpServerMetrics() {
+        for (RequestPhase phase : RequestPhase.values()) {
+            phases.put(phase, new LatencyHistogram());
+        }
+    }
+
+    @Override
+    public void onPhaseCompleted(@NonNull RequestPhase phase, long durationNanos) {
+        phases.get(phase).record(durationNanos);
+    }
+
+    /**
+     * Registers an event loop of the server.
+     *
+     * @param name         The name of the event loop
+     * @param pendingTasks Resolves the number of tasks pending on the event loop
+     */
+    public void registerEventLoop(@NonNull String name, @NonNull IntSupplier pendingTasks) {
+        eventLoops.put(name, pendingTasks);
+    }
+
+    /**
+     * Removes the registered event loops, for example because the server stopped.
+     */
+    public void clearEventLoops() {
+        eventLoops.clear();
+    }
+
+    /**
+     * @return A snapshot of the latency of each phase
+     */
+    public @NonNull Map<RequestPhase, LatencyHistogram.Snapshot> getPhases() {
+        Map<RequestPhase, LatencyHistogram.Snapshot> snapshots = new EnumMap<>(RequestPhase.class);
+        for (Map.Entry<RequestPhase, LatencyHistogram> entry : phases.entrySet()) {
+            snapshots.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return snapshots;
+    }
+
+    /**
+     * @return The number of pending tasks of each event loop
+     */
+    public @NonNull Map<String, Integer> getEventLoopPendingTasks() {
+        Map<String, Integer> pendingTasks = new TreeMap<>();
+        for (Map.Entry<String, IntSupplier> entry : eventLoops.entrySet()) {
+            pendingTasks.put(entry.getKey(), entry.getValue().getAsInt());
+        }
+        return pendingTasks;
+    }
+
+    /**
+     * Clears the recorded latencies.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : phases.values()) {
+            histogram.reset();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.metrics;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock free histogram of durations. Durations are counted in buckets whose bounds are powers of two nanoseconds, so
+ * recording a value is a single increment of a striped counter and percentiles are accurate to a factor of two.
+ *
+ * @since 2.0
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = Long.SIZE;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Default constructor.
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param durationNanos The duration in nanoseconds
+     */
+    public void record(long durationNanos) {
+        long duration = Math.max(0, durationNanos);
+        buckets[bucket(duration)].increment();
+        total.add(duration);
+        max.accumulate(duration);
+    }
+
+    /**
+     * @return A snapshot of the recorded durations
+     */
+    public @NonNull Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long sum = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            sum += counts[i];
+        }
+        return new Snapshot(counts, sum, total.sum(), max.get());
+    }
+
+    /**
+     * Clears the recorded durations.
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        total.reset();
+        max.reset();
+    }
+
+    private static int bucket(long duration) {
+        return BUCKETS - 1 - Long.numberOfLeadingZeros(duration | 1);
+    }
+
+    /**
+     * A snapshot of the durations recorded by a {@link LatencyHistogram}. Durations are reported in microseconds.
+     */
+    public static final class Snapshot {
+        private static final double P50 = 0.5;
+        private static final double P90 = 0.9;
+        private static final double P99 = 0.99;
+
+        private final long[] counts;
+        private final long count;
+        private final long total;
+        private final long max;
+
+        private Snapshot(long[] counts, long count, long total, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.total = total;
+            this.max = max;
+        }
+
+        /**
+         * @return The number of recorded durations
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return The mean duration in microseconds
+         */
+        public long getMean() {
+            return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(total / count);
+        }
+
+        /**
+         * @return The maximum duration in microseconds
+         */
+        public long getMax() {
+            return TimeUnit.NANOSECONDS.toMicros(max);
+        }
+
+        /**
+         * @return The median duration in microseconds
+         */
+        public long getP50() {
+            return percentile(P50);
+        }
+
+        /**
+         * @return The 90th percentile of the durations in microseconds
+         */
+        public long getP90() {
+            return percentile(P90);
+        }
+
+        /**
+         * @return The 99th percentile of the durations in microseconds
+         */
+        public long getP99() {
+            return percentile(P99);
+        }
+
+        /**
+         * @param percentile The percentile between 0 and 1
+         * @return The upper bound of the bucket of the percentile in microseconds, at most the maximum duration
+         */
+        public long percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile * count);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    long upperBound = i >= Long.SIZE - 2 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+                    return TimeUnit.NANOSECONDS.toMicros(Math.min(upperBound, max));
+                }
+            }
+            return TimeUnit.NANOSECONDS.toMicros(max);
+        }
+    }
+}
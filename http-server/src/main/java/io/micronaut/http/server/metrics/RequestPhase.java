@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.metrics;
+
+/**
+ * The phases of the processing of a request by the HTTP server.
+ *
+ * @since 2.0
+ */
+public enum RequestPhase {
+
+    /**
+     * Matching the request to a route.
+     */
+    ROUTING,
+
+    /**
+     * Binding the request to the arguments of the route.
+     */
+    BINDING,
+
+    /**
+     * Waiting for a thread of the executor the route runs on. Only recorded for routes that don't run on the event loop.
+     */
+    QUEUE,
+
+    /**
+     * Executing the route. For routes that return a reactive type this only covers the creation of the publisher.
+     */
+    EXECUTION,
+
+    /**
+     * Encoding the body of the response.
+     */
+    ENCODING
+}
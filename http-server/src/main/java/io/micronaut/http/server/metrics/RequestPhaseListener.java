@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.metrics;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * A listener that is notified by the HTTP server of the time each {@link RequestPhase} of a request took. Any bean of
+ * this type is notified. Listeners are invoked on the thread that completed the phase, often an event loop thread, so
+ * they must not block.
+ *
+ * @since 2.0
+ */
+@FunctionalInterface
+public interface RequestPhaseListener {
+
+    /**
+     * Invoked when a phase of a request completed.
+     *
+     * @param phase         The phase
+     * @param durationNanos The duration of the phase in nanoseconds
+     */
+    void onPhaseCompleted(@NonNull RequestPhase phase, long durationNanos);
+}
@@ -82,6 +82,22 @@ public interface MediaTypeCodec {
      */
     <T, B> ByteBuffer<B> encode(T object, ByteBufferFactory<?, B> allocator) throws CodecException;
 
+    /**
+     * Encode the given type into the given {@link ByteBuffer}. Implementations able to write to the buffer
+     * incrementally (for example via {@link ByteBuffer#toOutputStream()}) should override this method to avoid
+     * the intermediate {@code byte[]}.
+     *
+     * @param object The object to encode
+     * @param buffer The buffer to write to
+     * @param <T>    The generic type
+     * @param <B>    The buffer type
+     * @throws CodecException When the result cannot be encoded
+     * @since 2.0
+     */
+    default <T, B> void encode(T object, ByteBuffer<B> buffer) throws CodecException {
+        buffer.write(encode(object));
+    }
+
     /**
      * Decode the given type from the given {@link InputStream}.
      *
@@ -30,10 +30,15 @@ import java.util.stream.Collectors;
 public class UriMatchTemplate extends UriTemplate implements UriMatcher {
 
     protected static final String VARIABLE_MATCH_PATTERN = "([^\\/\\?#&;\\+]";
+    private static final String SIMPLE_VARIABLE_PATTERN = "(" + VARIABLE_MATCH_PATTERN + "+?))";
+    private static final String VARIABLE_DELIMITERS = "/?#&;+";
+    private static final ThreadLocal<int[]> MATCH_OFFSETS = ThreadLocal.withInitial(() -> new int[16]);
     protected StringBuilder pattern;
     protected List<UriMatchVariable> variables;
     private final Pattern matchPattern;
     private final boolean isRoot;
+    private final String literalPrefix;
+    private final String[] literals;
 
     /**
      * Construct a new URI template for the given template.
@@ -56,6 +61,9 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         String tmpl = templateString.toString();
         int len = tmpl.length();
         this.isRoot = len == 0 || (len == 1 && tmpl.charAt(0) == '/');
+        String regex = matchPattern.pattern();
+        this.literalPrefix = resolveLiteralPrefix(regex);
+        this.literals = resolveLiterals(regex);
         // cleanup / reduce memory consumption
         this.pattern = null;
     }
@@ -73,6 +81,9 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         String tmpl = templateString.toString();
         int len = tmpl.length();
         this.isRoot = len == 0 || (len == 1 && tmpl.charAt(0) == '/');
+        String regex = matchPattern.pattern();
+        this.literalPrefix = resolveLiteralPrefix(regex);
+        this.literals = resolveLiterals(regex);
     }
 
     /**
@@ -100,6 +111,17 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         return Collections.unmodifiableList(variables);
     }
 
+    /**
+     * Returns the literal text that any URI matched by this template must start with. For a template such
+     * as {@code /books/{id}} this is {@code /books/}. Templates that begin with a variable return an empty string.
+     *
+     * @return The literal prefix
+     * @since 2.0
+     */
+    public String getLiteralPrefix() {
+        return literalPrefix;
+    }
+
     /**
      * Returns the path string excluding any query variables.
      *
@@ -146,28 +168,77 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         if (parameterIndex > -1) {
             uri = uri.substring(0, parameterIndex);
         }
+        if (literals != null) {
+            return matchLiterals(uri);
+        }
         Matcher matcher = matchPattern.matcher(uri);
         if (matcher.matches()) {
             if (variables.isEmpty()) {
                 return Optional.of(new DefaultUriMatchInfo(uri, Collections.emptyMap(), variables));
             } else {
                 int count = matcher.groupCount();
-                Map<String, Object> variableMap = new LinkedHashMap<>(count);
-                for (int j = 0; j < variables.size(); j++) {
+                int variableCount = Math.min(variables.size(), count / 2);
+                int[] offsets = new int[variableCount * 2];
+                for (int j = 0; j < variableCount; j++) {
                     int index = (j * 2) + 2;
-                    if (index > count) {
-                        break;
-                    }
-                    UriMatchVariable variable = variables.get(j);
-                    String value = matcher.group(index);
-                    variableMap.put(variable.getName(), value);
+                    offsets[j * 2] = matcher.start(index);
+                    offsets[j * 2 + 1] = matcher.end(index);
                 }
-                return Optional.of(new DefaultUriMatchInfo(uri, variableMap, variables));
+                return Optional.of(new DefaultUriMatchInfo(uri, variables, offsets));
             }
         }
         return Optional.empty();
     }
 
+    /**
+     * Matches a template made up of literals and plain {@code {var}} variables without a regular expression. A
+     * variable extends up to the next reserved character, which the following literal must start with. The variable
+     * offsets are recorded in a per-thread buffer and only copied once the whole URI has matched.
+     *
+     * @param uri The URI with any trailing slash and query removed
+     * @return The match info
+     */
+    private Optional<UriMatchInfo> matchLiterals(String uri) {
+        String[] literals = this.literals;
+        if (!uri.startsWith(literals[0])) {
+            return Optional.empty();
+        }
+        int pos = literals[0].length();
+        int len = uri.length();
+        int variableCount = literals.length - 1;
+        if (variableCount == 0) {
+            if (pos == len) {
+                return Optional.of(new DefaultUriMatchInfo(uri, Collections.emptyMap(), variables));
+            }
+            return Optional.empty();
+        }
+        int[] offsets = MATCH_OFFSETS.get();
+        if (offsets.length < variableCount * 2) {
+            offsets = new int[variableCount * 2];
+            MATCH_OFFSETS.set(offsets);
+        }
+        for (int i = 0; i < variableCount; i++) {
+            int start = pos;
+            while (pos < len && VARIABLE_DELIMITERS.indexOf(uri.charAt(pos)) == -1) {
+                pos++;
+            }
+            if (pos == start) {
+                return Optional.empty();
+            }
+            offsets[i * 2] = start;
+            offsets[i * 2 + 1] = pos;
+            String literal = literals[i + 1];
+            if (!uri.startsWith(literal, pos)) {
+                return Optional.empty();
+            }
+            pos += literal.length();
+        }
+        if (pos != len) {
+            return Optional.empty();
+        }
+        return Optional.of(new DefaultUriMatchInfo(uri, variables, Arrays.copyOf(offsets, variableCount * 2)));
+    }
+
     @Override
     public UriMatchTemplate nest(CharSequence uriTemplate) {
         return (UriMatchTemplate) super.nest(uriTemplate);
@@ -199,15 +270,78 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
         return new UriMatchTemplateParser(templateString, this);
     }
 
+    /**
+     * Reads the leading quoted literals of the match pattern. These are produced by {@link Pattern#quote(String)}
+     * for each raw segment, so every matching URI must begin with their concatenation.
+     *
+     * @param regex The match pattern
+     * @return The literal prefix
+     */
+    private static String resolveLiteralPrefix(String regex) {
+        StringBuilder prefix = new StringBuilder();
+        int i = 0;
+        while (regex.startsWith("\\Q", i)) {
+            int end = regex.indexOf("\\E", i + 2);
+            if (end == -1) {
+                break;
+            }
+            prefix.append(regex, i + 2, end);
+            i = end + 2;
+        }
+        return prefix.toString();
+    }
+
+    /**
+     * Splits a match pattern made up only of quoted literals and plain {@code {var}} variables into the literals
+     * around each variable. Each literal that follows a variable must begin with a reserved character so that the
+     * extent of the variable is unambiguous.
+     *
+     * @param regex The match pattern
+     * @return The literals, one more than the number of variables, or {@code null} if the pattern requires a regular
+     * expression
+     */
+    private static String[] resolveLiterals(String regex) {
+        List<String> literals = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        int len = regex.length();
+        while (i < len) {
+            if (regex.startsWith("\\Q", i)) {
+                int end = regex.indexOf("\\E", i + 2);
+                if (end == -1) {
+                    return null;
+                }
+                literal.append(regex, i + 2, end);
+                i = end + 2;
+            } else if (regex.startsWith(SIMPLE_VARIABLE_PATTERN, i)) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                i += SIMPLE_VARIABLE_PATTERN.length();
+            } else {
+                return null;
+            }
+        }
+        literals.add(literal.toString());
+        int last = literals.size() - 1;
+        for (int j = 1; j <= last; j++) {
+            String following = literals.get(j);
+            if (following.isEmpty() ? j != last : VARIABLE_DELIMITERS.indexOf(following.charAt(0)) == -1) {
+                return null;
+            }
+        }
+        return literals.toArray(new String[0]);
+    }
+
     /**
      * The default {@link UriMatchInfo} implementation.
      */
     protected static class DefaultUriMatchInfo implements UriMatchInfo {
 
         private final String uri;
-        private final Map<String, Object> variableValues;
         private final List<UriMatchVariable> variables;
-        private final Map<String, UriMatchVariable> variableMap;
+        private final int[] variableOffsets;
+        private Map<String, Object> variableValues;
+        private Map<String, UriMatchVariable> variableMap;
 
         /**
          * @param uri            The URI
@@ -218,11 +352,23 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
             this.uri = uri;
             this.variableValues = variableValues;
             this.variables = variables;
-            LinkedHashMap<String, UriMatchVariable> vm = new LinkedHashMap<>(variables.size());
-            for (UriMatchVariable variable : variables) {
-                vm.put(variable.getName(), variable);
-            }
-            this.variableMap = Collections.unmodifiableMap(vm);
+            this.variableOffsets = null;
+        }
+
+        /**
+         * Constructs a match info that only records where each variable value starts and ends in the URI. The map of
+         * variable values is built the first time it is requested.
+         *
+         * @param uri             The URI
+         * @param variables       The variables
+         * @param variableOffsets The start and end offset of each matched variable, or -1 for variables that did not
+         *                        participate in the match
+         * @since 2.0
+         */
+        protected DefaultUriMatchInfo(String uri, List<UriMatchVariable> variables, int[] variableOffsets) {
+            this.uri = uri;
+            this.variables = variables;
+            this.variableOffsets = variableOffsets;
         }
 
         @Override
@@ -232,7 +378,22 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
 
         @Override
         public Map<String, Object> getVariableValues() {
-            return variableValues;
+            Map<String, Object> values = this.variableValues;
+            if (values == null) {
+                int count = variableOffsets.length / 2;
+                if (count == 0) {
+                    values = Collections.emptyMap();
+                } else {
+                    values = new LinkedHashMap<>(count);
+                    for (int j = 0; j < count; j++) {
+                        int start = variableOffsets[j * 2];
+                        String value = start == -1 ? null : uri.substring(start, variableOffsets[j * 2 + 1]);
+                        values.put(variables.get(j).getName(), value);
+                    }
+                }
+                this.variableValues = values;
+            }
+            return values;
         }
 
         @Override
@@ -242,7 +403,16 @@ public class UriMatchTemplate extends UriTemplate implements UriMatcher {
 
         @Override
         public Map<String, UriMatchVariable> getVariableMap() {
-            return variableMap;
+            Map<String, UriMatchVariable> map = this.variableMap;
+            if (map == null) {
+                LinkedHashMap<String, UriMatchVariable> vm = new LinkedHashMap<>(variables.size());
+                for (UriMatchVariable variable : variables) {
+                    vm.put(variable.getName(), variable);
+                }
+                map = Collections.unmodifiableMap(vm);
+                this.variableMap = map;
+            }
+            return map;
         }
 
         @Override
@@ -202,4 +202,63 @@ class UriMatchTemplateSpec extends Specification {
         "/{+someId}"    | '/username%2B1@company.com'   | true      | [someId: 'username%2B1@company.com']
         "/{+someId}"    | '/username+1@company.com'     | true      | [someId: 'username+1@company.com']
     }
+
+    @Unroll
+    void "Test URI template #template has literal prefix #prefix"() {
+        given:
+        UriMatchTemplate matchTemplate = new UriMatchTemplate(template)
+
+        expect:
+        matchTemplate.literalPrefix == prefix
+        matchTemplate.literal == literal
+
+        where:
+        template                | prefix    | literal
+        "/"                     | "/"       | true
+        "/books"                | "/books"  | true
+        "/books{?max,offset}"   | "/books"  | true
+        "/books/{id}"           | "/books/" | false
+        "/books{/id}"           | "/books"  | false
+        "/foo{.ext}"            | "/foo"    | false
+        "/{name}/books"         | "/"       | false
+        "{/name}"               | ""        | false
+    }
+
+    void "Test nested literal URI template is matched"() {
+        given:
+        UriMatchTemplate matchTemplate = new UriMatchTemplate("/books").nest("/list")
+
+        expect:
+        matchTemplate.literal
+        matchTemplate.literalPrefix == "/books/list"
+        matchTemplate.match("/books/list").isPresent()
+        matchTemplate.match("/books/list/").isPresent()
+        matchTemplate.match("/books/list?max=10").isPresent()
+        !matchTemplate.match("/books/lists").isPresent()
+    }
+
+    @Unroll
+    void "Test URI template #template with plain variables matches #uri without a regular expression"() {
+        given:
+        UriMatchTemplate matchTemplate = new UriMatchTemplate(template)
+        Optional<UriMatchInfo> info = matchTemplate.match(uri)
+
+        expect:
+        info.isPresent() == matches
+        info.orElse(null)?.variableValues == variables
+        info.orElse(null)?.variableMap?.keySet() == variables?.keySet()
+
+        where:
+        template                    | uri                    | matches | variables
+        "/books/{id}"               | "/books/1"             | true    | [id: '1']
+        "/books/{id}"               | "/books/1/"            | true    | [id: '1']
+        "/books/{id}"               | "/books/1?max=10"      | true    | [id: '1']
+        "/books/{id}"               | "/books/"              | false   | null
+        "/books/{id}"               | "/books/1/authors"     | false   | null
+        "/books/{id}/authors/{aid}" | "/books/1/authors/2"   | true    | [id: '1', aid: '2']
+        "/books/{id}/authors/{aid}" | "/books//authors/2"    | false   | null
+        "/{a}/{b}"                  | "/x/y"                 | true    | [a: 'x', b: 'y']
+        "/books/{id}{?max}"         | "/books/1?max=10"      | true    | [id: '1']
+        "/books/{id}"               | "/books/1;jsessionid"  | false   | null
+    }
 }
@@ -39,6 +39,7 @@ import io.micronaut.inject.configuration.ConfigurationMetadataWriter;
 import io.micronaut.inject.configuration.PropertyMetadata;
 import io.micronaut.inject.processing.JavaModelUtils;
 import io.micronaut.inject.processing.ProcessedTypes;
+import io.micronaut.inject.writer.BeanDefinitionIndexWriter;
 import io.micronaut.inject.writer.BeanDefinitionReferenceWriter;
 import io.micronaut.inject.writer.BeanDefinitionVisitor;
 import io.micronaut.inject.writer.BeanDefinitionWriter;
@@ -110,6 +111,7 @@ public class BeanDefinitionInjectProcessor extends AbstractInjectAnnotationProce
     private JavaConfigurationMetadataBuilder metadataBuilder;
     private Set<String> beanDefinitions;
     private Set<String> processed = new HashSet<>();
+    private BeanDefinitionIndexWriter beanDefinitionIndexWriter = new BeanDefinitionIndexWriter();
     private boolean processingOver;
 
     @Override
@@ -202,6 +204,7 @@ public class BeanDefinitionInjectProcessor extends AbstractInjectAnnotationProce
         if (processingOver) {
             try {
                 writeConfigurationMetadata();
+                beanDefinitionIndexWriter.accept(classWriterOutputVisitor);
             } finally {
                 AnnotationUtils.invalidateCache();
                 AbstractAnnotationMetadataBuilder.clearMutated();
@@ -272,6 +275,9 @@ public class BeanDefinitionInjectProcessor extends AbstractInjectAnnotationProce
                     annotationUtils.hasStereotype(beanClassElement, Context.class));
 
             beanDefinitionReferenceWriter.accept(classWriterOutputVisitor);
+            beanDefinitionIndexWriter.visitBeanDefinition(
+                    beanDefinitionReferenceWriter.toIndexEntry(resolveTypeNames(beanTypeName))
+            );
         } catch (IOException e) {
             // raise a compile error
             String message = e.getMessage();
@@ -279,6 +285,51 @@ public class BeanDefinitionInjectProcessor extends AbstractInjectAnnotationProce
         }
     }
 
+    /**
+     * Resolves the binary names of the bean type, its super classes and interfaces for the bean definition index.
+     *
+     * @param beanTypeName The bean type name
+     * @return The names or an empty list if the type hierarchy cannot be fully resolved
+     */
+    private List<String> resolveTypeNames(String beanTypeName) {
+        TypeElement typeElement = elementUtils.getTypeElement(beanTypeName);
+        if (typeElement == null && beanTypeName.indexOf('$') > -1) {
+            typeElement = elementUtils.getTypeElement(beanTypeName.replace('$', '.'));
+        }
+        if (typeElement == null) {
+            // arrays and types generated in this round are matched at runtime
+            return Collections.emptyList();
+        }
+        Set<String> typeNames = new LinkedHashSet<>();
+        if (!collectTypeNames(typeElement.asType(), typeNames)) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(typeNames);
+    }
+
+    private boolean collectTypeNames(TypeMirror type, Set<String> typeNames) {
+        if (type.getKind() == TypeKind.NONE) {
+            return true;
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        String name = elementUtils.getBinaryName(element).toString();
+        if (Object.class.getName().equals(name) || !typeNames.add(name)) {
+            return true;
+        }
+        if (!collectTypeNames(element.getSuperclass(), typeNames)) {
+            return false;
+        }
+        for (TypeMirror anInterface : element.getInterfaces()) {
+            if (!collectTypeNames(anInterface, typeNames)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private String getPropertyMetadataTypeReference(TypeMirror valueType) {
         if (modelUtils.isOptional(valueType)) {
             return genericUtils.getFirstTypeArgument(valueType)
@@ -42,6 +42,34 @@ class RegisterSingletonSpec extends Specification {
         context.close()
     }
 
+    void "test a singleton registered after it has been resolved replaces it"() {
+        given:
+        BeanContext context = new DefaultBeanContext().start()
+        A original = context.getBean(A)
+
+        expect:
+        context.getBean(A).is(original)
+
+        when:
+        A replacement = new A()
+        context.registerSingleton(replacement)
+
+        then:
+        context.getBean(A).is(replacement)
+
+        when:
+        context.destroyBean(A)
+        A created = context.getBean(A)
+
+        then:
+        !created.is(replacement)
+        !created.is(original)
+        context.getBean(A).is(created)
+
+        cleanup:
+        context.close()
+    }
+
     @Issue('https://github.com/micronaut-projects/micronaut-core/issues/1851')
     void "test register singleton with type qualifier"() {
         when:
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.inject.context.index
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.BeanDefinitionIndex
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class BeanDefinitionIndexSpec extends Specification {
+
+    void "test the index is written for the compiled bean definitions"() {
+        when:
+        BeanDefinitionIndex.Entry entry = BeanDefinitionIndex.read(getClass().classLoader)
+                .find { it.beanTypeName == IndexedBean.name }
+
+        then:
+        entry != null
+        entry.singleton
+        entry.typeNames == [IndexedBean.name, IndexedService.name]
+        BeanDefinitionIndex.Entry.parse(entry.toLine()).toLine() == entry.toLine()
+    }
+
+    void "test invalid lines are ignored"() {
+        expect:
+        BeanDefinitionIndex.Entry.parse('# comment') == null
+        BeanDefinitionIndex.Entry.parse('foo') == null
+    }
+
+    @Unroll
+    void "test beans are resolved with the index enabled #enabled"() {
+        given:
+        System.setProperty(BeanDefinitionIndex.PROPERTY_ENABLED, enabled.toString())
+        ApplicationContext context = ApplicationContext.run()
+
+        expect:
+        context.getBean(IndexedService) instanceof IndexedBean
+        context.getBeansOfType(IndexedService).size() == 1
+
+        cleanup:
+        context.close()
+        System.clearProperty(BeanDefinitionIndex.PROPERTY_ENABLED)
+
+        where:
+        enabled << [true, false]
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.inject.context.parallel;
+
+import io.micronaut.context.BeanContext;
+import io.micronaut.context.annotation.Requires;
+
+import javax.inject.Singleton;
+
+@Singleton
+@ParallelInit
+@Requires(property = "spec.name", value = "ParallelEagerInitSpec.lookup")
+public class LookingUpBean {
+    final LookedUpBean lookedUp;
+
+    LookingUpBean(BeanContext beanContext) throws InterruptedException {
+        // a dependency the injection points do not reveal
+        Thread.sleep(50);
+        this.lookedUp = beanContext.getBean(LookedUpBean.class);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.inject.context.parallel
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.exceptions.BeanInstantiationException
+import io.micronaut.context.exceptions.CircularDependencyException
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+
+class ParallelEagerInitSpec extends Specification {
+
+    void setup() {
+        SlowBeanA.LATCH = new CountDownLatch(2)
+    }
+
+    void "test independent beans are created in parallel after their dependencies"() {
+        when:
+        ApplicationContext context = ApplicationContext.builder()
+                .properties('spec.name': 'ParallelEagerInitSpec')
+                .eagerInitAnnotated(ParallelInit)
+                .eagerInitParallel(true)
+                .start()
+        AggregateBean aggregate = context.getBean(AggregateBean)
+
+        then:
+        SlowBeanA.LATCH.count == 0
+        aggregate.a.is(context.getBean(SlowBeanA))
+        aggregate.b.is(context.getBean(SlowBeanB))
+
+        cleanup:
+        context?.close()
+    }
+
+    void "test a bean looked up while it is created in parallel is only created once"() {
+        given:
+        LookedUpBean.CREATED.set(0)
+
+        when:
+        ApplicationContext context = ApplicationContext.builder()
+                .properties('spec.name': 'ParallelEagerInitSpec.lookup')
+                .eagerInitAnnotated(ParallelInit)
+                .eagerInitParallel(true)
+                .start()
+
+        then:
+        LookedUpBean.CREATED.get() == 1
+        context.getBean(LookingUpBean).lookedUp.is(context.getBean(LookedUpBean))
+
+        cleanup:
+        context?.close()
+    }
+
+    void "test circular dependencies are still detected"() {
+        when:
+        ApplicationContext.builder()
+                .properties('spec.name': 'ParallelEagerInitSpec.circular')
+                .eagerInitAnnotated(ParallelInit)
+                .eagerInitParallel(true)
+                .start()
+
+        then:
+        BeanInstantiationException e = thrown()
+        e.cause instanceof CircularDependencyException
+    }
+}
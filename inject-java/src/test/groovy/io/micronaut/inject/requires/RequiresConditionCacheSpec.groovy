@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.inject.requires
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.env.PropertySource
+import io.micronaut.core.annotation.AnnotationValue
+import io.micronaut.inject.AbstractTypeElementSpec
+import io.micronaut.inject.BeanDefinition
+
+class RequiresConditionCacheSpec extends AbstractTypeElementSpec {
+
+    void "test the outcome of equal requirements is shared and cleared when the environment changes"() {
+        given:
+        BeanDefinition first = buildBeanDefinition('test.FirstBean', '''
+package test;
+
+import io.micronaut.context.annotation.*;
+
+@Requires(property="cache.enabled", value="true")
+@javax.inject.Singleton
+class FirstBean {
+}
+''')
+        BeanDefinition second = buildBeanDefinition('test.SecondBean', '''
+package test;
+
+import io.micronaut.context.annotation.*;
+
+@Requires(property="cache.enabled", value="true")
+@javax.inject.Singleton
+class SecondBean {
+}
+''')
+        ApplicationContext context = ApplicationContext.run('cache.enabled': 'false')
+        AnnotationValue<Requires> requirement = first.getAnnotationValuesByType(Requires).first()
+
+        expect:
+        requirement == second.getAnnotationValuesByType(Requires).first()
+        context.conditionCache.getFailures(requirement) == null
+
+        when:
+        boolean firstEnabled = first.isEnabled(context)
+
+        then:
+        !firstEnabled
+        context.conditionCache.getFailures(requirement).size() == 1
+
+        when:"a bean with an equal requirement is evaluated"
+        boolean secondEnabled = second.isEnabled(context)
+
+        then:
+        !secondEnabled
+
+        when:"the environment changes"
+        context.environment.addPropertySource(PropertySource.of('test', ['cache.enabled': 'true'], 1000))
+
+        then:
+        context.conditionCache.getFailures(requirement) == null
+        first.isEnabled(context)
+        second.isEnabled(context)
+        context.conditionCache.getFailures(requirement).isEmpty()
+
+        cleanup:
+        context.close()
+    }
+
+    void "test class presence is cached"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+
+        expect:
+        context.conditionCache.isClassPresent(String.name)
+        !context.conditionCache.isClassPresent('test.DoesNotExist')
+
+        cleanup:
+        context.close()
+    }
+}
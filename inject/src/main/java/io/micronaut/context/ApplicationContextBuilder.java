@@ -60,6 +60,16 @@ public interface ApplicationContextBuilder {
         return this;
     }
 
+    /**
+     * Whether to create eagerly initialized beans that do not depend on each other in parallel. Beans are still created
+     * after the beans they are injected with and beans with circular dependencies are created one after another.
+     *
+     * @param eagerInitParallel True if eagerly initialized beans should be created in parallel
+     * @return The context builder
+     * @since 2.0
+     */
+    @NonNull ApplicationContextBuilder eagerInitParallel(boolean eagerInitParallel);
+
     /**
      * Specifies to eager init the given annotated types.
      *
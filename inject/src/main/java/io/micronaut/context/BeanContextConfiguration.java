@@ -57,6 +57,16 @@ public interface BeanContextConfiguration {
         return getEagerInitAnnotated().contains(ConfigurationReader.class);
     }
 
+    /**
+     * Whether eagerly initialized beans that do not depend on each other should be created in parallel. Beans are
+     * still created after the beans they are injected with.
+     * @return True if eagerly initialized beans should be created in parallel
+     * @since 2.0
+     */
+    default boolean isEagerInitParallel() {
+        return false;
+    }
+
     /**
      * @return A set of annotated classes that should be eagerly initialized
      */
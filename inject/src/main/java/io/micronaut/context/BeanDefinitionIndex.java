@@ -0,0 +1,374 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.util.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * <p>An index of the bean definitions of a compilation unit that is generated at compile time alongside the
+ * {@code META-INF/services} entries.</p>
+ *
+ * <p>Each line of the index describes a single {@link io.micronaut.inject.BeanDefinitionReference} with the
+ * information the {@link BeanContext} needs at startup: the types the bean can be looked up by, its scope and the
+ * classes it requires to be present. This allows the context to register the bean definitions without initializing the
+ * reference classes and their annotation metadata, and to discard definitions whose required classes are missing
+ * without loading them at all.</p>
+ *
+ * <p>Bean definition references that are not indexed are still loaded from {@code META-INF/services}. Reading the index
+ * can be disabled with the {@value #PROPERTY_ENABLED} system property.</p>
+ *
+ * @since 2.0
+ */
+@Internal
+public final class BeanDefinitionIndex {
+
+    /**
+     * The path of the index relative to {@code META-INF}.
+     */
+    public static final String PATH = "micronaut/bean-definitions.idx";
+
+    /**
+     * The system property that can be set to {@code false} to ignore the index.
+     */
+    public static final String PROPERTY_ENABLED = "micronaut.bean-index.enabled";
+
+    private static final Logger LOG = LoggerFactory.getLogger(BeanDefinitionIndex.class);
+    private static final char FIELD_SEPARATOR = '\t';
+    private static final String LIST_SEPARATOR = ",";
+    private static final int FIELD_COUNT = 7;
+    private static final String REFERENCE_SUFFIX = "Class";
+
+    private BeanDefinitionIndex() {
+    }
+
+    /**
+     * @return Whether the index should be used to resolve the bean definitions
+     */
+    public static boolean isEnabled() {
+        return !StringUtils.FALSE.equals(System.getProperty(PROPERTY_ENABLED));
+    }
+
+    /**
+     * Reads all the indexes present on the classpath. Entries for the same bean definition are only returned once.
+     *
+     * @param classLoader The class loader
+     * @return The entries
+     */
+    public static @NonNull Collection<Entry> read(@NonNull ClassLoader classLoader) {
+        Enumeration<URL> indexes;
+        try {
+            indexes = classLoader.getResources("META-INF/" + PATH);
+        } catch (IOException e) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Unable to read bean definition indexes, falling back to service loading: " + e.getMessage(), e);
+            }
+            return Collections.emptyList();
+        }
+        Map<String, Entry> entries = new LinkedHashMap<>(300);
+        while (indexes.hasMoreElements()) {
+            URL url = indexes.nextElement();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Entry entry = Entry.parse(line);
+                    if (entry != null) {
+                        entries.putIfAbsent(entry.getBeanDefinitionName(), entry);
+                    }
+                }
+            } catch (IOException e) {
+                // the services entries of the index are still loaded the regular way
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Unable to read bean definition index [" + url + "]: " + e.getMessage(), e);
+                }
+            }
+        }
+        return entries.values();
+    }
+
+    /**
+     * An entry of the index.
+     */
+    public static final class Entry {
+        private static final char FLAG_CONTEXT_SCOPE = 'C';
+        private static final char FLAG_SINGLETON = 'S';
+        private static final char FLAG_CONFIGURATION_PROPERTIES = 'P';
+        private static final char FLAG_REQUIRES_METHOD_PROCESSING = 'M';
+        private static final char FLAG_PARALLEL = 'L';
+        private static final char FLAG_BOOTSTRAP_CONTEXT_COMPATIBLE = 'B';
+
+        private final String beanDefinitionName;
+        private final String beanTypeName;
+        private final String flags;
+        private final List<String> typeNames;
+        private final List<String> indexedTypeNames;
+        private final String adapterTypeName;
+        private final List<String> requiredClassNames;
+
+        /**
+         * @param beanDefinitionName The name of the bean definition class
+         * @param beanTypeName       The name of the bean type
+         * @param flags              The flags
+         * @param typeNames          The names of the bean type, its super classes and interfaces or an empty list if unknown
+         * @param indexedTypeNames   The types declared with {@link io.micronaut.context.annotation.Indexes}
+         * @param adapterTypeName    The adapted type or null
+         * @param requiredClassNames The classes the bean requires to be present
+         */
+        private Entry(String beanDefinitionName,
+                      String beanTypeName,
+                      String flags,
+                      List<String> typeNames,
+                      List<String> indexedTypeNames,
+                      @Nullable String adapterTypeName,
+                      List<String> requiredClassNames) {
+            this.beanDefinitionName = beanDefinitionName;
+            this.beanTypeName = beanTypeName;
+            this.flags = flags;
+            this.typeNames = typeNames;
+            this.indexedTypeNames = indexedTypeNames;
+            this.adapterTypeName = adapterTypeName;
+            this.requiredClassNames = requiredClassNames;
+        }
+
+        /**
+         * Creates an entry.
+         *
+         * @param beanDefinitionName          The name of the bean definition class
+         * @param beanTypeName                The name of the bean type
+         * @param contextScope                Whether the bean is context scoped
+         * @param singleton                   Whether the bean is a singleton
+         * @param configurationProperties     Whether the bean is configuration properties
+         * @param requiresMethodProcessing    Whether the bean requires method processing
+         * @param parallel                    Whether the bean is initialized in parallel
+         * @param bootstrapContextCompatible  Whether the bean is bootstrap context compatible
+         * @param typeNames                   The binary names of the bean type, its super classes and interfaces or an
+         *                                    empty list if they cannot be determined
+         * @param indexedTypeNames            The types declared with {@link io.micronaut.context.annotation.Indexes}
+         * @param adapterTypeName             The adapted type or null
+         * @param requiredClassNames          The classes the bean requires to be present
+         * @return The entry
+         */
+        public static @NonNull Entry of(@NonNull String beanDefinitionName,
+                                        @NonNull String beanTypeName,
+                                        boolean contextScope,
+                                        boolean singleton,
+                                        boolean configurationProperties,
+                                        boolean requiresMethodProcessing,
+                                        boolean parallel,
+                                        boolean bootstrapContextCompatible,
+                                        @NonNull List<String> typeNames,
+                                        @NonNull List<String> indexedTypeNames,
+                                        @Nullable String adapterTypeName,
+                                        @NonNull List<String> requiredClassNames) {
+            StringBuilder flags = new StringBuilder(6);
+            appendFlag(flags, contextScope, FLAG_CONTEXT_SCOPE);
+            appendFlag(flags, singleton, FLAG_SINGLETON);
+            appendFlag(flags, configurationProperties, FLAG_CONFIGURATION_PROPERTIES);
+            appendFlag(flags, requiresMethodProcessing, FLAG_REQUIRES_METHOD_PROCESSING);
+            appendFlag(flags, parallel, FLAG_PARALLEL);
+            appendFlag(flags, bootstrapContextCompatible, FLAG_BOOTSTRAP_CONTEXT_COMPATIBLE);
+            return new Entry(
+                    beanDefinitionName,
+                    beanTypeName,
+                    flags.toString(),
+                    typeNames,
+                    indexedTypeNames,
+                    StringUtils.isNotEmpty(adapterTypeName) ? adapterTypeName : null,
+                    requiredClassNames
+            );
+        }
+
+        /**
+         * Parses a line of the index.
+         *
+         * @param line The line
+         * @return The entry or null if the line is a comment or is not valid
+         */
+        public static @Nullable Entry parse(@NonNull String line) {
+            if (line.isEmpty() || line.charAt(0) == '#') {
+                return null;
+            }
+            List<String> fields = new ArrayList<>(FIELD_COUNT);
+            int start = 0;
+            int end;
+            while ((end = line.indexOf(FIELD_SEPARATOR, start)) > -1) {
+                fields.add(line.substring(start, end));
+                start = end + 1;
+            }
+            fields.add(line.substring(start));
+            if (fields.size() != FIELD_COUNT || fields.get(0).isEmpty() || fields.get(1).isEmpty()) {
+                return null;
+            }
+            return new Entry(
+                    fields.get(0),
+                    fields.get(1),
+                    fields.get(2),
+                    toList(fields.get(3)),
+                    toList(fields.get(4)),
+                    StringUtils.isNotEmpty(fields.get(5)) ? fields.get(5) : null,
+                    toList(fields.get(6))
+            );
+        }
+
+        /**
+         * @return The line of the index describing this entry
+         */
+        public @NonNull String toLine() {
+            return beanDefinitionName + FIELD_SEPARATOR +
+                    beanTypeName + FIELD_SEPARATOR +
+                    flags + FIELD_SEPARATOR +
+                    String.join(LIST_SEPARATOR, typeNames) + FIELD_SEPARATOR +
+                    String.join(LIST_SEPARATOR, indexedTypeNames) + FIELD_SEPARATOR +
+                    (adapterTypeName != null ? adapterTypeName : "") + FIELD_SEPARATOR +
+                    String.join(LIST_SEPARATOR, requiredClassNames);
+        }
+
+        /**
+         * @return The name of the bean definition class
+         */
+        public @NonNull String getBeanDefinitionName() {
+            return beanDefinitionName;
+        }
+
+        /**
+         * @return The name of the bean definition reference class
+         */
+        public @NonNull String getBeanDefinitionReferenceName() {
+            return beanDefinitionName + REFERENCE_SUFFIX;
+        }
+
+        /**
+         * @return The name of the bean type
+         */
+        public @NonNull String getBeanTypeName() {
+            return beanTypeName;
+        }
+
+        /**
+         * @return Whether the bean is context scoped
+         */
+        public boolean isContextScope() {
+            return flags.indexOf(FLAG_CONTEXT_SCOPE) > -1;
+        }
+
+        /**
+         * @return Whether the bean is a singleton
+         */
+        public boolean isSingleton() {
+            return flags.indexOf(FLAG_SINGLETON) > -1;
+        }
+
+        /**
+         * @return Whether the bean is configuration properties
+         */
+        public boolean isConfigurationProperties() {
+            return flags.indexOf(FLAG_CONFIGURATION_PROPERTIES) > -1;
+        }
+
+        /**
+         * @return Whether the bean requires method processing
+         */
+        public boolean isRequiresMethodProcessing() {
+            return flags.indexOf(FLAG_REQUIRES_METHOD_PROCESSING) > -1;
+        }
+
+        /**
+         * @return Whether the bean is initialized in parallel
+         */
+        public boolean isParallel() {
+            return flags.indexOf(FLAG_PARALLEL) > -1;
+        }
+
+        /**
+         * @return Whether the bean is bootstrap context compatible
+         */
+        public boolean isBootstrapContextCompatible() {
+            return flags.indexOf(FLAG_BOOTSTRAP_CONTEXT_COMPATIBLE) > -1;
+        }
+
+        /**
+         * @return The binary names of the bean type, its super classes and interfaces. Empty if they could not be
+         * determined at compile time.
+         */
+        public @NonNull List<String> getTypeNames() {
+            return typeNames;
+        }
+
+        /**
+         * @return The types declared with {@link io.micronaut.context.annotation.Indexes}
+         */
+        public @NonNull List<String> getIndexedTypeNames() {
+            return indexedTypeNames;
+        }
+
+        /**
+         * @return The adapted type or null
+         */
+        public @Nullable String getAdapterTypeName() {
+            return adapterTypeName;
+        }
+
+        /**
+         * @param classPresence Resolves whether a class is present
+         * @return Whether all the classes required by the bean are present
+         */
+        public boolean isRequiredClassesPresent(@NonNull Predicate<String> classPresence) {
+            for (String requiredClassName : requiredClassNames) {
+                if (!classPresence.test(requiredClassName)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return beanDefinitionName;
+        }
+
+        private static void appendFlag(StringBuilder flags, boolean value, char flag) {
+            if (value) {
+                flags.append(flag);
+            }
+        }
+
+        private static List<String> toList(String value) {
+            if (value.isEmpty()) {
+                return Collections.emptyList();
+            }
+            return Arrays.asList(value.split(LIST_SEPARATOR));
+        }
+    }
+}
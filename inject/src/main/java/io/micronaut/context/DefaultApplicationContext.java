@@ -446,6 +446,13 @@ public class DefaultApplicationContext extends DefaultBeanContext implements App
         return getEnvironment().getPlaceholderResolver().resolveRequiredPlaceholders(str);
     }
 
+    @Override
+    @Nullable
+    RequiresConditionCache getConditionCache() {
+        // the outcome of the conditions can only be cached when the environment clears the cache on changes
+        return environment instanceof RuntimeConfiguredEnvironment ? super.getConditionCache() : null;
+    }
+
     /**
      * @param beanContext The bean context
      */
@@ -470,6 +477,13 @@ public class DefaultApplicationContext extends DefaultBeanContext implements App
         }
     }
 
+    private void clearConditionCache() {
+        RequiresConditionCache cache = super.getConditionCache();
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
     /**
      * Bootstraop property source implementation.
      */
@@ -605,7 +619,9 @@ public class DefaultApplicationContext extends DefaultBeanContext implements App
             // once for the bootstrap context and again for the main context
             resolvedBeanReferences = refs;
             return refs.stream()
-                        .filter(ref -> ref.isAnnotationPresent(BootstrapContextCompatible.class))
+                        .filter(ref -> ref instanceof IndexedBeanDefinitionReference ?
+                                ((IndexedBeanDefinitionReference<?>) ref).isBootstrapContextCompatible() :
+                                ref.isAnnotationPresent(BootstrapContextCompatible.class))
                         .collect(Collectors.toList());
         }
 
@@ -673,12 +689,21 @@ public class DefaultApplicationContext extends DefaultBeanContext implements App
             return super.stop();
         }
 
+        @Override
+        protected void resetCaches() {
+            super.resetCaches();
+            // conditions may depend on the changed properties
+            clearConditionCache();
+        }
+
         @Override
         public Environment start() {
             if (isRuntimeConfigured && bootstrapEnvironment == null) {
                 bootstrapEnvironment = createBootstrapEnvironment(getActiveNames().toArray(new String[0]));
             }
-            return super.start();
+            Environment environment = super.start();
+            clearConditionCache();
+            return environment;
         }
 
         @Override
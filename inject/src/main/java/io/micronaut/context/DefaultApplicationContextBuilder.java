@@ -51,6 +51,7 @@ public class DefaultApplicationContextBuilder implements ApplicationContextBuild
     private String[] args = new String[0];
     private Set<Class<? extends Annotation>> eagerInitAnnotated = new HashSet<>(3);
     private String[] overrideConfigLocations;
+    private boolean eagerInitParallel;
 
     /**
      * Default constructor.
@@ -67,6 +68,18 @@ public class DefaultApplicationContextBuilder implements ApplicationContextBuild
         return this;
     }
 
+    @NonNull
+    @Override
+    public ApplicationContextBuilder eagerInitParallel(boolean eagerInitParallel) {
+        this.eagerInitParallel = eagerInitParallel;
+        return this;
+    }
+
+    @Override
+    public boolean isEagerInitParallel() {
+        return eagerInitParallel;
+    }
+
     @NonNull
     @Override
     public ApplicationContextBuilder overrideConfigLocations(String... configLocations) {
@@ -106,8 +106,13 @@ public class DefaultBeanContext implements BeanContext {
     protected final AtomicBoolean terminating = new AtomicBoolean(false);
 
     final Map<BeanKey, BeanRegistration> singletonObjects = new ConcurrentHashMap<>(100);
+    // mirrors the entries of singletonObjects whose key has no qualifier and no type arguments
+    // so that resolved singletons can be looked up by type without allocating a key
+    final Map<Class, BeanRegistration> singletonsByType = new ConcurrentHashMap<>(100);
     final Map<BeanIdentifier, Object> singlesInCreation = new ConcurrentHashMap<>(5);
     final Map<BeanKey, Object> scopedProxies = new ConcurrentHashMap<>(20);
+    // the singletons created outside of the singleton lock by a parallel eager initialization, guarded by that lock
+    final Map<BeanKey, Thread> singletonsInParallelCreation = new HashMap<>(5);
 
     Set<Map.Entry<Class, List<BeanInitializedEventListener>>> beanInitializedEventListeners;
 
@@ -120,8 +125,13 @@ public class DefaultBeanContext implements BeanContext {
     private final Map<BeanKey, Optional<BeanDefinition>> beanConcreteCandidateCache = new ConcurrentLinkedHashMap.Builder<BeanKey, Optional<BeanDefinition>>().maximumWeightedCapacity(30).build();
     private final Map<Class, Collection<BeanDefinition>> beanCandidateCache = new ConcurrentLinkedHashMap.Builder<Class, Collection<BeanDefinition>>().maximumWeightedCapacity(30).build();
     private final Map<Class, Collection<BeanDefinitionReference>> beanIndex = new ConcurrentHashMap<>(12);
+    // the references of the bean definition index by the names of the types they can be looked up by and the
+    // references that have to be matched against every looked up type
+    private final Map<String, Collection<BeanDefinitionReference>> beanTypeIndex = new ConcurrentHashMap<>(300);
+    private final Collection<BeanDefinitionReference> beanTypeUnindexed = new ConcurrentLinkedQueue<>();
 
     private final ClassLoader classLoader;
+    private final RequiresConditionCache conditionCache;
     private final Set<Class> thisInterfaces = CollectionUtils.setOf(
             BeanDefinitionRegistry.class,
             BeanContext.class,
@@ -146,6 +156,7 @@ public class DefaultBeanContext implements BeanContext {
     private final String[] eagerInitStereotypes;
     private final boolean eagerInitStereotypesPresent;
     private final boolean eagerInitSingletons;
+    private final boolean eagerInitParallel;
     private Set<Map.Entry<Class, List<BeanCreatedEventListener>>> beanCreationEventListeners;
     private BeanDefinitionValidator beanValidator;
 
@@ -198,12 +209,14 @@ public class DefaultBeanContext implements BeanContext {
         // enable classloader logging
         System.setProperty(ClassUtils.PROPERTY_MICRONAUT_CLASSLOADER_LOGGING, "true");
         this.classLoader = contextConfiguration.getClassLoader();
+        this.conditionCache = new RequiresConditionCache(classLoader);
         this.customScopeRegistry = new DefaultCustomScopeRegistry(this, classLoader);
         Set<Class<? extends Annotation>> eagerInitAnnotated = contextConfiguration.getEagerInitAnnotated();
         this.eagerInitStereotypes = eagerInitAnnotated
                 .stream().map(Class::getName).toArray(String[]::new);
         this.eagerInitStereotypesPresent = eagerInitStereotypes.length > 0;
         this.eagerInitSingletons = eagerInitStereotypesPresent && eagerInitAnnotated.contains(Singleton.class);
+        this.eagerInitParallel = contextConfiguration.isEagerInitParallel();
     }
 
     @Override
@@ -560,9 +573,9 @@ public class DefaultBeanContext implements BeanContext {
                 try (BeanResolutionContext context = newResolutionContext(beanDefinition, null)) {
                     doInject(context, singleton, beanDefinition);
                 }
-                singletonObjects.put(beanKey, new BeanRegistration<>(beanKey, beanDefinition, singleton));
+                putSingleton(beanKey, new BeanRegistration<>(beanKey, beanDefinition, singleton));
                 BeanKey concreteKey = new BeanKey(singleton.getClass(), qualifier);
-                singletonObjects.put(concreteKey, new BeanRegistration<>(concreteKey, beanDefinition, singleton));
+                putSingleton(concreteKey, new BeanRegistration<>(concreteKey, beanDefinition, singleton));
             } else {
                 NoInjectionBeanDefinition<T> dynamicRegistration = new NoInjectionBeanDefinition<>(singleton.getClass(), qualifier);
                 if (qualifier instanceof Named) {
@@ -573,9 +586,10 @@ public class DefaultBeanContext implements BeanContext {
                     beanDefinition = dynamicRegistration;
                 }
                 beanDefinitionsClasses.add(dynamicRegistration);
-                singletonObjects.put(beanKey, new BeanRegistration<>(beanKey, dynamicRegistration, singleton));
+                beanTypeUnindexed.add(dynamicRegistration);
+                putSingleton(beanKey, new BeanRegistration<>(beanKey, dynamicRegistration, singleton));
                 BeanKey concreteKey = new BeanKey(singleton.getClass(), qualifier);
-                singletonObjects.put(concreteKey, new BeanRegistration<>(concreteKey, dynamicRegistration, singleton));
+                putSingleton(concreteKey, new BeanRegistration<>(concreteKey, dynamicRegistration, singleton));
                 final Optional<Class> indexedType = indexedTypes.stream().filter(t -> t.isAssignableFrom(type) || t == type).findFirst();
                 if (indexedType.isPresent()) {
                     final Collection<BeanDefinitionReference> indexed = resolveTypeIndex(indexedType.get());
@@ -633,6 +647,15 @@ public class DefaultBeanContext implements BeanContext {
         return classLoader;
     }
 
+    /**
+     * @return The cache of the outcome of the {@link io.micronaut.context.annotation.Requires} conditions or null if the outcome should not be cached
+     */
+    @Internal
+    @Nullable
+    RequiresConditionCache getConditionCache() {
+        return conditionCache;
+    }
+
     @Override
     public BeanDefinitionValidator getBeanValidator() {
         if (beanValidator == null) {
@@ -922,9 +945,9 @@ public class DefaultBeanContext implements BeanContext {
                         LOG_LIFECYCLE.debug("Destroying bean [{}] with identifier [{}]", bean, beanKey);
                     }
 
-                    singletonObjects.remove(beanKey);
+                    removeSingleton(beanKey);
                     BeanKey<?> concreteKey = new BeanKey<>(bean.getClass(), null);
-                    singletonObjects.remove(concreteKey);
+                    removeSingleton(concreteKey);
                 }
             }
         }
@@ -1388,14 +1411,28 @@ public class DefaultBeanContext implements BeanContext {
      */
     protected @NonNull
     List<BeanDefinitionReference> resolveBeanDefinitionReferences() {
-        final SoftServiceLoader<BeanDefinitionReference> definitions = SoftServiceLoader.load(BeanDefinitionReference.class, classLoader);
+        List<BeanDefinitionReference> indexed = new ArrayList<>(300);
+        Set<String> indexedNames = new HashSet<>(300);
+        if (BeanDefinitionIndex.isEnabled()) {
+            for (BeanDefinitionIndex.Entry entry : BeanDefinitionIndex.read(classLoader)) {
+                indexedNames.add(entry.getBeanDefinitionReferenceName());
+                // the classes required by the bean are checked without loading the reference
+                if (entry.isRequiredClassesPresent(conditionCache::isClassPresent)) {
+                    indexed.add(new IndexedBeanDefinitionReference<>(entry, classLoader));
+                }
+            }
+        }
+        final SoftServiceLoader<BeanDefinitionReference> definitions = SoftServiceLoader.load(BeanDefinitionReference.class, classLoader, name -> !indexedNames.contains(name));
         List<ServiceDefinition<BeanDefinitionReference>> list = new ArrayList<>(300);
         for (ServiceDefinition<BeanDefinitionReference> definition : definitions) {
             list.add(definition);
         }
-        return list.parallelStream()
-                .filter(ServiceDefinition::isPresent)
-                .map(ServiceDefinition::load)
+        return Stream.concat(
+                    indexed.parallelStream(),
+                    list.parallelStream()
+                        .filter(ServiceDefinition::isPresent)
+                        .map(ServiceDefinition::load)
+                )
                 .filter(BeanDefinitionReference::isPresent)
                 .collect(Collectors.toList());
     }
@@ -1526,11 +1563,15 @@ public class DefaultBeanContext implements BeanContext {
             filterProxiedTypes((Collection) contextBeans, true, false);
             filterReplacedBeans(null, (Collection) contextBeans);
 
-            for (BeanDefinition contextScopeDefinition : contextBeans) {
-                try {
-                    loadContextScopeBean(contextScopeDefinition);
-                } catch (Throwable e) {
-                    throw new BeanInstantiationException("Bean definition [" + contextScopeDefinition.getName() + "] could not be loaded: " + e.getMessage(), e);
+            if (eagerInitParallel && contextBeans.size() > 1) {
+                new DependencyOrderedBeanInitializer(contextBeans).initialize(
+                        classLoader,
+                        definition -> initializeContextScopeBean(definition, true),
+                        definition -> initializeContextScopeBean(definition, false)
+                );
+            } else {
+                for (BeanDefinition contextScopeDefinition : contextBeans) {
+                    initializeContextScopeBean(contextScopeDefinition, false);
                 }
             }
         }
@@ -1672,7 +1713,7 @@ public class DefaultBeanContext implements BeanContext {
                 beanDefinitionsClasses = Collections.emptyList();
             }
         } else {
-            beanDefinitionsClasses = this.beanDefinitionsClasses;
+            beanDefinitionsClasses = findCandidateReferences(beanType);
         }
 
         if (!beanDefinitionsClasses.isEmpty()) {
@@ -2158,6 +2199,80 @@ public class DefaultBeanContext implements BeanContext {
         }
     }
 
+    private void initializeContextScopeBean(BeanDefinition beanDefinition, boolean concurrent) {
+        try {
+            if (concurrent) {
+                loadContextScopeBeanConcurrently(beanDefinition);
+            } else {
+                loadContextScopeBean(beanDefinition);
+            }
+        } catch (Throwable e) {
+            throw new BeanInstantiationException("Bean definition [" + beanDefinition.getName() + "] could not be loaded: " + e.getMessage(), e);
+        }
+    }
+
+    private <T> void loadContextScopeBeanConcurrently(BeanDefinition<T> beanDefinition) {
+        if (beanDefinition instanceof NoInjectionBeanDefinition || beanDefinition.isIterable() || beanDefinition.hasStereotype(ConfigurationReader.class.getName())) {
+            synchronized (singletonObjects) {
+                loadContextScopeBean(beanDefinition);
+            }
+            return;
+        }
+        // the bean is created outside of the lock so that independent beans initialize at the same time. The beans
+        // it is injected with have already been registered and a dedicated resolution context keeps the beans in
+        // flight on this thread invisible to the others. Lookups of the bean by other threads wait for it
+        BeanKey<T> beanKey = new BeanKey<>(beanDefinition, beanDefinition.getDeclaredQualifier());
+        synchronized (singletonObjects) {
+            if (singletonObjects.containsKey(beanKey)) {
+                // created in the meantime by a lookup the injection points did not reveal
+                return;
+            }
+            singletonsInParallelCreation.put(beanKey, Thread.currentThread());
+        }
+        try (BeanResolutionContext resolutionContext = new DefaultBeanResolutionContext(this, beanDefinition)) {
+            T bean = doCreateBean(resolutionContext, beanDefinition, null, true, null);
+            synchronized (singletonObjects) {
+                registerSingletonBean(beanDefinition, beanDefinition.getBeanType(), bean, null, true);
+            }
+        } finally {
+            synchronized (singletonObjects) {
+                singletonsInParallelCreation.remove(beanKey);
+                singletonObjects.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits for another thread that creates the given singleton outside of the singleton lock. Must be called while
+     * holding that lock, which is released while waiting.
+     *
+     * @param definition The bean definition
+     * @param <T>        The bean type
+     * @return The singleton created by the other thread, or null if no other thread created it
+     */
+    private <T> T awaitSingletonInParallelCreation(BeanDefinition<T> definition) {
+        if (singletonsInParallelCreation.isEmpty()) {
+            return null;
+        }
+        BeanKey<T> beanKey = new BeanKey<>(definition, definition.getDeclaredQualifier());
+        boolean waited = false;
+        Thread creator;
+        while ((creator = singletonsInParallelCreation.get(beanKey)) != null && creator != Thread.currentThread()) {
+            waited = true;
+            try {
+                singletonObjects.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BeanInstantiationException("Interrupted waiting for the creation of bean: " + definition, e);
+            }
+        }
+        if (!waited) {
+            return null;
+        }
+        BeanRegistration<T> registration = singletonObjects.get(beanKey);
+        return registration != null ? registration.bean : null;
+    }
+
     private void loadContextScopeBean(BeanDefinition beanDefinition) {
         if (beanDefinition.isIterable() || beanDefinition.hasStereotype(ConfigurationReader.class.getName())) {
             Collection<BeanDefinition> beanCandidates = (Collection<BeanDefinition>) transformIterables(null, Collections.singleton(beanDefinition), true);
@@ -2222,6 +2337,14 @@ public class DefaultBeanContext implements BeanContext {
                 throw new BeanContextException("Failed to obtain injection point. No valid injection path present in path: " + path);
             }
         }
+        if (qualifier == null && resolutionContext == null) {
+            // fast path for singletons that have already been resolved
+            @SuppressWarnings("unchecked") BeanRegistration<T> beanRegistration = singletonsByType.get(beanType);
+            if (beanRegistration != null && beanRegistration.bean != null) {
+                return beanRegistration.bean;
+            }
+        }
+
         BeanKey<T> beanKey = new BeanKey<>(beanType, qualifier);
 
         if (LOG.isTraceEnabled()) {
@@ -2627,7 +2750,10 @@ public class DefaultBeanContext implements BeanContext {
             registerSingletonBean(definition, beanType, reg.bean, qualifier, true);
             return reg.bean;
         } else {
-            T createdBean = doCreateBean(resolutionContext, definition, qualifier, true, null);
+            T createdBean = awaitSingletonInParallelCreation(definition);
+            if (createdBean == null) {
+                createdBean = doCreateBean(resolutionContext, definition, qualifier, true, null);
+            }
             registerSingletonBean(definition, beanType, createdBean, qualifier, true);
             return createdBean;
         }
@@ -2664,7 +2790,7 @@ public class DefaultBeanContext implements BeanContext {
         BeanRegistration<T> registration = new BeanRegistration<>(key, beanDefinition, createdBean);
 
         if (singleCandidate || key.typeArguments != null) {
-            singletonObjects.put(key, registration);
+            putSingleton(key, registration);
         }
 
         boolean isNotProxyTarget = qualifier != PROXY_TARGET_QUALIFIER;
@@ -2679,36 +2805,50 @@ public class DefaultBeanContext implements BeanContext {
                 Class annotation = qualifierAnn.get();
                 if (Primary.class == annotation) {
                     BeanKey primaryBeanKey = new BeanKey<>(beanType, null);
-                    singletonObjects.put(primaryBeanKey, registration);
+                    putSingleton(primaryBeanKey, registration);
                     if (createdTypeDiffers) {
-                        singletonObjects.put(new BeanKey<>(createdType, null), registration);
+                        putSingleton(new BeanKey<>(createdType, null), registration);
                     }
                 } else {
 
                     BeanKey qualifierKey = new BeanKey<>(createdType, Qualifiers.byAnnotation(beanDefinition, annotation.getName()));
                     if (!qualifierKey.equals(createdBeanKey)) {
-                        singletonObjects.put(qualifierKey, registration);
+                        putSingleton(qualifierKey, registration);
                     }
                 }
             } else {
                 if (!beanDefinition.isIterable()) {
                     BeanKey primaryBeanKey = new BeanKey<>(createdType, null);
-                    singletonObjects.put(primaryBeanKey, registration);
+                    putSingleton(primaryBeanKey, registration);
                     if (qualifier != null) {
                         BeanKey qualifiedKey = new BeanKey<>(beanType, qualifier);
-                        singletonObjects.put(qualifiedKey, registration);
+                        putSingleton(qualifiedKey, registration);
                     }
                 } else {
                     if (beanDefinition.isPrimary()) {
                         BeanKey primaryBeanKey = new BeanKey<>(beanType, null);
-                        singletonObjects.put(primaryBeanKey, registration);
+                        putSingleton(primaryBeanKey, registration);
                         if (createdTypeDiffers) {
-                            singletonObjects.put(new BeanKey<>(createdType, null), registration);
+                            putSingleton(new BeanKey<>(createdType, null), registration);
                         }
                     }
                 }
             }
-            singletonObjects.put(createdBeanKey, registration);
+            putSingleton(createdBeanKey, registration);
+        }
+    }
+
+    private void putSingleton(BeanKey key, BeanRegistration registration) {
+        singletonObjects.put(key, registration);
+        if (key.qualifier == null && key.typeArguments == null) {
+            singletonsByType.put(key.beanType, registration);
+        }
+    }
+
+    private void removeSingleton(BeanKey key) {
+        singletonObjects.remove(key);
+        if (key.qualifier == null && key.typeArguments == null) {
+            singletonsByType.remove(key.beanType);
         }
     }
 
@@ -2731,25 +2871,35 @@ public class DefaultBeanContext implements BeanContext {
                     continue reference;
                 }
             }
-            final AnnotationMetadata annotationMetadata = beanDefinitionReference.getAnnotationMetadata();
-            Class[] indexes = annotationMetadata.classValues(INDEXES_TYPE);
-            if (indexes.length > 0) {
-                //noinspection ForLoopReplaceableByForEach
-                for (int i = 0; i < indexes.length; i++) {
-                    Class indexedType = indexes[i];
-                    resolveTypeIndex(indexedType).add(beanDefinitionReference);
-                }
+            final boolean parallel;
+            if (beanDefinitionReference instanceof IndexedBeanDefinitionReference) {
+                // everything needed at startup is part of the index so the annotation metadata is not loaded
+                IndexedBeanDefinitionReference<?> indexedReference = (IndexedBeanDefinitionReference<?>) beanDefinitionReference;
+                indexReference(indexedReference);
+                parallel = indexedReference.isParallel();
             } else {
-                if (annotationMetadata.hasStereotype(ADAPTER_TYPE)) {
-                    final Class aClass = annotationMetadata.classValue(ADAPTER_TYPE, AnnotationMetadata.VALUE_MEMBER).orElse(null);
-                    if (indexedTypes.contains(aClass)) {
-                        resolveTypeIndex(aClass).add(beanDefinitionReference);
+                beanTypeUnindexed.add(beanDefinitionReference);
+                final AnnotationMetadata annotationMetadata = beanDefinitionReference.getAnnotationMetadata();
+                Class[] indexes = annotationMetadata.classValues(INDEXES_TYPE);
+                if (indexes.length > 0) {
+                    //noinspection ForLoopReplaceableByForEach
+                    for (int i = 0; i < indexes.length; i++) {
+                        Class indexedType = indexes[i];
+                        resolveTypeIndex(indexedType).add(beanDefinitionReference);
+                    }
+                } else {
+                    if (annotationMetadata.hasStereotype(ADAPTER_TYPE)) {
+                        final Class aClass = annotationMetadata.classValue(ADAPTER_TYPE, AnnotationMetadata.VALUE_MEMBER).orElse(null);
+                        if (indexedTypes.contains(aClass)) {
+                            resolveTypeIndex(aClass).add(beanDefinitionReference);
+                        }
                     }
                 }
+                parallel = annotationMetadata.hasDeclaredStereotype(PARALLEL_TYPE);
             }
             if (isEagerInit(beanDefinitionReference)) {
                 contextScopeBeans.add(beanDefinitionReference);
-            } else if (annotationMetadata.hasDeclaredStereotype(PARALLEL_TYPE)) {
+            } else if (parallel) {
                 parallelBeans.add(beanDefinitionReference);
             }
 
@@ -2769,6 +2919,54 @@ public class DefaultBeanContext implements BeanContext {
                 (eagerInitStereotypesPresent && beanDefinitionReference.getAnnotationMetadata().hasStereotype(eagerInitStereotypes));
     }
 
+    private void indexReference(IndexedBeanDefinitionReference<?> reference) {
+        List<String> typeNames = reference.getTypeNames();
+        if (typeNames.isEmpty()) {
+            beanTypeUnindexed.add(reference);
+        } else {
+            for (String typeName : typeNames) {
+                beanTypeIndex.computeIfAbsent(typeName, name -> new ConcurrentLinkedQueue<>()).add(reference);
+            }
+        }
+        List<String> indexes = reference.getIndexedTypeNames();
+        if (!indexes.isEmpty()) {
+            for (String index : indexes) {
+                ClassUtils.forName(index, classLoader).ifPresent(indexedType -> resolveTypeIndex(indexedType).add(reference));
+            }
+        } else {
+            String adapterTypeName = reference.getAdapterTypeName();
+            if (adapterTypeName != null) {
+                for (Class indexedType : indexedTypes) {
+                    if (indexedType.getName().equals(adapterTypeName)) {
+                        resolveTypeIndex(indexedType).add(reference);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the references that can be candidates for the given type. The bean types of the references still need to
+     * be checked.
+     *
+     * @param beanType The bean type
+     * @return The references
+     */
+    private Collection<BeanDefinitionReference> findCandidateReferences(Class<?> beanType) {
+        if (beanTypeIndex.isEmpty() || beanType == Object.class) {
+            return this.beanDefinitionsClasses;
+        }
+        Collection<BeanDefinitionReference> indexed = beanTypeIndex.get(beanType.getName());
+        if (indexed == null) {
+            return beanTypeUnindexed;
+        }
+        List<BeanDefinitionReference> references = new ArrayList<>(indexed.size() + beanTypeUnindexed.size());
+        references.addAll(indexed);
+        references.addAll(beanTypeUnindexed);
+        return references;
+    }
+
     @NonNull
     private Collection<BeanDefinitionReference> resolveTypeIndex(Class<?> indexedType) {
         return beanIndex.computeIfAbsent(indexedType, aClass -> {
@@ -2947,7 +3145,10 @@ public class DefaultBeanContext implements BeanContext {
                                 throw new IllegalStateException("Singleton not present for key: " + key);
                             }
                         } else {
-                            bean = doCreateBean(context, candidate, qualifier, true, null);
+                            bean = awaitSingletonInParallelCreation(candidate);
+                            if (bean == null) {
+                                bean = doCreateBean(context, candidate, qualifier, true, null);
+                            }
                             registerSingletonBean(candidate, beanType, bean, qualifier, singleCandidate);
                         }
                     }
@@ -3257,9 +3458,20 @@ public class DefaultBeanContext implements BeanContext {
             this.beanType = beanType;
             this.qualifier = qualifier;
             this.typeArguments = ArrayUtils.isEmpty(typeArguments) ? null : typeArguments;
-            int result = Objects.hash(beanType, qualifier);
-            result = 31 * result + Arrays.hashCode(this.typeArguments);
-            this.hashCode = result;
+            this.hashCode = hashCode(beanType, qualifier, this.typeArguments);
+        }
+
+        /**
+         * A bean key without type arguments, avoids allocating the varargs array on lookups.
+         *
+         * @param beanType  The bean type
+         * @param qualifier The qualifier
+         */
+        BeanKey(Class<T> beanType, Qualifier<T> qualifier) {
+            this.beanType = beanType;
+            this.qualifier = qualifier;
+            this.typeArguments = null;
+            this.hashCode = hashCode(beanType, qualifier, null);
         }
 
         @Override
@@ -3301,6 +3513,12 @@ public class DefaultBeanContext implements BeanContext {
             return hashCode;
         }
 
+        private static int hashCode(Class beanType, Qualifier qualifier, Class[] typeArguments) {
+            int result = 31 + Objects.hashCode(beanType);
+            result = 31 * result + Objects.hashCode(qualifier);
+            return 31 * result + Arrays.hashCode(typeArguments);
+        }
+
         @Override
         public String getName() {
             if (qualifier instanceof Named) {
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import io.micronaut.context.exceptions.BeanInstantiationException;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.type.Argument;
+import io.micronaut.inject.BeanDefinition;
+import io.micronaut.inject.FieldInjectionPoint;
+import io.micronaut.inject.MethodInjectionPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Provider;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * <p>Creates a set of eagerly initialized beans in parallel while respecting the order of their dependencies.</p>
+ *
+ * <p>A dependency graph is built from the injection points of the bean definitions. A bean depends on every other bean
+ * of the set that can be assigned to one of its injection points, collections and {@link java.util.Optional} included.
+ * {@link Provider} injection points are resolved lazily and do not introduce a dependency. Beans are submitted to a
+ * {@link ForkJoinPool} as soon as all of their dependencies have been created.</p>
+ *
+ * <p>Beans that are part of a dependency cycle, or depend on a bean that is, are created one after another once all
+ * other beans have been created, so that the circular dependency is resolved or reported the same way it is without
+ * parallel initialization.</p>
+ *
+ * @since 2.0
+ */
+@Internal
+final class DependencyOrderedBeanInitializer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DependencyOrderedBeanInitializer.class);
+
+    private final List<Node> nodes;
+    private final Map<Class<?>, List<Node>> candidatesByType = new HashMap<>();
+
+    /**
+     * @param beanDefinitions The bean definitions to create
+     */
+    DependencyOrderedBeanInitializer(Collection<BeanDefinition> beanDefinitions) {
+        this.nodes = beanDefinitions.stream().map(Node::new).collect(Collectors.toList());
+        for (Node node : nodes) {
+            for (Class<?> type : dependencyTypes(node.definition)) {
+                for (Node candidate : candidates(type)) {
+                    if (candidate != node) {
+                        node.dependencies.add(candidate);
+                    }
+                }
+            }
+        }
+        for (Node node : nodes) {
+            for (Node dependency : node.dependencies) {
+                dependency.dependents.add(node);
+            }
+            node.pending.set(node.dependencies.size());
+        }
+    }
+
+    /**
+     * Creates the beans.
+     *
+     * @param classLoader        The class loader to use as context class loader of the worker threads
+     * @param concurrentCreator  Creates a bean that may be created concurrently with other beans
+     * @param sequentialCreator  Creates a bean that has to be created one after another
+     */
+    void initialize(ClassLoader classLoader,
+                    Consumer<BeanDefinition> concurrentCreator,
+                    Consumer<BeanDefinition> sequentialCreator) {
+        List<Node> acyclic = sortAcyclic();
+        List<Node> remaining = new ArrayList<>(nodes);
+        remaining.removeAll(acyclic);
+        if (!remaining.isEmpty() && LOG.isDebugEnabled()) {
+            LOG.debug("Creating beans with circular dependencies one after another: {}", remaining.stream()
+                    .map(node -> node.definition.getName())
+                    .collect(Collectors.toList()));
+        }
+
+        if (!acyclic.isEmpty()) {
+            ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), p -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                thread.setContextClassLoader(classLoader);
+                return thread;
+            }, null, false);
+            try {
+                new Execution(pool, concurrentCreator).run(acyclic);
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        for (Node node : remaining) {
+            sequentialCreator.accept(node.definition);
+        }
+    }
+
+    /**
+     * Sorts the nodes that do not directly or transitively depend on a cycle in dependency order.
+     *
+     * @return The sorted nodes
+     */
+    private List<Node> sortAcyclic() {
+        Map<Node, Integer> pending = new HashMap<>(nodes.size());
+        Deque<Node> ready = new ArrayDeque<>();
+        for (Node node : nodes) {
+            pending.put(node, node.dependencies.size());
+            if (node.dependencies.isEmpty()) {
+                ready.add(node);
+            }
+        }
+        List<Node> sorted = new ArrayList<>(nodes.size());
+        Node node;
+        while ((node = ready.poll()) != null) {
+            sorted.add(node);
+            for (Node dependent : node.dependents) {
+                if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        return sorted;
+    }
+
+    private List<Node> candidates(Class<?> type) {
+        if (type == Object.class) {
+            return new ArrayList<>();
+        }
+        return candidatesByType.computeIfAbsent(type, t -> nodes.stream()
+                .filter(node -> t.isAssignableFrom(node.definition.getBeanType()))
+                .collect(Collectors.toList()));
+    }
+
+    private static Set<Class<?>> dependencyTypes(BeanDefinition<?> definition) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        for (Class component : definition.getRequiredComponents()) {
+            types.add(component);
+        }
+        List<Argument<?>> arguments = new ArrayList<>();
+        for (Argument<?> argument : definition.getConstructor().getArguments()) {
+            arguments.add(argument);
+        }
+        for (MethodInjectionPoint method : definition.getInjectedMethods()) {
+            for (Argument<?> argument : method.getArguments()) {
+                arguments.add(argument);
+            }
+        }
+        for (FieldInjectionPoint field : definition.getInjectedFields()) {
+            arguments.add(field.asArgument());
+        }
+        for (Argument<?> argument : arguments) {
+            Class<?> type = argument.getType();
+            if (Provider.class.isAssignableFrom(type)) {
+                types.remove(type);
+            } else if (type.isArray()) {
+                types.add(type.getComponentType());
+            } else if (Iterable.class.isAssignableFrom(type) || Optional.class == type || argument.isContainerType()) {
+                argument.getFirstTypeVariable().ifPresent(component -> types.add(component.getType()));
+            }
+        }
+        // beans produced by a factory method require the factory
+        definition.getDeclaringType()
+                .filter(declaringType -> declaringType != definition.getBeanType())
+                .ifPresent(types::add);
+        return types;
+    }
+
+    /**
+     * Schedules the creation of the beans once their dependencies have been created.
+     */
+    private static final class Execution {
+        final ForkJoinPool pool;
+        final Consumer<BeanDefinition> creator;
+        final AtomicInteger inProgress = new AtomicInteger();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Execution(ForkJoinPool pool, Consumer<BeanDefinition> creator) {
+            this.pool = pool;
+            this.creator = creator;
+        }
+
+        void run(List<Node> sorted) {
+            // only the acyclic nodes are scheduled, a node depending on a cycle never reaches zero pending dependencies
+            for (Node node : sorted) {
+                if (node.dependencies.isEmpty()) {
+                    submit(node);
+                }
+            }
+            done.join();
+            Throwable e = failure.get();
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            } else if (e instanceof Error) {
+                throw (Error) e;
+            } else if (e != null) {
+                throw new BeanInstantiationException("Error initializing beans in parallel: " + e.getMessage(), e);
+            }
+        }
+
+        private void submit(Node node) {
+            inProgress.incrementAndGet();
+            pool.execute(() -> {
+                try {
+                    if (failure.get() == null) {
+                        creator.accept(node.definition);
+                        for (Node dependent : node.dependents) {
+                            if (dependent.pending.decrementAndGet() == 0) {
+                                submit(dependent);
+                            }
+                        }
+                    }
+                } catch (Throwable e) {
+                    // stop scheduling further beans and report the first failure once the running ones complete
+                    failure.compareAndSet(null, e);
+                } finally {
+                    if (inProgress.decrementAndGet() == 0) {
+                        done.complete(null);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * A bean definition in the dependency graph.
+     */
+    private static final class Node {
+        final BeanDefinition definition;
+        final Set<Node> dependencies = new LinkedHashSet<>();
+        final List<Node> dependents = new ArrayList<>();
+        final AtomicInteger pending = new AtomicInteger();
+
+        Node(BeanDefinition definition) {
+            this.definition = definition;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import io.micronaut.context.exceptions.BeanContextException;
+import io.micronaut.core.annotation.AnnotationMetadata;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.inject.BeanDefinition;
+import io.micronaut.inject.BeanDefinitionReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * A {@link BeanDefinitionReference} backed by an entry of the {@link BeanDefinitionIndex}. The generated reference
+ * class, and with it the annotation metadata of the bean, is only loaded once the bean is evaluated or loaded.
+ *
+ * @param <T> The bean type
+ * @since 2.0
+ */
+@Internal
+final class IndexedBeanDefinitionReference<T> implements BeanDefinitionReference<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IndexedBeanDefinitionReference.class);
+
+    private final BeanDefinitionIndex.Entry entry;
+    private final ClassLoader classLoader;
+    private volatile BeanDefinitionReference<T> reference;
+    private volatile Class<T> beanType;
+    private Boolean present;
+
+    /**
+     * @param entry       The index entry
+     * @param classLoader The class loader
+     */
+    IndexedBeanDefinitionReference(BeanDefinitionIndex.Entry entry, ClassLoader classLoader) {
+        this.entry = entry;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * @return The binary names of the types the bean can be looked up by, empty if they are unknown
+     */
+    List<String> getTypeNames() {
+        return entry.getTypeNames();
+    }
+
+    /**
+     * @return The types declared with {@link io.micronaut.context.annotation.Indexes}
+     */
+    List<String> getIndexedTypeNames() {
+        return entry.getIndexedTypeNames();
+    }
+
+    /**
+     * @return The adapted type or null
+     */
+    String getAdapterTypeName() {
+        return entry.getAdapterTypeName();
+    }
+
+    /**
+     * @return Whether the bean is initialized in parallel
+     */
+    boolean isParallel() {
+        return entry.isParallel();
+    }
+
+    /**
+     * @return Whether the bean is bootstrap context compatible
+     */
+    boolean isBootstrapContextCompatible() {
+        return entry.isBootstrapContextCompatible();
+    }
+
+    @Override
+    public String getBeanDefinitionName() {
+        return entry.getBeanDefinitionName();
+    }
+
+    @Override
+    public String getName() {
+        return entry.getBeanTypeName();
+    }
+
+    @Override
+    public BeanDefinition<T> load() {
+        return getReference().load();
+    }
+
+    @Override
+    public BeanDefinition<T> load(BeanContext context) {
+        return getReference().load(context);
+    }
+
+    @Override
+    public boolean isContextScope() {
+        return entry.isContextScope();
+    }
+
+    @Override
+    public boolean isSingleton() {
+        return entry.isSingleton();
+    }
+
+    @Override
+    public boolean isConfigurationProperties() {
+        return entry.isConfigurationProperties();
+    }
+
+    @Override
+    public boolean requiresMethodProcessing() {
+        return entry.isRequiresMethodProcessing();
+    }
+
+    @Override
+    public boolean isPresent() {
+        if (present == null) {
+            try {
+                Class.forName(entry.getBeanDefinitionName(), false, classLoader);
+                getBeanType();
+                present = true;
+            } catch (ClassNotFoundException | NoClassDefFoundError | TypeNotPresentException e) {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Bean definition for type [" + entry.getBeanTypeName() + "] not loaded since it is not on the classpath", e);
+                }
+                present = false;
+            }
+        }
+        return present;
+    }
+
+    @Override
+    public boolean isPrimary() {
+        return getReference().isPrimary();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Class<T> getBeanType() {
+        Class<T> type = beanType;
+        if (type == null) {
+            if (entry.getTypeNames().isEmpty()) {
+                // array and generated types are resolved by the reference itself
+                type = getReference().getBeanType();
+            } else {
+                try {
+                    type = (Class<T>) Class.forName(entry.getBeanTypeName(), false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    throw new TypeNotPresentException(entry.getBeanTypeName(), e);
+                }
+            }
+            beanType = type;
+        }
+        return type;
+    }
+
+    @Override
+    public AnnotationMetadata getAnnotationMetadata() {
+        return getReference().getAnnotationMetadata();
+    }
+
+    @Override
+    public boolean isEnabled(BeanContext context) {
+        return isPresent() && getReference().isEnabled(context);
+    }
+
+    @Override
+    public boolean isEnabled(BeanContext context, BeanResolutionContext resolutionContext) {
+        return isPresent() && getReference().isEnabled(context, resolutionContext);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return entry.getBeanDefinitionName().equals(((IndexedBeanDefinitionReference) o).entry.getBeanDefinitionName());
+    }
+
+    @Override
+    public int hashCode() {
+        return entry.getBeanDefinitionName().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return entry.getBeanDefinitionName();
+    }
+
+    @SuppressWarnings("unchecked")
+    private BeanDefinitionReference<T> getReference() {
+        BeanDefinitionReference<T> ref = reference;
+        if (ref == null) {
+            synchronized (this) {
+                ref = reference;
+                if (ref == null) {
+                    String referenceName = entry.getBeanDefinitionReferenceName();
+                    try {
+                        ref = (BeanDefinitionReference<T>) Class.forName(referenceName, true, classLoader)
+                                .getDeclaredConstructor()
+                                .newInstance();
+                    } catch (Throwable e) {
+                        throw new BeanContextException("Unexpected error loading bean definition reference [" + referenceName + "]: " + e.getMessage(), e);
+                    }
+                    reference = ref;
+                }
+            }
+        }
+        return ref;
+    }
+}
@@ -15,10 +15,12 @@
  */
 package io.micronaut.context;
 
+import edu.umd.cs.findbugs.annotations.Nullable;
 import groovy.lang.GroovySystem;
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.context.condition.Condition;
 import io.micronaut.context.condition.ConditionContext;
+import io.micronaut.context.condition.Failure;
 import io.micronaut.context.condition.OperatingSystem;
 import io.micronaut.context.condition.TrueCondition;
 import io.micronaut.context.env.Environment;
@@ -94,17 +96,18 @@ public class RequiresCondition implements Condition {
         List<AnnotationValue<Requires>> requirements = annotationMetadata.getAnnotationValuesByType(Requires.class);
 
         if (!requirements.isEmpty()) {
+            RequiresConditionCache cache = resolveCache(context);
             // here we use AnnotationMetadata to avoid loading the classes referenced in the annotations directly
             if (isBeanReference) {
                 for (AnnotationValue<Requires> requirement : requirements) {
-                    processPreStartRequirements(context, requirement);
+                    processPreStartRequirements(context, requirement, cache);
                     if (context.isFailing()) {
                         return false;
                     }
                 }
             } else {
                 for (AnnotationValue<Requires> requires : requirements) {
-                    processPostStartRequirements(context, requires);
+                    processPostStartRequirements(context, requires, cache);
                     if (context.isFailing()) {
                         return false;
                     }
@@ -148,7 +151,31 @@ public class RequiresCondition implements Condition {
     }
 
     /**
-     * This method will process requirements for a {@link BeanDefinitionReference} that has not yet been loaded. Unlike {@link #processPostStartRequirements(ConditionContext, AnnotationValue)}
+     * Processes the requirements that only depend on the classpath and the environment. The outcome is shared by all
+     * the beans with an equal requirement through the cache of the bean context.
+     */
+    private void processPreStartRequirements(ConditionContext context, AnnotationValue<Requires> requirements, @Nullable RequiresConditionCache cache) {
+        if (cache == null) {
+            processPreStartRequirements(context, requirements);
+            return;
+        }
+        List<Failure> failures = cache.getFailures(requirements);
+        if (failures == null) {
+            List<Failure> previous = context.getFailures();
+            int existing = previous.size();
+            processPreStartRequirements(context, requirements);
+            List<Failure> current = context.getFailures();
+            failures = current.size() > existing ? new ArrayList<>(current.subList(existing, current.size())) : Collections.emptyList();
+            cache.putFailures(requirements, failures);
+        } else {
+            for (Failure failure : failures) {
+                context.fail(failure);
+            }
+        }
+    }
+
+    /**
+     * This method will process requirements for a {@link BeanDefinitionReference} that has not yet been loaded. Unlike {@link #processPostStartRequirements(ConditionContext, AnnotationValue, RequiresConditionCache)}
      * this method is executed prior to the bean being loaded and processes requirements that do not require all the beans to be loaded.
      */
     private void processPreStartRequirements(ConditionContext context, AnnotationValue<Requires> requirements) {
@@ -201,8 +228,8 @@ public class RequiresCondition implements Condition {
     /**
      * This method will run conditions that require all beans to be loaded. These conditions included "beans", "missingBeans" and custom conditions.
      */
-    private void processPostStartRequirements(ConditionContext context, AnnotationValue<Requires> requirements) {
-        processPreStartRequirements(context, requirements);
+    private void processPostStartRequirements(ConditionContext context, AnnotationValue<Requires> requirements, @Nullable RequiresConditionCache cache) {
+        processPreStartRequirements(context, requirements, cache);
 
         if (context.isFailing()) {
             return;
@@ -219,6 +246,15 @@ public class RequiresCondition implements Condition {
         matchesCustomConditions(context, requirements);
     }
 
+    @Nullable
+    private RequiresConditionCache resolveCache(ConditionContext context) {
+        BeanContext beanContext = context.getBeanContext();
+        if (beanContext instanceof DefaultBeanContext) {
+            return ((DefaultBeanContext) beanContext).getConditionCache();
+        }
+        return null;
+    }
+
     private boolean matchesProperty(ConditionContext context, AnnotationValue<Requires> requirements) {
         if (requirements.contains(MEMBER_PROPERTY)) {
             String property = requirements.stringValue(MEMBER_PROPERTY).orElse(null);
@@ -482,9 +518,11 @@ public class RequiresCondition implements Condition {
     private boolean matchAbsenceOfClassNames(ConditionContext context, AnnotationValue<Requires> requirements) {
         if (requirements.contains(MEMBER_MISSING_CLASSES)) {
             final String[] classNameArray = requirements.stringValues(MEMBER_MISSING_CLASSES);
+            final RequiresConditionCache cache = resolveCache(context);
             final ClassLoader classLoader = context.getBeanContext().getClassLoader();
             for (String name : classNameArray) {
-                if (ClassUtils.isPresent(name, classLoader)) {
+                boolean present = cache != null ? cache.isClassPresent(name) : ClassUtils.isPresent(name, classLoader);
+                if (present) {
                     context.fail("Class [" + name + "] is not absent");
                     return false;
                 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.condition.Failure;
+import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.reflect.ClassUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the outcome of {@link Requires} conditions for a {@link BeanContext}. Many beans declare the same
+ * requirements, for example on the presence of a class or the value of a property, so the outcome of a requirement
+ * is shared by every bean that declares an equal {@link Requires} annotation.
+ *
+ * <p>Only requirements that depend on the classpath and the environment are cached. The results are cleared
+ * whenever the property sources of the environment change. The presence of classes is retained since the class
+ * loader of the context does not change.</p>
+ *
+ * @since 2.0
+ */
+@Internal
+final class RequiresConditionCache {
+
+    private final Map<AnnotationValue<Requires>, List<Failure>> requirementFailures = new ConcurrentHashMap<>(100);
+    private final Map<String, Boolean> classPresence = new ConcurrentHashMap<>(100);
+    private final ClassLoader classLoader;
+
+    /**
+     * @param classLoader The class loader of the context
+     */
+    RequiresConditionCache(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * @param requirement The requirement
+     * @return The failures of a previous evaluation of the requirement, empty if it matched or null if it has not been evaluated
+     */
+    @Nullable
+    List<Failure> getFailures(@NonNull AnnotationValue<Requires> requirement) {
+        return requirementFailures.get(requirement);
+    }
+
+    /**
+     * Stores the outcome of a requirement.
+     *
+     * @param requirement The requirement
+     * @param failures    The failures, empty if the requirement matched
+     */
+    void putFailures(@NonNull AnnotationValue<Requires> requirement, @NonNull List<Failure> failures) {
+        requirementFailures.put(requirement, failures);
+    }
+
+    /**
+     * @param className The class name
+     * @return Whether the class is present on the classpath of the context
+     */
+    boolean isClassPresent(@NonNull String className) {
+        Boolean present = classPresence.get(className);
+        if (present == null) {
+            // not computed within the map since loading the class may evaluate further conditions
+            present = ClassUtils.isPresent(className, classLoader);
+            classPresence.put(className, present);
+        }
+        return present;
+    }
+
+    /**
+     * Clears the outcome of the requirements, for example because the environment was refreshed.
+     */
+    void clear() {
+        requirementFailures.clear();
+    }
+}
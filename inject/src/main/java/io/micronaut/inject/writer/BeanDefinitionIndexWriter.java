@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.inject.writer;
+
+import io.micronaut.context.BeanDefinitionIndex;
+import io.micronaut.context.RequiresCondition;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.AnnotationClassValue;
+import io.micronaut.core.annotation.AnnotationMetadata;
+import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.core.annotation.Internal;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Writes the {@link BeanDefinitionIndex} of a compilation unit. Entries of a previous compilation are kept unless
+ * they are replaced.
+ *
+ * @since 2.0
+ */
+@Internal
+public class BeanDefinitionIndexWriter {
+
+    private final Map<String, BeanDefinitionIndex.Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * Visits a bean definition written to the compilation unit.
+     *
+     * @param entry The index entry
+     */
+    public void visitBeanDefinition(BeanDefinitionIndex.Entry entry) {
+        entries.put(entry.getBeanDefinitionName(), entry);
+    }
+
+    /**
+     * Writes the index.
+     *
+     * @param outputVisitor The output visitor
+     */
+    public void accept(ClassWriterOutputVisitor outputVisitor) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Optional<GeneratedFile> indexFile = outputVisitor.visitMetaInfFile(BeanDefinitionIndex.PATH);
+        if (!indexFile.isPresent()) {
+            return;
+        }
+        GeneratedFile generatedFile = indexFile.get();
+        Map<String, BeanDefinitionIndex.Entry> allEntries = new LinkedHashMap<>();
+        // keep the entries of the bean definitions that were not recompiled
+        try (BufferedReader reader = new BufferedReader(generatedFile.openReader())) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                BeanDefinitionIndex.Entry entry = BeanDefinitionIndex.Entry.parse(line);
+                if (entry != null) {
+                    allEntries.put(entry.getBeanDefinitionName(), entry);
+                }
+            }
+        } catch (FileNotFoundException | java.nio.file.NoSuchFileException e) {
+            // doesn't exist
+        } catch (Throwable e) {
+            // an unreadable index only means that the previous entries are loaded from the services files
+        }
+        allEntries.putAll(entries);
+
+        try (BufferedWriter writer = new BufferedWriter(generatedFile.openWriter())) {
+            for (BeanDefinitionIndex.Entry entry : allEntries.values()) {
+                writer.write(entry.toLine());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new ClassGenerationException("Failed to write bean definition index: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Resolves the classes that are required to be present for the bean to be enabled.
+     *
+     * @param annotationMetadata The annotation metadata of the bean
+     * @return The names of the required classes
+     */
+    public static List<String> getRequiredClassNames(AnnotationMetadata annotationMetadata) {
+        List<String> requiredClasses = new ArrayList<>();
+        for (AnnotationValue<Requires> requirement : annotationMetadata.getAnnotationValuesByType(Requires.class)) {
+            for (AnnotationClassValue<?> classValue : requirement.annotationClassValues(RequiresCondition.MEMBER_CLASSES)) {
+                requiredClasses.add(classValue.getName());
+            }
+            for (AnnotationClassValue<?> classValue : requirement.annotationClassValues(RequiresCondition.MEMBER_BEANS)) {
+                requiredClasses.add(classValue.getName());
+            }
+        }
+        return requiredClasses;
+    }
+}
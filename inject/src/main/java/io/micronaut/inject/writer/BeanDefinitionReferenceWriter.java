@@ -16,9 +16,14 @@
 package io.micronaut.inject.writer;
 
 import io.micronaut.context.AbstractBeanDefinitionReference;
+import io.micronaut.context.BeanDefinitionIndex;
+import io.micronaut.context.annotation.BootstrapContextCompatible;
 import io.micronaut.context.annotation.ConfigurationReader;
 import io.micronaut.context.annotation.DefaultScope;
+import io.micronaut.context.annotation.Parallel;
 import io.micronaut.core.annotation.AnnotationMetadata;
+import io.micronaut.core.annotation.AnnotationValue;
+import io.micronaut.core.annotation.Indexed;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.inject.BeanDefinition;
 import io.micronaut.inject.BeanDefinitionReference;
@@ -30,6 +35,8 @@ import org.objectweb.asm.commons.GeneratorAdapter;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Writes the bean definition class file to disk.
@@ -46,6 +53,8 @@ public class BeanDefinitionReferenceWriter extends AbstractAnnotationMetadataWri
      */
     public static final String REF_SUFFIX = "Class";
 
+    private static final String ADAPTER_TYPE = "io.micronaut.aop.Adapter";
+
     private final String beanTypeName;
     private final String beanDefinitionName;
     private final String beanDefinitionClassInternalName;
@@ -107,6 +116,37 @@ public class BeanDefinitionReferenceWriter extends AbstractAnnotationMetadataWri
         this.requiresMethodProcessing = shouldPreProcess;
     }
 
+    /**
+     * Creates the entry of the {@link BeanDefinitionIndex} for the written reference.
+     *
+     * @param typeNames The binary names of the bean type, its super classes and interfaces or an empty list if they
+     *                  cannot be determined
+     * @return The index entry
+     */
+    public BeanDefinitionIndex.Entry toIndexEntry(List<String> typeNames) {
+        List<String> indexedTypeNames = new ArrayList<>();
+        for (AnnotationValue<Indexed> indexed : annotationMetadata.getAnnotationValuesByType(Indexed.class)) {
+            indexed.stringValue().ifPresent(indexedTypeNames::add);
+        }
+        String adapterTypeName = annotationMetadata.hasStereotype(ADAPTER_TYPE) ?
+                annotationMetadata.stringValue(ADAPTER_TYPE).orElse(null) : null;
+        String definitionName = getBeanDefinitionQualifiedClassName();
+        return BeanDefinitionIndex.Entry.of(
+                definitionName.substring(0, definitionName.length() - REF_SUFFIX.length()),
+                beanTypeName,
+                contextScope,
+                isSingleton(),
+                annotationMetadata.hasDeclaredStereotype(ConfigurationReader.class),
+                requiresMethodProcessing,
+                annotationMetadata.hasDeclaredStereotype(Parallel.class),
+                annotationMetadata.hasAnnotation(BootstrapContextCompatible.class),
+                typeNames,
+                indexedTypeNames,
+                adapterTypeName,
+                BeanDefinitionIndexWriter.getRequiredClassNames(annotationMetadata)
+        );
+    }
+
     /**
      * Obtains the class name of the bean definition to be written. Java Annotation Processors need
      * this information to create a JavaFileObject using a Filer.
@@ -186,9 +226,7 @@ public class BeanDefinitionReferenceWriter extends AbstractAnnotationMetadataWri
         }
 
         writeGetAnnotationMetadataMethod(classWriter);
-        writeBooleanMethod(classWriter, "isSingleton", () ->
-                annotationMetadata.hasDeclaredStereotype(Singleton.class) ||
-                        annotationMetadata.classValue(DefaultScope.class).map(t -> t == Singleton.class).orElse(false));
+        writeBooleanMethod(classWriter, "isSingleton", this::isSingleton);
         writeBooleanMethod(classWriter, "isConfigurationProperties", () ->
                 annotationMetadata.hasDeclaredStereotype(ConfigurationReader.class));
 
@@ -199,4 +237,8 @@ public class BeanDefinitionReferenceWriter extends AbstractAnnotationMetadataWri
         return classWriter;
     }
 
+    private boolean isSingleton() {
+        return annotationMetadata.hasDeclaredStereotype(Singleton.class) ||
+                annotationMetadata.classValue(DefaultScope.class).map(t -> t == Singleton.class).orElse(false);
+    }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.management.endpoint.server;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.server.metrics.HttpServerMetrics;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Exposes an {@link Endpoint} to display the request phase latencies and event loop queue depths recorded by the
+ * {@link HttpServerMetrics}.</p>
+ *
+ * @since 2.0
+ */
+@Endpoint("servermetrics")
+@Requires(classes = HttpServerMetrics.class)
+@Requires(beans = HttpServerMetrics.class)
+public class ServerMetricsEndpoint {
+
+    private final HttpServerMetrics serverMetrics;
+
+    /**
+     * Constructor.
+     *
+     * @param serverMetrics The server metrics
+     */
+    ServerMetricsEndpoint(HttpServerMetrics serverMetrics) {
+        this.serverMetrics = serverMetrics;
+    }
+
+    /**
+     * @return The latency of each request phase in microseconds and the pending tasks of each event loop
+     */
+    @Read
+    Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>(2);
+        metrics.put("phases", serverMetrics.getPhases());
+        metrics.put("eventLoops", serverMetrics.getEventLoopPendingTasks());
+        return metrics;
+    }
+}
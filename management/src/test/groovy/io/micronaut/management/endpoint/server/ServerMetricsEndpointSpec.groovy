@@ -0,0 +1,62 @@
+package io.micronaut.management.endpoint.server
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.Specification
+
+class ServerMetricsEndpointSpec extends Specification {
+
+    void "test the server metrics endpoint"() {
+        given:
+        EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': getClass().simpleName,
+                'micronaut.server.metrics.enabled': true,
+                'endpoints.servermetrics.sensitive': false], "test")
+        RxHttpClient rxClient = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+
+        when:
+        rxClient.retrieve(HttpRequest.GET("/metrics-test")).blockingFirst()
+        def response = rxClient.exchange(HttpRequest.GET("/servermetrics"), Map).blockingFirst()
+        Map result = response.body()
+
+        then:
+        response.code() == HttpStatus.OK.code
+        result.phases.ROUTING.count >= 1
+        result.phases.BINDING.count >= 1
+        result.phases.EXECUTION.count >= 1
+        result.phases.ENCODING.count >= 1
+        result.phases.ROUTING.containsKey("p99")
+        result.eventLoops.size() > 0
+
+        cleanup:
+        rxClient.close()
+        embeddedServer?.close()
+    }
+
+    void "test the server metrics endpoint is disabled by default"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(['spec.name': getClass().simpleName], "test")
+
+        expect:
+        !context.containsBean(ServerMetricsEndpoint)
+
+        cleanup:
+        context.close()
+    }
+
+    @Controller("/metrics-test")
+    @Requires(property = "spec.name", value = "ServerMetricsEndpointSpec")
+    static class MetricsTestController {
+
+        @Get
+        String index() {
+            "ok"
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package io.micronaut.web.router;
 
 import io.micronaut.core.annotation.AnnotationMetadata;
+import io.micronaut.core.annotation.AnnotationMetadataProvider;
 import io.micronaut.core.order.OrderUtil;
 import io.micronaut.core.reflect.ClassUtils;
 import io.micronaut.core.util.CollectionUtils;
@@ -40,8 +41,9 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
- * <p>The default {@link Router} implementation. This implementation does not perform any additional caching of
- * route discovery.</p>
+ * <p>The default {@link Router} implementation. Routes are indexed per HTTP method by the literal prefix of their
+ * URI template so that only candidate routes are matched against a request URI. This implementation does not perform
+ * any additional caching of route discovery.</p>
  *
  * @author Graeme Rocher
  * @since 1.0
@@ -51,11 +53,13 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
 
     private static final List<MediaType> ACCEPT_ALL = Collections.singletonList(MediaType.ALL_TYPE);
     private final Map<String, List<UriRoute>> routesByMethod = new HashMap<>();
+    private final Map<String, UriRouteIndex> routeIndexByMethod = new HashMap<>();
     private final List<StatusRoute> statusRoutes = new ArrayList<>();
     private final Collection<FilterRoute> filterRoutes = new ArrayList<>();
     private final List<ErrorRoute> errorRoutes = new ArrayList<>();
     private final Set<Integer> exposedPorts;
     private List<Integer> defaultPorts;
+    private volatile Map<UriRoute, RouteFilters> routeFilters;
 
     /**
      * Construct a new router for the given route builders.
@@ -96,7 +100,10 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
             this.exposedPorts = Collections.emptySet();
         }
 
-        routesByMethod.values().forEach(this::finalizeRoutes);
+        routesByMethod.forEach((method, routes) -> {
+            finalizeRoutes(routes);
+            routeIndexByMethod.put(method, new UriRouteIndex(routes));
+        });
     }
 
     /**
@@ -124,6 +131,8 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
                 }
             }
         });
+        // the routes have been replaced so the precomputed filters no longer apply
+        routeFilters = null;
     }
 
     @NonNull
@@ -229,15 +238,18 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
     @NonNull
     @Override
     public <T, R> Optional<UriRouteMatch<T, R>> route(@NonNull HttpMethod httpMethod, @NonNull CharSequence uri) {
-        List<UriRoute> routes = routesByMethod.getOrDefault(httpMethod.name(), Collections.emptyList());
-        Optional<UriRouteMatch> result = routes.stream()
-            .map((route -> route.match(uri.toString())))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .findFirst();
-
-        UriRouteMatch match = result.orElse(null);
-        return Optional.ofNullable(match);
+        String methodName = httpMethod.name();
+        List<UriRoute> routes = routesByMethod.get(methodName);
+        if (routes != null) {
+            final String uriStr = uri.toString();
+            for (int candidate : routeIndexByMethod.get(methodName).candidates(uriStr)) {
+                final UriRouteMatch match = routes.get(candidate).match(uriStr).orElse(null);
+                if (match != null) {
+                    return Optional.of(match);
+                }
+            }
+        }
+        return Optional.empty();
     }
 
     @Override
@@ -398,6 +410,13 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
         if (!filterRoutes.isEmpty()) {
 
             Object o = request.getAttribute(HttpAttributes.ROUTE_MATCH).orElse(null);
+            if (o instanceof UriRouteMatch) {
+                UriRoute route = ((UriRouteMatch<?, ?>) o).getRoute();
+                RouteFilters filters = getRouteFilters().get(route);
+                if (filters != null && filters.method == request.getMethod()) {
+                    return filters.resolve(request);
+                }
+            }
             if (o instanceof RouteMatch) {
                 RouteMatch<?> routeMatch = (RouteMatch<?>) o;
                 return resolveFilters(request, filterRouteStream(routeMatch));
@@ -442,9 +461,10 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
         List<UriRoute> routes = routesByMethod.getOrDefault(httpMethodName, Collections.emptyList());
         if (CollectionUtils.isNotEmpty(routes)) {
             final String uriStr = uri.toString();
-            List<UriRouteMatch<T, R>> routeMatches = new ArrayList<>(routes.size());
-            for (UriRoute route : routes) {
-                final UriRouteMatch match = route.match(uriStr).orElse(null);
+            final int[] candidates = routeIndexByMethod.get(httpMethodName).candidates(uriStr);
+            List<UriRouteMatch<T, R>> routeMatches = new ArrayList<>(candidates.length);
+            for (int candidate : candidates) {
+                final UriRouteMatch match = routes.get(candidate).match(uriStr).orElse(null);
                 if (match != null) {
                     routeMatches.add(match);
                 }
@@ -456,9 +476,8 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
         }
     }
 
-    private UriRoute[] finalizeRoutes(List<UriRoute> routes) {
+    private void finalizeRoutes(List<UriRoute> routes) {
         Collections.sort(routes);
-        return routes.toArray(new UriRoute[0]);
     }
 
     private <T> Optional<RouteMatch<T>> findRouteMatch(Map<ErrorRoute, RouteMatch<T>> matchedRoutes, Throwable error) {
@@ -514,14 +533,7 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
                             }
                         }
                         if (entry.hasPatterns()) {
-                            String path = request.getPath();
-                            String[] patterns = entry.getPatterns();
-                            for (String pattern : patterns) {
-                                if (Filter.MATCH_ALL_PATTERN.equals(pattern) || PathMatcher.ANT.matches(pattern, path)) {
-                                    return true;
-                                }
-                            }
-                            return false;
+                            return matchesPath(entry, request.getPath());
                         }
                         return true;
                     })
@@ -530,7 +542,38 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
                     .collect(Collectors.toList());
     }
 
-    private Stream<FilterRoute> filterRouteStream(RouteMatch<?> context) {
+    private static boolean matchesPath(FilterEntry<HttpFilter> entry, String path) {
+        String[] patterns = entry.getPatterns();
+        for (String pattern : patterns) {
+            if (Filter.MATCH_ALL_PATTERN.equals(pattern) || PathMatcher.ANT.matches(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Map<UriRoute, RouteFilters> getRouteFilters() {
+        Map<UriRoute, RouteFilters> routeFilters = this.routeFilters;
+        if (routeFilters == null) {
+            synchronized (this) {
+                routeFilters = this.routeFilters;
+                if (routeFilters == null) {
+                    routeFilters = new IdentityHashMap<>();
+                    for (List<UriRoute> routes : routesByMethod.values()) {
+                        for (UriRoute route : routes) {
+                            if (route instanceof AnnotationMetadataProvider) {
+                                routeFilters.put(route, new RouteFilters(route, filterRouteStream((AnnotationMetadataProvider) route)));
+                            }
+                        }
+                    }
+                    this.routeFilters = routeFilters;
+                }
+            }
+        }
+        return routeFilters;
+    }
+
+    private Stream<FilterRoute> filterRouteStream(AnnotationMetadataProvider context) {
         return filterRoutes.stream()
                 .filter(filterRoute -> {
                     AnnotationMetadata annotationMetadata = filterRoute.getAnnotationMetadata();
@@ -544,4 +587,55 @@ public class DefaultRouter implements Router, HttpServerFilterResolver<RouteMatc
                     return matches;
                 });
     }
+
+    /**
+     * The filters that apply to a route, resolved once from the filter routes. The entries are already restricted to
+     * the HTTP method of the route and sorted by order, so only filters with path patterns need to be checked per
+     * request.
+     */
+    private static final class RouteFilters {
+        private final HttpMethod method;
+        private final FilterRoute[] entries;
+        private final boolean[] matchesAnyPath;
+        private final List<HttpFilter> filters;
+
+        RouteFilters(UriRoute route, Stream<FilterRoute> filterRoutes) {
+            this.method = route.getHttpMethod();
+            this.entries = filterRoutes
+                    .filter(entry -> !entry.hasMethods() || entry.getFilterMethods().contains(method))
+                    .sorted((e1, e2) -> OrderUtil.COMPARATOR.compare(e1.getFilter(), e2.getFilter()))
+                    .toArray(FilterRoute[]::new);
+            this.matchesAnyPath = new boolean[entries.length];
+            boolean pathIndependent = true;
+            for (int i = 0; i < entries.length; i++) {
+                FilterRoute entry = entries[i];
+                matchesAnyPath[i] = !entry.hasPatterns() || Arrays.asList(entry.getPatterns()).contains(Filter.MATCH_ALL_PATTERN);
+                pathIndependent &= matchesAnyPath[i];
+            }
+            if (pathIndependent) {
+                List<HttpFilter> filters = new ArrayList<>(entries.length);
+                for (FilterRoute entry : entries) {
+                    filters.add(entry.getFilter());
+                }
+                this.filters = Collections.unmodifiableList(filters);
+            } else {
+                this.filters = null;
+            }
+        }
+
+        List<HttpFilter> resolve(HttpRequest<?> request) {
+            if (filters != null) {
+                return filters;
+            }
+            String path = request.getPath();
+            List<HttpFilter> resolved = new ArrayList<>(entries.length);
+            for (int i = 0; i < entries.length; i++) {
+                FilterRoute entry = entries[i];
+                if (matchesAnyPath[i] || matchesPath(entry, path)) {
+                    resolved.add(entry.getFilter());
+                }
+            }
+            return resolved;
+        }
+    }
 }
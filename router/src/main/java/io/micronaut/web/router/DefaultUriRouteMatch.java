@@ -26,6 +26,7 @@ import io.micronaut.http.uri.UriMatchVariable;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.nio.charset.Charset;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -47,6 +48,7 @@ class DefaultUriRouteMatch<T, R> extends AbstractRouteMatch<T, R> implements Uri
     private final UriMatchInfo matchInfo;
     private final DefaultRouteBuilder.DefaultUriRoute uriRoute;
     private final Charset defaultCharset;
+    private Map<String, Object> decodedVariables;
 
     /**
      * @param matchInfo The URI match info
@@ -121,11 +123,16 @@ class DefaultUriRouteMatch<T, R> extends AbstractRouteMatch<T, R> implements Uri
 
     @Override
     public Map<String, Object> getVariableValues() {
+        Map<String, Object> decoded = this.decodedVariables;
+        if (decoded != null) {
+            return decoded;
+        }
         Map<String, Object> variables = matchInfo.getVariableValues();
         if (CollectionUtils.isNotEmpty(variables)) {
             final String charset = defaultCharset.toString();
-            Map<String, Object> decoded = new LinkedHashMap<>(variables.size());
-            variables.forEach((k, v) -> {
+            decoded = new LinkedHashMap<>(variables.size());
+            for (Map.Entry<String, Object> entry : variables.entrySet()) {
+                Object v = entry.getValue();
                 if (v instanceof CharSequence) {
                     try {
                         v = URLDecoder.decode(v.toString(), charset);
@@ -133,11 +140,15 @@ class DefaultUriRouteMatch<T, R> extends AbstractRouteMatch<T, R> implements Uri
                         // ignore
                     }
                 }
-                decoded.put(k, v);
-            });
-            return decoded;
+                decoded.put(entry.getKey(), v);
+            }
+            // cached and shared by every caller, so it must not be modified
+            decoded = Collections.unmodifiableMap(decoded);
+        } else {
+            decoded = variables;
         }
-        return variables;
+        this.decodedVariables = decoded;
+        return decoded;
     }
 
     @Override
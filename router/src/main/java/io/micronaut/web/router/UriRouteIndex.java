@@ -0,0 +1,180 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router;
+
+import io.micronaut.core.annotation.Internal;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>A radix tree built from the literal prefix of the {@link io.micronaut.http.uri.UriMatchTemplate} of each route
+ * registered for a single HTTP method.</p>
+ *
+ * <p>Each node stores the positions (within the sorted route list) of every route whose literal prefix is a prefix of
+ * the node key, so a lookup walks the URI once and returns the candidate routes in their original order without
+ * allocating. Only the candidates need to be matched against the full template.</p>
+ *
+ * @since 2.0
+ */
+@Internal
+final class UriRouteIndex {
+
+    private static final int[] NO_ROUTES = new int[0];
+
+    private final Node root = new Node("");
+
+    /**
+     * @param routes The routes, already sorted in the order they should be matched
+     */
+    UriRouteIndex(List<UriRoute> routes) {
+        for (int i = 0; i < routes.size(); i++) {
+            String prefix = routes.get(i).getUriMatchTemplate().getLiteralPrefix();
+            insert(prefix, i);
+        }
+        root.finalizeCandidates(NO_ROUTES);
+    }
+
+    /**
+     * Finds the positions of the routes that could match the given URI.
+     *
+     * @param uri The URI
+     * @return The positions of the candidate routes in ascending order
+     */
+    int[] candidates(String uri) {
+        if (uri.isEmpty()) {
+            // the root template matches the empty URI
+            uri = "/";
+        }
+        Node node = root;
+        int pos = 0;
+        int len = uri.length();
+        while (pos < len) {
+            Node child = node.child(uri.charAt(pos));
+            if (child == null || !uri.startsWith(child.edge, pos)) {
+                break;
+            }
+            pos += child.edge.length();
+            node = child;
+        }
+        return node.candidates;
+    }
+
+    private void insert(String key, int route) {
+        Node node = root;
+        int pos = 0;
+        while (pos < key.length()) {
+            char c = key.charAt(pos);
+            Node child = node.child(c);
+            if (child == null) {
+                child = new Node(key.substring(pos));
+                node.addChild(child);
+                node = child;
+                break;
+            }
+            String edge = child.edge;
+            int common = commonPrefixLength(edge, key, pos);
+            if (common < edge.length()) {
+                child = node.split(child, common);
+            }
+            pos += common;
+            node = child;
+        }
+        node.routes = append(node.routes, route);
+    }
+
+    private static int commonPrefixLength(String edge, String key, int offset) {
+        int max = Math.min(edge.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && edge.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int[] append(int[] array, int value) {
+        int[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = value;
+        return result;
+    }
+
+    /**
+     * A node in the tree.
+     */
+    private static final class Node {
+        private String edge;
+        private Node[] children = new Node[0];
+        private int[] routes = NO_ROUTES;
+        private int[] candidates = NO_ROUTES;
+
+        Node(String edge) {
+            this.edge = edge;
+        }
+
+        Node child(char c) {
+            for (Node child : children) {
+                if (child.edge.charAt(0) == c) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        void addChild(Node child) {
+            children = Arrays.copyOf(children, children.length + 1);
+            children[children.length - 1] = child;
+        }
+
+        /**
+         * Splits the given child so that its edge ends after the given number of characters.
+         *
+         * @param child The child
+         * @param at The length of the edge to retain
+         * @return The new intermediate node
+         */
+        Node split(Node child, int at) {
+            Node intermediate = new Node(child.edge.substring(0, at));
+            child.edge = child.edge.substring(at);
+            intermediate.addChild(child);
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] == child) {
+                    children[i] = intermediate;
+                }
+            }
+            return intermediate;
+        }
+
+        /**
+         * Merges the routes of this node with those of its ancestors so that lookups can return
+         * the deepest matching node directly.
+         *
+         * @param inherited The candidates of the parent node
+         */
+        void finalizeCandidates(int[] inherited) {
+            if (routes.length == 0) {
+                candidates = inherited;
+            } else {
+                int[] merged = Arrays.copyOf(inherited, inherited.length + routes.length);
+                System.arraycopy(routes, 0, merged, inherited.length, routes.length);
+                Arrays.sort(merged);
+                candidates = merged;
+            }
+            for (Node child : children) {
+                child.finalizeCandidates(candidates);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.context.router
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.http.HttpAttributes
+import io.micronaut.http.HttpMethod
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.MutableHttpRequest
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Filter
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.filter.FilterChain
+import io.micronaut.http.filter.HttpFilter
+import io.micronaut.web.router.Router
+import io.micronaut.web.router.UriRouteMatch
+import org.reactivestreams.Publisher
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class RouteFilterResolutionSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run()
+    @Shared Router router = context.getBean(Router)
+
+    @Unroll
+    void "test filters resolved for #method #uri are #filters"() {
+        given:
+        MutableHttpRequest<?> request = HttpRequest.create(method, uri)
+        UriRouteMatch<?, ?> match = router.find(method, uri, request).findFirst().get()
+        request.setAttribute(HttpAttributes.ROUTE_MATCH, match)
+
+        expect:
+        router.findFilters(request).findAll { it instanceof RouteFilter }*.name == filters
+        // resolved a second time from the precomputed filters
+        router.findFilters(request).findAll { it instanceof RouteFilter }*.name == filters
+
+        where:
+        method          | uri                      | filters
+        HttpMethod.GET  | '/route-filters/1'       | ['first', 'second', 'third']
+        HttpMethod.GET  | '/route-filters/2'       | ['first', 'second']
+        HttpMethod.POST | '/route-filters/1'       | ['first', 'second', 'third', 'post']
+        HttpMethod.POST | '/route-filters/2'       | ['first', 'second']
+    }
+
+    @Controller('/route-filters')
+    static class RouteFiltersController {
+
+        @Get('/{id}')
+        String show(String id) {
+            id
+        }
+
+        @Post('/{id}')
+        String save(String id) {
+            id
+        }
+    }
+
+    static abstract class RouteFilter implements HttpFilter {
+        abstract String getName()
+
+        @Override
+        Publisher<? extends HttpResponse<?>> doFilter(HttpRequest<?> request, FilterChain chain) {
+            chain.proceed(request)
+        }
+    }
+
+    @Filter('/**')
+    static class FirstFilter extends RouteFilter {
+        final String name = 'first'
+        final int order = 1
+    }
+
+    @Filter('/route-filters/**')
+    static class SecondFilter extends RouteFilter {
+        final String name = 'second'
+        final int order = 2
+    }
+
+    @Filter('/route-filters/1')
+    static class ThirdFilter extends RouteFilter {
+        final String name = 'third'
+        final int order = 3
+    }
+
+    @Filter(value = '/route-filters/1', methods = HttpMethod.POST)
+    static class PostFilter extends RouteFilter {
+        final String name = 'post'
+        final int order = 4
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router
+
+import io.micronaut.http.uri.UriMatchTemplate
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class UriRouteIndexSpec extends Specification {
+
+    static final List<String> TEMPLATES = [
+            "/",
+            "/books",
+            "/books/{id}",
+            "/books{/id}",
+            "/books/list",
+            "/books/{id}/authors",
+            "/bo",
+            "/b{x}",
+            "/foo{.ext}",
+            "/{name}/x",
+            "/{+path}"
+    ]
+
+    @Unroll
+    void "test index returns the same matches in the same order as a linear scan for #uri"() {
+        given:
+        List<UriRoute> routes = TEMPLATES.collect { String template ->
+            UriMatchTemplate matchTemplate = UriMatchTemplate.of(template)
+            Stub(UriRoute) {
+                getUriMatchTemplate() >> matchTemplate
+                toString() >> template
+            }
+        }
+        UriRouteIndex index = new UriRouteIndex(routes)
+
+        when:
+        List<String> linear = routes.findAll { it.uriMatchTemplate.match(uri).isPresent() }*.toString()
+        int[] candidates = index.candidates(uri)
+        List<String> indexed = candidates.collect { routes[it] }.findAll { it.uriMatchTemplate.match(uri).isPresent() }*.toString()
+
+        then:
+        indexed == linear
+        candidates.toList() == candidates.toList().sort()
+        candidates.length == candidateCount
+
+        where:
+        uri                | candidateCount
+        ""                 | 3
+        "/"                | 3
+        "/books"           | 7
+        "/books/1"         | 9
+        "/books/list"      | 10
+        "/books/1/authors" | 9
+        "/box"             | 5
+        "/foo.json"        | 4
+        "/x/x"             | 3
+        "/zzz"             | 3
+    }
+}
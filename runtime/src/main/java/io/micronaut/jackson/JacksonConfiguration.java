@@ -60,9 +60,14 @@ public class JacksonConfiguration {
      * The property used to enable bean introspection.
      */
     public static final String PROPERTY_USE_BEAN_INTROSPECTION = "jackson.bean-introspection-module";
+    /**
+     * The property used to enable binding of request bodies from buffered tokens.
+     */
+    public static final String PROPERTY_TOKEN_BUFFER_BINDING = "jackson.token-buffer-binding";
 
     private boolean moduleScan = true;
     private boolean beanIntrospectionModule = false;
+    private boolean tokenBufferBinding = false;
     private String dateFormat;
     private Locale locale;
     private TimeZone timeZone;
@@ -95,6 +100,30 @@ public class JacksonConfiguration {
         this.beanIntrospectionModule = beanIntrospectionModule;
     }
 
+    /**
+     * Whether JSON request bodies should be bound to the target type from the buffered parser tokens instead of
+     * first building a {@link com.fasterxml.jackson.databind.JsonNode} tree.
+     *
+     * @return True if it should
+     * @since 2.0
+     */
+    @Experimental
+    public boolean isTokenBufferBinding() {
+        return tokenBufferBinding;
+    }
+
+    /**
+     * Whether JSON request bodies should be bound to the target type from the buffered parser tokens instead of
+     * first building a {@link com.fasterxml.jackson.databind.JsonNode} tree (defaults to false).
+     *
+     * @param tokenBufferBinding True if it should
+     * @since 2.0
+     */
+    @Experimental
+    public void setTokenBufferBinding(boolean tokenBufferBinding) {
+        this.tokenBufferBinding = tokenBufferBinding;
+    }
+
     /**
      * Whether Jackson modules should be scanned for.
      *
@@ -30,6 +30,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import io.micronaut.core.io.buffer.ByteBuffer;
 import io.micronaut.core.io.buffer.ByteBufferFactory;
+import io.micronaut.core.io.buffer.ReferenceCounted;
 import io.micronaut.core.type.Argument;
 import io.micronaut.core.util.ArgumentUtils;
 import io.micronaut.http.MediaType;
@@ -218,8 +219,31 @@ public abstract class JacksonMediaTypeCodec implements MediaTypeCodec {
 
     @Override
     public <T, B> ByteBuffer<B> encode(T object, ByteBufferFactory<?, B> allocator) throws CodecException {
-        byte[] bytes = encode(object);
-        return allocator.copiedBuffer(bytes);
+        if (object instanceof byte[]) {
+            return allocator.copiedBuffer((byte[]) object);
+        }
+        ByteBuffer<B> buffer = allocator.buffer();
+        boolean encoded = false;
+        try {
+            encode(object, buffer);
+            encoded = true;
+        } finally {
+            // the serializers of the object may throw any runtime exception, not only a CodecException
+            if (!encoded && buffer instanceof ReferenceCounted) {
+                ((ReferenceCounted) buffer).release();
+            }
+        }
+        return buffer;
+    }
+
+    @Override
+    public <T, B> void encode(T object, ByteBuffer<B> buffer) throws CodecException {
+        if (object instanceof byte[]) {
+            buffer.write((byte[]) object);
+        } else {
+            // write straight into the buffer rather than through an intermediate byte[]
+            encode(object, buffer.toOutputStream());
+        }
     }
 
     private <T> JavaType constructJavaType(Argument<T> type) {
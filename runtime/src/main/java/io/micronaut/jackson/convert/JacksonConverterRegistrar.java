@@ -25,6 +25,7 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ContainerNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import io.micronaut.core.bind.ArgumentBinder;
 import io.micronaut.core.bind.BeanPropertyBinder;
 import io.micronaut.core.convert.*;
@@ -89,6 +90,16 @@ public class JacksonConverterRegistrar implements TypeConverterRegistrar {
                 ConvertibleValues.class,
                 objectNodeToConvertibleValuesConverter()
         );
+        conversionService.addConverter(
+                TokenBuffer.class,
+                Object.class,
+                tokenBufferToObjectConverter()
+        );
+        conversionService.addConverter(
+                TokenBuffer.class,
+                ConvertibleValues.class,
+                tokenBufferToConvertibleValuesConverter()
+        );
         conversionService.addConverter(
                 Object.class,
                 JsonNode.class,
@@ -216,6 +227,54 @@ public class JacksonConverterRegistrar implements TypeConverterRegistrar {
         };
     }
 
+    /**
+     * @return The token buffer to object converter
+     * @since 2.0
+     */
+    protected TypeConverter<TokenBuffer, Object> tokenBufferToObjectConverter() {
+        return (buffer, targetType, context) -> {
+            try {
+                ObjectMapper om = this.objectMapper.get();
+                JsonParser jsonParser = buffer.asParser(om);
+                if (CharSequence.class.isAssignableFrom(targetType)) {
+                    return Optional.of(om.readTree(jsonParser).toString());
+                }
+                TypeFactory typeFactory = om.getTypeFactory();
+                JavaType javaType;
+                if (context instanceof ArgumentConversionContext && targetType.getTypeParameters().length != 0) {
+                    Argument<Object> argument = ((ArgumentConversionContext<Object>) context).getArgument();
+                    javaType = JacksonConfiguration.constructType(argument, typeFactory);
+                } else {
+                    javaType = typeFactory.constructType(targetType);
+                }
+                return Optional.ofNullable(om.readValue(jsonParser, javaType));
+            } catch (IOException e) {
+                context.reject(e);
+                return Optional.empty();
+            }
+        };
+    }
+
+    /**
+     * @return A converter that converts token buffers holding an object to convertible values
+     * @since 2.0
+     */
+    protected TypeConverter<TokenBuffer, ConvertibleValues> tokenBufferToConvertibleValuesConverter() {
+        return (buffer, targetType, context) -> {
+            try {
+                ObjectMapper om = this.objectMapper.get();
+                JsonNode node = om.readTree(buffer.asParser(om));
+                if (node instanceof ObjectNode) {
+                    return Optional.of(new ObjectNodeConvertibleValues<>((ObjectNode) node, conversionService));
+                }
+                return Optional.empty();
+            } catch (IOException e) {
+                context.reject(e);
+                return Optional.empty();
+            }
+        };
+    }
+
     /**
      * @return Converts array nodes to iterables.
      */
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.jackson.parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.core.json.async.NonBlockingJsonParser;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.micronaut.core.async.processor.SingleThreadedBufferingProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.IOException;
+
+/**
+ * A Reactive streams publisher that publishes a {@link TokenBuffer} for each JSON value once it has been fully consumed.
+ * Unlike {@link JacksonProcessor} no {@link com.fasterxml.jackson.databind.JsonNode} tree is built: the tokens read by
+ * the {@link NonBlockingJsonParser} are copied into a compact {@link TokenBuffer} that can then be bound to the target
+ * type with {@link com.fasterxml.jackson.databind.ObjectMapper#readValue(com.fasterxml.jackson.core.JsonParser, Class)}.
+ *
+ * <p>When arrays are streamed a separate {@link TokenBuffer} is published for each element of the root array.</p>
+ *
+ * @since 2.0
+ */
+public class JacksonTokenBufferProcessor extends SingleThreadedBufferingProcessor<byte[], TokenBuffer> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JacksonTokenBufferProcessor.class);
+
+    private final JsonFactory jsonFactory;
+    private final boolean streamArray;
+    private final boolean forceBigDecimal;
+    private NonBlockingJsonParser currentNonBlockingJsonParser;
+    private TokenBuffer currentBuffer;
+    private int depth;
+    private boolean rootIsArray;
+    private boolean jsonStream = true;
+
+    /**
+     * Creates a new JacksonTokenBufferProcessor.
+     *
+     * @param jsonFactory           The JSON factory
+     * @param streamArray           Whether the elements of a root array should be published individually
+     * @param deserializationConfig The jackson deserialization configuration
+     */
+    public JacksonTokenBufferProcessor(JsonFactory jsonFactory, boolean streamArray, @Nullable DeserializationConfig deserializationConfig) {
+        try {
+            this.jsonFactory = jsonFactory;
+            this.streamArray = streamArray;
+            this.forceBigDecimal = deserializationConfig != null && deserializationConfig.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+            this.currentNonBlockingJsonParser = (NonBlockingJsonParser) jsonFactory.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create non-blocking JSON parser: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return Whether more input is needed
+     */
+    public boolean needMoreInput() {
+        return currentNonBlockingJsonParser.getNonBlockingInputFeeder().needMoreInput();
+    }
+
+    @Override
+    protected void doOnComplete() {
+        if (needMoreInput()) {
+            doOnError(new JsonEOFException(currentNonBlockingJsonParser, JsonToken.NOT_AVAILABLE, "Unexpected end-of-input"));
+        } else {
+            super.doOnComplete();
+        }
+    }
+
+    @Override
+    protected void onUpstreamMessage(byte[] message) {
+        try {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Received upstream bytes of length: " + message.length);
+            }
+
+            if (message.length == 0) {
+                if (needMoreInput()) {
+                    if (LOG.isTraceEnabled()) {
+                        LOG.trace("More input required to parse JSON. Demanding more.");
+                    }
+                    upstreamSubscription.request(1);
+                    upstreamDemand++;
+                }
+                return;
+            }
+
+            ByteArrayFeeder byteFeeder = currentNonBlockingJsonParser.getNonBlockingInputFeeder();
+            if (!byteFeeder.needMoreInput()) {
+                currentNonBlockingJsonParser = (NonBlockingJsonParser) jsonFactory.createNonBlockingByteArrayParser();
+                byteFeeder = currentNonBlockingJsonParser.getNonBlockingInputFeeder();
+            }
+
+            byteFeeder.feedInput(message, 0, message.length);
+
+            JsonToken event = currentNonBlockingJsonParser.nextToken();
+            while (event != JsonToken.NOT_AVAILABLE) {
+                TokenBuffer completed = nextToken(event);
+                if (completed != null) {
+                    boolean isLast = depth == 0 && !jsonStream;
+                    if (isLast) {
+                        byteFeeder.endOfInput();
+                    }
+                    if (LOG.isTraceEnabled()) {
+                        LOG.trace("Buffered new JSON value call onNext...");
+                    }
+                    currentDownstreamSubscriber().ifPresent(subscriber -> subscriber.onNext(completed));
+                    if (isLast) {
+                        break;
+                    }
+                } else if (depth == 0 && rootIsArray && streamArray) {
+                    // the end of the streamed root array
+                    byteFeeder.endOfInput();
+                    break;
+                }
+                event = currentNonBlockingJsonParser.nextToken();
+            }
+            if (jsonStream && depth == 0) {
+                byteFeeder.endOfInput();
+            }
+            if (jsonStream || needMoreInput()) {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("More input required to parse JSON. Demanding more.");
+                }
+                upstreamSubscription.request(1);
+                upstreamDemand++;
+            }
+        } catch (IOException e) {
+            onError(e);
+        }
+    }
+
+    /**
+     * Copies the current event into the buffer of the value being read.
+     *
+     * @param event The current event
+     * @return The buffer once a complete value has been read
+     */
+    private TokenBuffer nextToken(JsonToken event) throws IOException {
+        if (depth == 0) {
+            if (event == JsonToken.START_ARRAY) {
+                rootIsArray = true;
+                jsonStream = false;
+                if (streamArray) {
+                    // the root array itself is not buffered, only its elements
+                    depth++;
+                    return null;
+                }
+            } else if (event != JsonToken.START_OBJECT) {
+                throw new JsonParseException(currentNonBlockingJsonParser, "Unexpected " + event + " at the root of the JSON document");
+            }
+        }
+
+        int valueDepth = rootIsArray && streamArray ? 1 : 0;
+        if (depth == valueDepth && event.isStructEnd()) {
+            // only reachable for the end of a streamed root array
+            depth--;
+            return null;
+        }
+        if (currentBuffer == null) {
+            currentBuffer = new TokenBuffer(currentNonBlockingJsonParser);
+            currentBuffer.forceUseOfBigDecimal(forceBigDecimal);
+        }
+        currentBuffer.copyCurrentEvent(currentNonBlockingJsonParser);
+        if (event.isStructStart()) {
+            depth++;
+        } else if (event.isStructEnd()) {
+            depth--;
+        }
+        if (depth == valueDepth) {
+            TokenBuffer completed = currentBuffer;
+            currentBuffer = null;
+            return completed;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.annotation;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import io.micronaut.aop.Around;
+import io.micronaut.context.annotation.Type;
+import io.micronaut.retry.intercept.BulkheadInterceptor;
+
+import javax.validation.constraints.Digits;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * AOP Advice that limits the number of concurrent invocations of a method, so that a slow dependency cannot use up
+ * the threads of the caller. Invocations that exceed the limit fail with a
+ * {@link io.micronaut.retry.exception.BulkheadFullException}, which can be handled by a {@link Fallback} when the
+ * type is also annotated with {@link Recoverable}.
+ *
+ * <p>Methods may return a blocking result, a {@link java.util.concurrent.CompletionStage} or a reactive type.</p>
+ *
+ * @since 2.0
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+@Around
+@Type(BulkheadInterceptor.class)
+public @interface Bulkhead {
+
+    /**
+     * @return The maximum number of concurrent invocations
+     */
+    @Digits(integer = Retryable.MAX_INTEGRAL_DIGITS, fraction = 0)
+    String value() default "25";
+
+    /**
+     * @return The name of the bulkhead. Methods with the same name share their limit, otherwise each method has its own
+     */
+    String name() default "";
+
+    /**
+     * @return The way the concurrent invocations are limited
+     */
+    BulkheadType type() default BulkheadType.SEMAPHORE;
+
+    /**
+     * @return The maximum duration a blocking invocation waits for a permit of a {@link BulkheadType#SEMAPHORE}
+     * bulkhead. Invocations returning a {@link java.util.concurrent.CompletionStage} or a reactive type never wait
+     */
+    String maxWait() default "0s";
+
+    /**
+     * @return The number of invocations a {@link BulkheadType#THREAD_POOL} bulkhead queues once all of its threads
+     * are busy
+     */
+    @Digits(integer = Retryable.MAX_INTEGRAL_DIGITS, fraction = 0)
+    String queueCapacity() default "0";
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.annotation;
+
+/**
+ * The ways a {@link Bulkhead} can limit the concurrent invocations of a method.
+ *
+ * @since 2.0
+ */
+public enum BulkheadType {
+
+    /**
+     * Invocations run on the calling thread once they acquire a permit of a semaphore.
+     */
+    SEMAPHORE,
+
+    /**
+     * Invocations run on a thread pool dedicated to the bulkhead, which isolates the calling threads from a slow
+     * dependency.
+     */
+    THREAD_POOL
+}
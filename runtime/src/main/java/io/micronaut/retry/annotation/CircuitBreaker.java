@@ -93,6 +93,48 @@ public @interface CircuitBreaker {
      */
     String reset() default "20s";
 
+    /**
+     * The sliding window that records the outcome of the invocations of the method to compute its failure rate and
+     * slow call rate. With {@link SlidingWindowType#NONE} the circuit opens as soon as an invocation fails after its
+     * retries. Otherwise it opens once the {@link #failureRateThreshold()} or the {@link #slowCallRateThreshold()}
+     * is reached and lets {@link #halfOpenCalls()} invocations through after the {@link #reset()} duration.
+     *
+     * @return The type of sliding window
+     */
+    SlidingWindowType slidingWindow() default SlidingWindowType.NONE;
+
+    /**
+     * @return The number of invocations recorded by a count based window, or the number of seconds recorded by a time
+     * based window
+     */
+    String slidingWindowSize() default "100";
+
+    /**
+     * @return The minimum number of invocations in the sliding window before the rates are evaluated
+     */
+    String minimumCalls() default "10";
+
+    /**
+     * @return The percentage of failed invocations at or above which the circuit opens
+     */
+    String failureRateThreshold() default "50";
+
+    /**
+     * @return The duration above which an invocation is considered slow
+     */
+    String slowCallDuration() default "60s";
+
+    /**
+     * @return The percentage of slow invocations at or above which the circuit opens
+     */
+    String slowCallRateThreshold() default "100";
+
+    /**
+     * @return The number of invocations permitted while the circuit is half open. The circuit closes if their rates
+     * are below the thresholds and opens again otherwise
+     */
+    String halfOpenCalls() default "1";
+
     /**
      * @return The retry predicate class to use instead of {@link Retryable#includes} and {@link Retryable#excludes}
      * (defaults to none)
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.annotation;
+
+/**
+ * The sliding windows a {@link CircuitBreaker} can use to record the outcome of the invocations.
+ *
+ * @since 2.0
+ */
+public enum SlidingWindowType {
+
+    /**
+     * No sliding window. The circuit opens as soon as an invocation fails after its retries.
+     */
+    NONE,
+
+    /**
+     * Records the outcome of the last invocations.
+     */
+    COUNT_BASED,
+
+    /**
+     * Records the outcome of the invocations of the last seconds.
+     */
+    TIME_BASED
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.reflect.exception.InvocationException;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.retry.annotation.Bulkhead;
+import io.micronaut.retry.annotation.BulkheadType;
+import io.micronaut.retry.exception.BulkheadFullException;
+import io.micronaut.scheduling.instrument.InvocationInstrumenterFactory;
+import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link MethodInterceptor} that limits the concurrent invocations of a method according to the specified
+ * {@link Bulkhead} annotation.
+ *
+ * @since 2.0
+ */
+@Singleton
+public final class BulkheadInterceptor implements MethodInterceptor<Object, Object> {
+
+    /**
+     * Positioned after the {@link RecoveryInterceptor}, so that rejected invocations can fall back, and before the
+     * {@link io.micronaut.retry.annotation.Retryable} interceptor, so that the retries of an invocation count once.
+     */
+    public static final int POSITION = InterceptPhase.RETRY.getPosition() - 5;
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkheadInterceptor.class);
+    private static final int DEFAULT_MAX_CONCURRENT_CALLS = 25;
+
+    private final Map<Object, Semaphore> semaphores = new ConcurrentHashMap<>();
+    private final Map<Object, ThreadPoolBulkhead> threadPools = new ConcurrentHashMap<>();
+    private final Collection<InvocationInstrumenterFactory> instrumenterFactories;
+
+    /**
+     * @param instrumenterFactories The factories that carry the context of the caller, such as the current request,
+     *                              to the threads of {@link BulkheadType#THREAD_POOL} bulkheads
+     */
+    public BulkheadInterceptor(List<InvocationInstrumenterFactory> instrumenterFactories) {
+        this.instrumenterFactories = instrumenterFactories;
+    }
+
+    @Override
+    public int getOrder() {
+        return POSITION;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        if (!context.hasStereotype(Bulkhead.class)) {
+            return context.proceed();
+        }
+        // methods that share a name share their limit
+        Object key = context.stringValue(Bulkhead.class, "name")
+            .filter(StringUtils::isNotEmpty)
+            .map(Object.class::cast)
+            .orElse(context.getExecutableMethod());
+        BulkheadType type = context.enumValue(Bulkhead.class, "type", BulkheadType.class).orElse(BulkheadType.SEMAPHORE);
+        if (type == BulkheadType.THREAD_POOL) {
+            ThreadPoolBulkhead bulkhead = threadPools.computeIfAbsent(key, k -> createThreadPool(k, context));
+            return interceptOnThreadPool(context, key, bulkhead);
+        }
+        Semaphore semaphore = semaphores.computeIfAbsent(key, k -> new Semaphore(maxConcurrentCalls(context)));
+        return interceptWithSemaphore(context, key, semaphore);
+    }
+
+    /**
+     * Shuts down the thread pools of the bulkheads.
+     */
+    @PreDestroy
+    public void close() {
+        for (ThreadPoolBulkhead bulkhead : threadPools.values()) {
+            bulkhead.shutdown();
+        }
+        threadPools.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object interceptWithSemaphore(MethodInvocationContext<Object, Object> context, Object key, Semaphore semaphore) {
+        Class<?> returnType = context.getReturnType().getType();
+        if (CompletionStage.class.isAssignableFrom(returnType)) {
+            CompletableFuture<Object> newFuture = new CompletableFuture<>();
+            if (!semaphore.tryAcquire()) {
+                newFuture.completeExceptionally(rejected(context, key, null));
+                return newFuture;
+            }
+            CompletionStage<?> completionStage = null;
+            try {
+                completionStage = (CompletionStage<?>) context.proceed();
+            } finally {
+                if (completionStage == null) {
+                    semaphore.release();
+                }
+            }
+            completionStage.whenComplete((value, throwable) -> {
+                semaphore.release();
+                complete(newFuture, value, throwable);
+            });
+            return newFuture;
+        } else if (Publishers.isConvertibleToPublisher(returnType)) {
+            Object result = context.proceed();
+            if (result == null) {
+                return null;
+            }
+            Flowable<Object> flowable = Publishers.convertPublisher(result, Flowable.class);
+            // the work of a publisher happens on subscription, so that is when the permit is held
+            Flowable<Object> limited = Flowable.defer(() -> {
+                if (!semaphore.tryAcquire()) {
+                    return Flowable.<Object>error(rejected(context, key, null));
+                }
+                return flowable.doFinally(semaphore::release);
+            });
+            return Publishers.convertPublisher(limited, returnType);
+        } else {
+            Duration maxWait = context.getValue(Bulkhead.class, "maxWait", Duration.class).orElse(Duration.ZERO);
+            try {
+                if (!semaphore.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                    throw rejected(context, key, null);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw rejected(context, key, e);
+            }
+            try {
+                return context.proceed();
+            } finally {
+                semaphore.release();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object interceptOnThreadPool(MethodInvocationContext<Object, Object> context, Object key, ThreadPoolBulkhead bulkhead) {
+        Class<?> returnType = context.getReturnType().getType();
+        if (CompletionStage.class.isAssignableFrom(returnType)) {
+            CompletableFuture<Object> newFuture = new CompletableFuture<>();
+            // the slot is held until the stage completes, not only while the pool thread calls the method
+            bulkhead.submit(release -> {
+                CompletionStage<?> completionStage;
+                try {
+                    completionStage = (CompletionStage<?>) context.proceed();
+                } catch (Throwable e) {
+                    release.run();
+                    newFuture.completeExceptionally(e);
+                    return;
+                }
+                if (completionStage == null) {
+                    release.run();
+                    newFuture.complete(null);
+                } else {
+                    completionStage.whenComplete((value, throwable) -> {
+                        release.run();
+                        complete(newFuture, value, throwable);
+                    });
+                }
+            }, e -> newFuture.completeExceptionally(rejected(context, key, e)));
+            return newFuture;
+        } else if (Publishers.isConvertibleToPublisher(returnType)) {
+            Object result = context.proceed();
+            if (result == null) {
+                return null;
+            }
+            Flowable<Object> flowable = Publishers.convertPublisher(result, Flowable.class);
+            // subscribes on the thread pool and holds the slot until the publisher terminates or is cancelled
+            Flowable<Object> isolated = Flowable.fromPublisher(subscriber -> bulkhead.submit(
+                release -> flowable.doFinally(release::run).subscribe(subscriber),
+                e -> Flowable.<Object>error(rejected(context, key, e)).subscribe(subscriber)
+            ));
+            return Publishers.convertPublisher(isolated, returnType);
+        } else {
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            bulkhead.submit(release -> {
+                try {
+                    future.complete(context.proceed());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    release.run();
+                }
+            }, e -> future.completeExceptionally(rejected(context, key, e)));
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InvocationException("Interrupted waiting for method [" + context.getExecutableMethod() + "]", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new InvocationException("Error invoking method [" + context.getExecutableMethod() + "]: " + cause.getMessage(), cause);
+            }
+        }
+    }
+
+    private ThreadPoolBulkhead createThreadPool(Object key, MethodInvocationContext<Object, Object> context) {
+        int queueCapacity = context.getValue(Bulkhead.class, "queueCapacity", Integer.class).orElse(0);
+        String name = key instanceof String ? (String) key : context.getMethodName();
+        return new ThreadPoolBulkhead(name, maxConcurrentCalls(context), queueCapacity, instrumenterFactories);
+    }
+
+    private static int maxConcurrentCalls(MethodInvocationContext<Object, Object> context) {
+        return context.getValue(Bulkhead.class, Integer.class).orElse(DEFAULT_MAX_CONCURRENT_CALLS);
+    }
+
+    private static void complete(CompletableFuture<Object> future, Object value, @Nullable Throwable throwable) {
+        if (throwable != null) {
+            future.completeExceptionally(throwable);
+        } else {
+            future.complete(value);
+        }
+    }
+
+    private static BulkheadFullException rejected(MethodInvocationContext<Object, Object> context, Object key, @Nullable Throwable cause) {
+        String name = key instanceof String ? (String) key : context.getExecutableMethod().toString();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Bulkhead [{}] rejected an invocation of method [{}]", name, context.getExecutableMethod());
+        }
+        String message = "Bulkhead [" + name + "] is full";
+        return cause != null ? new BulkheadFullException(message, cause) : new BulkheadFullException(message);
+    }
+}
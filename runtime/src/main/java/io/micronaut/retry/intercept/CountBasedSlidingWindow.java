@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@link SlidingWindow} over the last invocations, backed by a ring buffer. Each invocation claims the next slot of
+ * the ring and replaces the outcome stored there, adjusting the totals by the difference.
+ *
+ * @since 2.0
+ */
+final class CountBasedSlidingWindow extends SlidingWindow {
+
+    private final int size;
+    private final AtomicLongArray outcomes;
+    private final AtomicLong index = new AtomicLong();
+    private final AtomicLong totals = new AtomicLong();
+
+    /**
+     * @param size The number of invocations recorded
+     */
+    CountBasedSlidingWindow(int size) {
+        if (size < 1 || size > MAX_CALLS) {
+            throw new IllegalArgumentException("Sliding window size must be between 1 and " + MAX_CALLS + ": " + size);
+        }
+        this.size = size;
+        this.outcomes = new AtomicLongArray(size);
+    }
+
+    @Override
+    void record(long outcome) {
+        int slot = (int) (index.getAndIncrement() % size);
+        long previous = outcomes.getAndSet(slot, outcome);
+        totals.addAndGet(outcome - previous);
+    }
+
+    @Override
+    long totals() {
+        return totals.get();
+    }
+
+    @Override
+    void reset() {
+        for (int i = 0; i < size; i++) {
+            long previous = outcomes.getAndSet(i, 0);
+            if (previous != 0) {
+                totals.addAndGet(-previous);
+            }
+        }
+    }
+}
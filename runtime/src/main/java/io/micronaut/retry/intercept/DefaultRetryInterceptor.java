@@ -28,6 +28,7 @@ import io.micronaut.inject.ExecutableMethod;
 import io.micronaut.retry.RetryState;
 import io.micronaut.retry.annotation.CircuitBreaker;
 import io.micronaut.retry.annotation.Retryable;
+import io.micronaut.retry.annotation.SlidingWindowType;
 import io.micronaut.retry.event.RetryEvent;
 import io.micronaut.scheduling.TaskExecutors;
 import io.reactivex.Flowable;
@@ -40,6 +41,8 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.*;
@@ -57,10 +60,16 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultRetryInterceptor.class);
     private static final int DEFAULT_CIRCUIT_BREAKER_TIMEOUT_IN_MILLIS = 20;
+    private static final int DEFAULT_SLIDING_WINDOW_SIZE = 100;
+    private static final int DEFAULT_MINIMUM_CALLS = 10;
+    private static final float DEFAULT_FAILURE_RATE_THRESHOLD = 50;
+    private static final float DEFAULT_SLOW_CALL_RATE_THRESHOLD = 100;
+    private static final long DEFAULT_SLOW_CALL_DURATION_SECONDS = 60;
 
     private final ApplicationEventPublisher eventPublisher;
     private final ScheduledExecutorService executorService;
     private final Map<ExecutableMethod, CircuitBreakerRetry> circuitContexts = new ConcurrentHashMap<>();
+    private final Map<ExecutableMethod, SlidingWindowCircuitBreaker> slidingWindowCircuits = new ConcurrentHashMap<>();
 
     /**
      * Construct a default retry method interceptor with the event publisher.
@@ -74,6 +83,16 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
         this.executorService = (ScheduledExecutorService) executorService;
     }
 
+    /**
+     * The circuits of the methods annotated with {@link CircuitBreaker} that use a sliding window, which expose the
+     * state and the rates of each circuit for monitoring.
+     *
+     * @return The circuits created so far
+     */
+    public Collection<SlidingWindowCircuitBreaker> getSlidingWindowCircuitBreakers() {
+        return Collections.unmodifiableCollection(slidingWindowCircuits.values());
+    }
+
     @Override
     public int getOrder() {
         return InterceptPhase.RETRY.getPosition();
@@ -97,10 +116,21 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
             long timeout = context
                 .getValue(CircuitBreaker.class, "reset", Duration.class)
                 .map(Duration::toMillis).orElse(Duration.ofSeconds(DEFAULT_CIRCUIT_BREAKER_TIMEOUT_IN_MILLIS).toMillis());
-            retryState = circuitContexts.computeIfAbsent(
-                context.getExecutableMethod(),
-                method -> new CircuitBreakerRetry(timeout, retryStateBuilder, context, eventPublisher)
-            );
+            SlidingWindowType slidingWindow = context
+                .enumValue(CircuitBreaker.class, "slidingWindow", SlidingWindowType.class)
+                .orElse(SlidingWindowType.NONE);
+            if (slidingWindow != SlidingWindowType.NONE) {
+                SlidingWindowCircuitBreaker circuitBreaker = slidingWindowCircuits.computeIfAbsent(
+                    context.getExecutableMethod(),
+                    method -> createSlidingWindowCircuitBreaker(context, slidingWindow, Duration.ofMillis(timeout))
+                );
+                retryState = new SlidingWindowCircuitBreakerRetry(circuitBreaker, (MutableRetryState) retryStateBuilder.build());
+            } else {
+                retryState = circuitContexts.computeIfAbsent(
+                    context.getExecutableMethod(),
+                    method -> new CircuitBreakerRetry(timeout, retryStateBuilder, context, eventPublisher)
+                );
+            }
         } else {
             retryState = (MutableRetryState) retryStateBuilder.build();
         }
@@ -146,6 +176,11 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
                     .doOnNext(o -> {
                         retryState.close(null);
                     });
+                if (retryState instanceof SlidingWindowCircuitBreakerRetry) {
+                    // an empty publisher, such as a Completable, is a successful call of the sliding window circuit,
+                    // which records each call once. The legacy circuit keeps only closing on an emitted item
+                    retryObservable = retryObservable.doOnComplete(() -> retryState.close(null));
+                }
 
                 return conversionService
                     .convert(retryObservable, returnType.asArgument())
@@ -189,6 +224,22 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
         }
     }
 
+    private SlidingWindowCircuitBreaker createSlidingWindowCircuitBreaker(MethodInvocationContext<Object, Object> context, SlidingWindowType type, Duration reset) {
+        int size = context.getValue(CircuitBreaker.class, "slidingWindowSize", Integer.class).orElse(DEFAULT_SLIDING_WINDOW_SIZE);
+        SlidingWindow window = type == SlidingWindowType.TIME_BASED ? new TimeBasedSlidingWindow(size) : new CountBasedSlidingWindow(size);
+        return new SlidingWindowCircuitBreaker(
+            context.getExecutableMethod(),
+            window,
+            context.getValue(CircuitBreaker.class, "minimumCalls", Integer.class).orElse(DEFAULT_MINIMUM_CALLS),
+            context.getValue(CircuitBreaker.class, "failureRateThreshold", Float.class).orElse(DEFAULT_FAILURE_RATE_THRESHOLD),
+            context.getValue(CircuitBreaker.class, "slowCallRateThreshold", Float.class).orElse(DEFAULT_SLOW_CALL_RATE_THRESHOLD),
+            context.getValue(CircuitBreaker.class, "slowCallDuration", Duration.class).orElse(Duration.ofSeconds(DEFAULT_SLOW_CALL_DURATION_SECONDS)),
+            reset,
+            context.getValue(CircuitBreaker.class, "halfOpenCalls", Integer.class).orElse(1),
+            eventPublisher
+        );
+    }
+
     @SuppressWarnings("unchecked")
     private Function retryFlowable(MethodInvocationContext<Object, Object> context, MutableRetryState retryState, Flowable observable) {
         return throwable -> {
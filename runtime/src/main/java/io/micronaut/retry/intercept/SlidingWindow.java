@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept;
+
+/**
+ * A lock-free window over the outcome of the recent invocations of a method. Outcomes and totals are packed into a
+ * single long, with the number of calls, failed calls and slow calls in fields of {@value #FIELD_BITS} bits, so that
+ * the totals are updated and read with a single atomic operation.
+ *
+ * @since 2.0
+ */
+abstract class SlidingWindow {
+
+    static final int FIELD_BITS = 21;
+    static final long CALL = 1L;
+    static final long FAILURE = 1L << FIELD_BITS;
+    static final long SLOW = 1L << (2 * FIELD_BITS);
+    static final int MAX_CALLS = (1 << FIELD_BITS) - 1;
+
+    /**
+     * Records the outcome of an invocation.
+     *
+     * @param outcome The outcome, a combination of {@link #CALL}, {@link #FAILURE} and {@link #SLOW}
+     */
+    abstract void record(long outcome);
+
+    /**
+     * @return The packed totals of the window
+     */
+    abstract long totals();
+
+    /**
+     * Discards the recorded outcomes.
+     */
+    abstract void reset();
+
+    /**
+     * @param totals The packed totals
+     * @return The number of calls
+     */
+    static int calls(long totals) {
+        return (int) (totals & MAX_CALLS);
+    }
+
+    /**
+     * @param totals The packed totals
+     * @return The number of failed calls
+     */
+    static int failures(long totals) {
+        return (int) ((totals >>> FIELD_BITS) & MAX_CALLS);
+    }
+
+    /**
+     * @param totals The packed totals
+     * @return The number of slow calls
+     */
+    static int slowCalls(long totals) {
+        return (int) ((totals >>> (2 * FIELD_BITS)) & MAX_CALLS);
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.retry.CircuitState;
+import io.micronaut.retry.RetryState;
+import io.micronaut.retry.event.CircuitClosedEvent;
+import io.micronaut.retry.event.CircuitOpenEvent;
+import io.micronaut.retry.exception.CircuitOpenException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The circuit of a method annotated with {@link io.micronaut.retry.annotation.CircuitBreaker} that uses a
+ * {@link io.micronaut.retry.annotation.SlidingWindowType sliding window}. The circuit opens when the failure rate or
+ * the slow call rate of the invocations in the window reaches its threshold. After the reset duration a limited
+ * number of invocations is let through to decide whether the circuit closes or opens again.
+ *
+ * <p>The state is an immutable object swapped with compare-and-set, and the window is lock-free, so recording an
+ * outcome does not block concurrent invocations.</p>
+ *
+ * @since 2.0
+ */
+public final class SlidingWindowCircuitBreaker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultRetryInterceptor.class);
+
+    private final ExecutableMethod<?, ?> method;
+    private final SlidingWindow window;
+    private final int minimumCalls;
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicReference<State> state = new AtomicReference<>(new State(CircuitState.CLOSED));
+    private final LongAdder notPermittedCalls = new LongAdder();
+    private volatile Throwable lastError;
+
+    /**
+     * @param method                The method
+     * @param window                The sliding window
+     * @param minimumCalls          The minimum number of calls before the rates are evaluated
+     * @param failureRateThreshold  The failure rate threshold in percent
+     * @param slowCallRateThreshold The slow call rate threshold in percent
+     * @param slowCallDuration      The duration above which a call is slow
+     * @param reset                 The duration the circuit stays open
+     * @param halfOpenCalls         The number of calls permitted while the circuit is half open
+     * @param eventPublisher        To publish circuit events
+     */
+    SlidingWindowCircuitBreaker(
+            ExecutableMethod<?, ?> method,
+            SlidingWindow window,
+            int minimumCalls,
+            float failureRateThreshold,
+            float slowCallRateThreshold,
+            Duration slowCallDuration,
+            Duration reset,
+            int halfOpenCalls,
+            @Nullable ApplicationEventPublisher eventPublisher) {
+        if (failureRateThreshold <= 0 || failureRateThreshold > 100 || slowCallRateThreshold <= 0 || slowCallRateThreshold > 100) {
+            throw new IllegalArgumentException("Rate thresholds must be greater than 0 and at most 100 for method: " + method);
+        }
+        this.method = method;
+        this.window = window;
+        this.minimumCalls = Math.max(1, minimumCalls);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.openNanos = reset.toNanos();
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * @return The method protected by the circuit
+     */
+    public ExecutableMethod<?, ?> getMethod() {
+        return method;
+    }
+
+    /**
+     * @return The current state of the circuit
+     */
+    public CircuitState getState() {
+        return state.get().circuitState;
+    }
+
+    /**
+     * @return The percentage of failed calls in the window, or -1 if there are fewer calls than the minimum
+     */
+    public float getFailureRate() {
+        long totals = window.totals();
+        return rate(SlidingWindow.failures(totals), SlidingWindow.calls(totals));
+    }
+
+    /**
+     * @return The percentage of slow calls in the window, or -1 if there are fewer calls than the minimum
+     */
+    public float getSlowCallRate() {
+        long totals = window.totals();
+        return rate(SlidingWindow.slowCalls(totals), SlidingWindow.calls(totals));
+    }
+
+    /**
+     * @return The number of calls in the window
+     */
+    public int getBufferedCalls() {
+        return SlidingWindow.calls(window.totals());
+    }
+
+    /**
+     * @return The number of failed calls in the window
+     */
+    public int getFailedCalls() {
+        return SlidingWindow.failures(window.totals());
+    }
+
+    /**
+     * @return The number of slow calls in the window
+     */
+    public int getSlowCalls() {
+        return SlidingWindow.slowCalls(window.totals());
+    }
+
+    /**
+     * @return The number of calls rejected because the circuit was open
+     */
+    public long getNotPermittedCalls() {
+        return notPermittedCalls.sum();
+    }
+
+    /**
+     * Acquires the permission to invoke the method.
+     *
+     * @return The state the call was permitted in, to pass to {@link #onResult}, or null if the circuit is open
+     */
+    @Nullable State tryAcquirePermission() {
+        while (true) {
+            State current = state.get();
+            switch (current.circuitState) {
+                case CLOSED:
+                    return current;
+                case HALF_OPEN:
+                    if (current.permits.incrementAndGet() <= halfOpenCalls) {
+                        return current;
+                    }
+                    // probes that never complete must not keep the circuit half open forever
+                    if (System.nanoTime() - current.since < openNanos || !state.compareAndSet(current, new State(CircuitState.HALF_OPEN))) {
+                        notPermittedCalls.increment();
+                        return null;
+                    }
+                    break;
+                default:
+                    if (System.nanoTime() - current.since < openNanos) {
+                        notPermittedCalls.increment();
+                        return null;
+                    }
+                    if (state.compareAndSet(current, new State(CircuitState.HALF_OPEN)) && LOG.isDebugEnabled()) {
+                        LOG.debug("Half Opening Circuit Breaker [{}]", method);
+                    }
+            }
+        }
+    }
+
+    /**
+     * @return The exception thrown when the circuit is open
+     */
+    CircuitOpenException openException() {
+        Throwable cause = lastError;
+        if (cause != null) {
+            return new CircuitOpenException("Circuit Open: " + cause.getMessage(), cause);
+        }
+        return new CircuitOpenException("Circuit Open: the slow call rate of method [" + method + "] reached " + slowCallRateThreshold + "%");
+    }
+
+    /**
+     * Records the outcome of a call.
+     *
+     * @param permittedIn   The state the call was permitted in
+     * @param durationNanos The duration of the call
+     * @param error         The error of the call, if it failed
+     * @param retryState    The retry state of the call
+     */
+    void onResult(State permittedIn, long durationNanos, @Nullable Throwable error, RetryState retryState) {
+        long outcome = SlidingWindow.CALL;
+        if (error != null) {
+            lastError = error;
+            outcome |= SlidingWindow.FAILURE;
+        }
+        if (durationNanos >= slowCallNanos) {
+            outcome |= SlidingWindow.SLOW;
+        }
+        // outcomes of calls that were permitted before the last transition are discarded
+        if (state.get() != permittedIn) {
+            return;
+        }
+        if (permittedIn.circuitState == CircuitState.HALF_OPEN) {
+            long totals = permittedIn.outcomes.addAndGet(outcome);
+            if (SlidingWindow.calls(totals) >= halfOpenCalls) {
+                if (exceedsThresholds(totals, halfOpenCalls)) {
+                    openCircuit(permittedIn, error, retryState);
+                } else {
+                    closeCircuit(permittedIn);
+                }
+            }
+        } else {
+            window.record(outcome);
+            if (exceedsThresholds(window.totals(), minimumCalls)) {
+                openCircuit(permittedIn, error, retryState);
+            }
+        }
+    }
+
+    private boolean exceedsThresholds(long totals, int minimum) {
+        int calls = SlidingWindow.calls(totals);
+        if (calls < minimum) {
+            return false;
+        }
+        return SlidingWindow.failures(totals) * 100f / calls >= failureRateThreshold
+                || SlidingWindow.slowCalls(totals) * 100f / calls >= slowCallRateThreshold;
+    }
+
+    private float rate(int count, int calls) {
+        return calls < minimumCalls ? -1 : count * 100f / calls;
+    }
+
+    private void openCircuit(State from, @Nullable Throwable error, RetryState retryState) {
+        if (!state.compareAndSet(from, new State(CircuitState.OPEN))) {
+            return;
+        }
+        Throwable cause = error != null ? error : openException();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Opening Circuit Breaker [{}] due to error: {}", method, cause.getMessage());
+        }
+        if (eventPublisher != null) {
+            try {
+                eventPublisher.publishEvent(new CircuitOpenEvent(method, retryState, cause));
+            } catch (Exception e) {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error("Error publishing CircuitOpen event: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private void closeCircuit(State from) {
+        // clear the window before closing, no call can record into it while the circuit is half open
+        window.reset();
+        if (!state.compareAndSet(from, new State(CircuitState.CLOSED))) {
+            return;
+        }
+        lastError = null;
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Closing Circuit Breaker [{}]", method);
+        }
+        if (eventPublisher != null) {
+            try {
+                eventPublisher.publishEvent(new CircuitClosedEvent(method));
+            } catch (Exception e) {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error("Error publishing CircuitClosedEvent: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * A state of the circuit. A new instance is created for each transition, so that outcomes can be attributed to
+     * the state their call was permitted in.
+     */
+    static final class State {
+        private final CircuitState circuitState;
+        private final long since = System.nanoTime();
+        private final AtomicInteger permits = new AtomicInteger();
+        private final AtomicLong outcomes = new AtomicLong();
+
+        State(CircuitState circuitState) {
+            this.circuitState = circuitState;
+        }
+    }
+}
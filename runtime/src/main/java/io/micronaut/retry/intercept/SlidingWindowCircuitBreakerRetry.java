@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The retry state of a single invocation of a method protected by a {@link SlidingWindowCircuitBreaker}. The outcome
+ * of the invocation, once its retries are exhausted, is recorded in the shared circuit.
+ *
+ * @since 2.0
+ */
+class SlidingWindowCircuitBreakerRetry implements MutableRetryState {
+
+    private final SlidingWindowCircuitBreaker circuitBreaker;
+    private final MutableRetryState childState;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile SlidingWindowCircuitBreaker.State permittedIn;
+    private volatile long start;
+
+    /**
+     * @param circuitBreaker The circuit of the method
+     * @param childState     The retry state of the invocation
+     */
+    SlidingWindowCircuitBreakerRetry(SlidingWindowCircuitBreaker circuitBreaker, MutableRetryState childState) {
+        this.circuitBreaker = circuitBreaker;
+        this.childState = childState;
+    }
+
+    @Override
+    public void open() {
+        SlidingWindowCircuitBreaker.State state = circuitBreaker.tryAcquirePermission();
+        if (state == null) {
+            throw circuitBreaker.openException();
+        }
+        permittedIn = state;
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void close(@Nullable Throwable exception) {
+        SlidingWindowCircuitBreaker.State state = permittedIn;
+        if (state != null && closed.compareAndSet(false, true)) {
+            circuitBreaker.onResult(state, System.nanoTime() - start, exception, this);
+        }
+    }
+
+    @Override
+    public long nextDelay() {
+        return childState.nextDelay();
+    }
+
+    @Override
+    public boolean canRetry(Throwable exception) {
+        return childState.canRetry(exception);
+    }
+
+    @Override
+    public int getMaxAttempts() {
+        return childState.getMaxAttempts();
+    }
+
+    @Override
+    public int currentAttempt() {
+        return childState.currentAttempt();
+    }
+
+    @Override
+    public OptionalDouble getMultiplier() {
+        return childState.getMultiplier();
+    }
+
+    @Override
+    public Duration getDelay() {
+        return childState.getDelay();
+    }
+
+    @Override
+    public Duration getOverallDelay() {
+        return childState.getOverallDelay();
+    }
+
+    @Override
+    public Optional<Duration> getMaxDelay() {
+        return childState.getMaxDelay();
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept;
+
+import io.micronaut.scheduling.instrument.InvocationInstrumenter;
+import io.micronaut.scheduling.instrument.InvocationInstrumenterFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * The slots and threads of a {@link io.micronaut.retry.annotation.BulkheadType#THREAD_POOL} bulkhead.
+ *
+ * <p>An invocation holds one of the slots from the moment it starts on the pool until it calls the release callback
+ * it is given, which for asynchronous methods is when their result completes rather than when the thread returns.
+ * Invocations that find every slot taken wait in a bounded queue.</p>
+ *
+ * @since 2.0
+ */
+final class ThreadPoolBulkhead {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final Semaphore slots;
+    private final int queueCapacity;
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waitingCount = new AtomicInteger();
+    private final ThreadPoolExecutor executor;
+    private final Collection<InvocationInstrumenterFactory> instrumenterFactories;
+
+    /**
+     * @param name                  The name used for the threads
+     * @param maxConcurrentCalls    The number of invocations that run at the same time
+     * @param queueCapacity         The number of invocations that wait for a slot
+     * @param instrumenterFactories The factories that carry the context of the caller to the pool threads
+     */
+    ThreadPoolBulkhead(String name, int maxConcurrentCalls, int queueCapacity, Collection<InvocationInstrumenterFactory> instrumenterFactories) {
+        this.slots = new Semaphore(maxConcurrentCalls);
+        this.queueCapacity = queueCapacity;
+        this.instrumenterFactories = instrumenterFactories;
+        AtomicInteger threadNumber = new AtomicInteger();
+        // the slots bound the number of submitted tasks, so the queue of the executor never grows beyond them
+        this.executor = new ThreadPoolExecutor(maxConcurrentCalls, maxConcurrentCalls, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "bulkhead-" + name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Runs the given invocation on the pool once a slot is free.
+     *
+     * @param invocation The invocation, which must run the release callback it receives exactly once when it is done
+     * @param onRejected Called instead of the invocation when the bulkhead is full or has been shut down, with the
+     *                   cause of the rejection if there is one
+     */
+    void submit(Consumer<Runnable> invocation, Consumer<RejectedExecutionException> onRejected) {
+        // instrumented on the calling thread, so that the invocation sees the context of its caller
+        Runnable task = InvocationInstrumenter.instrument(() -> {
+            AtomicBoolean released = new AtomicBoolean();
+            invocation.accept(() -> {
+                if (released.compareAndSet(false, true)) {
+                    release();
+                }
+            });
+        }, newInstrumenters());
+        Runnable guarded = () -> dispatch(task, onRejected);
+        if (slots.tryAcquire()) {
+            guarded.run();
+        } else if (waitingCount.incrementAndGet() <= queueCapacity) {
+            waiting.add(guarded);
+            drain();
+        } else {
+            waitingCount.decrementAndGet();
+            onRejected.accept(null);
+        }
+    }
+
+    /**
+     * Shuts down the threads of the bulkhead.
+     */
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void dispatch(Runnable task, Consumer<RejectedExecutionException> onRejected) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            release();
+            onRejected.accept(e);
+        }
+    }
+
+    private void release() {
+        Runnable next = poll();
+        if (next != null) {
+            // hands the slot over to the longest waiting invocation
+            next.run();
+        } else {
+            slots.release();
+            // an invocation may have been queued after the poll, but before the slot was released
+            drain();
+        }
+    }
+
+    private void drain() {
+        while (!waiting.isEmpty() && slots.tryAcquire()) {
+            Runnable next = poll();
+            if (next == null) {
+                slots.release();
+                return;
+            }
+            next.run();
+        }
+    }
+
+    private Runnable poll() {
+        Runnable next = waiting.poll();
+        if (next != null) {
+            waitingCount.decrementAndGet();
+        }
+        return next;
+    }
+
+    private List<InvocationInstrumenter> newInstrumenters() {
+        List<InvocationInstrumenter> instrumenters = new ArrayList<>(instrumenterFactories.size());
+        for (InvocationInstrumenterFactory factory : instrumenterFactories) {
+            InvocationInstrumenter instrumenter = factory.newInvocationInstrumenter();
+            if (instrumenter != null) {
+                instrumenters.add(instrumenter);
+            }
+        }
+        return instrumenters;
+    }
+}
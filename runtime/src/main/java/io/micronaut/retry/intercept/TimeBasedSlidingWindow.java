@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@link SlidingWindow} over the invocations of the last seconds, with one bucket per second. A bucket is reused
+ * once its second has left the window, and the totals are the sum of the buckets that are still in the window. A
+ * bucket holds up to {@value #MAX_CALLS} calls per second.
+ *
+ * @since 2.0
+ */
+final class TimeBasedSlidingWindow extends SlidingWindow {
+
+    private final int size;
+    private final long origin = System.nanoTime();
+    private final AtomicLongArray seconds;
+    private final AtomicLongArray buckets;
+
+    /**
+     * @param size The number of seconds recorded
+     */
+    TimeBasedSlidingWindow(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Sliding window size must be positive: " + size);
+        }
+        this.size = size;
+        this.seconds = new AtomicLongArray(size);
+        this.buckets = new AtomicLongArray(size);
+    }
+
+    @Override
+    void record(long outcome) {
+        long now = currentSecond();
+        int index = (int) (now % size);
+        while (true) {
+            long second = seconds.get(index);
+            if (second >= now) {
+                buckets.addAndGet(index, outcome);
+                return;
+            }
+            long stale = buckets.get(index);
+            if (seconds.compareAndSet(index, second, now)) {
+                // subtract what was read rather than clearing, so that concurrent calls of this second are kept
+                buckets.addAndGet(index, outcome - stale);
+                return;
+            }
+        }
+    }
+
+    @Override
+    long totals() {
+        long now = currentSecond();
+        long calls = 0;
+        long failures = 0;
+        long slowCalls = 0;
+        for (int i = 0; i < size; i++) {
+            if (now - seconds.get(i) < size) {
+                long bucket = buckets.get(i);
+                calls += calls(bucket);
+                failures += failures(bucket);
+                slowCalls += slowCalls(bucket);
+            }
+        }
+        if (calls > MAX_CALLS) {
+            // scale down to fit the packed fields, the rates are preserved
+            double scale = (double) MAX_CALLS / calls;
+            calls = MAX_CALLS;
+            failures = (long) (failures * scale);
+            slowCalls = (long) (slowCalls * scale);
+        }
+        return calls * CALL + failures * FAILURE + slowCalls * SLOW;
+    }
+
+    @Override
+    void reset() {
+        for (int i = 0; i < size; i++) {
+            seconds.set(i, 0);
+            buckets.set(i, 0);
+        }
+    }
+
+    private long currentSecond() {
+        // start at one, a second of zero marks an unused bucket
+        return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - origin) + 1;
+    }
+}
@@ -0,0 +1,385 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling;
+
+import static io.micronaut.core.util.ArgumentUtils.check;
+
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.scheduling.cron.CronExpression;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link TaskScheduler} backed by a hashed wheel timer. Scheduling and cancelling a task take constant time,
+ * which suits a large number of short timeouts better than the delay queue of a
+ * {@link java.util.concurrent.ScheduledExecutorService}.
+ *
+ * <p>A single thread advances the wheel once every tick and hands the tasks that are due to the executor, so a task
+ * runs up to one tick duration later than its delay.</p>
+ *
+ * @since 2.0
+ */
+public class HashedWheelTaskScheduler implements TaskScheduler, Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HashedWheelTaskScheduler.class);
+    private static final int MAX_TICKS_PER_WHEEL = 1 << 30;
+
+    private final Executor executor;
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<WheelTask<?>> pendingTasks = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTask<?>> cancelledTasks = new ConcurrentLinkedQueue<>();
+    private final long startTime;
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick;
+
+    /**
+     * @param executor      The executor that runs the tasks
+     * @param threadFactory The factory of the thread that advances the wheel
+     * @param tickDuration  The duration of a tick, which is the accuracy of the scheduler
+     * @param ticksPerWheel The number of ticks per revolution of the wheel, rounded up to a power of two
+     */
+    public HashedWheelTaskScheduler(Executor executor, ThreadFactory threadFactory, Duration tickDuration, int ticksPerWheel) {
+        check("executor", executor).notNull();
+        check("threadFactory", threadFactory).notNull();
+        check("tickDuration", tickDuration).notNull();
+        if (tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("Tick duration must be positive: " + tickDuration);
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > MAX_TICKS_PER_WHEEL) {
+            throw new IllegalArgumentException("Ticks per wheel must be between 1 and " + MAX_TICKS_PER_WHEEL + ": " + ticksPerWheel);
+        }
+        this.executor = executor;
+        this.tickNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), tickDuration.toNanos());
+        int size = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        this.wheel = new Bucket[Math.max(1, size)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.startTime = System.nanoTime();
+        this.worker = threadFactory.newThread(this::advance);
+        this.worker.start();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(String cron, Runnable command) {
+        if (StringUtils.isEmpty(cron)) {
+            throw new IllegalArgumentException("Blank cron expression not allowed");
+        }
+        check("command", command).notNull();
+
+        NextFireTime delaySupplier = new NextFireTime(CronExpression.create(cron));
+        return new ReschedulingTask<>(() -> {
+            command.run();
+            return null;
+        }, this, delaySupplier);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(String cron, Callable<V> command) {
+        if (StringUtils.isEmpty(cron)) {
+            throw new IllegalArgumentException("Blank cron expression not allowed");
+        }
+        check("command", command).notNull();
+
+        NextFireTime delaySupplier = new NextFireTime(CronExpression.create(cron));
+        return new ReschedulingTask<>(command, this, delaySupplier);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Duration delay, Runnable command) {
+        check("delay", delay).notNull();
+        check("command", command).notNull();
+        return submit(new WheelTask<>(Executors.callable(command), deadline(delay), 0));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Duration delay, Callable<V> callable) {
+        check("delay", delay).notNull();
+        check("callable", callable).notNull();
+        return submit(new WheelTask<>(callable, deadline(delay), 0));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Duration initialDelay, Duration period, Runnable command) {
+        check("period", period).notNull();
+        check("command", command).notNull();
+        checkPositive("period", period);
+        return submit(new WheelTask<>(Executors.callable(command), deadline(initialDelay), period.toNanos()));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Duration initialDelay, Duration delay, Runnable command) {
+        check("delay", delay).notNull();
+        check("command", command).notNull();
+        checkPositive("delay", delay);
+        return submit(new WheelTask<>(Executors.callable(command), deadline(initialDelay), -delay.toNanos()));
+    }
+
+    /**
+     * Stops the scheduler. The tasks that are not yet due are cancelled.
+     */
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    /**
+     * @return The approximate number of tasks that are scheduled and not yet due
+     */
+    public int getPendingTasks() {
+        int pending = pendingTasks.size();
+        for (Bucket bucket : wheel) {
+            pending += bucket.size;
+        }
+        return pending;
+    }
+
+    private static void checkPositive(String name, Duration duration) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Argument [" + name + "] must be positive: " + duration);
+        }
+    }
+
+    private long deadline(Duration delay) {
+        long delayNanos = delay != null ? Math.max(0, delay.toNanos()) : 0;
+        return System.nanoTime() - startTime + delayNanos;
+    }
+
+    private <V> WheelTask<V> submit(WheelTask<V> task) {
+        if (!running) {
+            throw new RejectedExecutionException("Task scheduler has been closed");
+        }
+        pendingTasks.add(task);
+        return task;
+    }
+
+    private void advance() {
+        while (running) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                break;
+            }
+            removeCancelledTasks();
+            transferPendingTasks();
+            wheel[(int) (tick & mask)].expireTasks(deadline);
+            tick++;
+        }
+        for (Bucket bucket : wheel) {
+            bucket.cancelTasks();
+        }
+        WheelTask<?> task;
+        while ((task = pendingTasks.poll()) != null) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * @return The time of the current tick relative to the start time, or -1 if the scheduler has been closed
+     */
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long current = System.nanoTime() - startTime;
+            long sleepMillis = (deadline - current + 999_999) / 1_000_000;
+            if (sleepMillis <= 0) {
+                return current;
+            }
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void removeCancelledTasks() {
+        WheelTask<?> task;
+        while ((task = cancelledTasks.poll()) != null) {
+            if (task.bucket != null) {
+                task.bucket.remove(task);
+            }
+        }
+    }
+
+    private void transferPendingTasks() {
+        WheelTask<?> task;
+        while ((task = pendingTasks.poll()) != null) {
+            if (task.isCancelled()) {
+                continue;
+            }
+            long ticks = task.deadline / tickNanos;
+            task.remainingRounds = (ticks - tick) / wheel.length;
+            // tasks that are already due are expired on the current tick
+            wheel[(int) (Math.max(ticks, tick) & mask)].add(task);
+        }
+    }
+
+    /**
+     * A doubly linked list of the tasks of a slot of the wheel, which is only modified by the worker thread.
+     */
+    private final class Bucket {
+        private WheelTask<?> head;
+        private WheelTask<?> tail;
+        private int size;
+
+        void add(WheelTask<?> task) {
+            task.bucket = this;
+            if (head == null) {
+                head = task;
+                tail = task;
+            } else {
+                tail.next = task;
+                task.prev = tail;
+                tail = task;
+            }
+            size++;
+        }
+
+        void expireTasks(long deadline) {
+            WheelTask<?> task = head;
+            while (task != null) {
+                WheelTask<?> next = task.next;
+                if (task.isCancelled()) {
+                    remove(task);
+                } else if (task.remainingRounds <= 0) {
+                    remove(task);
+                    if (task.deadline <= deadline) {
+                        dispatch(task);
+                    } else {
+                        // not due yet, place it again
+                        pendingTasks.add(task);
+                    }
+                } else {
+                    task.remainingRounds--;
+                }
+                task = next;
+            }
+        }
+
+        void cancelTasks() {
+            WheelTask<?> task;
+            while ((task = head) != null) {
+                remove(task);
+                task.cancel(false);
+            }
+        }
+
+        void remove(WheelTask<?> task) {
+            if (task.bucket != this) {
+                return;
+            }
+            if (task.prev != null) {
+                task.prev.next = task.next;
+            } else {
+                head = task.next;
+            }
+            if (task.next != null) {
+                task.next.prev = task.prev;
+            } else {
+                tail = task.prev;
+            }
+            task.prev = null;
+            task.next = null;
+            task.bucket = null;
+            size--;
+        }
+
+        private void dispatch(WheelTask<?> task) {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error("Scheduled task rejected by the executor: " + e.getMessage(), e);
+                }
+                task.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * A task scheduled on the wheel. Tasks with a positive period run at a fixed rate, tasks with a negative period
+     * run with a fixed delay.
+     *
+     * @param <V> The result type
+     */
+    private final class WheelTask<V> extends FutureTask<V> implements ScheduledFuture<V> {
+        private final long period;
+        private volatile long deadline;
+        private long remainingRounds;
+        private Bucket bucket;
+        private WheelTask<?> prev;
+        private WheelTask<?> next;
+
+        WheelTask(Callable<V> callable, long deadline, long period) {
+            super(callable);
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        @Override
+        public void run() {
+            if (period == 0) {
+                super.run();
+            } else if (runAndReset() && running) {
+                deadline = period > 0 ? deadline + period : System.nanoTime() - startTime - period;
+                pendingTasks.add(this);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                cancelledTasks.add(this);
+            }
+            return cancelled;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - (System.nanoTime() - startTime), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            if (o == this) {
+                return 0;
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), o.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
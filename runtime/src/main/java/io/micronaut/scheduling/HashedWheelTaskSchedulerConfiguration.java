@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+
+import java.time.Duration;
+
+/**
+ * Configures a {@link HashedWheelTaskScheduler} for the named executor. For example
+ * {@code micronaut.schedulers.scheduled.tick-duration=5ms} replaces the {@link TaskScheduler} of the
+ * {@link TaskExecutors#SCHEDULED} executor.
+ *
+ * @since 2.0
+ */
+@EachProperty(value = HashedWheelTaskSchedulerConfiguration.PREFIX, primary = TaskExecutors.SCHEDULED)
+public class HashedWheelTaskSchedulerConfiguration {
+
+    /**
+     * The prefix used for configuration.
+     */
+    public static final String PREFIX = "micronaut.schedulers";
+
+    /**
+     * The default tick duration in milliseconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_TICKDURATION_MILLISECONDS = 10;
+
+    /**
+     * The default number of ticks per wheel.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_TICKSPERWHEEL = 512;
+
+    private final String name;
+    private Duration tickDuration = Duration.ofMillis(DEFAULT_TICKDURATION_MILLISECONDS);
+    private int ticksPerWheel = DEFAULT_TICKSPERWHEEL;
+
+    /**
+     * @param name The name of the executor that runs the tasks
+     */
+    public HashedWheelTaskSchedulerConfiguration(@Parameter String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return The name of the executor that runs the tasks
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The duration of a tick, which is the accuracy of the scheduler
+     */
+    public Duration getTickDuration() {
+        return tickDuration;
+    }
+
+    /**
+     * Sets the duration of a tick, which is the accuracy of the scheduler. Default value ({@value #DEFAULT_TICKDURATION_MILLISECONDS} milliseconds).
+     *
+     * @param tickDuration The tick duration
+     */
+    public void setTickDuration(Duration tickDuration) {
+        if (tickDuration != null) {
+            this.tickDuration = tickDuration;
+        }
+    }
+
+    /**
+     * @return The number of ticks per revolution of the wheel
+     */
+    public int getTicksPerWheel() {
+        return ticksPerWheel;
+    }
+
+    /**
+     * Sets the number of ticks per revolution of the wheel, which is rounded up to a power of two. Tasks whose delay
+     * spans several revolutions are checked once per revolution. Default value ({@value #DEFAULT_TICKSPERWHEEL}).
+     *
+     * @param ticksPerWheel The number of ticks per wheel
+     */
+    public void setTicksPerWheel(int ticksPerWheel) {
+        this.ticksPerWheel = ticksPerWheel;
+    }
+}
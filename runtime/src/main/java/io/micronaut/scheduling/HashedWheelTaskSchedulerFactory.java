@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling;
+
+import io.micronaut.context.BeanLocator;
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.EachBean;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.inject.qualifiers.Qualifiers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates a {@link HashedWheelTaskScheduler} for each {@link HashedWheelTaskSchedulerConfiguration}.
+ *
+ * @since 2.0
+ */
+@Factory
+public class HashedWheelTaskSchedulerFactory {
+
+    private final BeanLocator beanLocator;
+    private final ThreadFactory threadFactory;
+
+    /**
+     * @param beanLocator   The bean locator used to find the named executors
+     * @param threadFactory The factory of the threads that advance the wheels
+     */
+    public HashedWheelTaskSchedulerFactory(BeanLocator beanLocator, ThreadFactory threadFactory) {
+        this.beanLocator = beanLocator;
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * Create the task scheduler with the given configuration. The tasks run on the executor of the same name.
+     *
+     * @param configuration The hashed wheel configuration
+     * @return The task scheduler
+     */
+    @EachBean(HashedWheelTaskSchedulerConfiguration.class)
+    @Bean(preDestroy = "close")
+    public HashedWheelTaskScheduler hashedWheelTaskScheduler(HashedWheelTaskSchedulerConfiguration configuration) {
+        ExecutorService executorService = beanLocator.getBean(ExecutorService.class, Qualifiers.byName(configuration.getName()));
+        return new HashedWheelTaskScheduler(
+            executorService,
+            threadFactory,
+            configuration.getTickDuration(),
+            configuration.getTicksPerWheel()
+        );
+    }
+}
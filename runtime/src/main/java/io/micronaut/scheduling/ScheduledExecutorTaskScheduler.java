@@ -18,6 +18,7 @@ package io.micronaut.scheduling;
 import static io.micronaut.core.util.ArgumentUtils.check;
 
 import io.micronaut.context.annotation.Primary;
+import io.micronaut.context.annotation.Requires;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.scheduling.cron.CronExpression;
 
@@ -37,6 +38,7 @@ import java.util.concurrent.TimeUnit;
  */
 @Named(TaskExecutors.SCHEDULED)
 @Primary
+@Requires(missingProperty = HashedWheelTaskSchedulerConfiguration.PREFIX + "." + TaskExecutors.SCHEDULED)
 public class ScheduledExecutorTaskScheduler implements TaskScheduler {
 
     private final ScheduledExecutorService executorService;
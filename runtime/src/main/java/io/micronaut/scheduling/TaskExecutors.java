@@ -38,5 +38,13 @@ public interface TaskExecutors {
      */
     String MESSAGE_CONSUMER = "consumer";
 
+    /**
+     * The name of the {@link java.util.concurrent.ExecutorService} used to run blocking operations, such as blocking
+     * routes, if the JVM supports virtual threads. Otherwise blocking operations run on the {@link #IO} executor.
+     *
+     * @since 2.0
+     */
+    String BLOCKING = "blocking";
+
 
 }
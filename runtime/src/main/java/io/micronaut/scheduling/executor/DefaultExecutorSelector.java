@@ -49,6 +49,7 @@ public class DefaultExecutorSelector implements ExecutorSelector {
     private static final String EXECUTE_ON = ExecuteOn.class.getName();
     private final BeanLocator beanLocator;
     private final Supplier<ExecutorService> ioExecutor;
+    private final Supplier<ExecutorService> blockingExecutor;
 
     /**
      * Default constructor.
@@ -58,6 +59,11 @@ public class DefaultExecutorSelector implements ExecutorSelector {
     protected DefaultExecutorSelector(BeanLocator beanLocator, @javax.inject.Named(TaskExecutors.IO) Provider<ExecutorService> ioExecutor) {
         this.beanLocator = beanLocator;
         this.ioExecutor = SupplierUtil.memoized(ioExecutor::get);
+        // blocking operations run on virtual threads if available
+        this.blockingExecutor = SupplierUtil.memoized(() ->
+                beanLocator.findBean(ExecutorService.class, Qualifiers.byName(TaskExecutors.BLOCKING))
+                        .orElseGet(this.ioExecutor)
+        );
     }
 
     @Override
@@ -78,7 +84,7 @@ public class DefaultExecutorSelector implements ExecutorSelector {
             if (method.hasStereotype(NonBlocking.class)) {
                 return Optional.empty();
             } else if (method.hasStereotype(Blocking.class)) {
-                return Optional.of(ioExecutor.get());
+                return Optional.of(blockingExecutor.get());
             } else {
                 ReturnType returnType = method.getReturnType();
                 Class argumentType = returnType.getType();
@@ -91,11 +97,11 @@ public class DefaultExecutorSelector implements ExecutorSelector {
                 if (isNonBlocking(argumentType)) {
                     return Optional.empty();
                 } else {
-                    return Optional.of(ioExecutor.get());
+                    return Optional.of(blockingExecutor.get());
                 }
             }
         } else if (threadSelection == ThreadSelection.IO) {
-            return Optional.of(ioExecutor.get());
+            return Optional.of(blockingExecutor.get());
         }
         return Optional.empty();
     }
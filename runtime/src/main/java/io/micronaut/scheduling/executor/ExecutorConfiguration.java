@@ -45,6 +45,11 @@ public interface ExecutorConfiguration {
      */
     String PREFIX_CONSUMER = PREFIX + ".consumer";
 
+    /**
+     * The prefix used for the configuration of the executor of blocking operations.
+     */
+    String PREFIX_BLOCKING = PREFIX + ".blocking";
+
     /**
      * @return The {@link io.micronaut.scheduling.executor.ExecutorType}
      */
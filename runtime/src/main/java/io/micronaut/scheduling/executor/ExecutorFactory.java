@@ -19,6 +19,8 @@ import io.micronaut.context.annotation.Bean;
 import io.micronaut.context.annotation.EachBean;
 import io.micronaut.context.annotation.Factory;
 import io.micronaut.core.reflect.InstantiationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.*;
 
@@ -31,6 +33,8 @@ import java.util.concurrent.*;
 @Factory
 public class ExecutorFactory {
 
+    private static final Logger LOG = LoggerFactory.getLogger(ExecutorFactory.class);
+
     private final ThreadFactory threadFactory;
 
     /**
@@ -60,11 +64,7 @@ public class ExecutorFactory {
                     .orElse(Executors.newFixedThreadPool(executorConfiguration.getNumberOfThreads(), threadFactory));
 
             case CACHED:
-                return executorConfiguration
-                    .getThreadFactoryClass()
-                    .flatMap(InstantiationUtils::tryInstantiate)
-                    .map(Executors::newCachedThreadPool)
-                    .orElse(Executors.newCachedThreadPool(threadFactory));
+                return newCachedThreadPool(executorConfiguration);
 
             case SCHEDULED:
                 return executorConfiguration
@@ -76,8 +76,24 @@ public class ExecutorFactory {
             case WORK_STEALING:
                 return Executors.newWorkStealingPool(executorConfiguration.getParallelism());
 
+            case VIRTUAL:
+                return VirtualThreads.newVirtualThreadPerTaskExecutor().orElseGet(() -> {
+                    if (LOG.isWarnEnabled()) {
+                        LOG.warn("Virtual threads are not supported by the JVM, falling back to a cached thread pool");
+                    }
+                    return newCachedThreadPool(executorConfiguration);
+                });
+
             default:
                 throw new IllegalStateException("Could not create Executor service for enum value: " + executorType);
         }
     }
+
+    private ExecutorService newCachedThreadPool(ExecutorConfiguration executorConfiguration) {
+        return executorConfiguration
+            .getThreadFactoryClass()
+            .flatMap(InstantiationUtils::tryInstantiate)
+            .map(Executors::newCachedThreadPool)
+            .orElse(Executors.newCachedThreadPool(threadFactory));
+    }
 }
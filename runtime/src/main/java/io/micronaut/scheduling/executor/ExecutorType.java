@@ -42,5 +42,12 @@ public enum ExecutorType {
     /**
      * @see java.util.concurrent.Executors#newWorkStealingPool()
      */
-    WORK_STEALING
+    WORK_STEALING,
+
+    /**
+     * Starts a new virtual thread for each task. Falls back to {@link #CACHED} if the JVM does not support virtual threads.
+     *
+     * @since 2.0
+     */
+    VIRTUAL
 }
@@ -38,6 +38,8 @@ public enum ThreadSelection {
     MANUAL,
     /**
      * I/O selection will run all operations regardless of return type and annotations on the I/O thread pool and will never schedule an operation on the server event loop thread.
+     *
+     * <p>If the JVM supports virtual threads the operations run on the {@link io.micronaut.scheduling.TaskExecutors#BLOCKING} executor instead.</p>
      */
     IO
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.scheduling.executor;
+
+import io.micronaut.context.condition.Condition;
+import io.micronaut.context.condition.ConditionContext;
+import io.micronaut.core.annotation.Internal;
+
+/**
+ * Checks if the JVM supports virtual threads.
+ *
+ * @since 2.0
+ */
+@Internal
+public class VirtualThreadsCondition implements Condition {
+
+    /**
+     * Checks if the JVM supports virtual threads.
+     *
+     * @param context The ConditionContext.
+     * @return true if virtual threads are supported.
+     */
+    @Override
+    public boolean matches(ConditionContext context) {
+        if (!VirtualThreads.isSupported()) {
+            context.fail("Virtual threads are not supported by the JVM");
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.jackson.parser
+
+import com.fasterxml.jackson.core.io.JsonEOFException
+import com.fasterxml.jackson.databind.DeserializationConfig
+import com.fasterxml.jackson.databind.DeserializationFeature
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.util.TokenBuffer
+import io.micronaut.context.ApplicationContext
+import io.micronaut.core.convert.ConversionService
+import io.micronaut.core.convert.value.ConvertibleValues
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.charset.StandardCharsets
+
+class JacksonTokenBufferProcessorSpec extends Specification {
+
+    @Shared @AutoCleanup
+    ApplicationContext applicationContext = ApplicationContext.run()
+
+    @Shared
+    ObjectMapper objectMapper = applicationContext.getBean(ObjectMapper)
+
+    @Unroll
+    void "test bind an object read in chunks of #chunkSize bytes"() {
+        when:
+        Result result = process('{"title":"The Stand","pages":1153,"tags":["horror",{"a":[1,2]}]}', false, chunkSize)
+
+        then:
+        result.complete
+        result.error == null
+        result.buffers.size() == 1
+
+        when:
+        Book book = objectMapper.readValue(result.buffers[0].asParser(objectMapper), Book)
+
+        then:
+        book.title == 'The Stand'
+        book.pages == 1153
+        book.tags == ['horror', [a: [1, 2]]]
+
+        where:
+        chunkSize << [1, 7, 1024]
+    }
+
+    @Unroll
+    void "test stream the elements of a root array in chunks of #chunkSize bytes"() {
+        when:
+        Result result = process('[{"title":"It"},{"title":"Carrie"},{"title":"Misery","tags":[]}]', true, chunkSize)
+
+        then:
+        result.complete
+        result.error == null
+        result.buffers.collect { objectMapper.readValue(it.asParser(objectMapper), Book).title } == ['It', 'Carrie', 'Misery']
+
+        where:
+        chunkSize << [1, 5, 1024]
+    }
+
+    void "test a root array is buffered whole when not streamed"() {
+        when:
+        Result result = process('[{"title":"It"},{"title":"Carrie"}]', false, 4)
+
+        then:
+        result.complete
+        result.buffers.size() == 1
+        objectMapper.readValue(result.buffers[0].asParser(objectMapper), Book[]).length == 2
+    }
+
+    void "test multiple values in a JSON stream"() {
+        when:
+        Result result = process('{"title":"It"}\n{"title":"Carrie"}', false, 3)
+
+        then:
+        result.complete
+        result.buffers.size() == 2
+    }
+
+    void "test big decimal - USE_BIG_DECIMAL_FOR_FLOATS"() {
+        given:
+        DeserializationConfig cfg = objectMapper.getDeserializationConfig().with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+
+        when:
+        Result result = process('{"value":888.7794538169553400000}', false, 1024, cfg)
+        Map map = objectMapper.readerFor(Map).with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS).readValue(result.buffers[0].asParser(objectMapper))
+
+        then:
+        map.value == new BigDecimal("888.7794538169553400000")
+    }
+
+    void "test incomplete JSON"() {
+        when:
+        Result result = process('{"title":"It"', false, 1024)
+
+        then:
+        !result.complete
+        result.error instanceof JsonEOFException
+    }
+
+    void "test convert a token buffer"() {
+        given:
+        ConversionService conversionService = applicationContext.getBean(ConversionService)
+        TokenBuffer buffer = process('{"title":"It","tags":["horror"]}', false, 1024).buffers[0]
+
+        expect:
+        conversionService.convert(buffer, Book).get().title == 'It'
+        conversionService.convert(buffer, ConvertibleValues).get().get('title', String).get() == 'It'
+    }
+
+    private Result process(String json, boolean streamArray, int chunkSize, DeserializationConfig cfg = objectMapper.getDeserializationConfig()) {
+        JacksonTokenBufferProcessor processor = new JacksonTokenBufferProcessor(objectMapper.getFactory(), streamArray, cfg)
+        Result result = new Result()
+        processor.subscribe(new Subscriber<TokenBuffer>() {
+            @Override
+            void onSubscribe(Subscription s) {
+                s.request(Long.MAX_VALUE)
+            }
+
+            @Override
+            void onNext(TokenBuffer tokenBuffer) {
+                result.buffers.add(tokenBuffer)
+            }
+
+            @Override
+            void onError(Throwable t) {
+                result.error = t
+            }
+
+            @Override
+            void onComplete() {
+                result.complete = true
+            }
+        })
+        processor.onSubscribe(new Subscription() {
+            @Override
+            void request(long n) {
+            }
+
+            @Override
+            void cancel() {
+            }
+        })
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8)
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            processor.onNext(Arrays.copyOfRange(bytes, i, Math.min(bytes.length, i + chunkSize)))
+        }
+        processor.onComplete()
+        return result
+    }
+
+    static class Result {
+        List<TokenBuffer> buffers = []
+        Throwable error
+        boolean complete
+    }
+
+    static class Book {
+        String title
+        int pages
+        List<Object> tags
+    }
+}
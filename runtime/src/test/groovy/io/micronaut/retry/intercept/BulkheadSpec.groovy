@@ -0,0 +1,282 @@
+package io.micronaut.retry.intercept
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.retry.annotation.Bulkhead
+import io.micronaut.retry.annotation.BulkheadType
+import io.micronaut.retry.annotation.Fallback
+import io.micronaut.retry.annotation.Recoverable
+import io.micronaut.retry.exception.BulkheadFullException
+import io.micronaut.scheduling.instrument.Instrumentation
+import io.micronaut.scheduling.instrument.InvocationInstrumenter
+import io.micronaut.scheduling.instrument.InvocationInstrumenterFactory
+import io.reactivex.Single
+import io.reactivex.schedulers.Schedulers
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.inject.Singleton
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class BulkheadSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run('spec.name': 'BulkheadSpec')
+
+    void "test a semaphore bulkhead rejects blocking calls above the limit"() {
+        given:
+        LimitedService service = context.getBean(LimitedService)
+        service.reset(2)
+
+        when:"the limit is reached"
+        List<CompletableFuture<String>> calls = (1..2).collect {
+            CompletableFuture.supplyAsync { service.blocking() }
+        }
+        service.started.await(5, TimeUnit.SECONDS)
+
+        then:"the next call falls back"
+        service.blocking() == 'fallback'
+
+        when:"the calls complete"
+        service.release.countDown()
+
+        then:"the permits are released"
+        calls*.get() == ['ok', 'ok']
+        service.blocking() == 'ok'
+    }
+
+    void "test a semaphore bulkhead rejects blocking calls without fallback"() {
+        given:
+        PlainService service = context.getBean(PlainService)
+        service.release = new CountDownLatch(1)
+        service.started = new CountDownLatch(1)
+        CompletableFuture<String> call = CompletableFuture.supplyAsync { service.blocking() }
+        service.started.await(5, TimeUnit.SECONDS)
+
+        when:
+        service.blocking()
+
+        then:
+        BulkheadFullException e = thrown()
+        e.message == 'Bulkhead [plain] is full'
+
+        cleanup:
+        service.release.countDown()
+        call.get()
+    }
+
+    void "test a semaphore bulkhead holds a permit until a completion stage completes"() {
+        given:
+        LimitedService service = context.getBean(LimitedService)
+        service.reset(2)
+
+        when:
+        List<CompletableFuture<String>> calls = (1..2).collect { service.future() }
+        service.started.await(5, TimeUnit.SECONDS)
+
+        then:
+        service.future().get() == 'fallback'
+
+        when:
+        service.release.countDown()
+
+        then:
+        calls*.get() == ['ok', 'ok']
+        service.future().get() == 'ok'
+    }
+
+    void "test a semaphore bulkhead holds a permit while a publisher is subscribed"() {
+        given:
+        LimitedService service = context.getBean(LimitedService)
+        service.reset(2)
+
+        when:
+        List<CompletableFuture<String>> calls = (1..2).collect {
+            CompletableFuture<String> call = new CompletableFuture<>()
+            service.single().subscribe(call.&complete, call.&completeExceptionally)
+            call
+        }
+        service.started.await(5, TimeUnit.SECONDS)
+
+        then:
+        service.single().blockingGet() == 'fallback'
+
+        when:
+        service.release.countDown()
+
+        then:
+        calls*.get() == ['ok', 'ok']
+        service.single().blockingGet() == 'ok'
+    }
+
+    void "test a thread pool bulkhead runs calls on its own threads"() {
+        given:
+        LimitedService service = context.getBean(LimitedService)
+        service.reset(2)
+
+        expect:
+        service.threadName().startsWith('bulkhead-threadName-')
+
+        when:
+        List<CompletableFuture<String>> calls = (1..2).collect {
+            CompletableFuture.supplyAsync { service.isolated() }
+        }
+        service.started.await(5, TimeUnit.SECONDS)
+
+        then:"calls above the number of threads are rejected"
+        service.isolated() == 'fallback'
+
+        when:
+        service.release.countDown()
+
+        then:
+        calls*.get() == ['ok', 'ok']
+    }
+
+    void "test a thread pool bulkhead holds a slot until a completion stage completes"() {
+        given:
+        LimitedService service = context.getBean(LimitedService)
+        service.reset(2)
+
+        when:"the pool threads return before the stages complete"
+        List<CompletableFuture<String>> calls = (1..2).collect { service.isolatedFuture() }
+        service.started.await(5, TimeUnit.SECONDS)
+
+        then:"the stages still count against the limit"
+        service.isolatedFuture().get() == 'fallback'
+
+        when:
+        service.release.countDown()
+
+        then:
+        calls*.get() == ['ok', 'ok']
+        service.isolatedFuture().get() == 'ok'
+    }
+
+    void "test a thread pool bulkhead carries the context of the caller"() {
+        given:
+        LimitedService service = context.getBean(LimitedService)
+        CallerInstrumenterFactory.CALLER.set('spec')
+
+        expect:
+        service.caller() == 'spec'
+
+        cleanup:
+        CallerInstrumenterFactory.CALLER.remove()
+    }
+
+    @Requires(property = 'spec.name', value = 'BulkheadSpec')
+    @Singleton
+    @Recoverable
+    static class LimitedService {
+        CountDownLatch started
+        CountDownLatch release
+
+        void reset(int calls) {
+            started = new CountDownLatch(calls)
+            release = new CountDownLatch(1)
+        }
+
+        @Bulkhead('2')
+        String blocking() {
+            await()
+        }
+
+        @Bulkhead('2')
+        CompletableFuture<String> future() {
+            CompletableFuture.supplyAsync { await() }
+        }
+
+        @Bulkhead('2')
+        Single<String> single() {
+            Single.fromCallable { await() }.subscribeOn(Schedulers.io())
+        }
+
+        @Bulkhead(value = '2', type = BulkheadType.THREAD_POOL)
+        String isolated() {
+            await()
+        }
+
+        @Bulkhead(value = '2', type = BulkheadType.THREAD_POOL)
+        CompletableFuture<String> isolatedFuture() {
+            CompletableFuture.supplyAsync { await() }
+        }
+
+        @Bulkhead(value = '1', type = BulkheadType.THREAD_POOL)
+        String threadName() {
+            Thread.currentThread().name
+        }
+
+        @Bulkhead(value = '1', type = BulkheadType.THREAD_POOL)
+        String caller() {
+            CallerInstrumenterFactory.CALLER.get()
+        }
+
+        protected String await() {
+            started.countDown()
+            release.await(5, TimeUnit.SECONDS)
+            'ok'
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'BulkheadSpec')
+    @Fallback
+    static class LimitedServiceFallback extends LimitedService {
+
+        @Override
+        String blocking() {
+            'fallback'
+        }
+
+        @Override
+        CompletableFuture<String> future() {
+            CompletableFuture.completedFuture('fallback')
+        }
+
+        @Override
+        Single<String> single() {
+            Single.just('fallback')
+        }
+
+        @Override
+        String isolated() {
+            'fallback'
+        }
+
+        @Override
+        CompletableFuture<String> isolatedFuture() {
+            CompletableFuture.completedFuture('fallback')
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'BulkheadSpec')
+    @Singleton
+    static class PlainService {
+        CountDownLatch started
+        CountDownLatch release
+
+        @Bulkhead(value = '1', name = 'plain', maxWait = '10ms')
+        String blocking() {
+            started.countDown()
+            release.await(5, TimeUnit.SECONDS)
+            'ok'
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'BulkheadSpec')
+    @Singleton
+    static class CallerInstrumenterFactory implements InvocationInstrumenterFactory {
+        static final ThreadLocal<String> CALLER = new ThreadLocal<>()
+
+        @Override
+        InvocationInstrumenter newInvocationInstrumenter() {
+            String caller = CALLER.get()
+            return {
+                CALLER.set(caller)
+                return { boolean cleanup -> CALLER.remove() } as Instrumentation
+            } as InvocationInstrumenter
+        }
+    }
+}
@@ -43,4 +43,15 @@ class InterceptorOrderSpec extends Specification {
         interceptors[0] instanceof RecoveryInterceptor
         interceptors[1] instanceof DefaultRetryInterceptor
     }
+
+    void "test the bulkhead interceptor is between the recovery and retry interceptors"() {
+        given:
+        List interceptors = [new DefaultRetryInterceptor(null, null), new BulkheadInterceptor([]), new RecoveryInterceptor()]
+        OrderUtil.sort(interceptors)
+
+        expect:
+        interceptors[0] instanceof RecoveryInterceptor
+        interceptors[1] instanceof BulkheadInterceptor
+        interceptors[2] instanceof DefaultRetryInterceptor
+    }
 }
@@ -0,0 +1,205 @@
+package io.micronaut.retry.intercept
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.event.ApplicationEventListener
+import io.micronaut.retry.CircuitState
+import io.micronaut.retry.annotation.CircuitBreaker
+import io.micronaut.retry.annotation.SlidingWindowType
+import io.micronaut.retry.event.CircuitClosedEvent
+import io.micronaut.retry.event.CircuitOpenEvent
+import io.micronaut.retry.exception.CircuitOpenException
+import io.reactivex.Completable
+import io.reactivex.Single
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.inject.Singleton
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
+class SlidingWindowCircuitBreakerSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run('spec.name': 'SlidingWindowCircuitBreakerSpec')
+
+    void "test the circuit opens when the failure rate reaches the threshold"() {
+        given:
+        FailureRateService service = context.getBean(FailureRateService)
+        OpenListener openListener = context.getBean(OpenListener)
+        ClosedListener closedListener = context.getBean(ClosedListener)
+
+        when:"half of the invocations fail"
+        service.call(false)
+        service.call(false)
+        service.call(true)
+        service.call(true)
+
+        then:
+        thrown(IllegalStateException)
+        openListener.events.size() == 1
+        circuitBreaker('call').state == CircuitState.OPEN
+        circuitBreaker('call').failureRate == 50f
+
+        when:"the circuit is open"
+        service.call(false)
+
+        then:"the method is not invoked"
+        thrown(CircuitOpenException)
+        service.invocations.get() == 4
+        circuitBreaker('call').notPermittedCalls == 1
+
+        when:"half of the probes fail once the circuit is half open"
+        Thread.sleep(250)
+        try {
+            service.call(true)
+        } catch (IllegalStateException ignored) {
+        }
+        service.call(false)
+
+        then:"the circuit opens again"
+        openListener.events.size() == 2
+        circuitBreaker('call').state == CircuitState.OPEN
+
+        when:"the probes succeed"
+        Thread.sleep(250)
+        service.call(false)
+        service.call(false)
+
+        then:"the circuit closes and the window is cleared"
+        closedListener.events.size() == 1
+        circuitBreaker('call').state == CircuitState.CLOSED
+        circuitBreaker('call').bufferedCalls == 0
+        service.invocations.get() == 8
+    }
+
+    void "test the circuit opens when the slow call rate reaches the threshold"() {
+        given:
+        SlowCallService service = context.getBean(SlowCallService)
+
+        when:
+        service.slow().blockingGet()
+        service.slow().blockingGet()
+        service.slow().blockingGet()
+
+        then:
+        thrown(CircuitOpenException)
+        circuitBreaker('slow').state == CircuitState.OPEN
+        circuitBreaker('slow').slowCallRate == 100f
+    }
+
+    void "test an empty publisher is recorded as a successful call"() {
+        given:
+        CompletableService service = context.getBean(CompletableService)
+
+        when:
+        service.complete().blockingAwait()
+
+        then:
+        circuitBreaker('complete').state == CircuitState.CLOSED
+        circuitBreaker('complete').bufferedCalls == 1
+        circuitBreaker('complete').failureRate == 0f
+    }
+
+    void "test the count based window is accurate under contention"() {
+        given:
+        int threads = 8
+        int calls = 10000
+        CountBasedSlidingWindow window = new CountBasedSlidingWindow(threads * calls)
+        ExecutorService executor = Executors.newFixedThreadPool(threads)
+        CountDownLatch latch = new CountDownLatch(threads)
+
+        when:
+        threads.times {
+            executor.execute {
+                calls.times { int i ->
+                    window.record(SlidingWindow.CALL | (i % 4 == 0 ? SlidingWindow.FAILURE : 0L))
+                }
+                latch.countDown()
+            }
+        }
+        latch.await()
+        long totals = window.totals()
+
+        then:
+        SlidingWindow.calls(totals) == threads * calls
+        SlidingWindow.failures(totals) == threads * calls / 4
+
+        when:
+        window.reset()
+
+        then:
+        window.totals() == 0
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    private SlidingWindowCircuitBreaker circuitBreaker(String methodName) {
+        context.getBean(DefaultRetryInterceptor).slidingWindowCircuitBreakers.find { it.method.methodName == methodName }
+    }
+
+    @Requires(property = 'spec.name', value = 'SlidingWindowCircuitBreakerSpec')
+    @Singleton
+    static class FailureRateService {
+        AtomicInteger invocations = new AtomicInteger()
+
+        @CircuitBreaker(attempts = '0', reset = '200ms', slidingWindow = SlidingWindowType.COUNT_BASED,
+                slidingWindowSize = '10', minimumCalls = '4', failureRateThreshold = '50', halfOpenCalls = '2')
+        void call(boolean fail) {
+            invocations.incrementAndGet()
+            if (fail) {
+                throw new IllegalStateException("Failed")
+            }
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'SlidingWindowCircuitBreakerSpec')
+    @Singleton
+    static class SlowCallService {
+
+        @CircuitBreaker(attempts = '0', reset = '10s', slidingWindow = SlidingWindowType.TIME_BASED,
+                slidingWindowSize = '10', minimumCalls = '2', slowCallDuration = '20ms', slowCallRateThreshold = '50')
+        Single<String> slow() {
+            Single.fromCallable {
+                Thread.sleep(50)
+                'slow'
+            }
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'SlidingWindowCircuitBreakerSpec')
+    @Singleton
+    static class CompletableService {
+
+        @CircuitBreaker(attempts = '0', reset = '10s', slidingWindow = SlidingWindowType.COUNT_BASED,
+                slidingWindowSize = '10', minimumCalls = '1')
+        Completable complete() {
+            Completable.complete()
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'SlidingWindowCircuitBreakerSpec')
+    @Singleton
+    static class OpenListener implements ApplicationEventListener<CircuitOpenEvent> {
+        List<CircuitOpenEvent> events = []
+
+        @Override
+        void onApplicationEvent(CircuitOpenEvent event) {
+            events << event
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'SlidingWindowCircuitBreakerSpec')
+    @Singleton
+    static class ClosedListener implements ApplicationEventListener<CircuitClosedEvent> {
+        List<CircuitClosedEvent> events = []
+
+        @Override
+        void onApplicationEvent(CircuitClosedEvent event) {
+            events << event
+        }
+    }
+}
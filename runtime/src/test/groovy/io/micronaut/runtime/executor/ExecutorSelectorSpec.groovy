@@ -22,6 +22,8 @@ import io.micronaut.context.ApplicationContext
 import io.micronaut.context.annotation.Executable
 import io.micronaut.core.annotation.NonBlocking
 import io.micronaut.inject.ExecutableMethod
+import io.micronaut.inject.qualifiers.Qualifiers
+import io.micronaut.scheduling.TaskExecutors
 import io.micronaut.scheduling.executor.ExecutorSelector
 import spock.lang.Specification
 import spock.lang.Unroll
@@ -30,6 +32,7 @@ import javax.inject.Singleton
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.CompletionStage
 import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
 
 /**
  * @author Graeme Rocher
@@ -62,6 +65,24 @@ class ExecutorSelectorSpec extends Specification {
         "someStageMethod"            | false
     }
 
+    void "test blocking methods run on virtual threads if the JVM supports them"() {
+        given:
+        ApplicationContext applicationContext = ApplicationContext.run("test")
+        ExecutorSelector selector = applicationContext.getBean(ExecutorSelector)
+        ExecutableMethod method = applicationContext.findExecutableMethod(MyService, "someMethod").get()
+        boolean virtualThreads = Executors.methods.any { it.name == 'newVirtualThreadPerTaskExecutor' }
+
+        when:
+        ExecutorService executorService = selector.select(method, ThreadSelection.AUTO).get()
+
+        then:
+        applicationContext.containsBean(ExecutorService, Qualifiers.byName(TaskExecutors.BLOCKING)) == virtualThreads
+        executorService.is(applicationContext.getBean(ExecutorService, Qualifiers.byName(virtualThreads ? TaskExecutors.BLOCKING : TaskExecutors.IO)))
+        selector.select(method, ThreadSelection.IO).get().is(executorService)
+
+        cleanup:
+        applicationContext.stop()
+    }
 
 }
 
@@ -23,6 +23,7 @@ import io.micronaut.scheduling.executor.UserExecutorConfiguration
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.util.concurrent.Callable
 import java.util.concurrent.ExecutorService
 import java.util.concurrent.ForkJoinPool
 import java.util.concurrent.ScheduledExecutorService
@@ -188,4 +189,20 @@ class ExecutorServiceConfigSpec extends Specification {
         true            | "test"
         false           | "test"
     }
+
+    void "test configure a virtual thread executor"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run(
+                'micronaut.executors.virtual.type':'virtual'
+        )
+
+        when:"a cached thread pool is used if virtual threads are not supported"
+        ExecutorService executorService = ctx.getBean(ExecutorService, Qualifiers.byName("virtual"))
+
+        then:
+        executorService.submit({ 'done' } as Callable).get() == 'done'
+
+        cleanup:
+        ctx.close()
+    }
 }
@@ -0,0 +1,124 @@
+package io.micronaut.scheduling
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.inject.qualifiers.Qualifiers
+import io.micronaut.scheduling.annotation.Scheduled
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class HashedWheelTaskSchedulerSpec extends Specification {
+
+    @AutoCleanup('shutdown')
+    ExecutorService executorService = Executors.newFixedThreadPool(2)
+
+    @AutoCleanup
+    HashedWheelTaskScheduler scheduler = new HashedWheelTaskScheduler(executorService, Executors.defaultThreadFactory(), Duration.ofMillis(10), 8)
+
+    void "test a task runs after its delay"() {
+        when:
+        long start = System.nanoTime()
+        ScheduledFuture<String> future = scheduler.schedule(Duration.ofMillis(150), { "done" } as java.util.concurrent.Callable<String>)
+
+        then:
+        future.get(5, TimeUnit.SECONDS) == "done"
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 150
+        future.getDelay(TimeUnit.MILLISECONDS) <= 0
+    }
+
+    void "test cancelled tasks do not run"() {
+        given:
+        AtomicInteger ran = new AtomicInteger()
+
+        when:
+        List<ScheduledFuture<?>> futures = (0..<1000).collect { int i ->
+            scheduler.schedule(Duration.ofMillis(200 + i % 100), { ran.incrementAndGet() } as Runnable)
+        }
+        int cancelled = futures.findAll { it.cancel(false) }.size()
+
+        then:
+        cancelled == 1000
+        new PollingConditions(timeout: 5).eventually {
+            assert scheduler.pendingTasks == 0
+        }
+        ran.get() == 0
+    }
+
+    void "test periodic tasks run until cancelled"() {
+        given:
+        AtomicInteger fixedRate = new AtomicInteger()
+        AtomicInteger fixedDelay = new AtomicInteger()
+
+        when:
+        ScheduledFuture<?> rate = scheduler.scheduleAtFixedRate(null, Duration.ofMillis(20), { fixedRate.incrementAndGet() } as Runnable)
+        ScheduledFuture<?> delay = scheduler.scheduleWithFixedDelay(Duration.ofMillis(10), Duration.ofMillis(20), { fixedDelay.incrementAndGet() } as Runnable)
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert fixedRate.get() >= 3
+            assert fixedDelay.get() >= 3
+        }
+
+        when:
+        rate.cancel(false)
+        delay.cancel(false)
+        Thread.sleep(50)
+        int rateCount = fixedRate.get()
+        int delayCount = fixedDelay.get()
+        Thread.sleep(100)
+
+        then:
+        fixedRate.get() == rateCount
+        fixedDelay.get() == delayCount
+    }
+
+    void "test closing the scheduler cancels pending tasks"() {
+        when:
+        ScheduledFuture<?> future = scheduler.schedule(Duration.ofMinutes(1), {} as Runnable)
+        scheduler.close()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert future.cancelled
+        }
+    }
+
+    void "test configure a hashed wheel scheduler for a named executor"() {
+        given:
+        ApplicationContext ctx = ApplicationContext.run([
+                'spec.name': 'HashedWheelTaskSchedulerSpec',
+                'micronaut.schedulers.scheduled.tick-duration': '5ms',
+                'micronaut.schedulers.scheduled.ticks-per-wheel': 64
+        ])
+
+        expect:
+        ctx.getBean(TaskScheduler) instanceof HashedWheelTaskScheduler
+        ctx.getBean(TaskScheduler, Qualifiers.byName(TaskExecutors.SCHEDULED)) instanceof HashedWheelTaskScheduler
+        new PollingConditions(timeout: 5).eventually {
+            assert ctx.getBean(ScheduledBean).ran
+        }
+
+        cleanup:
+        ctx.close()
+    }
+
+    @Requires(property = "spec.name", value = "HashedWheelTaskSchedulerSpec")
+    @javax.inject.Singleton
+    static class ScheduledBean {
+
+        public volatile boolean ran = false
+
+        @Scheduled(initialDelay = "10ms")
+        void run() {
+            ran = true
+        }
+    }
+}
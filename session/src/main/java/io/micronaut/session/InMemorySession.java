@@ -22,7 +22,9 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -42,7 +44,9 @@ public class InMemorySession implements Session {
     private final String id;
     private final Instant creationTime;
     private Duration maxInactiveInterval;
+    private final Set<String> modifiedAttributes = new LinkedHashSet<>();
     private boolean isNew = true;
+    private boolean maxInactiveIntervalModified;
 
     /**
      * Constructor.
@@ -82,6 +86,7 @@ public class InMemorySession implements Session {
     @Override
     public Session setMaxInactiveInterval(Duration duration) {
         if (duration != null) {
+            maxInactiveIntervalModified |= !duration.equals(maxInactiveInterval);
             maxInactiveInterval = duration;
         }
         return this;
@@ -107,7 +112,13 @@ public class InMemorySession implements Session {
 
     @Override
     public boolean isModified() {
-        return isNew;
+        return isNew || maxInactiveIntervalModified || !modifiedAttributes.isEmpty();
+    }
+
+    @Override
+    @NonNull
+    public Set<String> getModifiedAttributeNames() {
+        return Collections.unmodifiableSet(modifiedAttributes);
     }
 
     @Override
@@ -118,16 +129,23 @@ public class InMemorySession implements Session {
 
     @Override
     public MutableConvertibleValues<Object> put(CharSequence key, Object value) {
+        if (key != null) {
+            modifiedAttributes.add(key.toString());
+        }
         return attributes.put(key, value);
     }
 
     @Override
     public MutableConvertibleValues<Object> remove(CharSequence key) {
+        if (key != null && attributeMap.containsKey(key)) {
+            modifiedAttributes.add(key.toString());
+        }
         return attributes.remove(key);
     }
 
     @Override
     public MutableConvertibleValues<Object> clear() {
+        modifiedAttributes.addAll(names());
         return attributes.clear();
     }
 
@@ -152,4 +170,12 @@ public class InMemorySession implements Session {
     public void setNew(boolean aNew) {
         isNew = aNew;
     }
+
+    /**
+     * Forgets the changes made to the session, which is called by the store once they have been saved.
+     */
+    public void resetModifications() {
+        modifiedAttributes.clear();
+        maxInactiveIntervalModified = false;
+    }
 }
@@ -88,6 +88,7 @@ public class InMemorySessionStore implements SessionStore<InMemorySession> {
         }
         String id = session.getId();
         session.setNew(false);
+        session.resetModifications();
         InMemorySession existing = sessions.getIfPresent(id);
         // if the instance is the same then merely accessing it as above will
         // result in the expiry interval being reset so nothing else needs to be done
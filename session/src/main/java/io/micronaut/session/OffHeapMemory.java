@@ -0,0 +1,192 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.session;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.micronaut.core.annotation.Internal;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Stores byte arrays in direct memory. The memory is divided into blocks of a fixed size that are allocated in
+ * segments as required and reused once they are released, so that storing and releasing content neither allocates
+ * nor frees direct memory.
+ *
+ * <p>A single lock guards the list of free blocks, but it is only held to take or return block numbers. The content
+ * is copied outside of it, through views of the segments, so that sessions of different users are read and written
+ * in parallel. Loading and releasing the same allocation synchronize on the allocation, which keeps its blocks from
+ * being reused while they are read.</p>
+ *
+ * @since 2.0
+ */
+@Internal
+final class OffHeapMemory {
+
+    private static final int SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    private final int blockSize;
+    private final int blocksPerSegment;
+    private final Object lock = new Object();
+    // replaced rather than modified when a segment is added, so that it can be read without the lock
+    private volatile ByteBuffer[] segments = new ByteBuffer[0];
+    private int[] freeBlocks = new int[1024];
+    private int freeCount;
+    private int usedBlocks;
+
+    /**
+     * @param blockSize The size of the blocks
+     */
+    OffHeapMemory(int blockSize) {
+        this.blockSize = Math.max(1, Math.min(blockSize, SEGMENT_SIZE));
+        this.blocksPerSegment = SEGMENT_SIZE / this.blockSize;
+    }
+
+    /**
+     * @return The size of the blocks
+     */
+    int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Stores content.
+     *
+     * @param content The content
+     * @return The allocation of the content
+     */
+    Allocation store(byte[] content) {
+        int count = Math.max(1, (content.length + blockSize - 1) / blockSize);
+        int[] blocks = new int[count];
+        synchronized (lock) {
+            for (int i = 0; i < count; i++) {
+                blocks[i] = nextBlock();
+            }
+        }
+        // the blocks belong to the new allocation only, so they are written without the lock
+        ByteBuffer[] segments = this.segments;
+        for (int i = 0; i < count; i++) {
+            int offset = i * blockSize;
+            int length = Math.min(blockSize, content.length - offset);
+            if (length > 0) {
+                view(segments, blocks[i]).put(content, offset, length);
+            }
+        }
+        return new Allocation(blocks, content.length);
+    }
+
+    /**
+     * Loads stored content.
+     *
+     * @param allocation The allocation of the content
+     * @return The content or null if the allocation has been released
+     */
+    @Nullable
+    byte[] load(Allocation allocation) {
+        synchronized (allocation) {
+            if (allocation.released) {
+                return null;
+            }
+            byte[] content = new byte[allocation.length];
+            ByteBuffer[] segments = this.segments;
+            for (int i = 0; i < allocation.blocks.length; i++) {
+                int offset = i * blockSize;
+                int length = Math.min(blockSize, content.length - offset);
+                if (length > 0) {
+                    view(segments, allocation.blocks[i]).get(content, offset, length);
+                }
+            }
+            return content;
+        }
+    }
+
+    /**
+     * Releases the blocks of stored content so that they can be reused.
+     *
+     * @param allocation The allocation of the content
+     */
+    void release(Allocation allocation) {
+        synchronized (allocation) {
+            if (allocation.released) {
+                return;
+            }
+            allocation.released = true;
+        }
+        synchronized (lock) {
+            int required = freeCount + allocation.blocks.length;
+            if (required > freeBlocks.length) {
+                freeBlocks = Arrays.copyOf(freeBlocks, Math.max(required, freeBlocks.length * 2));
+            }
+            for (int block : allocation.blocks) {
+                freeBlocks[freeCount++] = block;
+            }
+        }
+    }
+
+    /**
+     * @return The number of bytes of the blocks that store content
+     */
+    long getUsedBytes() {
+        synchronized (lock) {
+            return (long) (usedBlocks - freeCount) * blockSize;
+        }
+    }
+
+    /**
+     * @return The number of bytes of direct memory that is allocated
+     */
+    long getAllocatedBytes() {
+        return (long) segments.length * blocksPerSegment * blockSize;
+    }
+
+    private int nextBlock() {
+        if (freeCount > 0) {
+            return freeBlocks[--freeCount];
+        }
+        ByteBuffer[] current = segments;
+        if (usedBlocks == current.length * blocksPerSegment) {
+            ByteBuffer[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = ByteBuffer.allocateDirect(blocksPerSegment * blockSize);
+            segments = grown;
+        }
+        return usedBlocks++;
+    }
+
+    private ByteBuffer view(ByteBuffer[] segments, int block) {
+        // a view has its own position, so that threads copying different blocks of a segment do not interfere
+        ByteBuffer view = segments[block / blocksPerSegment].duplicate();
+        view.position((block % blocksPerSegment) * blockSize);
+        return view;
+    }
+
+    /**
+     * The blocks that store content.
+     */
+    static final class Allocation {
+        final int[] blocks;
+        final int length;
+        boolean released;
+
+        /**
+         * @param blocks The blocks
+         * @param length The length of the content
+         */
+        Allocation(int[] blocks, int length) {
+            this.blocks = blocks;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.session;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.convert.format.ReadableBytes;
+
+/**
+ * <p>Configuration properties for the {@link OffHeapSessionStore}.</p>
+ *
+ * @since 2.0
+ */
+@ConfigurationProperties(SessionSettings.OFF_HEAP)
+public class OffHeapSessionConfiguration {
+
+    /**
+     * The property that enables the off-heap session store.
+     */
+    public static final String ENABLED = SessionSettings.OFF_HEAP + ".enabled";
+
+    /**
+     * The default maximum size of the stored sessions in bytes.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_MAX_SIZE = 256 * 1024 * 1024;
+
+    /**
+     * The default size of the blocks the sessions are stored in.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_BLOCK_SIZE = 256;
+
+    private boolean enabled;
+    private long maxSize = DEFAULT_MAX_SIZE;
+    private int blockSize = DEFAULT_BLOCK_SIZE;
+
+    /**
+     * @return Whether sessions are stored off-heap
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether sessions are stored off-heap instead of in the {@link InMemorySessionStore}. Default value false.
+     *
+     * @param enabled True if sessions are stored off-heap
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The maximum size of the stored sessions in bytes
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the maximum size of the serialized attributes of all sessions. The least recently used sessions expire once
+     * the size is exceeded. Default value ({@value #DEFAULT_MAX_SIZE}).
+     *
+     * @param maxSize The maximum size in bytes
+     */
+    public void setMaxSize(@ReadableBytes long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return The size of the blocks the sessions are stored in
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Sets the size of the blocks of off-heap memory the sessions are stored in. A session occupies at least one
+     * block. Default value ({@value #DEFAULT_BLOCK_SIZE}).
+     *
+     * @param blockSize The block size in bytes
+     */
+    public void setBlockSize(int blockSize) {
+        this.blockSize = blockSize;
+    }
+}
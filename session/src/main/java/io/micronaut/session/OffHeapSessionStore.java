@@ -0,0 +1,318 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.serialize.ObjectSerializer;
+import io.micronaut.core.serialize.exceptions.SerializationException;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.session.event.SessionCreatedEvent;
+import io.micronaut.session.event.SessionDeletedEvent;
+import io.micronaut.session.event.SessionExpiredEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link SessionStore} that keeps the attributes of the sessions serialized in direct memory, so that a large number
+ * of sessions does not occupy the heap. Sessions expire after the configured inactive interval, or once the size of
+ * the stored sessions exceeds {@link OffHeapSessionConfiguration#getMaxSize()}, in least recently used order. Saving a
+ * session that alone exceeds the max size fails with an {@link IllegalArgumentException}.
+ *
+ * <p>The attributes are serialized with the {@link ObjectSerializer}, by default with JDK serialization, so they need
+ * to be serializable. Every {@link #findSession(String)} returns a new {@link InMemorySession} with a copy of the
+ * attributes, which have to be saved for changes to be stored. Since the attributes of a session are serialized
+ * together, saving the modifications of a session writes all of its attributes.</p>
+ *
+ * @since 2.0
+ */
+@Singleton
+@Replaces(InMemorySessionStore.class)
+@Requires(property = OffHeapSessionConfiguration.ENABLED, value = StringUtils.TRUE)
+public class OffHeapSessionStore implements SessionStore<InMemorySession> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OffHeapSessionStore.class);
+
+    private final SessionConfiguration sessionConfiguration;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SessionIdGenerator sessionIdGenerator;
+    private final ObjectSerializer serializer;
+    private final OffHeapMemory memory;
+    private final long maxWeight;
+    private final Cache<String, StoredSession> sessions;
+
+    /**
+     * Constructor.
+     *
+     * @param sessionIdGenerator   The session id generator
+     * @param sessionConfiguration The sessions configuration
+     * @param offHeapConfiguration The off-heap store configuration
+     * @param eventPublisher       The application event publisher
+     */
+    @Inject
+    public OffHeapSessionStore(
+        SessionIdGenerator sessionIdGenerator,
+        SessionConfiguration sessionConfiguration,
+        OffHeapSessionConfiguration offHeapConfiguration,
+        ApplicationEventPublisher eventPublisher) {
+        this(sessionIdGenerator, sessionConfiguration, offHeapConfiguration, eventPublisher, ObjectSerializer.JDK);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param sessionIdGenerator   The session id generator
+     * @param sessionConfiguration The sessions configuration
+     * @param offHeapConfiguration The off-heap store configuration
+     * @param eventPublisher       The application event publisher
+     * @param serializer           The serializer of the session attributes
+     */
+    public OffHeapSessionStore(
+        SessionIdGenerator sessionIdGenerator,
+        SessionConfiguration sessionConfiguration,
+        OffHeapSessionConfiguration offHeapConfiguration,
+        ApplicationEventPublisher eventPublisher,
+        ObjectSerializer serializer) {
+
+        this.sessionIdGenerator = sessionIdGenerator;
+        this.sessionConfiguration = sessionConfiguration;
+        this.eventPublisher = eventPublisher;
+        this.serializer = serializer;
+        this.memory = new OffHeapMemory(offHeapConfiguration.getBlockSize());
+        this.maxWeight = Math.max(memory.getBlockSize(), offHeapConfiguration.getMaxSize());
+        this.sessions = newSessionCache(sessionConfiguration, offHeapConfiguration);
+    }
+
+    @Override
+    public InMemorySession newSession() {
+        return new InMemorySession(sessionIdGenerator.generateId(), Instant.now(), sessionConfiguration.getMaxInactiveInterval());
+    }
+
+    @Override
+    public CompletableFuture<Optional<InMemorySession>> findSession(String id) {
+        StoredSession stored = sessions.getIfPresent(id);
+        InMemorySession session = null;
+        while (stored != null) {
+            session = toSession(id, stored);
+            if (session != null) {
+                break;
+            }
+            // replaced concurrently, read the new version
+            stored = sessions.getIfPresent(id);
+        }
+        return CompletableFuture.completedFuture(
+            Optional.ofNullable(session != null && !session.isExpired() ? session : null)
+        );
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteSession(String id) {
+        sessions.invalidate(id);
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public CompletableFuture<InMemorySession> save(InMemorySession session) {
+        if (session == null) {
+            throw new IllegalArgumentException("Session cannot be null");
+        }
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        for (String name : session.names()) {
+            session.get(name).ifPresent(value -> attributes.put(name, value));
+        }
+        byte[] content = serializer.serialize(attributes).orElse(new byte[0]);
+        if (weigh(content.length) > maxWeight) {
+            // storing it would evict every session, including itself, so the previously saved version is kept
+            CompletableFuture<InMemorySession> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(new IllegalArgumentException(
+                "Session [" + session.getId() + "] takes " + content.length + " bytes, which exceeds the max size of the off-heap session store"
+            ));
+            return rejected;
+        }
+        StoredSession stored = new StoredSession(
+            session.getCreationTime(),
+            session.getMaxInactiveInterval(),
+            memory.store(content)
+        );
+        session.setNew(false);
+        session.resetModifications();
+        StoredSession existing = sessions.asMap().put(session.getId(), stored);
+        if (existing == null) {
+            eventPublisher.publishEvent(new SessionCreatedEvent(session));
+        }
+        return CompletableFuture.completedFuture(session);
+    }
+
+    /**
+     * @return The number of bytes of direct memory that store sessions
+     */
+    public long getUsedBytes() {
+        return memory.getUsedBytes();
+    }
+
+    /**
+     * Performs any pending maintenance operations needed by the cache.
+     */
+    @Internal
+    void cleanUp() {
+        sessions.cleanUp();
+    }
+
+    /**
+     * Creates a new session cache.
+     *
+     * @param configuration        The session configuration
+     * @param offHeapConfiguration The off-heap store configuration
+     * @return The new cache
+     */
+    protected Cache<String, StoredSession> newSessionCache(SessionConfiguration configuration, OffHeapSessionConfiguration offHeapConfiguration) {
+        // maintenance runs on the calling thread so that the memory of removed sessions is reused right away
+        Caffeine<String, StoredSession> builder = Caffeine.newBuilder()
+                .executor(Runnable::run)
+                .removalListener(newRemovalListener());
+
+        if (configuration.isPromptExpiration()) {
+            configuration.getExecutorService()
+                    .map(Scheduler::forScheduledExecutorService)
+                    .ifPresent(builder::scheduler);
+        }
+
+        builder.expireAfter(newExpiry())
+                .maximumWeight(Math.max(memory.getBlockSize(), offHeapConfiguration.getMaxSize()))
+                .weigher((String key, StoredSession value) -> weigh(value.allocation.length));
+
+        return builder.build();
+    }
+
+    /**
+     * @param length The length of the serialized attributes of a session
+     * @return The number of bytes of the blocks that store them
+     */
+    private int weigh(int length) {
+        int blockSize = memory.getBlockSize();
+        return Math.max(1, (length + blockSize - 1) / blockSize) * blockSize;
+    }
+
+    /**
+     * Restores a session.
+     *
+     * @param id     The session id
+     * @param stored The stored session
+     * @return The session or null if the stored session has been released
+     */
+    @Nullable
+    private InMemorySession toSession(String id, StoredSession stored) {
+        byte[] content = memory.load(stored.allocation);
+        if (content == null) {
+            return null;
+        }
+        InMemorySession session = new InMemorySession(id, stored.creationTime, stored.maxInactiveInterval);
+        if (content.length > 0) {
+            try {
+                Optional<Map> attributes = serializer.deserialize(content, Map.class);
+                attributes.ifPresent(map -> map.forEach((name, value) -> session.attributeMap.put((CharSequence) name, value)));
+            } catch (SerializationException e) {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error("Unable to deserialize the attributes of session [" + id + "]: " + e.getMessage(), e);
+                }
+            }
+        }
+        session.setLastAccessedTime(stored.lastAccessedTime);
+        session.setNew(false);
+        return session;
+    }
+
+    private Expiry<String, StoredSession> newExpiry() {
+        return new Expiry<String, StoredSession>() {
+            @Override
+            public long expireAfterCreate(String key, StoredSession value, long currentTime) {
+                return newExpiry(value);
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, StoredSession value, long currentTime, long currentDuration) {
+                return newExpiry(value);
+            }
+
+            @Override
+            public long expireAfterRead(String key, StoredSession value, long currentTime, long currentDuration) {
+                return newExpiry(value);
+            }
+
+            private long newExpiry(StoredSession value) {
+                value.lastAccessedTime = Instant.now();
+                return value.maxInactiveInterval.toNanos();
+            }
+        };
+    }
+
+    private RemovalListener<String, StoredSession> newRemovalListener() {
+        return (key, value, cause) -> {
+            try {
+                switch (cause) {
+                    case REPLACED:
+                        // the session has been saved again
+                        break;
+                    case SIZE:
+                    case EXPIRED:
+                        eventPublisher.publishEvent(new SessionExpiredEvent(toSession(key, value)));
+                        break;
+                    case EXPLICIT:
+                        eventPublisher.publishEvent(new SessionDeletedEvent(toSession(key, value)));
+                        break;
+                    default:
+                        throw new IllegalStateException("Session should never be garbage collectable");
+                }
+            } finally {
+                memory.release(value.allocation);
+            }
+        };
+    }
+
+    /**
+     * A session stored off-heap. Only the attributes are stored in direct memory.
+     */
+    protected static final class StoredSession {
+        private final Instant creationTime;
+        private final Duration maxInactiveInterval;
+        private final OffHeapMemory.Allocation allocation;
+        private volatile Instant lastAccessedTime;
+
+        private StoredSession(Instant creationTime, Duration maxInactiveInterval, OffHeapMemory.Allocation allocation) {
+            this.creationTime = creationTime;
+            this.maxInactiveInterval = maxInactiveInterval;
+            this.allocation = allocation;
+            this.lastAccessedTime = Instant.now();
+        }
+    }
+}
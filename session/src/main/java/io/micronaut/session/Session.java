@@ -21,6 +21,7 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * <p>An interface representing a user session.</p>
@@ -95,6 +96,19 @@ public interface Session extends MutableConvertibleValues<Object> {
      */
     boolean isModified();
 
+    /**
+     * The names of the attributes that have been put or removed since the session was retrieved or last saved. An
+     * attribute whose value is mutated in place is not tracked, and has to be put again for the change to be saved.
+     * Implementations that do not track individual attributes return all the attribute names.
+     *
+     * @return The names of the modified attributes, including the names of removed attributes
+     * @since 2.0
+     */
+    @NonNull
+    default Set<String> getModifiedAttributeNames() {
+        return names();
+    }
+
     /**
      * Retrieve an attribute for the given name.
      *
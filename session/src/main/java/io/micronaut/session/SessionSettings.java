@@ -39,4 +39,9 @@ public interface SessionSettings {
      * The property name for HTTP session header configuration.
      */
     String HTTP_HEADER_STRATEGY = HTTP + ".header";
+
+    /**
+     * The property name for the off-heap session store configuration.
+     */
+    String OFF_HEAP = PREFIX + ".off-heap";
 }
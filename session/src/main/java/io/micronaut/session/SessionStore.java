@@ -57,4 +57,17 @@ public interface SessionStore<S extends Session> {
      * @return A future that completes with the saved session once the operation is complete
      */
     CompletableFuture<S> save(S session);
+
+    /**
+     * Save the changes made to a session that has already been saved. Stores that keep the session externally
+     * can override this method to only write the attributes returned by {@link Session#getModifiedAttributeNames()},
+     * the default implementation saves the whole session.
+     *
+     * @param session The modified session
+     * @return A future that completes with the saved session once the operation is complete
+     * @since 2.0
+     */
+    default CompletableFuture<S> saveModifications(S session) {
+        return save(session);
+    }
 }
@@ -130,10 +130,14 @@ public class HttpSessionFilter extends OncePerRequestHttpServerFilter {
                        session.put(sessionAttr, body.get());
                     }
 
-                    if (session.isNew() || session.isModified()) {
+                    if (session.isNew()) {
                         return Flowable
                             .fromPublisher(Publishers.fromCompletableFuture(() -> sessionStore.save(session)))
                             .map((s) -> new SessionAndResponse(Optional.of(s), response));
+                    } else if (session.isModified()) {
+                        return Flowable
+                            .fromPublisher(Publishers.fromCompletableFuture(() -> sessionStore.saveModifications(session)))
+                            .map((s) -> new SessionAndResponse(Optional.of(s), response));
                     }
                 } else if (sessionAttr != null) {
                     Session newSession = sessionStore.newSession();
@@ -28,6 +28,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Singleton;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Persists the session in the background on web socket events.
@@ -60,7 +61,8 @@ public class SessionWebSocketEventListener implements ApplicationEventListener<W
             if (attributes instanceof Session) {
                 Session session = (Session) attributes;
                 if (session.isModified()) {
-                    sessionStore.save(session).whenComplete((entries, throwable) -> {
+                    CompletableFuture<Session> saved = session.isNew() ? sessionStore.save(session) : sessionStore.saveModifications(session);
+                    saved.whenComplete((entries, throwable) -> {
                         if (throwable != null) {
                             if (LOG.isErrorEnabled()) {
                                 LOG.error("Error persisting session following WebSocket event: " + throwable.getMessage(), throwable);
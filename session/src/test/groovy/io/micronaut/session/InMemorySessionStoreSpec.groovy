@@ -131,6 +131,50 @@ class InMemorySessionStoreSpec extends Specification {
         applicationContext.close()
     }
 
+    void "test in-memory session tracks modified attributes"() {
+        given:
+        ApplicationContext applicationContext = ApplicationContext.run()
+        SessionStore sessionStore = applicationContext.getBean(SessionStore)
+        Session session = sessionStore.newSession()
+        session.put("foo", "bar")
+        session.put("baz", "qux")
+
+        expect:
+        session.modified
+        session.modifiedAttributeNames == ["foo", "baz"] as Set
+
+        when:
+        sessionStore.save(session).get()
+
+        then:
+        !session.modified
+        session.modifiedAttributeNames.isEmpty()
+
+        when:"attributes are only read"
+        session.get("foo")
+        session.remove("missing")
+
+        then:
+        !session.modified
+
+        when:
+        session.remove("foo")
+
+        then:
+        session.modified
+        session.modifiedAttributeNames == ["foo"] as Set
+
+        when:
+        sessionStore.saveModifications(session).get()
+        session.clear()
+
+        then:
+        session.modifiedAttributeNames == ["baz"] as Set
+
+        cleanup:
+        applicationContext.close()
+    }
+
     @Singleton
     static class TestListener implements ApplicationEventListener<AbstractSessionEvent> {
         List<AbstractSessionEvent> events = []
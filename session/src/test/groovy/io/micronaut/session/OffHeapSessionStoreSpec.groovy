@@ -0,0 +1,244 @@
+package io.micronaut.session
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.event.ApplicationEventListener
+import io.micronaut.session.event.AbstractSessionEvent
+import io.micronaut.session.event.SessionCreatedEvent
+import io.micronaut.session.event.SessionDeletedEvent
+import io.micronaut.session.event.SessionExpiredEvent
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import javax.inject.Singleton
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+
+class OffHeapSessionStoreSpec extends Specification {
+
+    void "test the off-heap session store replaces the in-memory store"() {
+        given:
+        ApplicationContext applicationContext = ApplicationContext.run(['micronaut.session.off-heap.enabled': true])
+
+        expect:
+        applicationContext.getBean(SessionStore) instanceof OffHeapSessionStore
+        !applicationContext.containsBean(InMemorySessionStore)
+
+        cleanup:
+        applicationContext.close()
+    }
+
+    void "test off-heap session store read and write"() {
+        when:
+        ApplicationContext applicationContext = ApplicationContext.run(['micronaut.session.off-heap.enabled': true])
+        SessionStore sessionStore = applicationContext.getBean(SessionStore)
+        OffHeapTestListener listener = applicationContext.getBean(OffHeapTestListener)
+        Session session = sessionStore.newSession()
+        session.put("foo", "bar")
+        session.put("numbers", [1, 2, 3])
+
+        then:
+        session.id
+        session.new
+        session.modified
+        !session.expired
+
+        when:
+        sessionStore.save(session).get()
+        def lastAccessedTime = session.lastAccessedTime
+
+        then:
+        !session.new
+        listener.events.size() == 1
+        listener.events[0] instanceof SessionCreatedEvent
+
+        when:
+        Thread.sleep(50)
+        Session found = sessionStore.findSession(session.id).get().get()
+
+        then:
+        found.id == session.id
+        found.creationTime == session.creationTime
+        found.lastAccessedTime > lastAccessedTime
+        !found.new
+        !found.modified
+        found.get("foo").get() == "bar"
+        found.get("numbers").get() == [1, 2, 3]
+
+        when:
+        found.put("foo", "baz")
+        found.remove("numbers")
+
+        then:
+        found.modified
+
+        when:
+        sessionStore.save(found).get()
+        Session updated = sessionStore.findSession(session.id).get().get()
+
+        then:
+        listener.events.size() == 1
+        updated.get("foo").get() == "baz"
+        !updated.get("numbers").isPresent()
+
+        when:
+        listener.events.clear()
+        sessionStore.deleteSession(session.id).get()
+
+        then:
+        listener.events.size() == 1
+        listener.events[0] instanceof SessionDeletedEvent
+        listener.events[0].source.get("foo").get() == "baz"
+        !sessionStore.findSession(session.id).get().isPresent()
+        sessionStore.usedBytes == 0
+
+        cleanup:
+        applicationContext.close()
+    }
+
+    void "test off-heap session expiry"() {
+        when:
+        ApplicationContext applicationContext = ApplicationContext.run([
+                'micronaut.session.off-heap.enabled': true,
+                'micronaut.session.max-inactive-interval': 'PT1S'
+        ])
+        SessionStore sessionStore = applicationContext.getBean(SessionStore)
+        OffHeapTestListener listener = applicationContext.getBean(OffHeapTestListener)
+        Session session = sessionStore.newSession()
+        session.put("foo", "bar")
+        sessionStore.save(session)
+        String id = session.id
+        PollingConditions conditions = new PollingConditions(timeout: 5, initialDelay: 2)
+
+        then:
+        conditions.eventually {
+            assert !sessionStore.findSession(id).get().isPresent()
+            assert listener.events.any { it instanceof SessionExpiredEvent && it.source.get("foo").get() == "bar" }
+        }
+
+        cleanup:
+        applicationContext.close()
+    }
+
+    void "test sessions expire once the maximum size is exceeded"() {
+        given:
+        ApplicationContext applicationContext = ApplicationContext.run([
+                'micronaut.session.off-heap.enabled': true,
+                'micronaut.session.off-heap.max-size': 16384,
+                'micronaut.session.off-heap.block-size': 1024
+        ])
+        OffHeapSessionStore sessionStore = applicationContext.getBean(OffHeapSessionStore)
+        OffHeapTestListener listener = applicationContext.getBean(OffHeapTestListener)
+
+        when:
+        List<String> ids = (1..100).collect {
+            Session session = sessionStore.newSession()
+            session.put("data", 'x' * 2000)
+            sessionStore.save(session).get()
+            session.id
+        }
+        sessionStore.cleanUp()
+
+        then:
+        sessionStore.usedBytes <= 16384
+        listener.events.count { it instanceof SessionExpiredEvent } >= 90
+        sessionStore.findSession(ids.last()).get().isPresent()
+        sessionStore.findSession(ids.last()).get().get().get("data").get() == 'x' * 2000
+
+        cleanup:
+        applicationContext.close()
+    }
+
+    void "test a session larger than the maximum size is rejected"() {
+        given:
+        ApplicationContext applicationContext = ApplicationContext.run([
+                'micronaut.session.off-heap.enabled': true,
+                'micronaut.session.off-heap.max-size': 4096,
+                'micronaut.session.off-heap.block-size': 1024
+        ])
+        OffHeapSessionStore sessionStore = applicationContext.getBean(OffHeapSessionStore)
+        OffHeapTestListener listener = applicationContext.getBean(OffHeapTestListener)
+        Session session = sessionStore.newSession()
+        session.put("data", 'small')
+        sessionStore.save(session).get()
+        listener.events.clear()
+
+        when:
+        session.put("data", 'x' * 8192)
+        sessionStore.save(session).get()
+
+        then:
+        ExecutionException e = thrown()
+        e.cause instanceof IllegalArgumentException
+        listener.events.empty
+
+        when:"the previously saved version is kept"
+        sessionStore.cleanUp()
+
+        then:
+        listener.events.empty
+        sessionStore.findSession(session.id).get().get().get("data").get() == 'small'
+
+        cleanup:
+        applicationContext.close()
+    }
+
+    void "test off-heap memory reuses released blocks"() {
+        given:
+        OffHeapMemory memory = new OffHeapMemory(8)
+
+        when:
+        OffHeapMemory.Allocation first = memory.store("hello off-heap world".bytes)
+
+        then:
+        first.blocks.length == 3
+        memory.getUsedBytes() == 24
+        new String(memory.load(first)) == "hello off-heap world"
+
+        when:
+        memory.release(first)
+        OffHeapMemory.Allocation second = memory.store("reused".bytes)
+
+        then:
+        memory.load(first) == null
+        new String(memory.load(second)) == "reused"
+        first.blocks.contains(second.blocks[0])
+        memory.getUsedBytes() == 8
+    }
+
+    void "test off-heap memory stores content from several threads"() {
+        given:
+        OffHeapMemory memory = new OffHeapMemory(16)
+        ExecutorService executor = Executors.newFixedThreadPool(8)
+
+        when:"the threads store, load and release content that spans several blocks"
+        List<Future<Boolean>> results = (1..8).collect { int thread ->
+            executor.submit({
+                (1..1000).every { int i ->
+                    byte[] content = "thread $thread content $i of the off-heap memory".bytes
+                    OffHeapMemory.Allocation allocation = memory.store(content)
+                    boolean intact = Arrays.equals(memory.load(allocation), content)
+                    memory.release(allocation)
+                    intact
+                }
+            } as java.util.concurrent.Callable<Boolean>)
+        }
+
+        then:"no thread reads the content of another one"
+        results.every { it.get() }
+        memory.getUsedBytes() == 0
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    @Singleton
+    static class OffHeapTestListener implements ApplicationEventListener<AbstractSessionEvent> {
+        List<AbstractSessionEvent> events = []
+        @Override
+        void onApplicationEvent(AbstractSessionEvent event) {
+            events.add(event)
+        }
+    }
+}
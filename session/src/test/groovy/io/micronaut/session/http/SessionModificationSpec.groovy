@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017-2020 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.session.http
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Replaces
+import io.micronaut.context.annotation.Requires
+import io.micronaut.context.event.ApplicationEventPublisher
+import io.micronaut.http.HttpHeaders
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import io.micronaut.session.InMemorySession
+import io.micronaut.session.InMemorySessionStore
+import io.micronaut.session.Session
+import io.micronaut.session.SessionConfiguration
+import io.micronaut.session.SessionIdGenerator
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.inject.Singleton
+import java.util.concurrent.CompletableFuture
+
+class SessionModificationSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, [
+            'spec.name': SessionModificationSpec.simpleName
+    ])
+    @Shared @AutoCleanup RxHttpClient client = embeddedServer.applicationContext.createBean(RxHttpClient, embeddedServer.getURL())
+
+    void "test only the modifications of an existing session are saved"() {
+        given:
+        RecordingSessionStore store = embeddedServer.applicationContext.getBean(RecordingSessionStore)
+
+        when:"a session is created"
+        HttpResponse<String> response = client.exchange(HttpRequest.GET("/modification/write?value=one"), String).blockingFirst()
+        String sessionId = response.header(HttpHeaders.AUTHORIZATION_INFO)
+
+        then:"the whole session is saved"
+        sessionId
+        store.saved == 1
+        store.modifications.isEmpty()
+
+        when:"the session is only read"
+        response = client.exchange(HttpRequest.GET("/modification/read")
+                .header(HttpHeaders.AUTHORIZATION_INFO, sessionId), String).blockingFirst()
+
+        then:"nothing is saved"
+        response.body() == "one"
+        store.saved == 1
+        store.modifications.isEmpty()
+
+        when:"an attribute is changed"
+        client.exchange(HttpRequest.GET("/modification/write?value=two")
+                .header(HttpHeaders.AUTHORIZATION_INFO, sessionId), String).blockingFirst()
+
+        then:"only the modified attribute is saved"
+        store.saved == 1
+        store.modifications == [['value'] as Set]
+
+        when:
+        response = client.exchange(HttpRequest.GET("/modification/read")
+                .header(HttpHeaders.AUTHORIZATION_INFO, sessionId), String).blockingFirst()
+
+        then:
+        response.body() == "two"
+        store.modifications.size() == 1
+    }
+
+    @Controller('/modification')
+    @Requires(property = 'spec.name', value = 'SessionModificationSpec')
+    static class ModificationController {
+
+        @Get("/write")
+        String write(Session session, String value) {
+            session.put("value", value)
+            return value
+        }
+
+        @Get("/read")
+        String read(Session session) {
+            return session.get("value", String).orElse("none")
+        }
+    }
+
+    @Singleton
+    @Replaces(InMemorySessionStore)
+    @Requires(property = 'spec.name', value = 'SessionModificationSpec')
+    static class RecordingSessionStore extends InMemorySessionStore {
+        int saved
+        List<Set<String>> modifications = []
+
+        RecordingSessionStore(SessionIdGenerator sessionIdGenerator, SessionConfiguration sessionConfiguration, ApplicationEventPublisher eventPublisher) {
+            super(sessionIdGenerator, sessionConfiguration, eventPublisher)
+        }
+
+        @Override
+        CompletableFuture<InMemorySession> save(InMemorySession session) {
+            saved++
+            return super.save(session)
+        }
+
+        @Override
+        CompletableFuture<InMemorySession> saveModifications(InMemorySession session) {
+            modifications << new HashSet<>(session.modifiedAttributeNames)
+            session.setNew(false)
+            session.resetModifications()
+            return CompletableFuture.completedFuture(session)
+        }
+    }
+}
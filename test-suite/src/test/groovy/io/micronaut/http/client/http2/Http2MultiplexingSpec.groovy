@@ -0,0 +1,113 @@
+package io.micronaut.http.client.http2
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.client.netty.DefaultHttpClient
+import io.micronaut.http.netty.channel.ChannelPipelineListener
+import io.micronaut.runtime.server.EmbeddedServer
+import io.netty.channel.ChannelPipeline
+import io.netty.channel.socket.SocketChannel
+import io.reactivex.Flowable
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class Http2MultiplexingSpec extends Specification {
+
+    @Unroll
+    void "test concurrent HTTP/2 requests share a connection - ssl #ssl"() {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': 'Http2MultiplexingSpec',
+                'micronaut.ssl.enabled': ssl,
+                'micronaut.ssl.buildSelfSigned': ssl,
+                'micronaut.ssl.port': -1,
+                'micronaut.server.http-version': '2.0',
+                'micronaut.http.client.http-version': '2.0',
+                'micronaut.http.client.pool.multiplexing': true
+        ])
+        RxHttpClient client = server.applicationContext.getBean(RxHttpClient)
+
+        when:
+        List<String> results = Flowable.range(0, 50)
+                .flatMap({ client.retrieve(HttpRequest.GET("${server.URL}/http2-multiplexing")) })
+                .toList()
+                .blockingGet()
+
+        then:"every request is answered over the same connection"
+        results.size() == 50
+        results.every { it.startsWith('HTTP_2_0 ') }
+        results.toSet().size() == 1
+
+        when:"a request with a body is sent"
+        def response = client.exchange(
+                HttpRequest.POST("${server.URL}/http2-multiplexing", 'test').contentType(MediaType.TEXT_PLAIN), String
+        ).blockingFirst()
+
+        then:
+        response.status() == HttpStatus.OK
+        response.body() == 'test'
+
+        cleanup:
+        server.close()
+
+        where:
+        ssl << [true, false]
+    }
+
+    void "test multiplexed connections honour the connect ttl and notify the pipeline listeners"() {
+        given:
+        EmbeddedServer server = ApplicationContext.run(EmbeddedServer, [
+                'spec.name': 'Http2MultiplexingSpec',
+                'micronaut.server.http-version': '2.0',
+                'micronaut.http.client.http-version': '2.0',
+                'micronaut.http.client.pool.multiplexing': true,
+                'micronaut.http.client.connect-ttl': '200ms'
+        ])
+        DefaultHttpClient client = (DefaultHttpClient) server.applicationContext.createBean(RxHttpClient, server.URL)
+        List<String> connectionPipelines = Collections.synchronizedList([])
+        client.doOnConnect({ ChannelPipeline pipeline ->
+            if (pipeline.channel() instanceof SocketChannel) {
+                connectionPipelines << pipeline.channel().id().asShortText()
+            }
+            pipeline
+        } as ChannelPipelineListener)
+
+        when:
+        String first = client.retrieve(HttpRequest.GET('/http2-multiplexing')).blockingFirst()
+        Thread.sleep(400)
+        String second = client.retrieve(HttpRequest.GET('/http2-multiplexing')).blockingFirst()
+
+        then:"the expired connection is replaced"
+        first.startsWith('HTTP_2_0 ')
+        second.startsWith('HTTP_2_0 ')
+        first != second
+        connectionPipelines.size() == 2
+
+        cleanup:
+        client.close()
+        server.close()
+    }
+
+    @Requires(property = 'spec.name', value = 'Http2MultiplexingSpec')
+    @Controller('/http2-multiplexing')
+    static class MultiplexingController {
+
+        @Get(produces = MediaType.TEXT_PLAIN)
+        String index(HttpRequest<?> request) {
+            "${request.httpVersion} ${request.remoteAddress.port}"
+        }
+
+        @Post(processes = MediaType.TEXT_PLAIN)
+        String post(@Body String body) {
+            body
+        }
+    }
+}